@@ -0,0 +1,91 @@
+package io.github.jukejuke.tool.date;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日期格式化基准测试：每次新建格式化器（原实现）、缓存的格式化器与固定模式快速路径对比
+ *
+ * 运行方式（benchmark profile）：
+ * mvn -Pbenchmark clean test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     -Dexec.args="-cp %classpath io.github.jukejuke.tool.date.DateFormatBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateFormatBenchmark {
+
+    private final Date date = new Date(1700000000123L);
+    private final String text = "2023-11-15 06:13:20";
+    private final LocalDateTime dateTime = LocalDateTime.of(2023, 11, 15, 6, 13, 20);
+
+    @Benchmark
+    public String formatNewSimpleDateFormat() {
+        return new SimpleDateFormat(DateUtil.FORMAT_DATETIME).format(date);
+    }
+
+    @Benchmark
+    public String formatDateUtil() {
+        return DateUtil.format(date, DateUtil.FORMAT_DATETIME);
+    }
+
+    @Benchmark
+    public String formatDateUtilFormatter() {
+        // 非固定模式，走缓存的DateTimeFormatter
+        return DateUtil.format(date, "yyyy/MM/dd HH:mm:ss");
+    }
+
+    @Benchmark
+    public String formatDateUtilMilli() {
+        return DateUtil.format(date, DateUtil.FORMAT_DATETIME_MILLI);
+    }
+
+    @Benchmark
+    public Date parseNewSimpleDateFormat() throws ParseException {
+        return new SimpleDateFormat(DateUtil.FORMAT_DATETIME).parse(text);
+    }
+
+    @Benchmark
+    public Date parseDateUtil() {
+        return DateUtil.parse(text, DateUtil.FORMAT_DATETIME);
+    }
+
+    @Benchmark
+    public String formatOfPattern() {
+        return dateTime.format(DateTimeFormatter.ofPattern(DateUtils.FORMAT_DATETIME));
+    }
+
+    @Benchmark
+    public String formatDateUtils() {
+        return DateUtils.format(dateTime, DateUtils.FORMAT_DATETIME);
+    }
+
+    @Benchmark
+    public LocalDateTime parseDateUtils() {
+        return DateUtils.parseDateTime(text);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DateFormatBenchmark.class.getSimpleName()).build()).run();
+    }
+}
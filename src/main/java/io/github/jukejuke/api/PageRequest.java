@@ -44,6 +44,11 @@ public class PageRequest implements Serializable {
      */
     private String orderDir;
     
+    /**
+     * 游标（上一页响应中的nextCursor），用于键集分页，为空表示第一页
+     */
+    private String cursor;
+    
     /**
      * 构造方法
      */
@@ -160,6 +165,22 @@ public class PageRequest implements Serializable {
         this.orderDir = orderDir;
     }
     
+    /**
+     * 获取游标
+     * @return 游标
+     */
+    public String getCursor() {
+        return cursor;
+    }
+    
+    /**
+     * 设置游标
+     * @param cursor 游标
+     */
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+    
     /**
      * 获取偏移量
      * @return 偏移量
@@ -175,6 +196,7 @@ public class PageRequest implements Serializable {
                 ", pageSize=" + pageSize +
                 ", orderBy='" + orderBy + '\'' +
                 ", orderDir='" + orderDir + '\'' +
+                ", cursor='" + cursor + '\'' +
                 '}';
     }
 }
\ No newline at end of file
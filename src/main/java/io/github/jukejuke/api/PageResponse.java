@@ -36,6 +36,11 @@ public class PageResponse<T> implements Serializable {
      */
     private List<T> list;
     
+    /**
+     * 下一页游标（键集分页时返回，没有下一页时为null）
+     */
+    private String nextCursor;
+    
     /**
      * 构造方法
      * @param total 总记录数
@@ -183,6 +188,22 @@ public class PageResponse<T> implements Serializable {
         this.list = list;
     }
     
+    /**
+     * 获取下一页游标
+     * @return 下一页游标，没有下一页时为null
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    /**
+     * 设置下一页游标
+     * @param nextCursor 下一页游标
+     */
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
     @Override
     public String toString() {
         return "PageResponse{" +
@@ -191,6 +212,7 @@ public class PageResponse<T> implements Serializable {
                 ", pageNum=" + pageNum +
                 ", pages=" + pages +
                 ", list=" + list +
+                ", nextCursor='" + nextCursor + '\'' +
                 '}';
     }
 }
\ No newline at end of file
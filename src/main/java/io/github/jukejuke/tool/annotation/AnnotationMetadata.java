@@ -0,0 +1,314 @@
+package io.github.jukejuke.tool.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 注解元数据缓存
+ * 按(类, 注解类型)缓存带注解的字段、方法、父类和接口，以及注解的属性值，缓存在ClassValue中，随类卸载释放。
+ * 首次查询时扫描一次，之后的查询不再调用getDeclaredFields()/getDeclaredMethods()。
+ * 缓存的Field/Method对象不对外暴露，{@link AnnotatedMember#getMember()}每次返回独立的副本，
+ * 调用方对其setAccessible不影响其他调用方
+ */
+public final class AnnotationMetadata {
+
+    private static final ClassValue<ClassMetadata> CLASS_CACHE = new ClassValue<ClassMetadata>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    /**
+     * 注解类型的属性方法：属性名 -> 方法
+     */
+    private static final ClassValue<Map<String, Method>> ATTRIBUTE_CACHE = new ClassValue<Map<String, Method>>() {
+        @Override
+        protected Map<String, Method> computeValue(Class<?> annotationType) {
+            Map<String, Method> attributes = new LinkedHashMap<>();
+            for (Method method : annotationType.getDeclaredMethods()) {
+                if (method.getParameterCount() == 0 && !Modifier.isStatic(method.getModifiers()) && !method.isSynthetic()) {
+                    try {
+                        method.setAccessible(true);
+                    } catch (RuntimeException e) {
+                        // 不可访问的注解属性按public方法调用
+                    }
+                    attributes.put(method.getName(), method);
+                }
+            }
+            return Collections.unmodifiableMap(attributes);
+        }
+    };
+
+    private AnnotationMetadata() {
+    }
+
+    /**
+     * 获取类中带指定注解的字段
+     *
+     * @param clazz            目标类
+     * @param annoClass        注解类
+     * @param includeHierarchy 是否包含父类字段（子类在前）
+     * @param <A>              注解类型
+     * @return 不可修改的字段列表
+     */
+    @SuppressWarnings("unchecked")
+    public static <A extends Annotation> List<AnnotatedMember<Field, A>> getFields(Class<?> clazz, Class<A> annoClass, boolean includeHierarchy) {
+        if (clazz == null || annoClass == null) {
+            return Collections.emptyList();
+        }
+        ClassMetadata metadata = CLASS_CACHE.get(clazz);
+        ConcurrentMap<Class<?>, List<?>> cache = includeHierarchy ? metadata.allFieldCache : metadata.declaredFieldCache;
+        return (List<AnnotatedMember<Field, A>>) cache.computeIfAbsent(annoClass,
+                key -> annotated(includeHierarchy ? metadata.allFields() : metadata.declaredFields, annoClass));
+    }
+
+    /**
+     * 获取类中带指定注解的方法
+     *
+     * @param clazz            目标类
+     * @param annoClass        注解类
+     * @param includeHierarchy 是否包含父类方法（子类在前，被重写的方法只保留子类的）
+     * @param <A>              注解类型
+     * @return 不可修改的方法列表
+     */
+    @SuppressWarnings("unchecked")
+    public static <A extends Annotation> List<AnnotatedMember<Method, A>> getMethods(Class<?> clazz, Class<A> annoClass, boolean includeHierarchy) {
+        if (clazz == null || annoClass == null) {
+            return Collections.emptyList();
+        }
+        ClassMetadata metadata = CLASS_CACHE.get(clazz);
+        ConcurrentMap<Class<?>, List<?>> cache = includeHierarchy ? metadata.allMethodCache : metadata.declaredMethodCache;
+        return (List<AnnotatedMember<Method, A>>) cache.computeIfAbsent(annoClass,
+                key -> annotated(includeHierarchy ? metadata.allMethods() : metadata.declaredMethods, annoClass));
+    }
+
+    /**
+     * 获取带指定注解的父类（由近及远）
+     *
+     * @param clazz     目标类
+     * @param annoClass 注解类
+     * @return 不可修改的父类列表
+     */
+    public static List<Class<?>> getSuperClasses(Class<?> clazz, Class<? extends Annotation> annoClass) {
+        if (clazz == null || annoClass == null) {
+            return Collections.emptyList();
+        }
+        ClassMetadata metadata = CLASS_CACHE.get(clazz);
+        return metadata.superClasses.computeIfAbsent(annoClass, key -> {
+            List<Class<?>> result = new ArrayList<>();
+            for (Class<?> c = clazz.getSuperclass(); c != null && c != Object.class; c = c.getSuperclass()) {
+                if (c.getAnnotation(annoClass) != null) {
+                    result.add(c);
+                }
+            }
+            return Collections.unmodifiableList(result);
+        });
+    }
+
+    /**
+     * 获取实现的带指定注解的接口（含父接口，深度优先）
+     *
+     * @param clazz     目标类
+     * @param annoClass 注解类
+     * @return 不可修改的接口列表
+     */
+    public static List<Class<?>> getInterfaces(Class<?> clazz, Class<? extends Annotation> annoClass) {
+        if (clazz == null || annoClass == null) {
+            return Collections.emptyList();
+        }
+        ClassMetadata metadata = CLASS_CACHE.get(clazz);
+        return metadata.interfaces.computeIfAbsent(annoClass, key -> {
+            List<Class<?>> result = new ArrayList<>();
+            for (Class<?> iface : clazz.getInterfaces()) {
+                if (iface.getAnnotation(annoClass) != null) {
+                    result.add(iface);
+                }
+                result.addAll(getInterfaces(iface, annoClass));
+            }
+            return Collections.unmodifiableList(result);
+        });
+    }
+
+    /**
+     * 获取注解的属性方法
+     *
+     * @param annotationType 注解类型
+     * @param propertyName   属性名
+     * @return 属性方法，不存在时返回null
+     */
+    static Method getAttribute(Class<? extends Annotation> annotationType, String propertyName) {
+        return ATTRIBUTE_CACHE.get(annotationType).get(propertyName);
+    }
+
+    /**
+     * 提取注解的全部属性值
+     *
+     * @param annotation 注解实例
+     * @return 不可修改的属性Map，按声明顺序
+     */
+    public static Map<String, Object> extractProperties(Annotation annotation) {
+        if (annotation == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, Method> attributes = ATTRIBUTE_CACHE.get(annotation.annotationType());
+        Map<String, Object> properties = new LinkedHashMap<>((int) (attributes.size() / 0.75f) + 1);
+        for (Map.Entry<String, Method> entry : attributes.entrySet()) {
+            try {
+                properties.put(entry.getKey(), entry.getValue().invoke(annotation));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                properties.put(entry.getKey(), null);
+            }
+        }
+        return Collections.unmodifiableMap(properties);
+    }
+
+    private static <M extends AnnotatedElement, A extends Annotation> List<AnnotatedMember<M, A>> annotated(List<M> members, Class<A> annoClass) {
+        List<AnnotatedMember<M, A>> result = new ArrayList<>();
+        for (M member : members) {
+            A annotation = member.getAnnotation(annoClass);
+            if (annotation != null) {
+                result.add(new AnnotatedMember<>(member, annotation));
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * 复制缓存中的Field/Method，按名称（和参数类型）重新查找，只复制这一个成员
+     */
+    private static Object copy(Object member) {
+        try {
+            if (member instanceof Field) {
+                Field field = (Field) member;
+                return field.getDeclaringClass().getDeclaredField(field.getName());
+            }
+            Method method = (Method) member;
+            Method copy = method.getDeclaringClass().getDeclaredMethod(method.getName(), method.getParameterTypes());
+            if (copy.equals(method)) {
+                return copy;
+            }
+            // 协变返回类型的桥接方法与原方法同名同参数，按返回类型区分
+            for (Method candidate : method.getDeclaringClass().getDeclaredMethods()) {
+                if (candidate.equals(method)) {
+                    return candidate;
+                }
+            }
+            throw new NoSuchMethodException(method.toString());
+        } catch (NoSuchFieldException | NoSuchMethodException e) {
+            throw new IllegalStateException("Member not found: " + member, e);
+        }
+    }
+
+    /**
+     * 带注解的成员及预先提取的注解属性
+     *
+     * @param <M> 成员类型（Field或Method）
+     * @param <A> 注解类型
+     */
+    public static final class AnnotatedMember<M, A extends Annotation> {
+        private final M member;
+        private final A annotation;
+        private final Map<String, Object> properties;
+
+        private AnnotatedMember(M member, A annotation) {
+            this.member = member;
+            this.annotation = annotation;
+            this.properties = extractProperties(annotation);
+        }
+
+        /**
+         * 获取成员的独立副本（与getDeclaredField/getDeclaredMethod返回的对象相同），可以自行setAccessible
+         *
+         * @return 字段或方法
+         */
+        @SuppressWarnings("unchecked")
+        public M getMember() {
+            return (M) copy(member);
+        }
+
+        public A getAnnotation() {
+            return annotation;
+        }
+
+        /**
+         * 注解属性值
+         *
+         * @return 不可修改的属性Map
+         */
+        public Map<String, Object> getProperties() {
+            return properties;
+        }
+
+        public Object getProperty(String propertyName) {
+            return properties.get(propertyName);
+        }
+    }
+
+    /**
+     * 单个类的成员与查询结果缓存
+     */
+    private static final class ClassMetadata {
+        private final Class<?> type;
+        private final List<Field> declaredFields;
+        private final List<Method> declaredMethods;
+
+        private final ConcurrentMap<Class<?>, List<?>> declaredFieldCache = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<?>, List<?>> allFieldCache = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<?>, List<?>> declaredMethodCache = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<?>, List<?>> allMethodCache = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<?>, List<Class<?>>> superClasses = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<?>, List<Class<?>>> interfaces = new ConcurrentHashMap<>();
+
+        private ClassMetadata(Class<?> type) {
+            this.type = type;
+            this.declaredFields = Collections.unmodifiableList(Arrays.asList(type.getDeclaredFields()));
+            this.declaredMethods = Collections.unmodifiableList(Arrays.asList(type.getDeclaredMethods()));
+        }
+
+        /**
+         * 类及父类的字段，子类在前
+         */
+        private List<Field> allFields() {
+            List<Field> fields = new ArrayList<>(declaredFields);
+            Class<?> superClass = type.getSuperclass();
+            if (superClass != null && superClass != Object.class) {
+                fields.addAll(CLASS_CACHE.get(superClass).allFields());
+            }
+            return fields;
+        }
+
+        /**
+         * 类及父类的方法，子类在前，被重写的父类方法和桥接方法不包含在内
+         */
+        private List<Method> allMethods() {
+            List<Method> methods = new ArrayList<>();
+            Set<String> signatures = new HashSet<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Method method : CLASS_CACHE.get(c).declaredMethods) {
+                    if (method.isBridge() || method.isSynthetic()) {
+                        continue;
+                    }
+                    boolean overridable = !Modifier.isPrivate(method.getModifiers()) && !Modifier.isStatic(method.getModifiers());
+                    if (!overridable || signatures.add(method.getName() + Arrays.toString(method.getParameterTypes()))) {
+                        methods.add(method);
+                    }
+                }
+            }
+            return methods;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import java.util.List;
 
 /**
  * 注解工具类，提供常用的注解操作方法
+ * 按类扫描的结果缓存在{@link AnnotationMetadata}中，返回的Field/Method是每次调用新建的副本，与原实现一致
  */
 public class AnnotationUtils {
 
@@ -137,15 +138,8 @@ public class AnnotationUtils {
      */
     public static List<Method> getMethodsWithAnnotation(Class<?> clazz, Class<? extends Annotation> annoClass) {
         List<Method> result = new ArrayList<>();
-        if (clazz == null || annoClass == null) {
-            return result;
-        }
-
-        Method[] methods = clazz.getDeclaredMethods();
-        for (Method method : methods) {
-            if (hasMethodAnnotation(method, annoClass)) {
-                result.add(method);
-            }
+        for (AnnotationMetadata.AnnotatedMember<Method, ?> member : AnnotationMetadata.getMethods(clazz, annoClass, false)) {
+            result.add(member.getMember());
         }
         return result;
     }
@@ -159,15 +153,38 @@ public class AnnotationUtils {
      */
     public static List<Field> getFieldsWithAnnotation(Class<?> clazz, Class<? extends Annotation> annoClass) {
         List<Field> result = new ArrayList<>();
-        if (clazz == null || annoClass == null) {
-            return result;
+        for (AnnotationMetadata.AnnotatedMember<Field, ?> member : AnnotationMetadata.getFields(clazz, annoClass, false)) {
+            result.add(member.getMember());
         }
+        return result;
+    }
 
-        Field[] fields = clazz.getDeclaredFields();
-        for (Field field : fields) {
-            if (hasFieldAnnotation(field, annoClass)) {
-                result.add(field);
-            }
+    /**
+     * 获取类及其父类中所有带指定注解的方法（子类在前，被重写的父类方法不重复返回）
+     *
+     * @param clazz     目标类
+     * @param annoClass 注解类
+     * @return 方法列表
+     */
+    public static List<Method> getAllMethodsWithAnnotation(Class<?> clazz, Class<? extends Annotation> annoClass) {
+        List<Method> result = new ArrayList<>();
+        for (AnnotationMetadata.AnnotatedMember<Method, ?> member : AnnotationMetadata.getMethods(clazz, annoClass, true)) {
+            result.add(member.getMember());
+        }
+        return result;
+    }
+
+    /**
+     * 获取类及其父类中所有带指定注解的字段（子类在前）
+     *
+     * @param clazz     目标类
+     * @param annoClass 注解类
+     * @return 字段列表
+     */
+    public static List<Field> getAllFieldsWithAnnotation(Class<?> clazz, Class<? extends Annotation> annoClass) {
+        List<Field> result = new ArrayList<>();
+        for (AnnotationMetadata.AnnotatedMember<Field, ?> member : AnnotationMetadata.getFields(clazz, annoClass, true)) {
+            result.add(member.getMember());
         }
         return result;
     }
@@ -184,9 +201,11 @@ public class AnnotationUtils {
             return null;
         }
 
+        Method method = AnnotationMetadata.getAttribute(annotation.annotationType(), propertyName);
+        if (method == null) {
+            return null;
+        }
         try {
-            Method method = annotation.annotationType().getMethod(propertyName);
-            method.setAccessible(true);
             return method.invoke(annotation);
         } catch (Exception e) {
             return null;
@@ -202,19 +221,7 @@ public class AnnotationUtils {
      * @return 父类列表
      */
     public static <T extends Annotation> List<Class<?>> getSuperClassesWithAnnotation(Class<?> clazz, Class<T> annoClass) {
-        List<Class<?>> result = new ArrayList<>();
-        if (clazz == null || annoClass == null) {
-            return result;
-        }
-
-        Class<?> superClass = clazz.getSuperclass();
-        while (superClass != null && superClass != Object.class) {
-            if (hasClassAnnotation(superClass, annoClass)) {
-                result.add(superClass);
-            }
-            superClass = superClass.getSuperclass();
-        }
-        return result;
+        return new ArrayList<>(AnnotationMetadata.getSuperClasses(clazz, annoClass));
     }
 
     /**
@@ -226,19 +233,6 @@ public class AnnotationUtils {
      * @return 接口列表
      */
     public static <T extends Annotation> List<Class<?>> getInterfacesWithAnnotation(Class<?> clazz, Class<T> annoClass) {
-        List<Class<?>> result = new ArrayList<>();
-        if (clazz == null || annoClass == null) {
-            return result;
-        }
-
-        Class<?>[] interfaces = clazz.getInterfaces();
-        for (Class<?> iface : interfaces) {
-            if (hasClassAnnotation(iface, annoClass)) {
-                result.add(iface);
-            }
-            // 递归检查父接口
-            result.addAll(getInterfacesWithAnnotation(iface, annoClass));
-        }
-        return result;
+        return new ArrayList<>(AnnotationMetadata.getInterfaces(clazz, annoClass));
     }
 }
\ No newline at end of file
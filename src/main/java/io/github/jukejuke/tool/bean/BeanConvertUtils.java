@@ -3,7 +3,12 @@ package io.github.jukejuke.tool.bean;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /*
  * Bean 类型说明
@@ -35,7 +40,27 @@ import java.util.List;
 @Slf4j
 public class BeanConvertUtils {
 
+    /**
+     * 默认并行转换阈值：列表元素数达到该值时才拆分到公共ForkJoinPool
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10000;
 
+    private static volatile int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    /**
+     * 设置并行转换阈值
+     * @param threshold 阈值，必须大于0
+     */
+    public static void setParallelThreshold(int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("parallel threshold must be positive: " + threshold);
+        }
+        parallelThreshold = threshold;
+    }
+
+    public static int getParallelThreshold() {
+        return parallelThreshold;
+    }
 
     /**
      * 实体类转换为VO
@@ -148,13 +173,7 @@ public class BeanConvertUtils {
      * @return 转换后的VO列表
      */
     public static <E, V> List<V> entityListToVOList(List<E> entityList, Class<V> voClass) {
-        List<V> voList = new ArrayList<>();
-        if (entityList != null && !entityList.isEmpty()) {
-            for (E entity : entityList) {
-                voList.add(entityToVO(entity, voClass));
-            }
-        }
-        return voList;
+        return convertList(entityList, voClass, "Entity to VO convert error");
     }
 
     /**
@@ -166,13 +185,7 @@ public class BeanConvertUtils {
      * @return 转换后的实体类列表
      */
     public static <V, E> List<E> voListToEntityList(List<V> voList, Class<E> entityClass) {
-        List<E> entityList = new ArrayList<>();
-        if (voList != null && !voList.isEmpty()) {
-            for (V vo : voList) {
-                entityList.add(voToEntity(vo, entityClass));
-            }
-        }
-        return entityList;
+        return convertList(voList, entityClass, "VO to Entity convert error");
     }
 
     /**
@@ -184,13 +197,7 @@ public class BeanConvertUtils {
      * @return 转换后的实体类列表
      */
     public static <D, E> List<E> dtoListToEntityList(List<D> dtoList, Class<E> entityClass) {
-        List<E> entityList = new ArrayList<>();
-        if (dtoList != null && !dtoList.isEmpty()) {
-            for (D dto : dtoList) {
-                entityList.add(dtoToEntity(dto, entityClass));
-            }
-        }
-        return entityList;
+        return convertList(dtoList, entityClass, "DTO to Entity convert error");
     }
 
     /**
@@ -202,13 +209,7 @@ public class BeanConvertUtils {
      * @return 转换后的DTO列表
      */
     public static <E, D> List<D> entityListToDTOList(List<E> entityList, Class<D> dtoClass) {
-        List<D> dtoList = new ArrayList<>();
-        if (entityList != null && !entityList.isEmpty()) {
-            for (E entity : entityList) {
-                dtoList.add(entityToDTO(entity, dtoClass));
-            }
-        }
-        return dtoList;
+        return convertList(entityList, dtoClass, "Entity to DTO convert error");
     }
 
     /**
@@ -220,13 +221,7 @@ public class BeanConvertUtils {
      * @return 转换后的VO列表
      */
     public static <D, V> List<V> dtoListToVOList(List<D> dtoList, Class<V> voClass) {
-        List<V> voList = new ArrayList<>();
-        if (dtoList != null && !dtoList.isEmpty()) {
-            for (D dto : dtoList) {
-                voList.add(dtoToVO(dto, voClass));
-            }
-        }
-        return voList;
+        return convertList(dtoList, voClass, "DTO to VO convert error");
     }
 
     /**
@@ -238,12 +233,118 @@ public class BeanConvertUtils {
      * @return 转换后的DTO列表
      */
     public static <V, D> List<D> voListToDTOList(List<V> voList, Class<D> dtoClass) {
-        List<D> dtoList = new ArrayList<>();
-        if (voList != null && !voList.isEmpty()) {
-            for (V vo : voList) {
-                dtoList.add(voToDTO(vo, dtoClass));
+        return convertList(voList, dtoClass, "VO to DTO convert error");
+    }
+
+    /**
+     * 惰性转换：返回的Stream在消费时逐个转换，不生成中间列表
+     * @param sourceStream 源Stream，null元素转换为null
+     * @param targetClass 目标类
+     * @param <S> 源类型
+     * @param <T> 目标类型
+     * @return 目标类型的Stream
+     */
+    public static <S, T> Stream<T> convertStream(Stream<S> sourceStream, Class<T> targetClass) {
+        if (sourceStream == null) {
+            return Stream.empty();
+        }
+        return sourceStream.map(source -> convertOne(source, null, targetClass));
+    }
+
+    /**
+     * 惰性转换：返回的Stream在消费时逐个转换，不生成中间列表
+     * @param sources 源集合，null元素转换为null
+     * @param targetClass 目标类
+     * @param <S> 源类型
+     * @param <T> 目标类型
+     * @return 目标类型的Stream
+     */
+    public static <S, T> Stream<T> convertStream(Iterable<S> sources, Class<T> targetClass) {
+        if (sources == null) {
+            return Stream.empty();
+        }
+        return convertStream(StreamSupport.stream(sources.spliterator(), false), targetClass);
+    }
+
+    /**
+     * 列表转换，元素数达到并行阈值时在公共ForkJoinPool上并行转换，结果顺序与源列表一致
+     * @param sourceList 源列表
+     * @param targetClass 目标类
+     * @param <S> 源类型
+     * @param <T> 目标类型
+     * @return 转换后的列表
+     */
+    public static <S, T> List<T> convertListParallel(List<S> sourceList, Class<T> targetClass) {
+        if (sourceList == null || sourceList.size() < parallelThreshold) {
+            return convertList(sourceList, targetClass, "Bean convert error");
+        }
+        List<S> sources = sourceList instanceof RandomAccess ? sourceList : new ArrayList<>(sourceList);
+        // 预先填充后按下标写入，各线程写不同位置，不产生结构性修改
+        List<T> targetList = new ArrayList<>(Collections.nCopies(sources.size(), null));
+        try {
+            // 在并行前按首个非空元素解析拷贝器，其他源类型的元素再单独查找
+            BeanCopier<S, T> copier = firstCopier(sources, targetClass);
+            IntStream.range(0, sources.size()).parallel()
+                    .forEach(i -> targetList.set(i, convertOne(sources.get(i), copier, targetClass)));
+        } catch (RuntimeException e) {
+            log.error("Bean convert error: ", e);
+            throw new RuntimeException("Bean convert error", e);
+        }
+        return targetList;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S, T> BeanCopier<S, T> firstCopier(List<S> sources, Class<T> targetClass) {
+        for (S source : sources) {
+            if (source != null) {
+                return BeanCopier.get((Class<S>) source.getClass(), targetClass);
             }
         }
-        return dtoList;
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S, T> T convertOne(S source, BeanCopier<S, T> copier, Class<T> targetClass) {
+        if (source == null) {
+            return null;
+        }
+        if (copier == null || copier.getSourceClass() != source.getClass()) {
+            copier = BeanCopier.get((Class<S>) source.getClass(), targetClass);
+        }
+        return copier.copy(source);
+    }
+
+    /**
+     * 列表转换，同一源类型的元素复用同一个拷贝器
+     * @param sourceList 源列表
+     * @param targetClass 目标类
+     * @param errorMessage 转换失败时的异常信息
+     * @param <S> 源类型
+     * @param <T> 目标类型
+     * @return 转换后的列表
+     */
+    @SuppressWarnings("unchecked")
+    private static <S, T> List<T> convertList(List<S> sourceList, Class<T> targetClass, String errorMessage) {
+        if (sourceList == null || sourceList.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<T> targetList = new ArrayList<>(sourceList.size());
+        BeanCopier<S, T> copier = null;
+        try {
+            for (S source : sourceList) {
+                if (source == null) {
+                    targetList.add(null);
+                    continue;
+                }
+                if (copier == null || copier.getSourceClass() != source.getClass()) {
+                    copier = BeanCopier.get((Class<S>) source.getClass(), targetClass);
+                }
+                targetList.add(copier.copy(source));
+            }
+        } catch (Exception e) {
+            log.error(errorMessage + ": ", e);
+            throw new RuntimeException(errorMessage, e);
+        }
+        return targetList;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,408 @@
+package io.github.jukejuke.tool.bean;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bean拷贝器
+ * 按(源类型, 目标类型)生成一次拷贝计划：属性读写使用MethodHandle，类型转换在生成时确定，
+ * 拷贝时不再进行反射查找，也不依赖异常跳过不存在的属性。拷贝器缓存在ClassValue中，随类卸载释放。
+ * 存在编译期生成的 {@link GeneratedBeanCopier}（见 {@link BeanMapping}）时直接使用生成的代码
+ *
+ * 拷贝规则与BeanUtils保持一致：
+ * 按源类（含父类）的实例字段名匹配目标类的同名可写属性（见BeanPropertyIndex）；
+ * 类型兼容时直接赋值；目标为基本类型时按Java的基本类型拓宽转换赋值（如int、Integer、char转long，
+ * long转double，与Field.set相同，long转float/double可能丢失精度）；
+ * 其他数值类型之间只在值能被目标类型精确表示时转换（超出范围或丢失精度时跳过）；
+ * String转Date支持yyyy-MM-dd和yyyy-MM-dd HH:mm:ss；
+ * 无法转换的属性以及null值写入基本类型的属性会被跳过
+ *
+ * @param <S> 源类型
+ * @param <T> 目标类型
+ */
+public final class BeanCopier<S, T> {
+
+    /**
+     * 拷贝器缓存：源类型 -> 目标类型 -> 拷贝器
+     */
+    private static final ClassValue<ClassValue<BeanCopier<?, ?>>> CACHE = new ClassValue<ClassValue<BeanCopier<?, ?>>>() {
+        @Override
+        protected ClassValue<BeanCopier<?, ?>> computeValue(Class<?> sourceClass) {
+            return new ClassValue<BeanCopier<?, ?>>() {
+                @Override
+                protected BeanCopier<?, ?> computeValue(Class<?> targetClass) {
+                    return new BeanCopier<>(sourceClass, targetClass);
+                }
+            };
+        }
+    };
+
+    /**
+     * 转换结果标记：运行时值与目标类型不兼容，跳过该属性
+     */
+    static final Object SKIP = new Object();
+
+    /**
+     * 恒等转换标记，生成拷贝计划时替换为null
+     */
+    static final Function<Object, Object> IDENTITY = value -> value;
+
+    private final Class<S> sourceClass;
+    private final Class<T> targetClass;
+
+    /**
+     * 编译期生成的拷贝器，存在时不解析反射拷贝计划
+     */
+    private final GeneratedBeanCopier<S, T> generated;
+
+    private final BeanPropertyIndex targetIndex;
+
+    private final Property[] properties;
+
+    @SuppressWarnings("unchecked")
+    private BeanCopier(Class<S> sourceClass, Class<T> targetClass) {
+        this.sourceClass = sourceClass;
+        this.targetClass = targetClass;
+        this.generated = (GeneratedBeanCopier<S, T>) GeneratedCopiers.find(sourceClass, targetClass);
+        if (generated != null) {
+            this.targetIndex = null;
+            this.properties = new Property[0];
+        } else {
+            this.targetIndex = BeanPropertyIndex.of(targetClass);
+            this.properties = resolveProperties(sourceClass, targetIndex);
+        }
+    }
+
+    /**
+     * 获取(源类型, 目标类型)的拷贝器，首次获取时生成拷贝计划
+     * @param sourceClass 源类型
+     * @param targetClass 目标类型
+     * @param <S> 源类型
+     * @param <T> 目标类型
+     * @return 拷贝器
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> BeanCopier<S, T> get(Class<S> sourceClass, Class<T> targetClass) {
+        if (sourceClass == null || targetClass == null) {
+            throw new IllegalArgumentException("源类型和目标类型不能为空");
+        }
+        return (BeanCopier<S, T>) CACHE.get(sourceClass).get(targetClass);
+    }
+
+    /**
+     * 获取源类型
+     * @return 源类型
+     */
+    public Class<S> getSourceClass() {
+        return sourceClass;
+    }
+
+    /**
+     * 获取目标类型
+     * @return 目标类型
+     */
+    public Class<T> getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * 是否使用编译期生成的拷贝器
+     * @return 是否使用生成的拷贝器
+     */
+    public boolean isGenerated() {
+        return generated != null;
+    }
+
+    /**
+     * 反射拷贝计划中的属性数量，使用生成的拷贝器时为0
+     * @return 属性数量
+     */
+    public int getPropertyCount() {
+        return properties.length;
+    }
+
+    /**
+     * 创建目标对象并拷贝属性
+     * @param source 源对象
+     * @return 目标对象，源对象为null时返回null
+     */
+    public T copy(S source) {
+        if (source == null) {
+            return null;
+        }
+        T target = newTarget();
+        copy(source, target);
+        return target;
+    }
+
+    /**
+     * 将源对象的属性拷贝到目标对象
+     * @param source 源对象
+     * @param target 目标对象
+     */
+    public void copy(S source, T target) {
+        if (source == null || target == null) {
+            return;
+        }
+        if (generated != null) {
+            generated.copy(source, target);
+            return;
+        }
+        for (Property property : properties) {
+            try {
+                Object value = (Object) property.getter.invokeExact((Object) source);
+                if (value == null) {
+                    if (property.primitive) {
+                        continue;
+                    }
+                } else if (property.converter != null) {
+                    value = property.converter.apply(value);
+                    if (value == SKIP) {
+                        continue;
+                    }
+                }
+                property.setter.invokeExact((Object) target, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException("拷贝属性\"" + property.name + "\"失败", e);
+            }
+        }
+    }
+
+    /**
+     * 使用无参构造器创建目标对象
+     * @return 目标对象
+     */
+    @SuppressWarnings("unchecked")
+    public T newTarget() {
+        if (generated != null) {
+            return generated.newTarget();
+        }
+        return (T) targetIndex.newInstance();
+    }
+
+    private static Property[] resolveProperties(Class<?> sourceClass, BeanPropertyIndex targetIndex) {
+        List<Property> properties = new ArrayList<>();
+        for (BeanPropertyIndex.Property source : BeanPropertyIndex.of(sourceClass).fieldProperties()) {
+            BeanPropertyIndex.Property target = targetIndex.get(source.getName());
+            if (target == null || !target.isWritable()) {
+                continue;
+            }
+            Function<Object, Object> converter = resolveConverter(source.getType(), target.getType());
+            if (converter != null) {
+                properties.add(new Property(source.getName(), source.getter(), target.setter(),
+                        identityToNull(converter), target.getType().isPrimitive()));
+            }
+        }
+        return properties.toArray(new Property[0]);
+    }
+
+    private static Function<Object, Object> identityToNull(Function<Object, Object> converter) {
+        return converter == IDENTITY ? null : converter;
+    }
+
+    /**
+     * 确定源类型到目标类型的转换器
+     * @return 转换器，类型兼容时返回IDENTITY，无法转换时返回null
+     */
+    static Function<Object, Object> resolveConverter(Class<?> sourceType, Class<?> targetType) {
+        Class<?> boxedSource = box(sourceType);
+        Class<?> boxedTarget = box(targetType);
+        if (boxedTarget.isAssignableFrom(boxedSource)) {
+            return IDENTITY;
+        }
+        if (targetType.isPrimitive() && isWidening(boxedSource, targetType)) {
+            return value -> widen(value, targetType);
+        }
+        if (Number.class.isAssignableFrom(boxedSource)) {
+            Function<Object, Object> numberConverter = numberConverter(boxedTarget);
+            if (numberConverter != null) {
+                return numberConverter;
+            }
+        }
+        if (sourceType == String.class && targetType == Date.class) {
+            return value -> DateCodec.parse((String) value);
+        }
+        if (boxedSource.isAssignableFrom(boxedTarget)) {
+            // 声明类型较宽（如Object），按运行时类型判断
+            return value -> boxedTarget.isInstance(value) ? value : SKIP;
+        }
+        return null;
+    }
+
+    /**
+     * 是否为基本类型拓宽转换（JLS 5.1.2），即Field.set对基本类型字段允许的转换
+     * @param boxedSource 源包装类型
+     * @param primitiveTarget 目标基本类型
+     * @return 是否可以拓宽
+     */
+    static boolean isWidening(Class<?> boxedSource, Class<?> primitiveTarget) {
+        if (boxedSource == Byte.class) {
+            return primitiveTarget == short.class || primitiveTarget == int.class || primitiveTarget == long.class
+                    || primitiveTarget == float.class || primitiveTarget == double.class;
+        }
+        if (boxedSource == Short.class || boxedSource == Character.class) {
+            return primitiveTarget == int.class || primitiveTarget == long.class
+                    || primitiveTarget == float.class || primitiveTarget == double.class;
+        }
+        if (boxedSource == Integer.class) {
+            return primitiveTarget == long.class || primitiveTarget == float.class || primitiveTarget == double.class;
+        }
+        if (boxedSource == Long.class) {
+            return primitiveTarget == float.class || primitiveTarget == double.class;
+        }
+        return boxedSource == Float.class && primitiveTarget == double.class;
+    }
+
+    /**
+     * 基本类型拓宽转换，返回目标基本类型对应的包装值
+     */
+    private static Object widen(Object value, Class<?> primitiveTarget) {
+        Number number = value instanceof Character ? (Number) (int) (Character) value : (Number) value;
+        if (primitiveTarget == long.class) {
+            return number.longValue();
+        }
+        if (primitiveTarget == double.class) {
+            return number.doubleValue();
+        }
+        if (primitiveTarget == float.class) {
+            return number.floatValue();
+        }
+        if (primitiveTarget == int.class) {
+            return number.intValue();
+        }
+        return number.shortValue();
+    }
+
+    private static Function<Object, Object> numberConverter(Class<?> boxedTarget) {
+        if (boxedTarget == Integer.class || boxedTarget == Long.class || boxedTarget == Double.class
+                || boxedTarget == Float.class || boxedTarget == Short.class || boxedTarget == Byte.class) {
+            return value -> convertNumber((Number) value, boxedTarget);
+        }
+        return null;
+    }
+
+    /**
+     * 数值转换：值能被目标类型精确表示时转换（如Long 3转int、Integer转double），
+     * 超出范围或丢失精度时（如Long溢出int、2.5转long、BigDecimal小数位转float）返回SKIP
+     * @param value 数值
+     * @param boxedTarget 目标包装类型
+     * @return 转换后的值或SKIP
+     */
+    static Object convertNumber(Number value, Class<?> boxedTarget) {
+        if (boxedTarget == Double.class) {
+            double d = value.doubleValue();
+            return value instanceof Float || isExact(value, d) ? (Object) d : SKIP;
+        }
+        if (boxedTarget == Float.class) {
+            float f = value.floatValue();
+            if (value instanceof Double) {
+                double d = value.doubleValue();
+                return Double.isNaN(d) || f == d ? (Object) f : SKIP;
+            }
+            return isExact(value, f) ? (Object) f : SKIP;
+        }
+        Long exact = exactLong(value);
+        if (exact == null) {
+            return SKIP;
+        }
+        long l = exact;
+        if (boxedTarget == Long.class) {
+            return l;
+        }
+        if (boxedTarget == Integer.class) {
+            return l == (int) l ? (Object) (int) l : SKIP;
+        }
+        if (boxedTarget == Short.class) {
+            return l == (short) l ? (Object) (short) l : SKIP;
+        }
+        if (boxedTarget == Byte.class) {
+            return l == (byte) l ? (Object) (byte) l : SKIP;
+        }
+        return SKIP;
+    }
+
+    /**
+     * 取整数值，不是整数或超出long范围时返回null
+     */
+    private static Long exactLong(Number value) {
+        if (isIntegral(value)) {
+            return value.longValue();
+        }
+        if (value instanceof BigInteger) {
+            return ((BigInteger) value).bitLength() < 64 ? value.longValue() : null;
+        }
+        if (value instanceof BigDecimal) {
+            try {
+                return ((BigDecimal) value).longValueExact();
+            } catch (ArithmeticException e) {
+                return null;
+            }
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double d = value.doubleValue();
+            return d == Math.rint(d) && d >= -0x1p63 && d < 0x1p63 ? (long) d : null;
+        }
+        return null;
+    }
+
+    /**
+     * 判断浮点值d是否与原数值完全相等
+     */
+    private static boolean isExact(Number value, double d) {
+        if (Double.isInfinite(d) || Double.isNaN(d)) {
+            return false;
+        }
+        if (isIntegral(value)) {
+            return d >= -0x1p63 && d < 0x1p63 && (long) d == value.longValue();
+        }
+        if (value instanceof BigInteger) {
+            return new BigDecimal(d).compareTo(new BigDecimal((BigInteger) value)) == 0;
+        }
+        if (value instanceof BigDecimal) {
+            return new BigDecimal(d).compareTo((BigDecimal) value) == 0;
+        }
+        return false;
+    }
+
+    private static boolean isIntegral(Number value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+                || value instanceof AtomicInteger || value instanceof AtomicLong;
+    }
+
+    private static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    /**
+     * 拷贝计划中的单个属性
+     */
+    private static final class Property {
+        private final String name;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final Function<Object, Object> converter;
+        private final boolean primitive;
+
+        private Property(String name, MethodHandle getter, MethodHandle setter,
+                         Function<Object, Object> converter, boolean primitive) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+            this.converter = converter;
+            this.primitive = primitive;
+        }
+    }
+}
@@ -1,13 +1,14 @@
 package io.github.jukejuke.tool.bean;
 
-import java.lang.reflect.Field;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Bean属性过滤工具类，用于根据排除字段集合筛选对象中的属性
+ * 基于缓存的 {@link BeanProjection}，同一(类, 排除字段集合)只解析一次
  */
 public class BeanFieldFilter {
     
@@ -19,27 +20,31 @@ public class BeanFieldFilter {
      * @throws IllegalAccessException 当无法访问字段（如安全管理器限制）时抛出
      */
     public static Map<String, Object> getFilteredFields(Object bean, Set<String> excludeFields) throws IllegalAccessException {
-        // Handle null excludeFields by treating as empty set
-        if (excludeFields == null) {
-            excludeFields = new HashSet<>();
-        }
-        Map<String, Object> result = new HashMap<>();
-        Class<?> clazz = bean.getClass();
-
-        // 获取所有声明的字段（包括 private）
-        Field[] fields = clazz.getDeclaredFields();
+        return BeanProjection.of(bean.getClass(), excludeFields).toMap(bean);
+    }
 
-        for (Field field : fields) {
-            String fieldName = field.getName();
-            if (excludeFields.contains(fieldName)) {
-                continue; // 跳过要排除的字段
+    /**
+     * 批量获取对象中除排除字段外的所有字段名和值，同一类型的对象只查找一次投影
+     * @param beans 待处理的JavaBean集合，元素为null时结果中对应位置为null
+     * @param excludeFields 需要排除的字段名集合，可以为null（表示不排除任何字段）
+     * @return 筛选后的Map列表，beans为null时返回空列表
+     */
+    public static List<Map<String, Object>> getFilteredFieldsList(Collection<?> beans, Set<String> excludeFields) {
+        if (beans == null) {
+            return new ArrayList<>();
+        }
+        List<Map<String, Object>> result = new ArrayList<>(beans.size());
+        BeanProjection projection = null;
+        for (Object bean : beans) {
+            if (bean == null) {
+                result.add(null);
+                continue;
             }
-
-            field.setAccessible(true); // 允许访问私有字段
-            Object value = field.get(bean);
-            result.put(fieldName, value);
+            if (projection == null || projection.getType() != bean.getClass()) {
+                projection = BeanProjection.of(bean.getClass(), excludeFields);
+            }
+            result.add(projection.toMap(bean));
         }
-
         return result;
     }
-}
\ No newline at end of file
+}
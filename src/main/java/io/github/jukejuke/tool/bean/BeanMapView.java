@@ -0,0 +1,71 @@
+package io.github.jukejuke.tool.bean;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Bean的只读Map视图
+ * 不拷贝属性值，每次访问时从Bean读取，取值规则与BeanUtils.beanToMap一致（Date格式化为字符串）
+ */
+final class BeanMapView extends AbstractMap<String, Object> {
+
+    private final Object bean;
+    private final BeanPropertyIndex index;
+
+    BeanMapView(Object bean) {
+        this.bean = bean;
+        this.index = BeanPropertyIndex.of(bean.getClass());
+    }
+
+    @Override
+    public int size() {
+        return index.fieldProperties().length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        // 只有字段属性可读，可读属性即视图中的键
+        BeanPropertyIndex.Property property = key instanceof String ? index.get((String) key) : null;
+        return property != null && property.isReadable();
+    }
+
+    @Override
+    public Object get(Object key) {
+        return containsKey(key) ? index.get((String) key).getForMap(bean) : null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                BeanPropertyIndex.Property[] properties = index.fieldProperties();
+                return new Iterator<Entry<String, Object>>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < properties.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (next >= properties.length) {
+                            throw new NoSuchElementException();
+                        }
+                        BeanPropertyIndex.Property property = properties[next++];
+                        return new SimpleImmutableEntry<>(property.getName(), property.getForMap(bean));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return index.fieldProperties().length;
+            }
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.jukejuke.tool.bean;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明需要在编译期生成拷贝器的Bean类型对
+ * 可标注在任意类上（如配置类），由注解处理器 io.github.jukejuke.tool.processor.JkToolProcessor
+ * 生成 {@link GeneratedBeanCopier} 实现，BeanCopier 通过 ServiceLoader 加载；未启用注解处理器时不产生任何影响
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+@Repeatable(BeanMappings.class)
+public @interface BeanMapping {
+
+    /**
+     * 源类型
+     */
+    Class<?> source();
+
+    /**
+     * 目标类型
+     */
+    Class<?> target();
+}
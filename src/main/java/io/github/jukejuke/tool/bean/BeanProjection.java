@@ -0,0 +1,250 @@
+package io.github.jukejuke.tool.bean;
+
+import com.alibaba.fastjson2.JSONWriter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bean属性投影
+ * 按(类, 排除字段集合)生成一次：保留的属性名和读取用的MethodHandle预先确定，
+ * 处理每个Bean时不再反射查找字段，也不再逐个判断字段是否被排除。
+ * 投影缓存在ClassValue中，随类卸载释放，每个类最多缓存 {@link #MAX_CACHED_PER_CLASS} 种排除集合
+ *
+ * 属性范围与BeanFieldFilter.getFilteredFields一致：类自身声明的实例字段（不含父类字段）
+ */
+public final class BeanProjection {
+
+    /**
+     * 每个类缓存的排除集合数量上限，超出后生成的投影不再缓存
+     */
+    public static final int MAX_CACHED_PER_CLASS = 64;
+
+    private static final ClassValue<ConcurrentMap<Set<String>, BeanProjection>> CACHE =
+            new ClassValue<ConcurrentMap<Set<String>, BeanProjection>>() {
+                @Override
+                protected ConcurrentMap<Set<String>, BeanProjection> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private final Class<?> type;
+
+    private final String[] names;
+    private final MethodHandle[] getters;
+    private final int mapCapacity;
+
+    /**
+     * 被排除的字段，用于将其置为null；与原实现一致直接写字段（包括final字段），不经过setter
+     */
+    private final Field[] excluded;
+
+    private BeanProjection(Class<?> type, Set<String> excludeFields) {
+        this.type = type;
+        BeanPropertyIndex index = BeanPropertyIndex.of(type);
+        List<String> nameList = new ArrayList<>();
+        List<MethodHandle> getterList = new ArrayList<>();
+        List<Field> excludedList = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                continue;
+            }
+            if (excludeFields.contains(field.getName())) {
+                // 无法设置可访问时在clearExcluded中由Field.set抛出IllegalAccessException
+                field.trySetAccessible();
+                excludedList.add(field);
+                continue;
+            }
+            BeanPropertyIndex.Property property = index.get(field.getName());
+            if (property.isReadable()) {
+                nameList.add(property.getName());
+                getterList.add(property.getter());
+            }
+        }
+        this.names = nameList.toArray(new String[0]);
+        this.getters = getterList.toArray(new MethodHandle[0]);
+        this.mapCapacity = (int) (names.length / 0.75f) + 1;
+        this.excluded = excludedList.toArray(new Field[0]);
+    }
+
+    /**
+     * 获取(类, 排除字段集合)的投影，首次获取时生成
+     * @param type Bean类型
+     * @param excludeFields 需要排除的字段名集合，可以为null（表示不排除任何字段）
+     * @return 投影
+     */
+    public static BeanProjection of(Class<?> type, Set<String> excludeFields) {
+        if (type == null) {
+            throw new IllegalArgumentException("type must not be null");
+        }
+        Set<String> key = excludeFields == null ? Collections.emptySet() : excludeFields;
+        ConcurrentMap<Set<String>, BeanProjection> projections = CACHE.get(type);
+        BeanProjection projection = projections.get(key);
+        if (projection != null) {
+            return projection;
+        }
+        // 复制排除集合作为缓存键，调用方之后修改原集合不影响缓存
+        Set<String> copy = Set.copyOf(key);
+        if (projections.size() >= MAX_CACHED_PER_CLASS) {
+            return new BeanProjection(type, copy);
+        }
+        return projections.computeIfAbsent(copy, k -> new BeanProjection(type, k));
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * 保留的属性名，按字段声明顺序
+     * @return 不可修改的属性名列表
+     */
+    public List<String> getPropertyNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * 将Bean保留的属性写入预分配容量的Map
+     * @param bean Bean对象，类型必须与投影类型一致
+     * @return 属性名和值的Map
+     */
+    public Map<String, Object> toMap(Object bean) {
+        checkType(bean);
+        Map<String, Object> result = new HashMap<>(mapCapacity);
+        for (int i = 0; i < names.length; i++) {
+            result.put(names[i], get(i, bean));
+        }
+        return result;
+    }
+
+    /**
+     * 将Bean保留的属性作为JSON对象直接写入JSONWriter，不生成中间Map
+     * 值为null的属性仅在启用 {@link JSONWriter.Feature#WriteNulls} 时写出，与fastjson2默认行为一致
+     * @param writer JSONWriter
+     * @param bean Bean对象，为null时写出null
+     */
+    public void writeTo(JSONWriter writer, Object bean) {
+        if (bean == null) {
+            writer.writeNull();
+            return;
+        }
+        checkType(bean);
+        boolean writeNulls = writer.isEnabled(JSONWriter.Feature.WriteNulls);
+        writer.startObject();
+        for (int i = 0; i < names.length; i++) {
+            Object value = get(i, bean);
+            if (value == null && !writeNulls) {
+                continue;
+            }
+            writer.writeName(names[i]);
+            writer.writeColon();
+            writer.writeAny(value);
+        }
+        writer.endObject();
+    }
+
+    /**
+     * 将Bean排除的字段置为null，final字段同样置为null
+     * @param bean Bean对象，类型必须与投影类型一致
+     * @throws IllegalArgumentException 排除的字段为基本类型时抛出
+     * @throws IllegalAccessException 字段无法访问时抛出
+     */
+    void clearExcluded(Object bean) throws IllegalAccessException {
+        checkType(bean);
+        for (Field field : excluded) {
+            if (field.getType().isPrimitive()) {
+                throw new IllegalArgumentException("Can not set primitive property \"" + field.getName() + "\" to null");
+            }
+            field.set(bean, null);
+        }
+    }
+
+    /**
+     * 将Bean按排除字段集合转换为JSON字符串
+     * @param bean Bean对象
+     * @param excludeFields 需要排除的字段名集合，可以为null
+     * @return JSON字符串，bean为null时返回"null"
+     */
+    public static String toJSONString(Object bean, Set<String> excludeFields) {
+        try (JSONWriter writer = JSONWriter.of()) {
+            if (bean == null) {
+                writer.writeNull();
+            } else {
+                of(bean.getClass(), excludeFields).writeTo(writer, bean);
+            }
+            return writer.toString();
+        }
+    }
+
+    /**
+     * 将Bean集合按排除字段集合转换为JSON数组字符串，同一类型的Bean只查找一次投影
+     * @param beans Bean集合
+     * @param excludeFields 需要排除的字段名集合，可以为null
+     * @return JSON数组字符串，beans为null时返回"null"
+     */
+    public static String toJSONString(Collection<?> beans, Set<String> excludeFields) {
+        try (JSONWriter writer = JSONWriter.of()) {
+            writeTo(writer, beans, excludeFields);
+            return writer.toString();
+        }
+    }
+
+    /**
+     * 将Bean集合按排除字段集合作为JSON数组写入JSONWriter
+     * @param writer JSONWriter
+     * @param beans Bean集合
+     * @param excludeFields 需要排除的字段名集合，可以为null
+     */
+    public static void writeTo(JSONWriter writer, Collection<?> beans, Set<String> excludeFields) {
+        if (beans == null) {
+            writer.writeNull();
+            return;
+        }
+        writer.startArray();
+        BeanProjection projection = null;
+        boolean first = true;
+        for (Object bean : beans) {
+            if (!first) {
+                writer.writeComma();
+            }
+            first = false;
+            if (bean == null) {
+                writer.writeNull();
+                continue;
+            }
+            if (projection == null || projection.type != bean.getClass()) {
+                projection = of(bean.getClass(), excludeFields);
+            }
+            projection.writeTo(writer, bean);
+        }
+        writer.endArray();
+    }
+
+    private Object get(int i, Object bean) {
+        try {
+            return (Object) getters[i].invokeExact(bean);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException("Get property \"" + names[i] + "\" error", e);
+        }
+    }
+
+    private void checkType(Object bean) {
+        if (bean.getClass() != type) {
+            throw new IllegalArgumentException("Bean type " + bean.getClass().getName()
+                    + " does not match projection type " + type.getName());
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package io.github.jukejuke.tool.bean;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bean属性索引
+ * 每个类解析一次并缓存在ClassValue中，按属性名O(1)查找读写访问器，查找不存在的属性不抛出异常
+ *
+ * 属性来源：
+ * 1. 类及父类的实例字段（子类字段优先），优先直接访问字段（final字段同样可写，与Field.set一致），
+ *    字段不可访问时使用getter/is-getter和setter；
+ * 2. 没有对应字段的public setter，作为只写属性
+ */
+final class BeanPropertyIndex {
+
+    private static final ClassValue<BeanPropertyIndex> CACHE = new ClassValue<BeanPropertyIndex>() {
+        @Override
+        protected BeanPropertyIndex computeValue(Class<?> type) {
+            return new BeanPropertyIndex(type);
+        }
+    };
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private final Class<?> type;
+
+    /**
+     * 无参构造器，不存在时为null
+     */
+    private final MethodHandle constructor;
+
+    private final Map<String, Property> properties;
+
+    /**
+     * 字段对应的可读属性，按声明顺序（子类在前）
+     */
+    private final Property[] fieldProperties;
+
+    /**
+     * 容纳全部字段属性且不触发扩容的HashMap初始容量
+     */
+    private final int mapCapacity;
+
+    private BeanPropertyIndex(Class<?> type) {
+        this.type = type;
+        this.constructor = resolveConstructor(type);
+        Map<String, Property> map = new LinkedHashMap<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic() || map.containsKey(field.getName())) {
+                    continue;
+                }
+                map.put(field.getName(), fieldProperty(type, field));
+            }
+        }
+        List<Property> fieldProps = new ArrayList<>(map.values());
+        for (Method method : type.getMethods()) {
+            String name = method.getName();
+            if (name.length() > 3 && name.startsWith("set") && method.getParameterCount() == 1
+                    && !Modifier.isStatic(method.getModifiers())) {
+                String property = Character.toLowerCase(name.charAt(3)) + name.substring(4);
+                if (!map.containsKey(property)) {
+                    MethodHandle setter = unreflect(method, SETTER_TYPE);
+                    if (setter != null) {
+                        map.put(property, new Property(property, method.getParameterTypes()[0], null, setter));
+                    }
+                }
+            }
+        }
+        this.properties = new HashMap<>(map);
+        this.fieldProperties = fieldProps.stream().filter(Property::isReadable).toArray(Property[]::new);
+        this.mapCapacity = (int) (fieldProperties.length / 0.75f) + 1;
+    }
+
+    /**
+     * 获取类的属性索引
+     * @param type 类
+     * @return 属性索引
+     */
+    static BeanPropertyIndex of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * 查找属性
+     * @param name 属性名
+     * @return 属性，不存在时返回null
+     */
+    Property get(String name) {
+        return name == null ? null : properties.get(name);
+    }
+
+    /**
+     * 字段对应的可读属性（含父类字段），用于Bean转Map和拷贝
+     * @return 属性数组，调用方不可修改
+     */
+    Property[] fieldProperties() {
+        return fieldProperties;
+    }
+
+    int mapCapacity() {
+        return mapCapacity;
+    }
+
+    /**
+     * 使用无参构造器创建实例
+     * @return 实例
+     */
+    Object newInstance() {
+        if (constructor == null) {
+            throw new IllegalStateException("No default constructor in class " + type.getName());
+        }
+        try {
+            return (Object) constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException("Create instance of " + type.getName() + " error", e);
+        }
+    }
+
+    private static MethodHandle resolveConstructor(Class<?> type) {
+        if (type.isInterface() || type.isPrimitive() || type.isArray() || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            Constructor<?> ctor = type.getDeclaredConstructor();
+            ctor.setAccessible(true);
+            return LOOKUP.unreflectConstructor(ctor).asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Property fieldProperty(Class<?> type, Field field) {
+        String name = field.getName();
+        String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        boolean accessible = trySetAccessible(field);
+
+        MethodHandle getter = null;
+        MethodHandle setter = null;
+        if (accessible) {
+            try {
+                getter = LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
+                // 与Field.set一致，可访问的final实例字段同样可写（record等不允许时回退到setter）
+                setter = LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                // 回退到访问方法
+            }
+        }
+        if (getter == null) {
+            getter = publicMethod(type, "get" + suffix, GETTER_TYPE);
+            if (getter == null) {
+                getter = publicMethod(type, "is" + suffix, GETTER_TYPE);
+            }
+        }
+        if (setter == null) {
+            setter = publicMethod(type, "set" + suffix, SETTER_TYPE, field.getType());
+        }
+        return new Property(name, field.getType(), getter, setter);
+    }
+
+    private static boolean trySetAccessible(Field field) {
+        try {
+            field.setAccessible(true);
+            return true;
+        } catch (RuntimeException e) {
+            // JDK模块内的类不允许反射访问
+            return false;
+        }
+    }
+
+    private static MethodHandle publicMethod(Class<?> type, String name, MethodType handleType, Class<?>... parameterTypes) {
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(name) && !Modifier.isStatic(method.getModifiers())
+                    && Arrays.equals(method.getParameterTypes(), parameterTypes)) {
+                return unreflect(method, handleType);
+            }
+        }
+        return null;
+    }
+
+    private static MethodHandle unreflect(Method method, MethodType handleType) {
+        try {
+            method.setAccessible(true);
+            // 链式setter的返回值在asType时丢弃
+            return LOOKUP.unreflect(method).asType(handleType);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 单个属性的类型与读写访问器
+     */
+    static final class Property {
+        private final String name;
+        private final Class<?> type;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        /**
+         * 属性值可能是Date，转Map时需要格式化
+         */
+        private final boolean mayBeDate;
+
+        /**
+         * 最近一次写入值类型对应的转换器，同一属性写入的值类型通常固定
+         */
+        private volatile WriteConverter writeConverter;
+
+        private Property(String name, Class<?> type, MethodHandle getter, MethodHandle setter) {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+            this.setter = setter;
+            this.mayBeDate = Date.class.isAssignableFrom(type) || type.isAssignableFrom(Date.class);
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Class<?> getType() {
+            return type;
+        }
+
+        boolean isReadable() {
+            return getter != null;
+        }
+
+        boolean isWritable() {
+            return setter != null;
+        }
+
+        /**
+         * 读取属性值的MethodHandle，类型为(Object)Object
+         */
+        MethodHandle getter() {
+            return getter;
+        }
+
+        /**
+         * 写入属性值的MethodHandle，类型为(Object,Object)void
+         */
+        MethodHandle setter() {
+            return setter;
+        }
+
+        Object get(Object bean) {
+            try {
+                return (Object) getter.invokeExact(bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException("Get property \"" + name + "\" error", e);
+            }
+        }
+
+        /**
+         * 读取用于Map输出的属性值，Date格式化为字符串
+         * @param bean Bean对象
+         * @return 属性值
+         */
+        Object getForMap(Object bean) {
+            Object value = get(bean);
+            if (mayBeDate && value instanceof Date) {
+                return DateCodec.format((Date) value);
+            }
+            return value;
+        }
+
+        /**
+         * 将值转换后写入属性：null不写入基本类型属性，类型无法转换的值被跳过
+         * @param bean Bean对象
+         * @param value 属性值
+         * @return 是否写入
+         */
+        boolean setConverted(Object bean, Object value) {
+            if (value == null) {
+                if (type.isPrimitive()) {
+                    return false;
+                }
+                set(bean, null);
+                return true;
+            }
+            Class<?> valueClass = value.getClass();
+            WriteConverter cached = writeConverter;
+            if (cached == null || cached.valueClass != valueClass) {
+                cached = new WriteConverter(valueClass, BeanCopier.resolveConverter(valueClass, type));
+                writeConverter = cached;
+            }
+            if (cached.converter == null) {
+                return false;
+            }
+            Object converted = cached.converter == BeanCopier.IDENTITY ? value : cached.converter.apply(value);
+            if (converted == BeanCopier.SKIP) {
+                return false;
+            }
+            set(bean, converted);
+            return true;
+        }
+
+        void set(Object bean, Object value) {
+            try {
+                setter.invokeExact(bean, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException("Set property \"" + name + "\" error", e);
+            }
+        }
+    }
+
+    /**
+     * 值类型与转换器
+     */
+    private static final class WriteConverter {
+        private final Class<?> valueClass;
+        private final Function<Object, Object> converter;
+
+        private WriteConverter(Class<?> valueClass, Function<Object, Object> converter) {
+            this.valueClass = valueClass;
+            this.converter = converter;
+        }
+    }
+}
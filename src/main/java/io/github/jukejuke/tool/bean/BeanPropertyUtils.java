@@ -1,13 +1,12 @@
 package io.github.jukejuke.tool.bean;
 
-import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
 /**
  * Bean属性操作工具类
- * 提供通过反射机制移除Bean对象指定属性的功能
+ * 提供移除Bean对象指定属性的功能，字段访问器按类缓存（见BeanProjection）
  */
 public class BeanPropertyUtils {
 
@@ -24,22 +23,9 @@ public class BeanPropertyUtils {
             return bean;
         }
 
-        // 使用Set存储属性名，提高查找效率
+        // 要移除的属性作为投影的排除集合，字段解析按(类, 属性集合)缓存
         Set<String> propertiesToRemove = new HashSet<>(Arrays.asList(propertyNames));
-
-        // 获取类的所有字段（包括私有字段）
-        Class<?> beanClass = bean.getClass();
-        Field[] fields = beanClass.getDeclaredFields();
-
-        for (Field field : fields) {
-            // 如果字段在要移除的属性列表中
-            if (propertiesToRemove.contains(field.getName())) {
-                // 设置私有字段可访问
-                field.setAccessible(true);
-                // 将字段值设为null
-                field.set(bean, null);
-            }
-        }
+        BeanProjection.of(bean.getClass(), propertiesToRemove).clearExcluded(bean);
 
         return bean;
     }
@@ -1,12 +1,7 @@
 package io.github.jukejuke.tool.bean;
 
-import io.github.jukejuke.tool.date.DateUtil;
 import lombok.extern.slf4j.Slf4j;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -30,41 +25,65 @@ public class BeanUtils {
             return null;
         }
         
-        T target = targetClass.newInstance();
-        copyBeanProperties(source, target);
-        return target;
+        return copier(source, targetClass).copy(source);
     }
     
     /**
      * 将源Bean的属性拷贝到目标Bean
+     * 拷贝计划按(源类型, 目标类型)生成一次并缓存，见{@link BeanCopier}
      * @param source 源Bean对象
      * @param target 目标Bean对象
      * @throws Exception 反射异常
      */
+    @SuppressWarnings("unchecked")
     public static void copyBeanProperties(Object source, Object target) throws Exception {
         if (source == null || target == null) {
             return;
         }
         
-        Class<?> sourceClass = source.getClass();
-        Class<?> targetClass = target.getClass();
-        
-        Field[] sourceFields = sourceClass.getDeclaredFields();
-        for (Field sourceField : sourceFields) {
-            String fieldName = sourceField.getName();
-            Object fieldValue = getFieldValue(source, fieldName);
-            
-            try {
-                setFieldValue(target, fieldName, fieldValue);
-            } catch (Exception e) {
-                // 如果目标Bean没有该字段，跳过
-                continue;
-            }
-        }
+        copier(source, (Class<Object>) target.getClass()).copy(source, target);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> BeanCopier<Object, T> copier(Object source, Class<T> targetClass) {
+        return BeanCopier.get((Class<Object>) source.getClass(), targetClass);
+    }
+    
+    /**
+     * 判断类是否有指定属性（含父类字段和没有对应字段的setter），不存在时不抛出异常
+     * @param beanClass Bean类
+     * @param propertyName 属性名
+     * @return 是否存在
+     */
+    public static boolean hasProperty(Class<?> beanClass, String propertyName) {
+        return beanClass != null && BeanPropertyIndex.of(beanClass).get(propertyName) != null;
+    }
+    
+    /**
+     * 判断类的指定属性是否可读
+     * @param beanClass Bean类
+     * @param propertyName 属性名
+     * @return 是否可读
+     */
+    public static boolean isReadableProperty(Class<?> beanClass, String propertyName) {
+        BeanPropertyIndex.Property property = beanClass == null ? null : BeanPropertyIndex.of(beanClass).get(propertyName);
+        return property != null && property.isReadable();
+    }
+    
+    /**
+     * 判断类的指定属性是否可写
+     * @param beanClass Bean类
+     * @param propertyName 属性名
+     * @return 是否可写
+     */
+    public static boolean isWritableProperty(Class<?> beanClass, String propertyName) {
+        BeanPropertyIndex.Property property = beanClass == null ? null : BeanPropertyIndex.of(beanClass).get(propertyName);
+        return property != null && property.isWritable();
     }
     
     /**
      * Bean对象转Map
+     * 包含类及父类的实例字段
      * @param bean Bean对象
      * @return Map对象
      * @throws Exception 反射异常
@@ -74,35 +93,32 @@ public class BeanUtils {
             return null;
         }
         
-        Map<String, Object> map = new HashMap<>();
-        Class<?> beanClass = bean.getClass();
-        Field[] fields = beanClass.getDeclaredFields();
-        
-        for (Field field : fields) {
-            String fieldName = field.getName();
-            Object fieldValue = getFieldValue(bean, fieldName);
-            
-            // 处理日期类型
-            if (fieldValue instanceof Date) {
-                // 判断是否为纯日期（时间部分为00:00:00）
-                Date date = (Date) fieldValue;
-                String formattedDate;
-                if (DateUtil.truncateTime(date).getTime() == date.getTime()) {
-                    formattedDate = DateUtil.format(date, DateUtil.FORMAT_DATE);
-                } else {
-                    formattedDate = DateUtil.format(date, DateUtil.FORMAT_DATETIME);
-                }
-                map.put(fieldName, formattedDate);
-            } else {
-                map.put(fieldName, fieldValue);
-            }
+        BeanPropertyIndex index = BeanPropertyIndex.of(bean.getClass());
+        Map<String, Object> map = new HashMap<>(index.mapCapacity());
+        for (BeanPropertyIndex.Property property : index.fieldProperties()) {
+            // 日期类型：纯日期格式化为yyyy-MM-dd，否则为yyyy-MM-dd HH:mm:ss
+            map.put(property.getName(), property.getForMap(bean));
         }
         
         return map;
     }
     
+    /**
+     * 获取Bean的只读Map视图
+     * 不拷贝属性值，访问时从Bean读取，适合只读取部分属性或直接序列化的场景
+     * @param bean Bean对象
+     * @return Map视图，Bean为null时返回null
+     */
+    public static Map<String, Object> beanAsMap(Object bean) {
+        if (bean == null) {
+            return null;
+        }
+        return new BeanMapView(bean);
+    }
+    
     /**
      * Map转Bean对象
+     * Bean中不存在、不可写或类型无法转换的键会被跳过
      * @param map Map对象
      * @param beanClass Bean类
      * @param <T> Bean类型
@@ -114,129 +130,18 @@ public class BeanUtils {
             return null;
         }
         
-        T bean = beanClass.newInstance();
+        BeanPropertyIndex index = BeanPropertyIndex.of(beanClass);
+        T bean = beanClass.cast(index.newInstance());
         
         for (Map.Entry<String, Object> entry : map.entrySet()) {
-            String fieldName = entry.getKey();
-            Object fieldValue = entry.getValue();
-            
-            try {
-                setFieldValue(bean, fieldName, fieldValue);
-            } catch (Exception e) {
-                // 如果Bean没有该字段，跳过
+            BeanPropertyIndex.Property property = index.get(entry.getKey());
+            if (property == null || !property.isWritable()) {
                 continue;
             }
+            // 处理日期字符串、数值等类型转换，无法转换的值跳过
+            property.setConverted(bean, entry.getValue());
         }
         
         return bean;
     }
-    
-    /**
-     * 获取Bean对象的字段值
-     * @param bean Bean对象
-     * @param fieldName 字段名
-     * @return 字段值
-     * @throws Exception 反射异常
-     */
-    private static Object getFieldValue(Object bean, String fieldName) throws Exception {
-        Class<?> beanClass = bean.getClass();
-        
-        // 尝试直接访问字段
-        try {
-            Field field = beanClass.getDeclaredField(fieldName);
-            field.setAccessible(true);
-            return field.get(bean);
-        } catch (NoSuchFieldException e) {
-            // 尝试通过getter方法访问
-            String getterMethodName = "get" + fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
-            try {
-                Method getterMethod = beanClass.getMethod(getterMethodName);
-                return getterMethod.invoke(bean);
-            } catch (NoSuchMethodException ex) {
-                // 尝试通过is方法访问（布尔类型）
-                String isMethodName = "is" + fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
-                try {
-                    Method isMethod = beanClass.getMethod(isMethodName);
-                    return isMethod.invoke(bean);
-                } catch (NoSuchMethodException exc) {
-                    throw new NoSuchFieldException("Field \"" + fieldName + "\" not found in class " + beanClass.getName());
-                }
-            }
-        }
-    }
-    
-    /**
-     * 设置Bean对象的字段值
-     * @param bean Bean对象
-     * @param fieldName 字段名
-     * @param fieldValue 字段值
-     * @throws Exception 反射异常
-     */
-    private static void setFieldValue(Object bean, String fieldName, Object fieldValue) throws Exception {
-        Class<?> beanClass = bean.getClass();
-        
-        // 尝试直接设置字段
-        try {
-            Field field = beanClass.getDeclaredField(fieldName);
-            field.setAccessible(true);
-            
-            // 处理日期字符串转换
-            if (fieldValue instanceof String && field.getType() == Date.class) {
-                String dateStr = (String) fieldValue;
-                Date date;
-                if (dateStr.length() == 10) {
-                    // yyyy-MM-dd格式
-                    date = DateUtil.parse(dateStr, DateUtil.FORMAT_DATE);
-                } else {
-                    // yyyy-MM-dd HH:mm:ss格式或其他格式
-                    date = DateUtil.parse(dateStr, DateUtil.FORMAT_DATETIME);
-                }
-                field.set(bean, date);
-            } else {
-                field.set(bean, fieldValue);
-            }
-        } catch (NoSuchFieldException e) {
-            // 尝试通过setter方法设置
-            String setterMethodName = "set" + fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
-            try {
-                Method setterMethod = beanClass.getMethod(setterMethodName, getParameterType(fieldName, beanClass, fieldValue));
-                
-                // 处理日期字符串转换
-                if (fieldValue instanceof String && setterMethod.getParameterTypes()[0] == Date.class) {
-                    String dateStr = (String) fieldValue;
-                    Date date;
-                    if (dateStr.length() == 10) {
-                        // yyyy-MM-dd格式
-                        date = DateUtil.parse(dateStr, DateUtil.FORMAT_DATE);
-                    } else {
-                        // yyyy-MM-dd HH:mm:ss格式或其他格式
-                        date = DateUtil.parse(dateStr, DateUtil.FORMAT_DATETIME);
-                    }
-                    setterMethod.invoke(bean, date);
-                } else {
-                    setterMethod.invoke(bean, fieldValue);
-                }
-            } catch (NoSuchMethodException ex) {
-                throw new NoSuchFieldException("Field \"" + fieldName + "\" not found in class " + beanClass.getName());
-            }
-        }
-    }
-    
-    /**
-     * 获取setter方法的参数类型
-     * @param fieldName 字段名
-     * @param beanClass Bean类
-     * @param fieldValue 字段值
-     * @return 参数类型
-     */
-    private static Class<?> getParameterType(String fieldName, Class<?> beanClass, Object fieldValue) {
-        // 尝试从字段获取类型
-        try {
-            Field field = beanClass.getDeclaredField(fieldName);
-            return field.getType();
-        } catch (NoSuchFieldException e) {
-            // 如果字段不存在，返回值的类型
-            return fieldValue != null ? fieldValue.getClass() : Object.class;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package io.github.jukejuke.tool.bean;
+
+import io.github.jukejuke.tool.date.DateUtil;
+
+import java.util.Date;
+
+/**
+ * Bean与Map互转使用的日期编解码
+ * 通过DateUtil格式化和解析（固定模式走无格式化器的快速路径），格式与DateUtil.FORMAT_DATE、DateUtil.FORMAT_DATETIME一致：
+ * 时间部分为00:00:00.000的日期输出yyyy-MM-dd，否则输出yyyy-MM-dd HH:mm:ss
+ */
+final class DateCodec {
+
+    private static final String MIDNIGHT = " 00:00:00";
+
+    private DateCodec() {
+    }
+
+    /**
+     * 格式化日期
+     * @param date 日期，支持java.sql.Date/Timestamp等子类
+     * @return 日期字符串
+     */
+    static String format(Date date) {
+        String text = DateUtil.format(date, DateUtil.FORMAT_DATETIME);
+        if (Math.floorMod(date.getTime(), 1000L) == 0 && text.endsWith(MIDNIGHT)) {
+            return text.substring(0, text.length() - MIDNIGHT.length());
+        }
+        return text;
+    }
+
+    /**
+     * 解析日期字符串：长度为10时按yyyy-MM-dd，否则按yyyy-MM-dd HH:mm:ss（宽松规则）
+     * @param dateStr 日期字符串
+     * @return Date对象，无法解析时返回null
+     */
+    static Date parse(String dateStr) {
+        return DateUtil.parse(dateStr, dateStr.length() == 10 ? DateUtil.FORMAT_DATE : DateUtil.FORMAT_DATETIME);
+    }
+}
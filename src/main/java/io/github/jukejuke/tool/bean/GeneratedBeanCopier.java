@@ -0,0 +1,64 @@
+package io.github.jukejuke.tool.bean;
+
+import java.util.Date;
+
+/**
+ * 编译期生成的Bean拷贝器
+ * 由注解处理器为 {@link BeanMapping} 声明的类型对生成，拷贝规则与 {@link BeanCopier} 一致，
+ * 注册到 META-INF/services 后由 BeanCopier 优先使用
+ *
+ * @param <S> 源类型
+ * @param <T> 目标类型
+ */
+public interface GeneratedBeanCopier<S, T> {
+
+    /**
+     * 生成类名：源类型包名 + 源类型二进制名（$替换为_） + "_To_" + 目标类型二进制名（$替换为_） + 后缀
+     */
+    String CLASS_SUFFIX = "_BeanCopier";
+
+    /**
+     * 获取源类型
+     * @return 源类型
+     */
+    Class<S> getSourceType();
+
+    /**
+     * 获取目标类型
+     * @return 目标类型
+     */
+    Class<T> getTargetType();
+
+    /**
+     * 创建目标对象
+     * @return 目标对象
+     */
+    T newTarget();
+
+    /**
+     * 拷贝属性
+     * @param source 源对象，非null
+     * @param target 目标对象，非null
+     */
+    void copy(S source, T target);
+
+    /**
+     * 供生成代码使用的日期解析，与BeanCopier的String转Date规则一致
+     * @param dateStr 日期字符串
+     * @return Date对象
+     */
+    static Date parseDate(String dateStr) {
+        return DateCodec.parse(dateStr);
+    }
+
+    /**
+     * 供生成代码使用的数值转换，与BeanCopier的数值转换规则一致
+     * @param value 数值
+     * @param boxedTarget 目标包装类型
+     * @return 转换后的值，超出范围或丢失精度时返回null
+     */
+    static Object convertNumber(Number value, Class<?> boxedTarget) {
+        Object converted = BeanCopier.convertNumber(value, boxedTarget);
+        return converted == BeanCopier.SKIP ? null : converted;
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.jukejuke.tool.bean;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.stream.Collectors;
+
+/**
+ * 编译期生成的Bean拷贝器注册表
+ * 按源类型通过 ServiceLoader 查找一次并缓存，只实例化类名与源类型匹配的实现
+ */
+@Slf4j
+final class GeneratedCopiers {
+
+    private static final ClassValue<List<GeneratedBeanCopier<?, ?>>> CACHE = new ClassValue<List<GeneratedBeanCopier<?, ?>>>() {
+        @Override
+        protected List<GeneratedBeanCopier<?, ?>> computeValue(Class<?> sourceType) {
+            return load(sourceType);
+        }
+    };
+
+    private GeneratedCopiers() {
+    }
+
+    /**
+     * 查找(源类型, 目标类型)的生成拷贝器
+     * @param sourceType 源类型
+     * @param targetType 目标类型
+     * @return 生成拷贝器，不存在时返回null
+     */
+    static GeneratedBeanCopier<?, ?> find(Class<?> sourceType, Class<?> targetType) {
+        for (GeneratedBeanCopier<?, ?> copier : CACHE.get(sourceType)) {
+            if (copier.getTargetType() == targetType) {
+                return copier;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 生成拷贝器类名的前缀（不含目标类型部分）
+     * @param sourceType 源类型
+     * @return 全限定类名前缀
+     */
+    static String generatedPrefix(Class<?> sourceType) {
+        String packageName = sourceType.getPackage() == null ? "" : sourceType.getPackage().getName();
+        String binaryName = packageName.isEmpty() ? sourceType.getName() : sourceType.getName().substring(packageName.length() + 1);
+        String prefix = binaryName.replace('$', '_') + "_To_";
+        return packageName.isEmpty() ? prefix : packageName + "." + prefix;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static List<GeneratedBeanCopier<?, ?>> load(Class<?> sourceType) {
+        ClassLoader loader = sourceType.getClassLoader();
+        if (loader == null) {
+            return Collections.emptyList();
+        }
+        String prefix = generatedPrefix(sourceType);
+        try {
+            List<GeneratedBeanCopier<?, ?>> copiers = ServiceLoader.load(GeneratedBeanCopier.class, loader).stream()
+                    .filter(provider -> provider.type().getName().startsWith(prefix))
+                    .map(ServiceLoader.Provider::get)
+                    .filter(copier -> copier.getSourceType() == sourceType)
+                    .map(copier -> (GeneratedBeanCopier<?, ?>) copier)
+                    .collect(Collectors.toList());
+            return Collections.unmodifiableList(copiers);
+        } catch (ServiceConfigurationError e) {
+            log.warn("Load generated bean copiers for {} failed, fallback to reflection", sourceType.getName(), e);
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package io.github.jukejuke.tool.date;
+
+import io.github.jukejuke.tool.exec.DaemonThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 粗粒度缓存时钟
+ * 后台线程按固定精度刷新当前毫秒数、当前日期时间和格式化后的日期字符串，
+ * 热点路径只读取一个volatile字段，不再每次调用System.currentTimeMillis、解析时区和格式化。
+ *
+ * 读到的时间最多落后一个刷新周期。后台刷新的时钟发布的毫秒数单调不减：时间来源回拨时保持不变，直到追上。
+ * 测试时可以用 {@link #manual(long)} 创建手动设置时间的时钟，并通过 {@link #setDefault(CachedClock)} 注入
+ */
+@Slf4j
+public final class CachedClock implements AutoCloseable {
+
+    private static volatile CachedClock defaultClock;
+
+    private final ClockOptions options;
+
+    /**
+     * 刷新线程，手动时钟为null
+     */
+    private final ScheduledExecutorService ticker;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * 上一次刷新是否失败，只在刷新线程中读写，连续失败时只记录第一次
+     */
+    private boolean tickFailing;
+
+    private CachedClock(ClockOptions options, long initialMillis, boolean ticking) {
+        this.options = options;
+        this.snapshot = new Snapshot(initialMillis, zone(), null);
+        if (!ticking) {
+            this.ticker = null;
+            return;
+        }
+        this.ticker = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("jk-tool-cached-clock"));
+        ticker.scheduleAtFixedRate(this::tick, options.getResolutionMillis(), options.getResolutionMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 获取默认时钟，首次调用时按默认选项启动
+     * @return 默认时钟
+     */
+    public static CachedClock getDefault() {
+        CachedClock clock = defaultClock;
+        if (clock == null) {
+            synchronized (CachedClock.class) {
+                clock = defaultClock;
+                if (clock == null) {
+                    clock = start(ClockOptions.defaults());
+                    defaultClock = clock;
+                }
+            }
+        }
+        return clock;
+    }
+
+    /**
+     * 替换默认时钟，原时钟不会被关闭
+     * @param clock 新的默认时钟，为null时下次调用getDefault重新按默认选项启动
+     * @return 原默认时钟，可能为null
+     */
+    public static synchronized CachedClock setDefault(CachedClock clock) {
+        CachedClock previous = defaultClock;
+        defaultClock = clock;
+        return previous;
+    }
+
+    /**
+     * 启动后台刷新的时钟
+     * @param options 时钟选项
+     * @return 时钟，不再使用时需要关闭
+     */
+    public static CachedClock start(ClockOptions options) {
+        if (options == null) {
+            options = ClockOptions.defaults();
+        }
+        if (options.getResolutionMillis() <= 0) {
+            throw new IllegalArgumentException("刷新精度必须大于0");
+        }
+        if (options.getTimeSource() == null) {
+            throw new IllegalArgumentException("时间来源不能为空");
+        }
+        return new CachedClock(options, currentMillis(options), true);
+    }
+
+    /**
+     * 创建手动设置时间的时钟（不启动后台线程），用于测试
+     * @param epochMillis 初始时间
+     * @return 时钟
+     */
+    public static CachedClock manual(long epochMillis) {
+        return manual(epochMillis, null);
+    }
+
+    /**
+     * 创建手动设置时间的时钟（不启动后台线程），用于测试
+     * @param epochMillis 初始时间
+     * @param zone 时区，为null时使用系统默认时区
+     * @return 时钟
+     */
+    public static CachedClock manual(long epochMillis, ZoneId zone) {
+        ClockOptions options = ClockOptions.defaults();
+        options.setZone(zone);
+        return new CachedClock(options, epochMillis, false);
+    }
+
+    /**
+     * 设置手动时钟的时间，可以回拨
+     * @param epochMillis 时间
+     * @throws IllegalStateException 后台刷新的时钟调用时抛出
+     */
+    public void setMillis(long epochMillis) {
+        if (ticker != null) {
+            throw new IllegalStateException("只能设置手动时钟的时间");
+        }
+        snapshot = new Snapshot(epochMillis, zone(), snapshot);
+    }
+
+    /**
+     * 手动时钟前进指定毫秒数
+     * @param millis 毫秒数
+     * @throws IllegalStateException 后台刷新的时钟调用时抛出
+     */
+    public void advance(long millis) {
+        setMillis(snapshot.millis + millis);
+    }
+
+    /**
+     * 当前毫秒时间戳
+     */
+    public long millis() {
+        return snapshot.millis;
+    }
+
+    /**
+     * 当前日期时间
+     */
+    public LocalDateTime now() {
+        return snapshot.dateTime;
+    }
+
+    /**
+     * 当前日期
+     */
+    public LocalDate today() {
+        return snapshot.dateTime.toLocalDate();
+    }
+
+    /**
+     * 当前日期字符串（yyyy-MM-dd）
+     */
+    public String getDateString() {
+        return snapshot.dateString;
+    }
+
+    /**
+     * 当前日期时间字符串（yyyy-MM-dd HH:mm:ss）
+     */
+    public String getDateTimeString() {
+        return snapshot.dateTimeString;
+    }
+
+    public long getResolutionMillis() {
+        return options.getResolutionMillis();
+    }
+
+    /**
+     * 是否为后台刷新的时钟
+     */
+    public boolean isTicking() {
+        return ticker != null;
+    }
+
+    /**
+     * 停止后台刷新，之后读到的时间不再变化
+     */
+    @Override
+    public void close() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    private void tick() {
+        try {
+            Snapshot current = snapshot;
+            // 时间来源回拨时保持不变，保证发布的时间单调不减
+            long millis = Math.max(currentMillis(options), current.millis);
+            ZoneId zone = zone();
+            if (millis != current.millis || !zone.equals(current.zone)) {
+                snapshot = new Snapshot(millis, zone, current);
+            }
+            if (tickFailing) {
+                tickFailing = false;
+                log.info("缓存时钟刷新恢复");
+            }
+        } catch (RuntimeException e) {
+            // 异常会取消周期任务，记录后继续使用上一次的时间
+            if (!tickFailing) {
+                tickFailing = true;
+                log.warn("缓存时钟刷新失败，恢复前不再重复记录: {}", e.getMessage());
+            } else {
+                log.debug("缓存时钟刷新失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    private ZoneId zone() {
+        return options.getZone() != null ? options.getZone() : ZoneId.systemDefault();
+    }
+
+    private static long currentMillis(ClockOptions options) {
+        long millis = options.getTimeSource().getAsLong();
+        return options.getOffsetSource() != null ? millis + options.getOffsetSource().getAsLong() : millis;
+    }
+
+    /**
+     * 一次刷新发布的时间，日期和字符串在未变化时复用上一次的对象
+     */
+    private static final class Snapshot {
+        private final long millis;
+        private final ZoneId zone;
+        private final long localSecond;
+        private final LocalDateTime dateTime;
+        private final String dateString;
+        private final String dateTimeString;
+
+        private Snapshot(long millis, ZoneId zone, Snapshot previous) {
+            long local = millis + ZoneOffsetCache.offsetMillis(zone, millis);
+            this.millis = millis;
+            this.zone = zone;
+            this.localSecond = Math.floorDiv(local, 1000);
+            long epochDay = Math.floorDiv(local, EpochDays.MILLIS_PER_DAY);
+            boolean sameDay = previous != null && previous.dateTime.toLocalDate().toEpochDay() == epochDay;
+            LocalDate date = sameDay ? previous.dateTime.toLocalDate() : LocalDate.ofEpochDay(epochDay);
+            this.dateTime = LocalDateTime.of(date, LocalTime.ofNanoOfDay(Math.floorMod(local, EpochDays.MILLIS_PER_DAY) * 1000000L));
+            this.dateString = sameDay ? previous.dateString : DateUtils.format(date);
+            this.dateTimeString = previous != null && previous.localSecond == localSecond
+                    ? previous.dateTimeString : DateUtils.format(dateTime);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.jukejuke.tool.date;
+
+import lombok.Data;
+
+import java.time.ZoneId;
+import java.util.function.LongSupplier;
+
+/**
+ * 缓存时钟选项
+ * 用于配置CachedClock的刷新精度、时间来源和偏移来源
+ */
+@Data
+public class ClockOptions {
+
+    /**
+     * 刷新精度（毫秒），默认1
+     */
+    private long resolutionMillis = 1;
+
+    /**
+     * 时间来源，默认System::currentTimeMillis
+     */
+    private LongSupplier timeSource = System::currentTimeMillis;
+
+    /**
+     * 偏移来源（毫秒），每次刷新时调用并加到时间来源上，不能阻塞；默认null表示不偏移。
+     * 例如使用InternetTimeUtils::getCachedTimeDifference按互联网时间校正
+     */
+    private LongSupplier offsetSource;
+
+    /**
+     * 时区，默认null表示每次刷新时使用系统默认时区
+     */
+    private ZoneId zone;
+
+    /**
+     * 创建默认选项
+     * @return 缓存时钟选项
+     */
+    public static ClockOptions defaults() {
+        return new ClockOptions();
+    }
+}
@@ -0,0 +1,294 @@
+package io.github.jukejuke.tool.date;
+
+import java.text.DecimalFormatSymbols;
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 日期格式化器缓存
+ * 按模式缓存编译后的DateTimeFormatter（线程安全，容量有上限），供DateUtils、DateUtil和LegacyDateUtil共用。
+ *
+ * Date的格式化和解析基于DateTimeFormatter（Date→Instant→时区）实现，结果与SimpleDateFormat一致：
+ * 仅当模式只包含数字字段（y、M、d、H、m、s、SSS）、日期在1901年到9999年之间且当前Locale使用格里高利历和ASCII数字时走该路径，
+ * 解析时按SimpleDateFormat的宽松规则处理越界字段和尾部多余字符，夏令时重叠时取较晚的偏移（与Calendar一致）；
+ * DateTimeFormatter的定宽字段（MM、dd、HH、mm、ss、SSS）读满位数即停止，而SimpleDateFormat读取所有连续数字，
+ * 因此数字字段后紧跟数字（如"2024-01-015"）时交给SimpleDateFormat；
+ * 其他情况使用按线程缓存的SimpleDateFormat。
+ * yyyy-MM-dd、yyyy-MM-dd HH:mm:ss、yyyy-MM-dd HH:mm:ss.SSS三种固定模式优先使用 {@link FixedDateFormats}
+ */
+final class DateFormats {
+
+    /**
+     * 格式化器缓存的容量上限，超出后不再缓存新的模式
+     */
+    static final int CACHE_LIMIT = 256;
+
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+    /**
+     * 模式是否可以用DateTimeFormatter得到与SimpleDateFormat相同的结果
+     */
+    private static final Map<String, Boolean> COMPATIBLE_PATTERNS = new ConcurrentHashMap<>();
+
+    private static final Map<Locale, Boolean> COMPATIBLE_LOCALES = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<SimpleDateFormats> SIMPLE_DATE_FORMATS = ThreadLocal.withInitial(SimpleDateFormats::new);
+
+    /**
+     * 1900-01-01T00:00:00Z，TimeZone不包含更早的时区规则（如地方平时），与ZoneRules的结果可能不同
+     */
+    static final long YEAR_1900_MILLIS = -2208988800000L;
+
+    /**
+     * 10000-01-01T00:00:00Z，之后的年份DateTimeFormatter会输出正负号
+     */
+    static final long YEAR_10000_MILLIS = 253402300800000L;
+
+    private static final long DAY_MILLIS = 86400000L;
+
+    private DateFormats() {
+    }
+
+    /**
+     * 获取模式对应的DateTimeFormatter，编译结果缓存
+     * @param pattern 格式模式
+     * @return DateTimeFormatter
+     * @throws IllegalArgumentException 模式不合法时抛出
+     */
+    static DateTimeFormatter formatter(String pattern) {
+        DateTimeFormatter formatter = FORMATTERS.get(pattern);
+        if (formatter == null) {
+            formatter = DateTimeFormatter.ofPattern(pattern);
+            if (FORMATTERS.size() < CACHE_LIMIT) {
+                FORMATTERS.putIfAbsent(pattern, formatter);
+            }
+        }
+        return formatter;
+    }
+
+    /**
+     * 按SimpleDateFormat的规则格式化Date
+     * @param date Date对象，不能为null
+     * @param pattern 格式模式
+     * @return 格式化后的字符串
+     */
+    static String format(Date date, String pattern) {
+        long millis = date.getTime();
+        // 时区偏移最多一天，留出余量
+        if (millis > YEAR_1900_MILLIS + DAY_MILLIS && millis < YEAR_10000_MILLIS - DAY_MILLIS
+                && isCompatible(pattern)) {
+            ZoneId zone = ZoneId.systemDefault();
+            int kind = FixedDateFormats.kind(pattern);
+            if (kind != FixedDateFormats.NONE) {
+                String text = FixedDateFormats.format(millis, zone, kind);
+                if (text != null) {
+                    return text;
+                }
+            }
+            return formatter(pattern).format(Instant.ofEpochMilli(millis).atZone(zone));
+        }
+        return simpleDateFormat(pattern).format(date);
+    }
+
+    /**
+     * 按SimpleDateFormat（宽松模式）的规则解析Date
+     * @param text 日期字符串，不能为null
+     * @param pattern 格式模式
+     * @return Date对象，无法解析时返回null
+     */
+    static Date parse(String text, String pattern) {
+        if (isCompatible(pattern)) {
+            Date date = parseCompatible(text, pattern);
+            if (date != null) {
+                return date;
+            }
+        }
+        try {
+            return simpleDateFormat(pattern).parse(text);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    private static Date parseCompatible(String text, String pattern) {
+        int kind = FixedDateFormats.kind(pattern);
+        if (kind != FixedDateFormats.NONE) {
+            long millis = FixedDateFormats.parse(text, ZoneId.systemDefault(), kind);
+            if (millis != FixedDateFormats.NOT_PARSED) {
+                return new Date(millis);
+            }
+        }
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor parsed = formatter(pattern).parseUnresolved(text, position);
+        if (parsed == null || position.getErrorIndex() >= 0) {
+            return null;
+        }
+        // 定宽字段之后还有数字时，SimpleDateFormat会把这些数字读入该字段
+        int end = position.getIndex();
+        if (end < text.length() && isAsciiDigit(text.charAt(end))) {
+            return null;
+        }
+        long year = field(parsed, ChronoField.YEAR_OF_ERA, 1970);
+        if (year < 1901 || year > 9999) {
+            return null;
+        }
+        LocalDateTime dateTime;
+        try {
+            // 与宽松的Calendar一致：越界的月、日、时、分、秒向前进位
+            dateTime = LocalDateTime.of((int) year, 1, 1, 0, 0)
+                    .plusMonths(field(parsed, ChronoField.MONTH_OF_YEAR, 1) - 1)
+                    .plusDays(field(parsed, ChronoField.DAY_OF_MONTH, 1) - 1)
+                    .plusHours(field(parsed, ChronoField.HOUR_OF_DAY, 0))
+                    .plusMinutes(field(parsed, ChronoField.MINUTE_OF_HOUR, 0))
+                    .plusSeconds(field(parsed, ChronoField.SECOND_OF_MINUTE, 0))
+                    .plusNanos(field(parsed, ChronoField.NANO_OF_SECOND, 0));
+        } catch (DateTimeException | ArithmeticException e) {
+            return null;
+        }
+        if (dateTime.getYear() < 1901 || dateTime.getYear() > 9999) {
+            return null;
+        }
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).withLaterOffsetAtOverlap().toInstant());
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static long field(TemporalAccessor parsed, ChronoField field, long defaultValue) {
+        return parsed.isSupported(field) ? parsed.getLong(field) : defaultValue;
+    }
+
+    private static SimpleDateFormat simpleDateFormat(String pattern) {
+        SimpleDateFormats cached = SIMPLE_DATE_FORMATS.get();
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        if (!locale.equals(cached.locale)) {
+            // SimpleDateFormat在创建时确定Locale，默认Locale变化后重新创建
+            cached.formats.clear();
+            cached.locale = locale;
+        }
+        Map<String, SimpleDateFormat> formats = cached.formats;
+        SimpleDateFormat format = formats.get(pattern);
+        if (format == null) {
+            format = new SimpleDateFormat(pattern);
+            if (formats.size() < CACHE_LIMIT) {
+                formats.put(pattern, format);
+            }
+        }
+        // 与每次新建SimpleDateFormat一致，使用当前的默认时区
+        format.setTimeZone(TimeZone.getDefault());
+        return format;
+    }
+
+    private static boolean isCompatible(String pattern) {
+        return isCompatibleLocale() && isCompatiblePattern(pattern);
+    }
+
+    /**
+     * 默认Locale是否使用格里高利历和ASCII数字
+     */
+    static boolean isCompatibleLocale() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        Boolean localeCompatible = COMPATIBLE_LOCALES.get(locale);
+        if (localeCompatible == null) {
+            localeCompatible = "gregory".equals(new SimpleDateFormat("", locale).getCalendar().getCalendarType())
+                    && DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0';
+            COMPATIBLE_LOCALES.put(locale, localeCompatible);
+        }
+        return localeCompatible;
+    }
+
+    private static boolean isCompatiblePattern(String pattern) {
+        if (FixedDateFormats.kind(pattern) != FixedDateFormats.NONE) {
+            return true;
+        }
+        Boolean compatible = COMPATIBLE_PATTERNS.get(pattern);
+        if (compatible == null) {
+            compatible = checkPattern(pattern);
+            if (COMPATIBLE_PATTERNS.size() < CACHE_LIMIT) {
+                COMPATIBLE_PATTERNS.put(pattern, compatible);
+            }
+        }
+        return compatible;
+    }
+
+    /**
+     * 检查模式中的字段：y（1位或3-4位）、M/d/H/m/s（1-2位）、SSS，其余为引号或非DateTimeFormatter保留的字面量；
+     * 字段后紧跟数字字面量时两者对数字的归属不同，不兼容
+     */
+    private static boolean checkPattern(String pattern) {
+        int length = pattern.length();
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                int end = pattern.indexOf('\'', i + 1);
+                if (end < 0) {
+                    return false;
+                }
+                i = end + 1;
+                continue;
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int count = 1;
+                while (i + count < length && pattern.charAt(i + count) == c) {
+                    count++;
+                }
+                if (!isCompatibleField(c, count)) {
+                    return false;
+                }
+                i += count;
+                if (i < length && (isAsciiDigit(pattern.charAt(i))
+                        || (pattern.charAt(i) == '\'' && i + 1 < length && isAsciiDigit(pattern.charAt(i + 1))))) {
+                    return false;
+                }
+                continue;
+            }
+            if ("#{}[]".indexOf(c) >= 0) {
+                return false;
+            }
+            i++;
+        }
+        return true;
+    }
+
+    private static boolean isCompatibleField(char letter, int count) {
+        switch (letter) {
+            case 'y':
+                // 两位年份的解析规则不同
+                return count == 1 || count == 3 || count == 4;
+            case 'M':
+            case 'd':
+            case 'H':
+            case 'm':
+            case 's':
+                return count <= 2;
+            case 'S':
+                return count == 3;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 单个线程缓存的SimpleDateFormat及其创建时的Locale
+     */
+    private static final class SimpleDateFormats {
+        private final Map<String, SimpleDateFormat> formats = new HashMap<>();
+        private Locale locale;
+    }
+}
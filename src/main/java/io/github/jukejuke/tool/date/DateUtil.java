@@ -1,7 +1,6 @@
 package io.github.jukejuke.tool.date;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.ZoneId;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.concurrent.TimeUnit;
@@ -22,8 +21,11 @@ public class DateUtil {
     public static final String FORMAT_MONTH_DAY = "MM-dd";
     public static final String FORMAT_YEAR_MONTH = "yyyy-MM";
 
+    private static final long MILLIS_PER_DAY = EpochDays.MILLIS_PER_DAY;
+    private static final long MILLIS_PER_HOUR = 3600000L;
+
     /**
-     * 将Date格式化为指定模式的字符串
+     * 将Date格式化为指定模式的字符串，结果与SimpleDateFormat一致（格式化器按模式缓存）
      * @param date Date对象
      * @param pattern 格式模式
      * @return 格式化后的日期字符串
@@ -32,8 +34,7 @@ public class DateUtil {
         if (date == null) {
             return null;
         }
-        SimpleDateFormat sdf = new SimpleDateFormat(pattern);
-        return sdf.format(date);
+        return DateFormats.format(date, pattern);
     }
 
     /**
@@ -46,21 +47,16 @@ public class DateUtil {
     }
 
     /**
-     * 将字符串解析为指定模式的Date
+     * 将字符串解析为指定模式的Date，规则与宽松模式的SimpleDateFormat一致
      * @param dateStr 日期字符串
      * @param pattern 格式模式
-     * @return Date对象
+     * @return Date对象，无法解析时返回null
      */
     public static Date parse(String dateStr, String pattern) {
         if (dateStr == null || dateStr.isEmpty()) {
             return null;
         }
-        try {
-            SimpleDateFormat sdf = new SimpleDateFormat(pattern);
-            return sdf.parse(dateStr);
-        } catch (ParseException e) {
-            return null;
-        }
+        return DateFormats.parse(dateStr, pattern);
     }
 
     /**
@@ -81,9 +77,11 @@ public class DateUtil {
         if (date == null) {
             return 0;
         }
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
-        return cal.get(Calendar.YEAR);
+        long local = LocalMillis.toLocal(date.getTime());
+        if (local != LocalMillis.UNSUPPORTED) {
+            return LocalMillis.year(local);
+        }
+        return calendar(date).get(Calendar.YEAR);
     }
 
     /**
@@ -95,9 +93,11 @@ public class DateUtil {
         if (date == null) {
             return 0;
         }
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
-        return cal.get(Calendar.MONTH) + 1;
+        long local = LocalMillis.toLocal(date.getTime());
+        if (local != LocalMillis.UNSUPPORTED) {
+            return LocalMillis.month(local);
+        }
+        return calendar(date).get(Calendar.MONTH) + 1;
     }
 
     /**
@@ -109,9 +109,11 @@ public class DateUtil {
         if (date == null) {
             return 0;
         }
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
-        return cal.get(Calendar.DAY_OF_MONTH);
+        long local = LocalMillis.toLocal(date.getTime());
+        if (local != LocalMillis.UNSUPPORTED) {
+            return LocalMillis.day(local);
+        }
+        return calendar(date).get(Calendar.DAY_OF_MONTH);
     }
 
     /**
@@ -123,9 +125,11 @@ public class DateUtil {
         if (date == null) {
             return 0;
         }
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
-        return cal.get(Calendar.HOUR_OF_DAY);
+        long local = LocalMillis.toLocal(date.getTime());
+        if (local != LocalMillis.UNSUPPORTED) {
+            return LocalMillis.hour(local);
+        }
+        return calendar(date).get(Calendar.HOUR_OF_DAY);
     }
 
     /**
@@ -137,9 +141,11 @@ public class DateUtil {
         if (date == null) {
             return 0;
         }
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
-        return cal.get(Calendar.MINUTE);
+        long local = LocalMillis.toLocal(date.getTime());
+        if (local != LocalMillis.UNSUPPORTED) {
+            return LocalMillis.minute(local);
+        }
+        return calendar(date).get(Calendar.MINUTE);
     }
 
     /**
@@ -151,9 +157,11 @@ public class DateUtil {
         if (date == null) {
             return 0;
         }
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
-        return cal.get(Calendar.SECOND);
+        long local = LocalMillis.toLocal(date.getTime());
+        if (local != LocalMillis.UNSUPPORTED) {
+            return LocalMillis.second(local);
+        }
+        return calendar(date).get(Calendar.SECOND);
     }
 
     /**
@@ -165,9 +173,11 @@ public class DateUtil {
         if (date == null) {
             return 0;
         }
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
-        return cal.get(Calendar.DAY_OF_WEEK);
+        long local = LocalMillis.toLocal(date.getTime());
+        if (local != LocalMillis.UNSUPPORTED) {
+            return LocalMillis.dayOfWeek(local);
+        }
+        return calendar(date).get(Calendar.DAY_OF_WEEK);
     }
 
     /**
@@ -179,9 +189,11 @@ public class DateUtil {
         if (date == null) {
             return 0;
         }
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
-        return cal.get(Calendar.DAY_OF_YEAR);
+        long local = LocalMillis.toLocal(date.getTime());
+        if (local != LocalMillis.UNSUPPORTED) {
+            return LocalMillis.dayOfYear(local);
+        }
+        return calendar(date).get(Calendar.DAY_OF_YEAR);
     }
 
     /**
@@ -193,9 +205,11 @@ public class DateUtil {
         if (date == null) {
             return 0;
         }
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
-        return cal.getActualMaximum(Calendar.DAY_OF_MONTH);
+        long local = LocalMillis.toLocal(date.getTime());
+        if (local != LocalMillis.UNSUPPORTED) {
+            return LocalMillis.lengthOfMonth(local);
+        }
+        return calendar(date).getActualMaximum(Calendar.DAY_OF_MONTH);
     }
 
     /**
@@ -208,8 +222,11 @@ public class DateUtil {
         if (date == null) {
             return null;
         }
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
+        long millis = LocalMillis.addMonths(date.getTime(), years * 12L);
+        if (millis != LocalMillis.UNSUPPORTED) {
+            return new Date(millis);
+        }
+        Calendar cal = calendar(date);
         cal.add(Calendar.YEAR, years);
         return cal.getTime();
     }
@@ -224,8 +241,11 @@ public class DateUtil {
         if (date == null) {
             return null;
         }
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
+        long millis = LocalMillis.addMonths(date.getTime(), months);
+        if (millis != LocalMillis.UNSUPPORTED) {
+            return new Date(millis);
+        }
+        Calendar cal = calendar(date);
         cal.add(Calendar.MONTH, months);
         return cal.getTime();
     }
@@ -240,8 +260,11 @@ public class DateUtil {
         if (date == null) {
             return null;
         }
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
+        long millis = LocalMillis.addDays(date.getTime(), days);
+        if (millis != LocalMillis.UNSUPPORTED) {
+            return new Date(millis);
+        }
+        Calendar cal = calendar(date);
         cal.add(Calendar.DAY_OF_MONTH, days);
         return cal.getTime();
     }
@@ -256,10 +279,8 @@ public class DateUtil {
         if (date == null) {
             return null;
         }
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
-        cal.add(Calendar.HOUR_OF_DAY, hours);
-        return cal.getTime();
+        // 与Calendar一致，时间字段按毫秒直接相加，不受时区偏移变化影响
+        return new Date(date.getTime() + hours * 3600000L);
     }
 
     /**
@@ -272,10 +293,8 @@ public class DateUtil {
         if (date == null) {
             return null;
         }
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
-        cal.add(Calendar.MINUTE, minutes);
-        return cal.getTime();
+        // 与Calendar一致，时间字段按毫秒直接相加，不受时区偏移变化影响
+        return new Date(date.getTime() + minutes * 60000L);
     }
 
     /**
@@ -288,10 +307,8 @@ public class DateUtil {
         if (date == null) {
             return null;
         }
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
-        cal.add(Calendar.SECOND, seconds);
-        return cal.getTime();
+        // 与Calendar一致，时间字段按毫秒直接相加，不受时区偏移变化影响
+        return new Date(date.getTime() + seconds * 1000L);
     }
 
     /**
@@ -376,10 +393,13 @@ public class DateUtil {
         if (date1 == null || date2 == null) {
             return false;
         }
-        Calendar cal1 = Calendar.getInstance();
-        cal1.setTime(date1);
-        Calendar cal2 = Calendar.getInstance();
-        cal2.setTime(date2);
+        long local1 = LocalMillis.toLocal(date1.getTime());
+        long local2 = LocalMillis.toLocal(date2.getTime());
+        if (local1 != LocalMillis.UNSUPPORTED && local2 != LocalMillis.UNSUPPORTED) {
+            return LocalMillis.epochDay(local1) == LocalMillis.epochDay(local2);
+        }
+        Calendar cal1 = calendar(date1);
+        Calendar cal2 = calendar(date2);
         return cal1.get(Calendar.YEAR) == cal2.get(Calendar.YEAR) &&
                cal1.get(Calendar.DAY_OF_YEAR) == cal2.get(Calendar.DAY_OF_YEAR);
     }
@@ -519,8 +539,14 @@ public class DateUtil {
         if (date == null) {
             return null;
         }
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
+        long local = LocalMillis.toLocal(date.getTime());
+        if (local != LocalMillis.UNSUPPORTED) {
+            long millis = LocalMillis.truncate(ZoneId.systemDefault(), local, MILLIS_PER_DAY);
+            if (millis != LocalMillis.UNSUPPORTED) {
+                return new Date(millis);
+            }
+        }
+        Calendar cal = calendar(date);
         cal.set(Calendar.HOUR_OF_DAY, 0);
         cal.set(Calendar.MINUTE, 0);
         cal.set(Calendar.SECOND, 0);
@@ -565,8 +591,14 @@ public class DateUtil {
         if (date == null) {
             return null;
         }
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
+        long local = LocalMillis.toLocal(date.getTime());
+        if (local != LocalMillis.UNSUPPORTED) {
+            long millis = LocalMillis.toEpoch(ZoneId.systemDefault(), local - Math.floorMod(local, MILLIS_PER_DAY) + MILLIS_PER_DAY - 1);
+            if (millis != LocalMillis.UNSUPPORTED) {
+                return new Date(millis);
+            }
+        }
+        Calendar cal = calendar(date);
         cal.set(Calendar.HOUR_OF_DAY, 23);
         cal.set(Calendar.MINUTE, 59);
         cal.set(Calendar.SECOND, 59);
@@ -574,6 +606,63 @@ public class DateUtil {
         return cal.getTime();
     }
 
+    /**
+     * 批量获取时间戳所在当天的开始时间，结果与逐个调用 {@link #getStartOfDay(Date)} 一致
+     * 适合按天分组大量时间戳：连续落在同一天的时间戳只计算一次
+     * @param epochMillis 毫秒时间戳数组
+     * @return 当天开始时间的毫秒时间戳数组，输入为null时返回null
+     */
+    public static long[] getStartOfDays(long[] epochMillis) {
+        return truncate(epochMillis, MILLIS_PER_DAY);
+    }
+
+    /**
+     * 批量获取时间戳所在小时的开始时间（分钟、秒、毫秒为0）
+     * 适合按小时分组大量时间戳：连续落在同一小时的时间戳只计算一次
+     * @param epochMillis 毫秒时间戳数组
+     * @return 小时开始时间的毫秒时间戳数组，输入为null时返回null
+     */
+    public static long[] getStartOfHours(long[] epochMillis) {
+        return truncate(epochMillis, MILLIS_PER_HOUR);
+    }
+
+    private static long[] truncate(long[] epochMillis, long unitMillis) {
+        if (epochMillis == null) {
+            return null;
+        }
+        long[] result = new long[epochMillis.length];
+        ZoneId zone = ZoneId.systemDefault();
+        Calendar cal = null;
+        long lastUnit = LocalMillis.UNSUPPORTED;
+        long lastStart = 0;
+        for (int i = 0; i < epochMillis.length; i++) {
+            long local = LocalMillis.toLocal(epochMillis[i]);
+            if (local != LocalMillis.UNSUPPORTED) {
+                long unit = Math.floorDiv(local, unitMillis);
+                if (unit != lastUnit) {
+                    lastStart = LocalMillis.truncate(zone, local, unitMillis);
+                    lastUnit = lastStart == LocalMillis.UNSUPPORTED ? LocalMillis.UNSUPPORTED : unit;
+                }
+                if (lastStart != LocalMillis.UNSUPPORTED) {
+                    result[i] = lastStart;
+                    continue;
+                }
+            }
+            if (cal == null) {
+                cal = Calendar.getInstance();
+            }
+            cal.setTimeInMillis(epochMillis[i]);
+            if (unitMillis == MILLIS_PER_DAY) {
+                cal.set(Calendar.HOUR_OF_DAY, 0);
+            }
+            cal.set(Calendar.MINUTE, 0);
+            cal.set(Calendar.SECOND, 0);
+            cal.set(Calendar.MILLISECOND, 0);
+            result[i] = cal.getTimeInMillis();
+        }
+        return result;
+    }
+
     /**
      * 获取友好格式的相对时间描述
      * @param date Date对象
@@ -607,4 +696,10 @@ public class DateUtil {
         }
         return format(date);
     }
+
+    private static Calendar calendar(Date date) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTime(date);
+        return cal;
+    }
 }
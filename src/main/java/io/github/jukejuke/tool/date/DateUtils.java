@@ -32,7 +32,8 @@ public class DateUtils {
         if (date == null) {
             return null;
         }
-        return date.format(DateTimeFormatter.ofPattern(pattern));
+        String text = FixedDateFormats.format(date, FixedDateFormats.kind(pattern));
+        return text != null ? text : date.format(DateFormats.formatter(pattern));
     }
 
     /**
@@ -54,7 +55,8 @@ public class DateUtils {
         if (dateTime == null) {
             return null;
         }
-        return dateTime.format(DateTimeFormatter.ofPattern(pattern));
+        String text = FixedDateFormats.format(dateTime, FixedDateFormats.kind(pattern));
+        return text != null ? text : dateTime.format(DateFormats.formatter(pattern));
     }
 
     /**
@@ -76,7 +78,8 @@ public class DateUtils {
         if (dateStr == null || dateStr.isEmpty()) {
             return null;
         }
-        return LocalDate.parse(dateStr, DateTimeFormatter.ofPattern(pattern));
+        LocalDate date = FixedDateFormats.kind(pattern) == FixedDateFormats.DATE ? FixedDateFormats.parseLocalDate(dateStr) : null;
+        return date != null ? date : LocalDate.parse(dateStr, DateFormats.formatter(pattern));
     }
 
     /**
@@ -98,7 +101,8 @@ public class DateUtils {
         if (dateTimeStr == null || dateTimeStr.isEmpty()) {
             return null;
         }
-        return LocalDateTime.parse(dateTimeStr, DateTimeFormatter.ofPattern(pattern));
+        LocalDateTime dateTime = FixedDateFormats.parseLocalDateTime(dateTimeStr, FixedDateFormats.kind(pattern));
+        return dateTime != null ? dateTime : LocalDateTime.parse(dateTimeStr, DateFormats.formatter(pattern));
     }
 
     /**
@@ -159,19 +163,19 @@ public class DateUtils {
     }
 
     /**
-     * 获取当前LocalDate
+     * 获取当前LocalDate，读取缓存时钟（{@link CachedClock#getDefault()}）
      * @return 当前LocalDate
      */
     public static LocalDate today() {
-        return LocalDate.now();
+        return CachedClock.getDefault().today();
     }
 
     /**
-     * 获取当前LocalDateTime
+     * 获取当前LocalDateTime，读取缓存时钟（{@link CachedClock#getDefault()}），精度为时钟的刷新周期
      * @return 当前LocalDateTime
      */
     public static LocalDateTime now() {
-        return LocalDateTime.now();
+        return CachedClock.getDefault().now();
     }
 
     /**
@@ -337,7 +341,7 @@ public class DateUtils {
         if (date == null) {
             return false;
         }
-        return date.isEqual(LocalDate.now());
+        return date.isEqual(today());
     }
 
     /**
@@ -349,7 +353,7 @@ public class DateUtils {
         if (dateTime == null) {
             return false;
         }
-        return dateTime.toLocalDate().isEqual(LocalDate.now());
+        return dateTime.toLocalDate().isEqual(today());
     }
 
     /**
@@ -361,7 +365,7 @@ public class DateUtils {
         if (birthday == null) {
             return 0;
         }
-        return (int) ChronoUnit.YEARS.between(birthday, LocalDate.now());
+        return (int) ChronoUnit.YEARS.between(birthday, today());
     }
 
     /**
@@ -0,0 +1,77 @@
+package io.github.jukejuke.tool.date;
+
+/**
+ * 纪元日与公历日期的换算
+ * 纪元日为相对1970-01-01的天数，使用先天格里高利历（与java.time一致），换算不创建对象
+ */
+final class EpochDays {
+
+    static final long MILLIS_PER_DAY = 86400000L;
+
+    private EpochDays() {
+    }
+
+    /**
+     * 纪元日转为年月日，打包为long：year * 512 + month * 32 + day
+     * @param epochDay 纪元日
+     * @return 打包的年月日，使用 {@link #year(long)}、{@link #month(long)}、{@link #day(long)} 读取
+     */
+    static long toCivil(long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        long month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 512 + month * 32 + day;
+    }
+
+    static int year(long civil) {
+        return (int) (civil >> 9);
+    }
+
+    static int month(long civil) {
+        return (int) ((civil >> 5) & 15);
+    }
+
+    static int day(long civil) {
+        return (int) (civil & 31);
+    }
+
+    /**
+     * 年月日转为纪元日，月和日必须在有效范围内
+     * @param year 年
+     * @param month 月（1-12）
+     * @param day 日（1-31）
+     * @return 纪元日
+     */
+    static long fromCivil(long year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    static boolean isLeapYear(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    static int lengthOfMonth(long year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+}
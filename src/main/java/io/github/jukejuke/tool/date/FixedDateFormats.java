@@ -0,0 +1,309 @@
+package io.github.jukejuke.tool.date;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+/**
+ * 固定模式（yyyy-MM-dd、yyyy-MM-dd HH:mm:ss、yyyy-MM-dd HH:mm:ss.SSS）的格式化与解析
+ * 不使用格式化器：数字直接写入char[]，解析按固定位置读取数字。
+ * 当前时间附近最近一秒的格式化结果被缓存，同一秒内再次格式化直接返回缓存的字符串；
+ * 其他时刻直接按结果长度写入字符，不经过缓存。
+ *
+ * 仅处理结果与通用路径完全一致的情况（年份范围、字段合法、时区偏移稳定等），
+ * 其他情况返回null或 {@link #NOT_PARSED}，由调用方回退到通用路径
+ */
+final class FixedDateFormats {
+
+    static final int NONE = -1;
+    static final int DATE = 0;
+    static final int DATETIME = 1;
+    static final int DATETIME_MILLI = 2;
+
+    /**
+     * 解析结果：不适用快速路径
+     */
+    static final long NOT_PARSED = Long.MIN_VALUE;
+
+    private static final String FORMAT_DATE = "yyyy-MM-dd";
+    private static final String FORMAT_DATETIME = "yyyy-MM-dd HH:mm:ss";
+    private static final String FORMAT_DATETIME_MILLI = "yyyy-MM-dd HH:mm:ss.SSS";
+
+    private static final long MILLIS_PER_DAY = EpochDays.MILLIS_PER_DAY;
+
+    /**
+     * 与当前时间相差不超过该秒数的时刻才使用秒缓存
+     */
+    private static final long RECENT_SECONDS = 2;
+
+    private static volatile SecondCache lastSecond;
+
+    private FixedDateFormats() {
+    }
+
+    /**
+     * 判断模式是否为固定模式
+     * @param pattern 格式模式
+     * @return DATE、DATETIME、DATETIME_MILLI或NONE
+     */
+    static int kind(String pattern) {
+        if (pattern == null) {
+            return NONE;
+        }
+        switch (pattern.length()) {
+            case 10:
+                return FORMAT_DATE.equals(pattern) ? DATE : NONE;
+            case 19:
+                return FORMAT_DATETIME.equals(pattern) ? DATETIME : NONE;
+            case 23:
+                return FORMAT_DATETIME_MILLI.equals(pattern) ? DATETIME_MILLI : NONE;
+            default:
+                return NONE;
+        }
+    }
+
+    /**
+     * 按SimpleDateFormat的规则格式化时刻，仅处理1901年到9999年
+     * @param epochMillis 时刻
+     * @param zone 时区
+     * @param kind 固定模式
+     * @return 格式化后的字符串，不适用时返回null
+     */
+    static String format(long epochMillis, ZoneId zone, int kind) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000);
+        // 只有当前时间附近的时刻会在同一秒内被反复格式化，其他时刻不读写缓存
+        boolean recent = Math.abs(epochSecond - System.currentTimeMillis() / 1000) <= RECENT_SECONDS;
+        SecondCache cache = recent ? lastSecond : null;
+        if (cache == null || cache.epochSecond != epochSecond || !(cache.zone == zone || cache.zone.equals(zone))) {
+            // 时区偏移是整秒，本地时间的秒边界与UTC一致
+            long local = epochMillis + ZoneOffsetCache.offsetMillis(zone, epochMillis);
+            long civil = EpochDays.toCivil(Math.floorDiv(local, MILLIS_PER_DAY));
+            int year = EpochDays.year(civil);
+            if (year < 1901 || year > 9999) {
+                return null;
+            }
+            int secondOfDay = (int) (Math.floorMod(local, MILLIS_PER_DAY) / 1000);
+            char[] chars = new char[recent || kind == DATETIME ? 19 : kind == DATE ? 10 : 23];
+            writeDate(chars, year, EpochDays.month(civil), EpochDays.day(civil));
+            if (kind != DATE || recent) {
+                writeTime(chars, secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60);
+            }
+            if (!recent) {
+                if (kind == DATETIME_MILLI) {
+                    writeMillis(chars, Math.floorMod(epochMillis, 1000));
+                }
+                return new String(chars);
+            }
+            cache = new SecondCache(zone, epochSecond, chars);
+            lastSecond = cache;
+        }
+        switch (kind) {
+            case DATE:
+                return cache.date;
+            case DATETIME:
+                return cache.dateTime;
+            default:
+                char[] chars = new char[23];
+                System.arraycopy(cache.chars, 0, chars, 0, 19);
+                writeMillis(chars, Math.floorMod(epochMillis, 1000));
+                return new String(chars);
+        }
+    }
+
+    /**
+     * 按SimpleDateFormat的规则解析字符串，仅处理字段合法、年份在1901年到9999年之间且前后一天内时区偏移不变的情况
+     * @param text 字符串
+     * @param zone 时区
+     * @param kind 固定模式
+     * @return 时刻，不适用时返回 {@link #NOT_PARSED}
+     */
+    static long parse(String text, ZoneId zone, int kind) {
+        long local = parseLocalMillis(text, kind, 1901);
+        if (local == NOT_PARSED) {
+            return NOT_PARSED;
+        }
+        long epochMillis = local - ZoneOffsetCache.offsetMillis(zone, local - ZoneOffsetCache.offsetMillis(zone, local));
+        // 附近没有夏令时切换时本地时间与时刻一一对应
+        if (!ZoneOffsetCache.isStable(zone, epochMillis - MILLIS_PER_DAY, epochMillis + MILLIS_PER_DAY)) {
+            return NOT_PARSED;
+        }
+        return epochMillis;
+    }
+
+    /**
+     * 按DateTimeFormatter的规则格式化LocalDate，仅处理yyyy-MM-dd和1年到9999年
+     * @param date LocalDate
+     * @param kind 固定模式
+     * @return 格式化后的字符串，不适用时返回null
+     */
+    static String format(LocalDate date, int kind) {
+        int year = date.getYear();
+        if (kind != DATE || year < 1 || year > 9999) {
+            return null;
+        }
+        char[] chars = new char[10];
+        writeDate(chars, year, date.getMonthValue(), date.getDayOfMonth());
+        return new String(chars);
+    }
+
+    /**
+     * 按DateTimeFormatter的规则格式化LocalDateTime，仅处理1年到9999年
+     * @param dateTime LocalDateTime
+     * @param kind 固定模式
+     * @return 格式化后的字符串，不适用时返回null
+     */
+    static String format(LocalDateTime dateTime, int kind) {
+        int year = dateTime.getYear();
+        if (kind == NONE || year < 1 || year > 9999) {
+            return null;
+        }
+        char[] chars = new char[kind == DATE ? 10 : kind == DATETIME ? 19 : 23];
+        writeDate(chars, year, dateTime.getMonthValue(), dateTime.getDayOfMonth());
+        if (kind != DATE) {
+            writeTime(chars, dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond());
+        }
+        if (kind == DATETIME_MILLI) {
+            writeMillis(chars, dateTime.getNano() / 1000000);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 按DateTimeFormatter的规则解析yyyy-MM-dd，仅处理字段合法的情况
+     * @param text 字符串
+     * @return LocalDate，不适用时返回null
+     */
+    static LocalDate parseLocalDate(String text) {
+        long local = parseLocalMillis(text, DATE, 1);
+        return local == NOT_PARSED ? null : LocalDate.ofEpochDay(Math.floorDiv(local, MILLIS_PER_DAY));
+    }
+
+    /**
+     * 按DateTimeFormatter的规则解析yyyy-MM-dd HH:mm:ss或yyyy-MM-dd HH:mm:ss.SSS，仅处理字段合法的情况
+     * @param text 字符串
+     * @param kind 固定模式
+     * @return LocalDateTime，不适用时返回null
+     */
+    static LocalDateTime parseLocalDateTime(String text, int kind) {
+        if (kind != DATETIME && kind != DATETIME_MILLI) {
+            return null;
+        }
+        long local = parseLocalMillis(text, kind, 1);
+        if (local == NOT_PARSED) {
+            return null;
+        }
+        int millisOfDay = (int) Math.floorMod(local, MILLIS_PER_DAY);
+        return LocalDateTime.of(LocalDate.ofEpochDay(Math.floorDiv(local, MILLIS_PER_DAY)),
+                LocalTime.ofNanoOfDay(millisOfDay * 1000000L));
+    }
+
+    /**
+     * 按固定位置解析为本地毫秒数（相对1970-01-01T00:00本地时间）
+     */
+    private static long parseLocalMillis(String text, int kind, int minYear) {
+        int length = kind == DATE ? 10 : kind == DATETIME ? 19 : kind == DATETIME_MILLI ? 23 : -1;
+        if (text == null || text.length() != length || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return NOT_PARSED;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        if (year < minYear || month < 1 || month > 12 || day < 1 || day > EpochDays.lengthOfMonth(year, month)) {
+            return NOT_PARSED;
+        }
+        long millis = EpochDays.fromCivil(year, month, day) * MILLIS_PER_DAY;
+        if (kind == DATE) {
+            return millis;
+        }
+        if (text.charAt(10) != ' ' || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return NOT_PARSED;
+        }
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        int second = digits(text, 17, 2);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return NOT_PARSED;
+        }
+        millis += hour * 3600000L + minute * 60000L + second * 1000L;
+        if (kind == DATETIME) {
+            return millis;
+        }
+        int milli = digits(text, 20, 3);
+        if (text.charAt(19) != '.' || milli < 0) {
+            return NOT_PARSED;
+        }
+        return millis + milli;
+    }
+
+    /**
+     * 读取固定位数的十进制数字
+     * @return 数值，包含非数字字符时返回-1
+     */
+    private static int digits(String text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void writeDate(char[] chars, int year, int month, int day) {
+        chars[0] = (char) ('0' + year / 1000);
+        chars[1] = (char) ('0' + year / 100 % 10);
+        chars[2] = (char) ('0' + year / 10 % 10);
+        chars[3] = (char) ('0' + year % 10);
+        chars[4] = '-';
+        write2(chars, 5, month);
+        chars[7] = '-';
+        write2(chars, 8, day);
+    }
+
+    private static void writeTime(char[] chars, int hour, int minute, int second) {
+        chars[10] = ' ';
+        write2(chars, 11, hour);
+        chars[13] = ':';
+        write2(chars, 14, minute);
+        chars[16] = ':';
+        write2(chars, 17, second);
+    }
+
+    private static void writeMillis(char[] chars, int millis) {
+        chars[19] = '.';
+        chars[20] = (char) ('0' + millis / 100);
+        chars[21] = (char) ('0' + millis / 10 % 10);
+        chars[22] = (char) ('0' + millis % 10);
+    }
+
+    private static void write2(char[] chars, int index, int value) {
+        chars[index] = (char) ('0' + value / 10);
+        chars[index + 1] = (char) ('0' + value % 10);
+    }
+
+    /**
+     * 最近一秒的格式化结果
+     */
+    private static final class SecondCache {
+        private final ZoneId zone;
+        private final long epochSecond;
+
+        /**
+         * yyyy-MM-dd HH:mm:ss的字符，只读
+         */
+        private final char[] chars;
+        private final String date;
+        private final String dateTime;
+
+        private SecondCache(ZoneId zone, long epochSecond, char[] chars) {
+            this.zone = zone;
+            this.epochSecond = epochSecond;
+            this.chars = chars;
+            this.date = new String(chars, 0, 10);
+            this.dateTime = new String(chars);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.concurrent.TimeUnit;
 
@@ -22,6 +23,8 @@ import okhttp3.Response;
  * 互联网时间工具类
  * 提供从互联网获取准确时间的功能，支持NTP协议和HTTP API两种方式
  * 支持通过HTTP/SOCKS代理获取时间（仅HTTP API方式支持代理，NTP协议不支持代理）
+ * 支持后台同步模式（{@link #startBackgroundSync(TimeSyncOptions)}）：定期并行查询NTP服务器，
+ * 保存偏移和System.nanoTime()锚点，读取时间不再阻塞
  *
  * @author jukejuke
  */
@@ -31,7 +34,7 @@ public class InternetTimeUtils {
     /**
      * NTP服务器地址列表
      */
-    private static final String[] NTP_SERVERS = {
+    static final String[] NTP_SERVERS = {
             "time.windows.com",
             "time.apple.com",
             "time.google.com",
@@ -74,6 +77,12 @@ public class InternetTimeUtils {
      */
     private static volatile Instant cachedTime = null;
     private static volatile long cacheTimestamp = 0;
+    private static volatile long cachedDifference = 0;
+
+    /**
+     * 后台同步器，未启动时为null
+     */
+    private static volatile NtpSynchronizer synchronizer;
     private static final long CACHE_DURATION = TimeUnit.MINUTES.toMillis(5);
 
     /**
@@ -92,9 +101,15 @@ public class InternetTimeUtils {
      * @return 当前时间，如果获取失败则返回本地时间
      */
     public static Date getInternetTime(int timeout) {
+        // 后台同步已有结果时直接按锚点计算，不阻塞
+        NtpSynchronizer sync = synchronizer;
+        if (sync != null && sync.isSynced()) {
+            return new Date(sync.currentTimeMillis());
+        }
+
         // 检查缓存
         if (isCacheValid()) {
-            return Date.from(cachedTime);
+            return new Date(System.currentTimeMillis() + cachedDifference);
         }
 
         Instant internetTime = null;
@@ -173,7 +188,7 @@ public class InternetTimeUtils {
 
         // 检查缓存
         if (isCacheValid()) {
-            return Date.from(cachedTime);
+            return new Date(System.currentTimeMillis() + cachedDifference);
         }
 
         Instant internetTime = null;
@@ -407,85 +422,15 @@ public class InternetTimeUtils {
     }
 
     /**
-     * 通过NTP协议获取时间
+     * 通过NTP协议获取时间：并行查询所有服务器，收到第一个有效响应后稍等片刻，取其中往返延迟最小的响应
      */
-    private static Instant getTimeFromNTP(int timeout) throws IOException {
-        for (String server : NTP_SERVERS) {
-            try {
-                Instant time = queryNtpServer(server, timeout);
-                if (time != null) {
-                    log.debug("成功从NTP服务器 {} 获取时间", server);
-                    return time;
-                }
-            } catch (Exception e) {
-                log.debug("NTP服务器 {} 连接失败: {}", server, e.getMessage());
-            }
+    private static Instant getTimeFromNTP(int timeout) {
+        NtpSynchronizer.Sample sample = NtpSynchronizer.queryBest(Arrays.asList(NTP_SERVERS), NTP_PORT, timeout);
+        if (sample == null) {
+            return null;
         }
-        return null;
-    }
-
-    /**
-     * 查询指定的NTP服务器
-     */
-    private static Instant queryNtpServer(String server, int timeout) throws IOException {
-        DatagramSocket socket = null;
-        try {
-            socket = new DatagramSocket();
-            socket.setSoTimeout(timeout);
-
-            InetAddress address = InetAddress.getByName(server);
-            byte[] buffer = createNtpPacket();
-            DatagramPacket packet = new DatagramPacket(buffer, buffer.length, address, NTP_PORT);
-
-            long startTime = System.currentTimeMillis();
-            socket.send(packet);
-
-            packet = new DatagramPacket(buffer, buffer.length);
-            socket.receive(packet);
-
-            long endTime = System.currentTimeMillis();
-            long roundTripTime = endTime - startTime;
-
-            return parseNtpPacket(buffer, roundTripTime);
-        } finally {
-            if (socket != null) {
-                socket.close();
-            }
-        }
-    }
-
-    /**
-     * 创建NTP请求包
-     */
-    private static byte[] createNtpPacket() {
-        byte[] buffer = new byte[48];
-        // NTP协议版本3，客户端模式
-        buffer[0] = 0x1B; // LI = 0, VN = 3, Mode = 3
-        return buffer;
-    }
-
-    /**
-     * 解析NTP响应包
-     */
-    private static Instant parseNtpPacket(byte[] buffer, long roundTripTime) {
-        // 获取服务器时间（从第40字节开始的8个字节）
-        long seconds = ((long) (buffer[40] & 0xFF) << 24) |
-                      ((long) (buffer[41] & 0xFF) << 16) |
-                      ((long) (buffer[42] & 0xFF) << 8) |
-                      ((long) (buffer[43] & 0xFF));
-
-        long fraction = ((long) (buffer[44] & 0xFF) << 24) |
-                       ((long) (buffer[45] & 0xFF) << 16) |
-                       ((long) (buffer[46] & 0xFF) << 8) |
-                       ((long) (buffer[47] & 0xFF));
-
-        // NTP时间戳从1900年1月1日开始，需要转换为Unix时间戳
-        long ntpTimestamp = (seconds - 2208988800L) * 1000L + (fraction * 1000L) / 0x100000000L;
-
-        // 考虑网络延迟，调整时间
-        long adjustedTimestamp = ntpTimestamp + (roundTripTime / 2);
-
-        return Instant.ofEpochMilli(adjustedTimestamp);
+        log.debug("成功从NTP服务器 {} 获取时间", sample.getServer());
+        return Instant.ofEpochMilli(sample.internetTimeMillis());
     }
 
     /**
@@ -620,8 +565,10 @@ public class InternetTimeUtils {
      * 更新缓存
      */
     private static void updateCache(Instant time) {
+        long now = System.currentTimeMillis();
+        cachedDifference = time.toEpochMilli() - now;
         cachedTime = time;
-        cacheTimestamp = System.currentTimeMillis();
+        cacheTimestamp = now;
     }
 
     /**
@@ -630,6 +577,7 @@ public class InternetTimeUtils {
     public static void clearCache() {
         cachedTime = null;
         cacheTimestamp = 0;
+        cachedDifference = 0;
     }
 
     /**
@@ -648,6 +596,99 @@ public class InternetTimeUtils {
         }
     }
 
+    /**
+     * 获取最近一次成功获取的互联网时间与本地时间的差值（毫秒），不发起网络请求
+     * 可作为CachedClock的偏移来源（ClockOptions.offsetSource）
+     *
+     * @return 时间差值（互联网时间 - 本地时间），尚未成功获取或缓存已清除时返回0
+     */
+    public static long getCachedTimeDifference() {
+        NtpSynchronizer sync = synchronizer;
+        if (sync != null && sync.isSynced()) {
+            return sync.currentTimeMillis() - System.currentTimeMillis();
+        }
+        return cachedDifference;
+    }
+
+    /**
+     * 启动后台同步（默认选项），已启动时先停止原来的同步
+     * 后台线程定期并行查询NTP服务器，同步成功后getInternetTime等方法直接按同步结果计算时间，不再阻塞
+     */
+    public static void startBackgroundSync() {
+        startBackgroundSync(TimeSyncOptions.defaults());
+    }
+
+    /**
+     * 启动后台同步，已启动时先停止原来的同步
+     *
+     * @param options 同步选项
+     * @throws IllegalArgumentException 选项无效时抛出
+     */
+    public static synchronized void startBackgroundSync(TimeSyncOptions options) {
+        NtpSynchronizer sync = new NtpSynchronizer(options != null ? options : TimeSyncOptions.defaults());
+        stopBackgroundSync();
+        synchronizer = sync;
+        sync.start();
+    }
+
+    /**
+     * 停止后台同步，之后恢复按需获取时间
+     */
+    public static synchronized void stopBackgroundSync() {
+        NtpSynchronizer sync = synchronizer;
+        if (sync != null) {
+            sync.stop();
+            synchronizer = null;
+        }
+    }
+
+    /**
+     * 后台同步是否已启动
+     *
+     * @return 已启动返回true
+     */
+    public static boolean isBackgroundSyncRunning() {
+        NtpSynchronizer sync = synchronizer;
+        return sync != null && sync.isRunning();
+    }
+
+    /**
+     * 立即执行一轮后台同步（阻塞直到所有服务器响应或超时）
+     *
+     * @return 同步状态，本轮没有有效响应时返回null
+     * @throws IllegalStateException 后台同步未启动时抛出
+     */
+    public static TimeSyncStatus syncNow() {
+        NtpSynchronizer sync = synchronizer;
+        if (sync == null) {
+            throw new IllegalStateException("后台同步未启动");
+        }
+        return sync.sync();
+    }
+
+    /**
+     * 获取后台同步状态（偏移、往返延迟统计和漂移）
+     *
+     * @return 同步状态，未启动或尚未同步成功时返回null
+     */
+    public static TimeSyncStatus getSyncStatus() {
+        NtpSynchronizer sync = synchronizer;
+        return sync != null ? sync.getStatus() : null;
+    }
+
+    /**
+     * 获取当前互联网时间戳，不阻塞：后台同步成功后按同步结果计算，否则使用本地时间加最近一次获取的差值
+     *
+     * @return 毫秒时间戳
+     */
+    public static long currentTimeMillis() {
+        NtpSynchronizer sync = synchronizer;
+        if (sync != null && sync.isSynced()) {
+            return sync.currentTimeMillis();
+        }
+        return System.currentTimeMillis() + cachedDifference;
+    }
+
     /**
      * 获取本地时间与互联网时间的差值（毫秒）
      *
@@ -1,7 +1,5 @@
 package io.github.jukejuke.tool.date;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.concurrent.TimeUnit;
@@ -24,7 +22,7 @@ public class LegacyDateUtil {
     public static final String FORMAT_YEAR_MONTH = "yyyy-MM";
 
     /**
-     * 将Date格式化为指定模式的字符串
+     * 将Date格式化为指定模式的字符串，同 {@link DateUtil#format(Date, String)}
      * @param date Date对象
      * @param pattern 格式模式
      * @return 格式化后的日期字符串
@@ -33,8 +31,7 @@ public class LegacyDateUtil {
         if (date == null) {
             return null;
         }
-        SimpleDateFormat sdf = new SimpleDateFormat(pattern);
-        return sdf.format(date);
+        return DateFormats.format(date, pattern);
     }
 
     /**
@@ -47,21 +44,16 @@ public class LegacyDateUtil {
     }
 
     /**
-     * 将字符串解析为指定模式的Date
+     * 将字符串解析为指定模式的Date，同 {@link DateUtil#parse(String, String)}
      * @param dateStr 日期字符串
      * @param pattern 格式模式
-     * @return Date对象
+     * @return Date对象，无法解析时返回null
      */
     public static Date parse(String dateStr, String pattern) {
         if (dateStr == null || dateStr.isEmpty()) {
             return null;
         }
-        try {
-            SimpleDateFormat sdf = new SimpleDateFormat(pattern);
-            return sdf.parse(dateStr);
-        } catch (ParseException e) {
-            return null;
-        }
+        return DateFormats.parse(dateStr, pattern);
     }
 
     /**
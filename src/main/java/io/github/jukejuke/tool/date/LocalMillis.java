@@ -0,0 +1,181 @@
+package io.github.jukejuke.tool.date;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * 基于纪元毫秒的日历计算，结果与默认时区、默认Locale下的Calendar一致
+ * 本地毫秒数为本地时间相对1970-01-01T00:00的毫秒数：字段由civil-from-days算法得到，
+ * 时区偏移来自 {@link ZoneOffsetCache}，计算过程不创建Calendar。
+ *
+ * 仅处理1900年到9999年之间且默认Locale使用格里高利历的情况（与DateFormats相同），
+ * 其他情况返回 {@link #UNSUPPORTED}，由调用方回退到Calendar
+ */
+final class LocalMillis {
+
+    /**
+     * 不适用：调用方需要回退到Calendar
+     */
+    static final long UNSUPPORTED = Long.MIN_VALUE;
+
+    private static final long MILLIS_PER_DAY = EpochDays.MILLIS_PER_DAY;
+
+    /**
+     * 时区偏移最多一天，留出余量
+     */
+    private static final long MIN_MILLIS = DateFormats.YEAR_1900_MILLIS + MILLIS_PER_DAY;
+    private static final long MAX_MILLIS = DateFormats.YEAR_10000_MILLIS - MILLIS_PER_DAY;
+
+    private LocalMillis() {
+    }
+
+    /**
+     * 时刻是否可以不使用Calendar计算
+     * @param epochMillis 时刻
+     * @return 是否可以
+     */
+    static boolean isSupported(long epochMillis) {
+        return epochMillis > MIN_MILLIS && epochMillis < MAX_MILLIS && DateFormats.isCompatibleLocale();
+    }
+
+    /**
+     * 时刻转为默认时区的本地毫秒数
+     * @param epochMillis 时刻
+     * @return 本地毫秒数，不适用时返回 {@link #UNSUPPORTED}
+     */
+    static long toLocal(long epochMillis) {
+        if (!isSupported(epochMillis)) {
+            return UNSUPPORTED;
+        }
+        return epochMillis + ZoneOffsetCache.offsetMillis(ZoneId.systemDefault(), epochMillis);
+    }
+
+    /**
+     * 本地毫秒数转为时刻，与Calendar按本地时间字段计算时刻的规则一致：
+     * 夏令时跳过的时间按切换前的偏移计算（向后顺延），重复的时间取较晚的偏移
+     * @param zone 时区
+     * @param localMillis 本地毫秒数
+     * @return 时刻，超出范围时返回 {@link #UNSUPPORTED}
+     */
+    static long toEpoch(ZoneId zone, long localMillis) {
+        long epochMillis = localMillis - ZoneOffsetCache.offsetMillis(zone, localMillis - ZoneOffsetCache.offsetMillis(zone, localMillis));
+        if (!ZoneOffsetCache.isStable(zone, epochMillis - MILLIS_PER_DAY, epochMillis + MILLIS_PER_DAY)) {
+            // 附近有时区偏移变化，按时区规则处理间隙和重叠
+            epochMillis = LocalDateTime.ofEpochSecond(Math.floorDiv(localMillis, 1000), Math.floorMod(localMillis, 1000) * 1000000, ZoneOffset.UTC)
+                    .atZone(zone).withLaterOffsetAtOverlap().toInstant().toEpochMilli();
+        }
+        return epochMillis > MIN_MILLIS && epochMillis < MAX_MILLIS ? epochMillis : UNSUPPORTED;
+    }
+
+    /**
+     * 按Calendar.add(DAY_OF_MONTH)的规则增加天数：保持本地时间不变，
+     * 目标时间不存在时按偏移差调整（调整后日期变化则不调整）
+     * @param epochMillis 时刻
+     * @param days 天数
+     * @return 新的时刻，不适用时返回 {@link #UNSUPPORTED}
+     */
+    static long addDays(long epochMillis, long days) {
+        if (!isSupported(epochMillis)) {
+            return UNSUPPORTED;
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        long offset = ZoneOffsetCache.offsetMillis(zone, epochMillis);
+        long local = epochMillis + offset;
+        long epochDay = Math.floorDiv(local, MILLIS_PER_DAY) + days;
+        long result = epochDay * MILLIS_PER_DAY + Math.floorMod(local, MILLIS_PER_DAY) - offset;
+        long diff = offset - ZoneOffsetCache.offsetMillis(zone, result);
+        if (diff != 0) {
+            long adjusted = result + diff;
+            if (Math.floorDiv(adjusted + ZoneOffsetCache.offsetMillis(zone, adjusted), MILLIS_PER_DAY) == epochDay) {
+                result = adjusted;
+            }
+        }
+        return result > MIN_MILLIS && result < MAX_MILLIS ? result : UNSUPPORTED;
+    }
+
+    /**
+     * 按Calendar.add(MONTH)的规则增加月数：日期超过目标月份天数时取月末，本地时间不变
+     * @param epochMillis 时刻
+     * @param months 月数
+     * @return 新的时刻，不适用时返回 {@link #UNSUPPORTED}
+     */
+    static long addMonths(long epochMillis, long months) {
+        if (months == 0) {
+            // Calendar.add在数量为0时不重新计算时刻
+            return isSupported(epochMillis) ? epochMillis : UNSUPPORTED;
+        }
+        long local = toLocal(epochMillis);
+        if (local == UNSUPPORTED) {
+            return UNSUPPORTED;
+        }
+        long civil = EpochDays.toCivil(Math.floorDiv(local, MILLIS_PER_DAY));
+        long month = EpochDays.month(civil) - 1 + months;
+        long year = EpochDays.year(civil) + Math.floorDiv(month, 12);
+        if (year < 1900 || year > 9999) {
+            return UNSUPPORTED;
+        }
+        int monthOfYear = Math.floorMod(month, 12) + 1;
+        int day = Math.min(EpochDays.day(civil), EpochDays.lengthOfMonth(year, monthOfYear));
+        long targetLocal = EpochDays.fromCivil(year, monthOfYear, day) * MILLIS_PER_DAY + Math.floorMod(local, MILLIS_PER_DAY);
+        return toEpoch(ZoneId.systemDefault(), targetLocal);
+    }
+
+    /**
+     * 本地毫秒数截断到指定单位后转为时刻，与Calendar将更小的字段置0的结果一致
+     * @param zone 时区
+     * @param localMillis 本地毫秒数
+     * @param unitMillis 单位毫秒数（天或小时）
+     * @return 时刻，超出范围时返回 {@link #UNSUPPORTED}
+     */
+    static long truncate(ZoneId zone, long localMillis, long unitMillis) {
+        return toEpoch(zone, localMillis - Math.floorMod(localMillis, unitMillis));
+    }
+
+    static long epochDay(long localMillis) {
+        return Math.floorDiv(localMillis, MILLIS_PER_DAY);
+    }
+
+    static int year(long localMillis) {
+        return EpochDays.year(EpochDays.toCivil(epochDay(localMillis)));
+    }
+
+    static int month(long localMillis) {
+        return EpochDays.month(EpochDays.toCivil(epochDay(localMillis)));
+    }
+
+    static int day(long localMillis) {
+        return EpochDays.day(EpochDays.toCivil(epochDay(localMillis)));
+    }
+
+    static int hour(long localMillis) {
+        return (int) (Math.floorMod(localMillis, MILLIS_PER_DAY) / 3600000);
+    }
+
+    static int minute(long localMillis) {
+        return (int) (Math.floorMod(localMillis, 3600000L) / 60000);
+    }
+
+    static int second(long localMillis) {
+        return (int) (Math.floorMod(localMillis, 60000L) / 1000);
+    }
+
+    /**
+     * 一周中的第几天，与Calendar.DAY_OF_WEEK一致（星期日为1）
+     */
+    static int dayOfWeek(long localMillis) {
+        // 1970-01-01是星期四
+        return Math.floorMod(epochDay(localMillis) + 4, 7) + 1;
+    }
+
+    static int dayOfYear(long localMillis) {
+        long epochDay = epochDay(localMillis);
+        int year = EpochDays.year(EpochDays.toCivil(epochDay));
+        return (int) (epochDay - EpochDays.fromCivil(year, 1, 1)) + 1;
+    }
+
+    static int lengthOfMonth(long localMillis) {
+        long civil = EpochDays.toCivil(epochDay(localMillis));
+        return EpochDays.lengthOfMonth(EpochDays.year(civil), EpochDays.month(civil));
+    }
+}
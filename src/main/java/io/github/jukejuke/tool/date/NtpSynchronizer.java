@@ -0,0 +1,418 @@
+package io.github.jukejuke.tool.date;
+
+import io.github.jukejuke.tool.exec.DaemonThreadFactory;
+import io.github.jukejuke.tool.ip.IPAddressResolver;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NTP时间同步器
+ * 每轮用同一个UDP套接字并行查询所有服务器，按RFC 5905计算每个样本的偏移和往返延迟：
+ * 每个服务器保留最近的若干样本，取延迟最小的样本（时钟过滤），再在服务器之间取延迟最小的样本。
+ *
+ * 选中样本的偏移与System.nanoTime()锚点一起保存，读取时间只需 锚点时间 + nanoTime的增量，不阻塞。
+ * 网络查询不持有锁，查询结束后在锁内更新样本和统计并一次性发布新的状态
+ */
+@Slf4j
+final class NtpSynchronizer {
+
+    /**
+     * NTP时间戳（1900年起）与Unix时间戳的秒数差
+     */
+    private static final long NTP_EPOCH_OFFSET_SECONDS = 2208988800L;
+
+    private static final int PACKET_SIZE = 48;
+
+    /**
+     * 单次查询收到第一个有效响应后继续等待其他服务器的时间，用于在几个快速响应中选择延迟最小的
+     */
+    static final int FIRST_RESPONSE_GRACE_MILLIS = 50;
+
+    private final TimeSyncOptions options;
+
+    /**
+     * 每个服务器最近的样本，只在持有锁时访问
+     */
+    private final Map<String, Deque<Sample>> filters = new HashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 选中的样本和对应的状态，整体替换，读取时不会看到不一致的组合
+     */
+    private volatile Published published = new Published(null, null);
+
+    /**
+     * 首次同步的样本，用于计算漂移
+     */
+    private Sample first;
+    private long syncCount;
+    private long failureCount;
+    private double roundTripSum;
+    private double minRoundTrip = Double.MAX_VALUE;
+    private double maxRoundTrip;
+
+    NtpSynchronizer(TimeSyncOptions options) {
+        if (options.getServers() == null || options.getServers().isEmpty()) {
+            throw new IllegalArgumentException("NTP服务器列表不能为空");
+        }
+        if (options.getTimeoutMillis() <= 0 || options.getIntervalMillis() <= 0 || options.getFilterSize() <= 0) {
+            throw new IllegalArgumentException("超时时间、同步间隔和样本数必须大于0");
+        }
+        this.options = options;
+    }
+
+    /**
+     * 启动后台同步，第一轮立即执行
+     */
+    synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("jk-tool-ntp-sync"));
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                sync();
+            } catch (RuntimeException e) {
+                // 异常会取消周期任务，记录后等待下一轮
+                log.warn("NTP后台同步失败: {}", e.getMessage());
+            }
+        }, 0, options.getIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * 执行一轮同步（阻塞直到所有服务器响应或超时），查询期间不持有锁，不阻塞stop和状态读取
+     * @return 同步状态，本轮没有有效响应时返回null（保留上一次的结果）
+     */
+    TimeSyncStatus sync() {
+        List<Sample> samples = query(options.getServers(), options.getPort(), options.getTimeoutMillis());
+        return record(samples);
+    }
+
+    /**
+     * 记录一轮查询的样本并发布新的状态
+     */
+    private synchronized TimeSyncStatus record(List<Sample> samples) {
+        if (samples.isEmpty()) {
+            failureCount++;
+            Published current = published;
+            if (current.status != null) {
+                TimeSyncStatus failed = copy(current.status);
+                failed.setFailureCount(failureCount);
+                failed.setRespondedServers(0);
+                published = new Published(current.selected, failed);
+            }
+            log.warn("NTP同步失败，没有服务器响应");
+            return null;
+        }
+        Sample best = null;
+        for (Sample sample : samples) {
+            Deque<Sample> filter = filters.computeIfAbsent(sample.server, k -> new ArrayDeque<>());
+            filter.addLast(sample);
+            while (filter.size() > options.getFilterSize()) {
+                filter.removeFirst();
+            }
+            Sample filtered = Sample.lowestDelay(filter);
+            if (best == null || filtered.delayNanos < best.delayNanos) {
+                best = filtered;
+            }
+        }
+        syncCount++;
+        if (first == null) {
+            first = best;
+        }
+        double roundTrip = best.delayNanos / 1e6;
+        roundTripSum += roundTrip;
+        minRoundTrip = Math.min(minRoundTrip, roundTrip);
+        maxRoundTrip = Math.max(maxRoundTrip, roundTrip);
+
+        TimeSyncStatus next = new TimeSyncStatus();
+        next.setServer(best.server);
+        next.setOffsetMillis(best.offsetNanos / 1e6);
+        next.setRoundTripMillis(roundTrip);
+        next.setMinRoundTripMillis(minRoundTrip);
+        next.setAverageRoundTripMillis(roundTripSum / syncCount);
+        next.setMaxRoundTripMillis(maxRoundTrip);
+        long elapsedNanos = best.receivedNanoTime - first.receivedNanoTime;
+        if (elapsedNanos > 0) {
+            next.setDriftPpm((best.offsetNanos - first.offsetNanos) * 1e6 / elapsedNanos);
+        }
+        next.setRespondedServers(samples.size());
+        next.setSyncedAtMillis(currentTimeMillis());
+        next.setSyncCount(syncCount);
+        next.setFailureCount(failureCount);
+        published = new Published(best, next);
+        log.debug("NTP同步成功: server={}, offset={}ms, roundTrip={}ms", best.server, next.getOffsetMillis(), roundTrip);
+        return next;
+    }
+
+    /**
+     * 是否已有同步结果
+     */
+    boolean isSynced() {
+        return published.selected != null;
+    }
+
+    /**
+     * 按同步结果计算的当前互联网时间，不阻塞
+     * @return 毫秒时间戳，尚未同步时返回本地时间
+     */
+    long currentTimeMillis() {
+        Sample sample = published.selected;
+        if (sample == null) {
+            return System.currentTimeMillis();
+        }
+        return Math.floorDiv(sample.receivedNanos + sample.offsetNanos + (System.nanoTime() - sample.receivedNanoTime), 1000000L);
+    }
+
+    TimeSyncStatus getStatus() {
+        return published.status;
+    }
+
+    /**
+     * 并行查询一组NTP服务器，每个服务器一个样本，等待所有服务器响应或超时
+     * @param servers 服务器列表（主机 或 主机:端口）
+     * @param defaultPort 默认端口
+     * @param timeoutMillis 整轮的超时时间
+     * @return 有效响应的样本
+     */
+    static List<Sample> query(List<String> servers, int defaultPort, int timeoutMillis) {
+        return query(servers, defaultPort, timeoutMillis, -1);
+    }
+
+    /**
+     * 并行查询一组NTP服务器，每个服务器一个样本
+     * @param servers 服务器列表（主机 或 主机:端口）
+     * @param defaultPort 默认端口
+     * @param timeoutMillis 整轮的超时时间
+     * @param graceMillis 收到第一个有效响应后最多再等待的时间，小于0时等待所有服务器响应或超时
+     * @return 有效响应的样本
+     */
+    static List<Sample> query(List<String> servers, int defaultPort, int timeoutMillis, int graceMillis) {
+        List<Sample> samples = new ArrayList<>();
+        Map<SocketAddress, Request> pending = new HashMap<>();
+        try (DatagramSocket socket = new DatagramSocket()) {
+            for (String server : servers) {
+                try {
+                    InetSocketAddress address = IPAddressResolver.toSocketAddress(server, defaultPort);
+                    Request request = new Request(server);
+                    byte[] packet = request.toPacket();
+                    pending.put(address, request);
+                    request.sentNanoTime = System.nanoTime();
+                    socket.send(new DatagramPacket(packet, packet.length, address));
+                } catch (IOException | IllegalArgumentException e) {
+                    log.debug("NTP服务器 {} 请求失败: {}", server, e.getMessage());
+                }
+            }
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            byte[] buffer = new byte[PACKET_SIZE];
+            while (samples.size() < pending.size()) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    break;
+                }
+                socket.setSoTimeout((int) remaining);
+                DatagramPacket response = new DatagramPacket(buffer, buffer.length);
+                try {
+                    socket.receive(response);
+                } catch (SocketTimeoutException e) {
+                    break;
+                }
+                long receivedNanoTime = System.nanoTime();
+                Request request = pending.get(response.getSocketAddress());
+                if (request == null || request.answered || response.getLength() < PACKET_SIZE) {
+                    continue;
+                }
+                Sample sample = request.toSample(buffer, receivedNanoTime);
+                if (sample != null) {
+                    request.answered = true;
+                    samples.add(sample);
+                    if (graceMillis >= 0 && samples.size() == 1) {
+                        deadline = Math.min(deadline, receivedNanoTime + TimeUnit.MILLISECONDS.toNanos(graceMillis));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.debug("NTP查询失败: {}", e.getMessage());
+        }
+        return samples;
+    }
+
+    /**
+     * 查询一组NTP服务器并返回往返延迟最小的样本；收到第一个有效响应后只再等待一小段时间，
+     * 个别服务器慢或不可用时不必等到超时
+     * @return 样本，没有有效响应时返回null
+     */
+    static Sample queryBest(List<String> servers, int defaultPort, int timeoutMillis) {
+        List<Sample> samples = query(servers, defaultPort, timeoutMillis, FIRST_RESPONSE_GRACE_MILLIS);
+        return samples.isEmpty() ? null : Sample.lowestDelay(samples);
+    }
+
+    private static TimeSyncStatus copy(TimeSyncStatus source) {
+        TimeSyncStatus target = new TimeSyncStatus();
+        target.setServer(source.getServer());
+        target.setOffsetMillis(source.getOffsetMillis());
+        target.setRoundTripMillis(source.getRoundTripMillis());
+        target.setMinRoundTripMillis(source.getMinRoundTripMillis());
+        target.setAverageRoundTripMillis(source.getAverageRoundTripMillis());
+        target.setMaxRoundTripMillis(source.getMaxRoundTripMillis());
+        target.setDriftPpm(source.getDriftPpm());
+        target.setRespondedServers(source.getRespondedServers());
+        target.setSyncedAtMillis(source.getSyncedAtMillis());
+        target.setSyncCount(source.getSyncCount());
+        target.setFailureCount(source.getFailureCount());
+        return target;
+    }
+
+    private static long readTimestamp(byte[] buffer, int offset) {
+        long seconds = readUnsignedInt(buffer, offset);
+        long fraction = readUnsignedInt(buffer, offset + 4);
+        return (seconds - NTP_EPOCH_OFFSET_SECONDS) * 1000000000L + (fraction * 1000000000L >>> 32);
+    }
+
+    private static long readUnsignedInt(byte[] buffer, int offset) {
+        return ((long) (buffer[offset] & 0xFF) << 24) | ((buffer[offset + 1] & 0xFF) << 16)
+                | ((buffer[offset + 2] & 0xFF) << 8) | (buffer[offset + 3] & 0xFF);
+    }
+
+    private static void writeTimestamp(byte[] buffer, int offset, long unixNanos) {
+        long seconds = Math.floorDiv(unixNanos, 1000000000L) + NTP_EPOCH_OFFSET_SECONDS;
+        long fraction = (Math.floorMod(unixNanos, 1000000000L) << 32) / 1000000000L;
+        for (int i = 0; i < 4; i++) {
+            buffer[offset + i] = (byte) (seconds >>> (24 - 8 * i));
+            buffer[offset + 4 + i] = (byte) (fraction >>> (24 - 8 * i));
+        }
+    }
+
+    /**
+     * 一次请求：客户端发送时间写入请求的发送时间戳，服务器在响应的起始时间戳中原样返回，用于匹配响应
+     */
+    private static final class Request {
+        private final String server;
+        private final long sentNanos;
+        private final byte[] transmitTimestamp = new byte[8];
+        private long sentNanoTime;
+        private boolean answered;
+
+        private Request(String server) {
+            this.server = server;
+            this.sentNanos = System.currentTimeMillis() * 1000000L;
+        }
+
+        private byte[] toPacket() {
+            byte[] packet = new byte[PACKET_SIZE];
+            // LI = 0, VN = 4, Mode = 3（客户端）
+            packet[0] = 0x23;
+            writeTimestamp(packet, 40, sentNanos);
+            System.arraycopy(packet, 40, transmitTimestamp, 0, 8);
+            return packet;
+        }
+
+        /**
+         * 校验响应并计算样本：offset = ((t2 - t1) + (t3 - t4)) / 2，delay = (t4 - t1) - (t3 - t2)
+         * @return 样本，响应无效时返回null
+         */
+        private Sample toSample(byte[] buffer, long receivedNanoTime) {
+            int leap = (buffer[0] >> 6) & 0x3;
+            int mode = buffer[0] & 0x7;
+            int stratum = buffer[1] & 0xFF;
+            // 模式必须是服务器，层级0为拒绝服务（Kiss-o'-Death），闰秒标志3表示服务器未同步
+            if (mode != 4 || stratum == 0 || stratum > 15 || leap == 3
+                    || !Arrays.equals(transmitTimestamp, Arrays.copyOfRange(buffer, 24, 32))) {
+                return null;
+            }
+            long t1 = sentNanos;
+            // 客户端接收时间由单调时钟推算，不受本地时钟调整影响
+            long t4 = sentNanos + (receivedNanoTime - sentNanoTime);
+            long t2 = readTimestamp(buffer, 32);
+            long t3 = readTimestamp(buffer, 40);
+            long offset = ((t2 - t1) + (t3 - t4)) / 2;
+            long delay = Math.max(0, (t4 - t1) - (t3 - t2));
+            return new Sample(server, offset, delay, t4, receivedNanoTime);
+        }
+    }
+
+    /**
+     * 已发布的同步结果
+     */
+    private static final class Published {
+        private final Sample selected;
+        private final TimeSyncStatus status;
+
+        private Published(Sample selected, TimeSyncStatus status) {
+            this.selected = selected;
+            this.status = status;
+        }
+    }
+
+    /**
+     * 一个NTP样本
+     */
+    static final class Sample {
+        private final String server;
+        private final long offsetNanos;
+        private final long delayNanos;
+
+        /**
+         * 客户端接收时间（本地时钟的纳秒时间戳）及对应的System.nanoTime()
+         */
+        private final long receivedNanos;
+        private final long receivedNanoTime;
+
+        private Sample(String server, long offsetNanos, long delayNanos, long receivedNanos, long receivedNanoTime) {
+            this.server = server;
+            this.offsetNanos = offsetNanos;
+            this.delayNanos = delayNanos;
+            this.receivedNanos = receivedNanos;
+            this.receivedNanoTime = receivedNanoTime;
+        }
+
+        /**
+         * 样本接收时刻的互联网时间（毫秒时间戳）
+         */
+        long internetTimeMillis() {
+            return Math.floorDiv(receivedNanos + offsetNanos, 1000000L);
+        }
+
+        String getServer() {
+            return server;
+        }
+
+        private static Sample lowestDelay(Iterable<Sample> samples) {
+            Sample best = null;
+            for (Sample sample : samples) {
+                if (best == null || sample.delayNanos < best.delayNanos) {
+                    best = sample;
+                }
+            }
+            return best;
+        }
+    }
+}
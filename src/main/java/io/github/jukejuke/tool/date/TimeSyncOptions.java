@@ -0,0 +1,48 @@
+package io.github.jukejuke.tool.date;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 互联网时间后台同步选项
+ * 用于配置InternetTimeUtils.startBackgroundSync的NTP服务器、超时和同步间隔
+ */
+@Data
+public class TimeSyncOptions {
+
+    /**
+     * NTP服务器列表，格式为 主机 或 主机:端口，每轮并行查询；默认使用InternetTimeUtils内置的服务器
+     */
+    private List<String> servers = new ArrayList<>(Arrays.asList(InternetTimeUtils.NTP_SERVERS));
+
+    /**
+     * 未指定端口时使用的NTP端口，默认123
+     */
+    private int port = 123;
+
+    /**
+     * 每轮查询的超时时间（毫秒），默认5000
+     */
+    private int timeoutMillis = 5000;
+
+    /**
+     * 同步间隔（毫秒），默认5分钟
+     */
+    private long intervalMillis = 5 * 60 * 1000L;
+
+    /**
+     * 每个服务器保留的最近样本数，从中选择往返延迟最小的样本（RFC 5905时钟过滤），默认8
+     */
+    private int filterSize = 8;
+
+    /**
+     * 创建默认选项
+     * @return 同步选项
+     */
+    public static TimeSyncOptions defaults() {
+        return new TimeSyncOptions();
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.jukejuke.tool.date;
+
+import lombok.Data;
+
+/**
+ * 互联网时间同步状态
+ * 每次同步成功后生成新的快照，偏移为互联网时间减本地时间
+ */
+@Data
+public class TimeSyncStatus {
+
+    /**
+     * 选中样本的服务器
+     */
+    private String server;
+
+    /**
+     * 选中样本的时钟偏移（毫秒）
+     */
+    private double offsetMillis;
+
+    /**
+     * 选中样本的往返延迟（毫秒）
+     */
+    private double roundTripMillis;
+
+    /**
+     * 历次选中样本往返延迟的最小值（毫秒）
+     */
+    private double minRoundTripMillis;
+
+    /**
+     * 历次选中样本往返延迟的平均值（毫秒）
+     */
+    private double averageRoundTripMillis;
+
+    /**
+     * 历次选中样本往返延迟的最大值（毫秒）
+     */
+    private double maxRoundTripMillis;
+
+    /**
+     * 本地时钟相对互联网时间的漂移（百万分之一），按首次同步以来偏移的变化计算，
+     * 正值表示本地时钟走慢；同步少于两次时为NaN
+     */
+    private double driftPpm = Double.NaN;
+
+    /**
+     * 最近一轮响应的服务器数
+     */
+    private int respondedServers;
+
+    /**
+     * 同步成功的时间（互联网时间的毫秒时间戳）
+     */
+    private long syncedAtMillis;
+
+    /**
+     * 同步成功的轮数
+     */
+    private long syncCount;
+
+    /**
+     * 同步失败的轮数（所有服务器均无有效响应）
+     */
+    private long failureCount;
+}
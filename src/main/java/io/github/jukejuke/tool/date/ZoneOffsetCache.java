@@ -0,0 +1,78 @@
+package io.github.jukejuke.tool.date;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * 时区偏移缓存
+ * 缓存最近一次查询所在的偏移区间（两次时区规则变化之间），区间内的查询只比较两个long，不创建对象
+ */
+final class ZoneOffsetCache {
+
+    private static volatile Window window;
+
+    private ZoneOffsetCache() {
+    }
+
+    /**
+     * 获取时区在指定时刻的偏移毫秒数
+     * @param zone 时区
+     * @param epochMillis 时刻
+     * @return 偏移毫秒数
+     */
+    static long offsetMillis(ZoneId zone, long epochMillis) {
+        return window(zone, epochMillis).offsetMillis;
+    }
+
+    /**
+     * [from, to]范围内时区偏移是否不变
+     * @param zone 时区
+     * @param from 开始时刻
+     * @param to 结束时刻
+     * @return 是否不变
+     */
+    static boolean isStable(ZoneId zone, long from, long to) {
+        return window(zone, from).end > to;
+    }
+
+    private static Window window(ZoneId zone, long epochMillis) {
+        Window cached = window;
+        if (cached != null && (cached.zone == zone || cached.zone.equals(zone))
+                && epochMillis >= cached.start && epochMillis < cached.end) {
+            return cached;
+        }
+        cached = new Window(zone, epochMillis);
+        window = cached;
+        return cached;
+    }
+
+    /**
+     * 偏移不变的时间区间[start, end)
+     */
+    private static final class Window {
+        private final ZoneId zone;
+        private final long start;
+        private final long end;
+        private final long offsetMillis;
+
+        private Window(ZoneId zone, long epochMillis) {
+            ZoneRules rules = zone.getRules();
+            Instant instant = Instant.ofEpochMilli(epochMillis);
+            this.zone = zone;
+            this.offsetMillis = rules.getOffset(instant).getTotalSeconds() * 1000L;
+            if (rules.isFixedOffset()) {
+                this.start = Long.MIN_VALUE;
+                this.end = Long.MAX_VALUE;
+                return;
+            }
+            ZoneOffsetTransition previous = rules.previousTransition(instant.plusMillis(1));
+            ZoneOffsetTransition next = rules.nextTransition(instant);
+            long previousMillis = previous == null ? Long.MIN_VALUE : previous.toEpochSecond() * 1000;
+            // 时刻恰好在变化点上时区间从该时刻开始
+            this.start = previousMillis <= epochMillis ? previousMillis : epochMillis;
+            this.end = next == null ? Long.MAX_VALUE : next.toEpochSecond() * 1000;
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package io.github.jukejuke.tool.dns;
+
+import io.github.jukejuke.tool.exec.DaemonThreadFactory;
+import io.github.jukejuke.tool.ip.IPAddressResolver;
+import lombok.extern.slf4j.Slf4j;
+import org.xbill.DNS.Address;
+import org.xbill.DNS.DClass;
+import org.xbill.DNS.Message;
+import org.xbill.DNS.Name;
+import org.xbill.DNS.Rcode;
+import org.xbill.DNS.Record;
+import org.xbill.DNS.SimpleResolver;
+import org.xbill.DNS.TextParseException;
+import org.xbill.DNS.Type;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 异步DNS解析器（UDP/TCP）
+ * 每个上游服务器使用一个长期复用的dnsjava SimpleResolver：查询由dnsjava共享的NIO线程收发，不占用调用线程；
+ * UDP响应被截断（TC）时自动改用TCP重新查询，TCP连接按服务器复用。
+ *
+ * 配置多个服务器时进行竞速：先查询第一个服务器，每隔raceDelayMillis或上一个服务器失败时再查询下一个，
+ * 取最先返回的有效响应（NOERROR或NXDOMAIN）。
+ * 解析结果按记录TTL缓存在 {@link DnsCache} 中（默认 {@link DnsCache#getDefault()}），同一域名的并发查询合并为一次。
+ * 使用{@link Builder}类创建实例，不再使用时调用 {@link #close()}
+ */
+@Slf4j
+public class AsyncDnsResolver implements AutoCloseable {
+
+    private static final int DEFAULT_PORT = 53;
+
+    /**
+     * DnsResolver使用的共享解析器，key为服务器地址
+     */
+    private static final Map<String, AsyncDnsResolver> SHARED = new ConcurrentHashMap<>();
+
+    private final List<SimpleResolver> resolvers;
+    private final String scope;
+    private final long raceDelayMillis;
+    private final int maxInFlight;
+    private final DnsCache cache;
+
+    /**
+     * 竞速时延迟查询下一个服务器，只有多个服务器且延迟大于0时创建
+     */
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean closed;
+
+    /**
+     * 私有构造函数，通过Builder创建实例
+     */
+    private AsyncDnsResolver(Builder builder) {
+        if (builder.servers.isEmpty()) {
+            throw new IllegalArgumentException("DNS服务器列表不能为空");
+        }
+        if (builder.timeoutMillis <= 0 || builder.raceDelayMillis < 0 || builder.maxInFlight <= 0) {
+            throw new IllegalArgumentException("超时时间和最大并发查询数必须大于0，竞速延迟不能为负数");
+        }
+        List<SimpleResolver> list = new ArrayList<>(builder.servers.size());
+        for (String server : builder.servers) {
+            SimpleResolver resolver = new SimpleResolver(IPAddressResolver.toSocketAddress(server, DEFAULT_PORT));
+            resolver.setTimeout(Duration.ofMillis(builder.timeoutMillis));
+            list.add(resolver);
+        }
+        this.resolvers = Collections.unmodifiableList(list);
+        this.scope = "dns:" + String.join(",", builder.servers);
+        this.raceDelayMillis = builder.raceDelayMillis;
+        this.maxInFlight = builder.maxInFlight;
+        this.cache = builder.cache;
+        if (list.size() > 1 && builder.raceDelayMillis > 0) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("jk-tool-dns-race"));
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * 构建者模式，用于灵活配置AsyncDnsResolver实例
+     */
+    public static class Builder {
+        private final List<String> servers;
+        private int timeoutMillis = 5000;
+        private long raceDelayMillis = 100;
+        private int maxInFlight = 256;
+        private DnsCache cache;
+
+        /**
+         * @param servers 上游DNS服务器，格式为 主机 或 主机:端口，按顺序参与竞速
+         */
+        public Builder(String... servers) {
+            this.servers = servers == null ? Collections.emptyList() : Arrays.asList(servers);
+        }
+
+        /**
+         * 单个服务器的查询超时时间（毫秒），默认5000
+         */
+        public Builder timeoutMillis(int timeoutMillis) {
+            this.timeoutMillis = timeoutMillis;
+            return this;
+        }
+
+        /**
+         * 竞速延迟（毫秒）：前一个服务器在该时间内没有响应时开始查询下一个服务器，默认100；为0时同时查询所有服务器
+         */
+        public Builder raceDelayMillis(long raceDelayMillis) {
+            this.raceDelayMillis = raceDelayMillis;
+            return this;
+        }
+
+        /**
+         * 批量解析时同时进行的最大查询数，默认256
+         */
+        public Builder maxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * 解析结果缓存，默认使用DnsCache.getDefault()
+         */
+        public Builder cache(DnsCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        public AsyncDnsResolver build() {
+            return new AsyncDnsResolver(this);
+        }
+    }
+
+    /**
+     * 获取单个服务器对应的共享解析器，首次调用时创建，不需要关闭
+     * @param dnsServer DNS服务器地址
+     * @return 共享解析器
+     */
+    static AsyncDnsResolver shared(String dnsServer) {
+        return SHARED.computeIfAbsent(dnsServer, k -> new Builder(dnsServer).build());
+    }
+
+    /**
+     * 异步解析域名的A记录
+     * @param hostname 域名
+     * @return IPv4地址列表，域名不存在时为空列表；所有服务器都查询失败时异常完成
+     */
+    public CompletableFuture<List<InetAddress>> resolve(String hostname) {
+        return resolve(hostname, "A");
+    }
+
+    /**
+     * 异步解析域名
+     * @param hostname 域名
+     * @param recordType 记录类型，"A"或"AAAA"
+     * @return IP地址列表，域名不存在时为空列表；所有服务器都查询失败时异常完成
+     * @throws IllegalArgumentException 记录类型不是A或AAAA时抛出
+     * @throws IllegalStateException 解析器已关闭时抛出
+     */
+    public CompletableFuture<List<InetAddress>> resolve(String hostname, String recordType) {
+        int family;
+        if ("A".equalsIgnoreCase(recordType)) {
+            family = Address.IPv4;
+        } else if ("AAAA".equalsIgnoreCase(recordType)) {
+            family = Address.IPv6;
+        } else {
+            throw new IllegalArgumentException("只支持A和AAAA记录: " + recordType);
+        }
+        return lookup(hostname, recordType).thenApply(values -> toAddresses(hostname, values, family));
+    }
+
+    /**
+     * 批量解析域名，同时进行的查询数不超过maxInFlight，超出时等待已发出的查询完成
+     * @param hostnames 域名
+     * @param recordType 记录类型，"A"或"AAAA"
+     * @return 按输入顺序排列的 域名 -> IP地址列表，查询失败的域名不包含在结果中
+     * @throws InterruptedException 等待时被中断
+     */
+    public Map<String, List<InetAddress>> resolveAll(Collection<String> hostnames, String recordType) throws InterruptedException {
+        Semaphore permits = new Semaphore(maxInFlight);
+        Map<String, CompletableFuture<List<InetAddress>>> futures = new LinkedHashMap<>();
+        for (String hostname : hostnames) {
+            if (futures.containsKey(hostname)) {
+                continue;
+            }
+            permits.acquire();
+            CompletableFuture<List<InetAddress>> future;
+            try {
+                future = resolve(hostname, recordType);
+            } catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            future.whenComplete((result, error) -> permits.release());
+            futures.put(hostname, future);
+        }
+        Map<String, List<InetAddress>> results = new LinkedHashMap<>();
+        for (Map.Entry<String, CompletableFuture<List<InetAddress>>> entry : futures.entrySet()) {
+            try {
+                results.put(entry.getKey(), entry.getValue().get());
+            } catch (ExecutionException e) {
+                log.debug("DNS查询失败: {} {}: {}", entry.getKey(), recordType, e.getCause().getMessage());
+            }
+        }
+        return results;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 关闭解析器，之后不能再发起查询；已发出的查询仍会完成
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 异步查询记录值（IP地址的文本形式），经过缓存
+     */
+    CompletableFuture<List<String>> lookup(String hostname, String recordType) {
+        if (closed) {
+            throw new IllegalStateException("AsyncDnsResolver已关闭");
+        }
+        DnsCache dnsCache = cache != null ? cache : DnsCache.getDefault();
+        return dnsCache.getAsync(scope, hostname, recordType, () -> race(hostname, recordType));
+    }
+
+    private CompletableFuture<DnsCache.Answer> race(String hostname, String recordType) {
+        int type = Type.value(recordType);
+        Name name;
+        try {
+            name = Name.fromString(hostname.endsWith(".") ? hostname : hostname + ".");
+        } catch (TextParseException e) {
+            throw new IllegalArgumentException("无效的域名: " + hostname, e);
+        }
+        Race race = new Race(Message.newQuery(Record.newRecord(name, type, DClass.IN)), type);
+        race.startNext();
+        return race.result;
+    }
+
+    private static List<InetAddress> toAddresses(String hostname, List<String> values, int family) {
+        List<InetAddress> addresses = new ArrayList<>(values.size());
+        for (String value : values) {
+            byte[] bytes = Address.toByteArray(value, family);
+            if (bytes == null) {
+                continue;
+            }
+            try {
+                addresses.add(InetAddress.getByAddress(hostname, bytes));
+            } catch (UnknownHostException e) {
+                // 地址长度已由toByteArray保证，不会发生
+                throw new CompletionException(e);
+            }
+        }
+        return addresses;
+    }
+
+    /**
+     * 一次竞速查询：按顺序启动各服务器的查询，最先返回的有效响应为结果；
+     * 所有服务器都没有有效响应时，返回最后一个响应（如SERVFAIL，按不缓存的空结果处理），没有响应时异常完成
+     */
+    private final class Race {
+        private final Message query;
+        private final int type;
+        private final CompletableFuture<DnsCache.Answer> result = new CompletableFuture<>();
+        private final AtomicInteger started = new AtomicInteger();
+        private final AtomicInteger finished = new AtomicInteger();
+        private volatile Message lastResponse;
+        private volatile Throwable lastError;
+
+        private Race(Message query, int type) {
+            this.query = query;
+            this.type = type;
+        }
+
+        private void startNext() {
+            while (!result.isDone()) {
+                int index = started.getAndIncrement();
+                if (index >= resolvers.size()) {
+                    return;
+                }
+                // 每个服务器使用查询消息的副本，dnsjava发送时会修改消息
+                resolvers.get(index).sendAsync(query.clone()).whenComplete(this::onResult);
+                if (index + 1 >= resolvers.size()) {
+                    return;
+                }
+                if (scheduler != null) {
+                    try {
+                        scheduler.schedule(this::startNext, raceDelayMillis, TimeUnit.MILLISECONDS);
+                    } catch (RejectedExecutionException e) {
+                        // 解析器已关闭，只等待已发出的查询
+                    }
+                    return;
+                }
+            }
+        }
+
+        private void onResult(Message response, Throwable error) {
+            if (error == null && response != null
+                    && (response.getRcode() == Rcode.NOERROR || response.getRcode() == Rcode.NXDOMAIN)) {
+                result.complete(DnsResolver.toAnswer(response, type));
+                return;
+            }
+            if (response != null) {
+                lastResponse = response;
+            } else {
+                lastError = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            }
+            if (finished.incrementAndGet() >= resolvers.size()) {
+                Message last = lastResponse;
+                if (last != null) {
+                    result.complete(DnsResolver.toAnswer(last, type));
+                } else {
+                    result.completeExceptionally(lastError);
+                }
+            } else {
+                // 当前服务器失败，立即查询下一个
+                startNext();
+            }
+        }
+    }
+}
@@ -0,0 +1,563 @@
+package io.github.jukejuke.tool.dns;
+
+import io.github.jukejuke.tool.exec.DaemonThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DNS解析结果缓存，tool.dns下的解析器共用默认实例
+ * 以(解析来源, 域名, 记录类型)为键缓存解析结果：
+ * <ul>
+ *     <li>按记录TTL过期，TTL限制在[minTtlSeconds, maxTtlSeconds]范围内</li>
+ *     <li>域名不存在或没有该类型记录时缓存空结果（否定缓存），TTL取SOA记录的TTL和最小TTL中较小的值</li>
+ *     <li>过期后的一段时间内直接返回旧结果并在后台刷新，热点域名不会因过期而阻塞</li>
+ *     <li>同一个键的并发查询合并为一次，其余调用等待该次查询的结果</li>
+ *     <li>超出最大条目数时先清理不可再使用的条目，再优先淘汰已过期的条目，其余按最近访问时间淘汰（近似LRU）</li>
+ * </ul>
+ * 解析来源区分不同的DNS服务器和代理，不同来源的结果互不共用。
+ * 查询失败和服务器错误（如SERVFAIL）不缓存
+ */
+@Slf4j
+public final class DnsCache {
+
+    private static volatile DnsCache defaultCache;
+
+    private final DnsCacheOptions options;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 进行中的查询，用于合并并发查询和避免重复刷新
+     */
+    private final Map<Key, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor refresher;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder staleHitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * 创建DNS缓存
+     * @param options 缓存选项
+     * @throws IllegalArgumentException 选项无效时抛出
+     */
+    public DnsCache(DnsCacheOptions options) {
+        if (options == null) {
+            options = DnsCacheOptions.defaults();
+        }
+        if (options.getMinTtlSeconds() < 0 || options.getMaxTtlSeconds() < options.getMinTtlSeconds()
+                || options.getNegativeTtlSeconds() < 0 || options.getStaleWhileRevalidateSeconds() < 0) {
+            throw new IllegalArgumentException("TTL不能为负数，且最大TTL不能小于最小TTL");
+        }
+        if (options.getMaxSize() <= 0 || options.getRefreshThreads() <= 0) {
+            throw new IllegalArgumentException("最大条目数和刷新线程数必须大于0");
+        }
+        if (options.getTimeSource() == null) {
+            throw new IllegalArgumentException("时间来源不能为空");
+        }
+        this.options = options;
+        this.refresher = new ThreadPoolExecutor(options.getRefreshThreads(), options.getRefreshThreads(),
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new DaemonThreadFactory("jk-tool-dns-refresh"));
+        this.refresher.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 获取默认缓存，首次调用时按默认选项创建
+     * @return 默认缓存
+     */
+    public static DnsCache getDefault() {
+        DnsCache cache = defaultCache;
+        if (cache == null) {
+            synchronized (DnsCache.class) {
+                cache = defaultCache;
+                if (cache == null) {
+                    cache = new DnsCache(DnsCacheOptions.defaults());
+                    defaultCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * 替换默认缓存
+     * @param cache 新的默认缓存，为null时下次调用getDefault重新按默认选项创建
+     * @return 原默认缓存，可能为null
+     */
+    public static synchronized DnsCache setDefault(DnsCache cache) {
+        DnsCache previous = defaultCache;
+        defaultCache = cache;
+        return previous;
+    }
+
+    /**
+     * 获取解析结果，未缓存或已过期时调用loader查询
+     * @param scope 解析来源（如DNS服务器地址），不同来源分开缓存
+     * @param name 域名（不区分大小写，末尾的点可省略）
+     * @param type 记录类型（如"A", "AAAA"）
+     * @param loader 查询方法
+     * @return 解析结果（可修改的副本），否定缓存时为空列表
+     * @throws Exception loader查询失败时抛出
+     */
+    public List<String> get(String scope, String name, String type, Loader loader) throws Exception {
+        Key key = new Key(scope, name, type);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            long now = now();
+            entry.accessedAt = System.nanoTime();
+            if (now < entry.expireAt) {
+                hitCount.increment();
+                return new ArrayList<>(entry.values);
+            }
+            if (now < entry.staleUntil) {
+                staleHitCount.increment();
+                refresh(key, loader);
+                return new ArrayList<>(entry.values);
+            }
+        }
+        missCount.increment();
+        return new ArrayList<>(load(key, loader).values);
+    }
+
+    /**
+     * 异步获取解析结果，未缓存或已过期时调用loader查询；与同步查询共用合并和后台刷新逻辑
+     * @param scope 解析来源（如DNS服务器地址），不同来源分开缓存
+     * @param name 域名（不区分大小写，末尾的点可省略）
+     * @param type 记录类型（如"A", "AAAA"）
+     * @param loader 异步查询方法
+     * @return 解析结果（可修改的副本），查询失败时异常完成
+     */
+    public CompletableFuture<List<String>> getAsync(String scope, String name, String type, AsyncLoader loader) {
+        Key key = new Key(scope, name, type);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            long now = now();
+            entry.accessedAt = System.nanoTime();
+            if (now < entry.expireAt) {
+                hitCount.increment();
+                return CompletableFuture.completedFuture(new ArrayList<>(entry.values));
+            }
+            if (now < entry.staleUntil) {
+                staleHitCount.increment();
+                CompletableFuture<Entry> future = new CompletableFuture<>();
+                if (loading.putIfAbsent(key, future) == null) {
+                    refreshCount.increment();
+                    loadAsync(key, loader, future);
+                }
+                return CompletableFuture.completedFuture(new ArrayList<>(entry.values));
+            }
+        }
+        missCount.increment();
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = loading.putIfAbsent(key, future);
+        if (existing != null) {
+            coalescedCount.increment();
+            future = existing;
+        } else {
+            loadAsync(key, loader, future);
+        }
+        return future.thenApply(loaded -> new ArrayList<>(loaded.values));
+    }
+
+    /**
+     * 移除指定域名的缓存（所有来源和记录类型）
+     * @param name 域名
+     */
+    public void invalidate(String name) {
+        String normalized = normalizeName(name);
+        entries.keySet().removeIf(key -> key.name.equals(normalized));
+    }
+
+    /**
+     * 清空全部缓存（不影响统计）
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * 当前缓存条目数（含已过期但未清理的条目）
+     * @return 缓存条目数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 获取统计快照
+     * @return 统计信息
+     */
+    public DnsCacheStats stats() {
+        DnsCacheStats stats = new DnsCacheStats();
+        stats.setHitCount(hitCount.sum());
+        stats.setStaleHitCount(staleHitCount.sum());
+        stats.setMissCount(missCount.sum());
+        stats.setCoalescedCount(coalescedCount.sum());
+        stats.setRefreshCount(refreshCount.sum());
+        stats.setLoadFailureCount(loadFailureCount.sum());
+        stats.setEvictionCount(evictionCount.sum());
+        stats.setSize(entries.size());
+        return stats;
+    }
+
+    /**
+     * 同步查询：同一个键已有进行中的查询时等待其结果，否则在当前线程查询
+     */
+    private Entry load(Key key, Loader loader) throws Exception {
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = loading.putIfAbsent(key, future);
+        if (existing != null) {
+            coalescedCount.increment();
+            return await(existing);
+        }
+        return loadInto(key, loader, future);
+    }
+
+    /**
+     * 后台刷新过期条目，同一个键已有进行中的查询时跳过
+     */
+    private void refresh(Key key, Loader loader) {
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        if (loading.putIfAbsent(key, future) != null) {
+            return;
+        }
+        refreshCount.increment();
+        try {
+            refresher.execute(() -> {
+                try {
+                    loadInto(key, loader, future);
+                } catch (Exception e) {
+                    // 刷新失败时保留旧结果，直到超过可使用时间
+                    log.debug("DNS缓存刷新失败: {} {}: {}", key.name, key.type, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loading.remove(key, future);
+            future.completeExceptionally(e);
+        }
+    }
+
+    private Entry loadInto(Key key, Loader loader, CompletableFuture<Entry> future) throws Exception {
+        try {
+            Answer answer = loader.load();
+            if (answer == null) {
+                throw new IllegalStateException("DNS查询结果不能为null");
+            }
+            Entry entry = store(key, answer);
+            future.complete(entry);
+            return entry;
+        } catch (Exception | Error e) {
+            loadFailureCount.increment();
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    private void loadAsync(Key key, AsyncLoader loader, CompletableFuture<Entry> future) {
+        CompletableFuture<Answer> answer;
+        try {
+            answer = loader.load();
+        } catch (RuntimeException e) {
+            answer = new CompletableFuture<>();
+            answer.completeExceptionally(e);
+        }
+        answer.whenComplete((result, error) -> {
+            try {
+                if (error == null && result == null) {
+                    error = new IllegalStateException("DNS查询结果不能为null");
+                }
+                if (error != null) {
+                    loadFailureCount.increment();
+                    future.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error);
+                } else {
+                    future.complete(store(key, result));
+                }
+            } finally {
+                loading.remove(key, future);
+            }
+        });
+    }
+
+    private Entry store(Key key, Answer answer) {
+        long now = now();
+        long ttlSeconds = ttlSeconds(answer);
+        if (ttlSeconds <= 0) {
+            // 不缓存的结果只返回给本次查询和等待中的调用
+            return new Entry(answer.values, now, now);
+        }
+        long expireAt = now + TimeUnit.SECONDS.toMillis(ttlSeconds);
+        Entry entry = new Entry(answer.values, expireAt,
+                expireAt + TimeUnit.SECONDS.toMillis(options.getStaleWhileRevalidateSeconds()));
+        entries.put(key, entry);
+        if (entries.size() > options.getMaxSize()) {
+            try {
+                evict(now);
+            } catch (RuntimeException e) {
+                // 淘汰失败不影响本次已成功的查询，下次写入时重试
+                log.warn("DNS缓存淘汰失败: {}", e.getMessage(), e);
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * 计算缓存时间
+     * @return 秒数，0表示不缓存
+     */
+    private long ttlSeconds(Answer answer) {
+        if (!answer.cacheable) {
+            return 0;
+        }
+        if (answer.values.isEmpty()) {
+            long negativeTtl = options.getNegativeTtlSeconds();
+            if (negativeTtl == 0) {
+                return 0;
+            }
+            long ttl = answer.ttlSeconds < 0 ? negativeTtl : answer.ttlSeconds;
+            return Math.min(Math.max(ttl, options.getMinTtlSeconds()), negativeTtl);
+        }
+        return Math.min(Math.max(answer.ttlSeconds, options.getMinTtlSeconds()), options.getMaxTtlSeconds());
+    }
+
+    /**
+     * 超出容量时遍历一次：清理不可再使用的条目，仍超出时先淘汰已过期的条目，再淘汰最久未访问的条目，直到降到容量的9/10，
+     * 下一次遍历至少在再插入容量的1/10个条目之后，分摊遍历和排序开销；其他线程正在淘汰时直接返回
+     */
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (entries.size() <= options.getMaxSize()) {
+                return;
+            }
+            // 读取时会并发更新访问时间，先取快照再排序，保证比较结果稳定
+            List<Candidate> candidates = new ArrayList<>(entries.size());
+            for (Map.Entry<Key, Entry> candidate : entries.entrySet()) {
+                if (candidate.getValue().staleUntil <= now) {
+                    entries.remove(candidate.getKey(), candidate.getValue());
+                } else {
+                    candidates.add(new Candidate(candidate.getKey(), candidate.getValue(), now));
+                }
+            }
+            int count = entries.size() - (options.getMaxSize() - options.getMaxSize() / 10);
+            if (count <= 0) {
+                return;
+            }
+            candidates.sort(Comparator.comparing((Candidate candidate) -> !candidate.expired)
+                    .thenComparingLong(candidate -> candidate.accessedAt));
+            for (int i = 0; i < count && i < candidates.size(); i++) {
+                Candidate candidate = candidates.get(i);
+                if (entries.remove(candidate.key, candidate.entry)) {
+                    evictionCount.increment();
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private long now() {
+        return options.getTimeSource().getAsLong();
+    }
+
+    /**
+     * 等待异步结果，执行失败时抛出原始异常
+     * @param future 异步结果
+     * @param <T> 结果类型
+     * @return 结果
+     * @throws Exception 原始异常，或等待被中断时抛出
+     */
+    static <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static String normalizeName(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("域名不能为空");
+        }
+        String normalized = name.toLowerCase(Locale.ROOT);
+        return normalized.endsWith(".") ? normalized.substring(0, normalized.length() - 1) : normalized;
+    }
+
+    /**
+     * 查询方法
+     */
+    @FunctionalInterface
+    public interface Loader {
+
+        /**
+         * 查询DNS记录
+         * @return 查询结果
+         * @throws Exception 查询失败时抛出
+         */
+        Answer load() throws Exception;
+    }
+
+    /**
+     * 异步查询方法
+     */
+    @FunctionalInterface
+    public interface AsyncLoader {
+
+        /**
+         * 发起DNS查询
+         * @return 查询结果，查询失败时异常完成
+         */
+        CompletableFuture<Answer> load();
+    }
+
+    /**
+     * 一次查询的结果
+     */
+    public static final class Answer {
+        private final List<String> values;
+        private final long ttlSeconds;
+        private final boolean cacheable;
+
+        private Answer(List<String> values, long ttlSeconds, boolean cacheable) {
+            this.values = values == null || values.isEmpty()
+                    ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(values));
+            this.ttlSeconds = ttlSeconds;
+            this.cacheable = cacheable;
+        }
+
+        /**
+         * 查询成功的结果，values为空时按否定结果缓存
+         * @param values 记录值
+         * @param ttlSeconds 记录TTL（秒），取所有相关记录中最小的TTL
+         * @return 查询结果
+         */
+        public static Answer of(List<String> values, long ttlSeconds) {
+            return new Answer(values, ttlSeconds, true);
+        }
+
+        /**
+         * 域名不存在或没有该类型记录
+         * @param ttlSeconds 否定缓存TTL（秒），取SOA记录的TTL和最小TTL中较小的值；没有SOA记录时传-1
+         * @return 查询结果
+         */
+        public static Answer negative(long ttlSeconds) {
+            return new Answer(null, ttlSeconds, true);
+        }
+
+        /**
+         * 不缓存的结果（如服务器错误）
+         * @param values 记录值
+         * @return 查询结果
+         */
+        public static Answer uncached(List<String> values) {
+            return new Answer(values, 0, false);
+        }
+    }
+
+    /**
+     * 缓存键
+     */
+    private static final class Key {
+        private final String scope;
+        private final String name;
+        private final String type;
+        private final int hash;
+
+        private Key(String scope, String name, String type) {
+            this.scope = scope == null ? "" : scope;
+            this.name = normalizeName(name);
+            this.type = type.toUpperCase(Locale.ROOT);
+            this.hash = (31 * this.scope.hashCode() + this.name.hashCode()) * 31 + this.type.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && name.equals(other.name) && type.equals(other.type) && scope.equals(other.scope);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * 淘汰候选，记录排序时的过期状态和访问时间快照
+     */
+    private static final class Candidate {
+        private final Key key;
+        private final Entry entry;
+        private final boolean expired;
+        private final long accessedAt;
+
+        private Candidate(Key key, Entry entry, long now) {
+            this.key = key;
+            this.entry = entry;
+            this.expired = entry.expireAt <= now;
+            this.accessedAt = entry.accessedAt;
+        }
+    }
+
+    /**
+     * 缓存条目
+     */
+    private static final class Entry {
+        private final List<String> values;
+        private final long expireAt;
+
+        /**
+         * 超过该时间后不再返回旧结果
+         */
+        private final long staleUntil;
+
+        /**
+         * 最近访问时间（System.nanoTime），用于近似LRU淘汰
+         */
+        private volatile long accessedAt = System.nanoTime();
+
+        private Entry(List<String> values, long expireAt, long staleUntil) {
+            this.values = values;
+            this.expireAt = expireAt;
+            this.staleUntil = staleUntil;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.jukejuke.tool.dns;
+
+import lombok.Data;
+
+import java.util.function.LongSupplier;
+
+/**
+ * DNS缓存选项
+ * 用于配置DnsCache的TTL范围、否定缓存、过期后继续使用的时间和容量
+ */
+@Data
+public class DnsCacheOptions {
+
+    /**
+     * 最小TTL（秒），记录TTL小于该值时按该值缓存，默认5
+     */
+    private long minTtlSeconds = 5;
+
+    /**
+     * 最大TTL（秒），记录TTL大于该值时按该值缓存，默认3600
+     */
+    private long maxTtlSeconds = 3600;
+
+    /**
+     * 否定缓存TTL（秒）：域名不存在或没有该类型记录时缓存空结果的时间上限，
+     * 响应中没有SOA记录时直接使用该值，默认60；为0时不缓存否定结果
+     */
+    private long negativeTtlSeconds = 60;
+
+    /**
+     * 过期后仍可返回旧结果的时间（秒），期间在后台刷新，默认60；为0时过期后同步查询
+     */
+    private long staleWhileRevalidateSeconds = 60;
+
+    /**
+     * 最大缓存条目数，默认10000
+     */
+    private int maxSize = 10000;
+
+    /**
+     * 后台刷新线程数，默认2
+     */
+    private int refreshThreads = 2;
+
+    /**
+     * 时间来源，默认System::currentTimeMillis
+     */
+    private LongSupplier timeSource = System::currentTimeMillis;
+
+    /**
+     * 创建默认选项
+     * @return DNS缓存选项
+     */
+    public static DnsCacheOptions defaults() {
+        return new DnsCacheOptions();
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.jukejuke.tool.dns;
+
+import lombok.Data;
+
+/**
+ * DNS缓存统计
+ * DnsCache.stats返回的快照
+ */
+@Data
+public class DnsCacheStats {
+
+    /**
+     * 命中未过期条目的次数（含否定缓存）
+     */
+    private long hitCount;
+
+    /**
+     * 命中已过期但仍可使用的条目的次数（同时触发后台刷新）
+     */
+    private long staleHitCount;
+
+    /**
+     * 未命中次数
+     */
+    private long missCount;
+
+    /**
+     * 合并到同一域名进行中查询的次数
+     */
+    private long coalescedCount;
+
+    /**
+     * 后台刷新次数
+     */
+    private long refreshCount;
+
+    /**
+     * 查询失败次数（含后台刷新）
+     */
+    private long loadFailureCount;
+
+    /**
+     * 因容量淘汰的条目数
+     */
+    private long evictionCount;
+
+    /**
+     * 当前缓存条目数
+     */
+    private int size;
+
+    /**
+     * 计算命中率（含过期命中）
+     * @return 命中率，没有请求时返回0
+     */
+    public double getHitRate() {
+        long hits = hitCount + staleHitCount;
+        long total = hits + missCount;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
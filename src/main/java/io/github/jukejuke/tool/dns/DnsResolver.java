@@ -5,33 +5,83 @@ import org.xbill.DNS.ARecord;
 import org.xbill.DNS.Record;
 import org.xbill.DNS.Type;
 
+import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 /**
  * DNS解析工具类，用于通过DNS服务器获取域名对应的IP地址
+ * 解析结果按记录TTL缓存在 {@link DnsCache#getDefault()} 中
+ * 查询通过每个DNS服务器共享的 {@link AsyncDnsResolver} 发送，复用解析器和TCP连接
  */
 public class DnsResolver {
 
+    /**
+     * 解析域名的A记录
+     * @param hostname 域名
+     * @param dnsServer DNS服务器地址（主机 或 主机:端口），为null时使用系统配置的DNS服务器
+     * @return IPv4地址列表，域名不存在时为空列表
+     * @throws Exception 查询失败时抛出
+     */
     public static List<String> resolveARecord(String hostname, String dnsServer) throws Exception {
-        // 设置自定义 DNS 服务器
-        SimpleResolver resolver = new SimpleResolver(dnsServer);
+        try {
+            return AsyncDnsResolver.shared(dnsServer != null ? dnsServer : systemServer()).lookup(hostname, "A").get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
 
-        // 创建查询
-        Record rec = Record.newRecord(Name.fromString(hostname + "."), Type.A, DClass.IN);
-        Message query = Message.newQuery(rec);
-        Message response = resolver.send(query);
+    /**
+     * 系统配置的第一个DNS服务器（dnsjava的ResolverConfig），IPv6地址不带端口，使用默认端口
+     */
+    private static String systemServer() {
+        InetSocketAddress address = ResolverConfig.getCurrentConfig().server();
+        String host = address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+        return host.indexOf(':') < 0 ? host + ":" + address.getPort() : host;
+    }
 
+    /**
+     * 将DNS响应转换为缓存结果：A/AAAA记录取IP地址，其他记录取记录数据的文本形式；
+     * TTL取应答中所有记录（含CNAME）的最小值，
+     * 域名不存在或没有该类型记录时按SOA记录计算否定缓存TTL，其他错误不缓存
+     * @param response DNS响应
+     * @param type 查询的记录类型
+     * @return 缓存结果
+     */
+    static DnsCache.Answer toAnswer(Message response, int type) {
+        if (response == null) {
+            return DnsCache.Answer.uncached(null);
+        }
+        int rcode = response.getRcode();
+        if (rcode != Rcode.NOERROR && rcode != Rcode.NXDOMAIN) {
+            return DnsCache.Answer.uncached(null);
+        }
         List<String> results = new ArrayList<>();
-        if (response != null && response.getRcode() == Rcode.NOERROR) {
-            Record[] answers = response.getSectionArray(Section.ANSWER);
-            for (Record answer : answers) {
-                if (answer.getType() == Type.A) {
-                    ARecord a = (ARecord) answer;
-                    results.add(a.getAddress().getHostAddress());
+        long ttl = Long.MAX_VALUE;
+        if (rcode == Rcode.NOERROR) {
+            for (Record answer : response.getSection(Section.ANSWER)) {
+                ttl = Math.min(ttl, answer.getTTL());
+                if (answer.getType() == type) {
+                    if (answer instanceof ARecord) {
+                        results.add(((ARecord) answer).getAddress().getHostAddress());
+                    } else if (answer instanceof AAAARecord) {
+                        results.add(((AAAARecord) answer).getAddress().getHostAddress());
+                    } else {
+                        results.add(answer.rdataToString());
+                    }
                 }
             }
         }
-        return results;
+        if (!results.isEmpty()) {
+            return DnsCache.Answer.of(results, ttl);
+        }
+        for (Record authority : response.getSection(Section.AUTHORITY)) {
+            if (authority instanceof SOARecord) {
+                return DnsCache.Answer.negative(Math.min(authority.getTTL(), ((SOARecord) authority).getMinimum()));
+            }
+        }
+        return DnsCache.Answer.negative(-1);
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,12 @@
 package io.github.jukejuke.tool.dns;
 
-import okhttp3.*;
-import java.util.ArrayList;
 import java.util.List;
-import com.alibaba.fastjson2.JSONArray;
-import com.alibaba.fastjson2.JSONObject;
 
+/**
+ * DNS-over-HTTPS查询
+ * 每个DoH服务使用一个共享的 {@link DoHResolver}，复用连接；解析结果按记录TTL缓存在 {@link DnsCache#getDefault()} 中。
+ * 需要独立配置或关闭客户端时直接使用DoHResolver
+ */
 public class DoHQuery {
 
     /**
@@ -17,49 +18,7 @@ public class DoHQuery {
      * @throws Exception 当查询过程中发生错误时抛出
      */
     public List<String> query(String dohHost, String domain, String recordType) throws Exception {
-        // 构建OkHttpClient实例
-        OkHttpClient client = new OkHttpClient.Builder()
-                .build();
-
-        // 构建DoH查询URL
-        HttpUrl url = new HttpUrl.Builder()
-                .scheme("https")
-                .host(dohHost)
-                .addPathSegment("resolve")
-                .addQueryParameter("name", domain)
-                .addQueryParameter("type", recordType)
-                .build();
-
-        // 创建HTTP请求
-        Request request = new Request.Builder()
-                .url(url)
-                .addHeader("Accept", "application/dns-json")
-                .build();
-
-        // 发送请求并处理响应
-        try (Response response = client.newCall(request).execute()) {
-            if (!response.isSuccessful() || response.body() == null) {
-                throw new Exception("DoH request failed: " + response.code());
-            }
-
-            // 解析JSON响应
-            String json = response.body().string();
-            JSONObject jsonObject = JSONObject.parseObject(json);
-            JSONArray answers = jsonObject.getJSONArray("Answer");
-
-            List<String> ips = new ArrayList<>();
-            if (answers != null) {
-                for (Object answer : answers) {
-                    JSONObject answerObj = (JSONObject) answer;
-                    String data = answerObj.getString("data");
-                    if (isValidIpAddress(data, recordType)) {
-                        ips.add(data);
-                    }
-                }
-            }
-
-            return ips;
-        }
+        return DoHResolver.shared(dohHost, null).query(domain, recordType);
     }
 
     /**
@@ -72,28 +31,4 @@ public class DoHQuery {
     public List<String> query(String dohHost, String domain) throws Exception {
         return query(dohHost, domain, "A");
     }
-
-    /**
-     * 验证IP地址格式是否与请求的记录类型匹配
-     * @param ip 待验证的IP地址字符串
-     * @param recordType DNS记录类型 (A/AAAA)
-     * @return 如果格式匹配则返回true
-     */
-    private boolean isValidIpAddress(String ip, String recordType) {
-        if (ip == null || ip.isEmpty()) {
-            return false;
-        }
-        
-        if ("A".equals(recordType)) {
-            // IPv4地址正则表达式
-            String ipv4Regex = "^(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)$";
-            return ip.matches(ipv4Regex);
-        } else if ("AAAA".equals(recordType)) {
-            // IPv6地址简化正则表达式
-            String ipv6Regex = "^([0-9a-fA-F]{1,4}:){7}[0-9a-fA-F]{1,4}$";
-            return ip.matches(ipv6Regex);
-        }
-        
-        return false;
-    }
-}
\ No newline at end of file
+}
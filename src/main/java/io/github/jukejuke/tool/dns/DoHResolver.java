@@ -0,0 +1,485 @@
+package io.github.jukejuke.tool.dns;
+
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DNS-over-HTTPS解析器
+ * 持有长期复用的OkHttpClient：同一个DoH服务的查询复用连接，HTTPS下通过ALPN协商HTTP/2，
+ * 并发查询在一个连接上多路复用，只有首次查询需要TLS握手。
+ * 支持两种格式：默认使用JSON格式（/resolve?name=&type=）；
+ * {@link Builder#wireFormat(boolean)} 开启后使用RFC 8484二进制格式（POST application/dns-message，需要dnsjava）。
+ * 异步查询（{@link #queryAsync}、{@link #queryAddresses}、{@link #queryAll}）在同一个连接上并行发送。
+ * 解析结果按记录TTL缓存在 {@link DnsCache} 中（默认 {@link DnsCache#getDefault()}）。
+ * 使用{@link Builder}类创建实例，不再使用时调用 {@link #close()} 释放连接和线程
+ */
+@Slf4j
+public class DoHResolver implements AutoCloseable {
+
+    private static final MediaType DNS_MESSAGE = MediaType.get("application/dns-message");
+
+    /**
+     * JSON格式中Answer的type字段为记录类型编号，按编号过滤CNAME等中间记录
+     */
+    private static final Map<String, Integer> TYPE_CODES = new HashMap<>();
+
+    static {
+        TYPE_CODES.put("A", 1);
+        TYPE_CODES.put("NS", 2);
+        TYPE_CODES.put("CNAME", 5);
+        TYPE_CODES.put("SOA", 6);
+        TYPE_CODES.put("PTR", 12);
+        TYPE_CODES.put("MX", 15);
+        TYPE_CODES.put("TXT", 16);
+        TYPE_CODES.put("AAAA", 28);
+        TYPE_CODES.put("SRV", 33);
+        TYPE_CODES.put("HTTPS", 65);
+        TYPE_CODES.put("CAA", 257);
+    }
+
+    /**
+     * 单个DoH服务的默认最大并发请求数（OkHttp默认5，HTTP/2下同一连接可以承载更多并发流）
+     */
+    private static final int MAX_REQUESTS_PER_HOST = 64;
+
+    private static final int DEFAULT_TIMEOUT_MILLIS = 10000;
+
+    /**
+     * DoHQuery和DoHWithHttpProxy使用的共享客户端，各共享解析器由它派生，共用连接池和调度线程
+     */
+    private static final OkHttpClient SHARED_CLIENT = newClient(DEFAULT_TIMEOUT_MILLIS, MAX_REQUESTS_PER_HOST);
+
+    /**
+     * 共享解析器，key为缓存来源（DoH服务 + 代理）
+     */
+    private static final Map<String, DoHResolver> SHARED = new ConcurrentHashMap<>();
+
+    private final String dohHost;
+    private final HttpUrl baseUrl;
+    private final String scope;
+    private final OkHttpClient client;
+    private final DnsCache cache;
+    private final boolean wireFormat;
+
+    /**
+     * 是否由本实例创建客户端，关闭时只释放自己创建的客户端
+     */
+    private final boolean ownsClient;
+
+    private volatile boolean closed;
+
+    /**
+     * 私有构造函数，通过Builder创建实例
+     */
+    private DoHResolver(Builder builder) {
+        if (builder.dohHost == null || builder.dohHost.isEmpty()) {
+            throw new IllegalArgumentException("DoH服务主机名不能为空");
+        }
+        if (builder.timeoutMillis <= 0 || builder.maxConcurrentRequests <= 0) {
+            throw new IllegalArgumentException("超时时间和最大并发请求数必须大于0");
+        }
+        this.dohHost = builder.dohHost;
+        this.wireFormat = builder.wireFormat;
+        this.baseUrl = builder.baseUrl != null ? HttpUrl.get(builder.baseUrl)
+                : new HttpUrl.Builder().scheme("https").host(builder.dohHost)
+                .addPathSegment(builder.wireFormat ? "dns-query" : "resolve").build();
+        // 两种格式返回的IPv6地址写法不同，分开缓存
+        this.scope = scope(builder.dohHost, builder.proxy) + (builder.wireFormat ? "#wire" : "");
+        this.cache = builder.cache;
+        OkHttpClient base = builder.httpClient;
+        this.ownsClient = base == null;
+        if (base == null) {
+            base = newClient(builder.timeoutMillis, builder.maxConcurrentRequests);
+        }
+        this.client = builder.proxy != null ? base.newBuilder().proxy(builder.proxy).build() : base;
+    }
+
+    /**
+     * 构建者模式，用于灵活配置DoHResolver实例
+     */
+    public static class Builder {
+        private final String dohHost;
+        private String baseUrl;
+        private Proxy proxy;
+        private int timeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+        private int maxConcurrentRequests = MAX_REQUESTS_PER_HOST;
+        private boolean wireFormat;
+        private OkHttpClient httpClient;
+        private DnsCache cache;
+
+        /**
+         * @param dohHost DNS-over-HTTPS服务主机名（如"dns.alidns.com"）
+         */
+        public Builder(String dohHost) {
+            this.dohHost = dohHost;
+        }
+
+        /**
+         * DoH服务地址，默认 https://{dohHost}/resolve，二进制格式默认 https://{dohHost}/dns-query
+         */
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
+        /**
+         * 通过代理访问DoH服务
+         */
+        public Builder proxy(Proxy proxy) {
+            this.proxy = proxy;
+            return this;
+        }
+
+        /**
+         * 通过代理访问DoH服务
+         */
+        public Builder proxy(Proxy.Type type, String proxyHost, int proxyPort) {
+            return proxy(new Proxy(type, new InetSocketAddress(proxyHost, proxyPort)));
+        }
+
+        /**
+         * 连接、读、写超时时间（毫秒），默认10000；指定httpClient时不生效
+         */
+        public Builder timeoutMillis(int timeoutMillis) {
+            this.timeoutMillis = timeoutMillis;
+            return this;
+        }
+
+        /**
+         * 同时发送的最大请求数，超出的请求排队，默认64；指定httpClient时不生效
+         */
+        public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        /**
+         * 是否使用RFC 8484二进制格式（application/dns-message），默认false使用JSON格式；
+         * 二进制格式通过dnsjava编解码，不需要解析JSON
+         */
+        public Builder wireFormat(boolean wireFormat) {
+            this.wireFormat = wireFormat;
+            return this;
+        }
+
+        /**
+         * 使用外部的OkHttpClient，关闭解析器时不会关闭该客户端
+         */
+        public Builder httpClient(OkHttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        /**
+         * 解析结果缓存，默认使用DnsCache.getDefault()
+         */
+        public Builder cache(DnsCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        public DoHResolver build() {
+            return new DoHResolver(this);
+        }
+    }
+
+    /**
+     * 获取(DoH服务, 代理)对应的共享解析器，首次调用时创建，不需要关闭
+     * @param dohHost DNS-over-HTTPS服务主机名
+     * @param proxy 代理，为null时直连
+     * @return 共享解析器
+     */
+    static DoHResolver shared(String dohHost, Proxy proxy) {
+        return SHARED.computeIfAbsent(scope(dohHost, proxy),
+                k -> new Builder(dohHost).proxy(proxy).httpClient(SHARED_CLIENT).build());
+    }
+
+    /**
+     * 进行DNS-over-HTTPS查询
+     * @param domain 要查询的域名
+     * @param recordType DNS记录类型 (如"A", "AAAA")
+     * @return 查询到的记录值列表，不含应答中的CNAME等其他类型记录
+     * @throws Exception 当查询过程中发生错误时抛出
+     * @throws IllegalStateException 解析器已关闭时抛出
+     */
+    public List<String> query(String domain, String recordType) throws Exception {
+        return cache().get(scope, domain, recordType, () -> doQuery(domain, recordType));
+    }
+
+    /**
+     * 异步进行DNS-over-HTTPS查询，请求由客户端的调度线程发送
+     * @param domain 要查询的域名
+     * @param recordType DNS记录类型 (如"A", "AAAA")
+     * @return 查询到的记录值列表，查询失败时异常完成
+     * @throws IllegalStateException 解析器已关闭时抛出
+     */
+    public CompletableFuture<List<String>> queryAsync(String domain, String recordType) {
+        return cache().getAsync(scope, domain, recordType, () -> send(domain, recordType));
+    }
+
+    /**
+     * 并行查询A和AAAA记录
+     * @param domain 要查询的域名
+     * @return IPv4地址在前、IPv6地址在后的列表；其中一种记录查询失败时只返回另一种
+     * @throws Exception 两种记录都没有查到且至少一种查询失败时抛出
+     */
+    public List<String> queryAddresses(String domain) throws Exception {
+        CompletableFuture<List<String>> ipv4 = queryAsync(domain, "A");
+        CompletableFuture<List<String>> ipv6 = queryAsync(domain, "AAAA");
+        List<String> addresses = new ArrayList<>();
+        Exception failure = null;
+        for (CompletableFuture<List<String>> future : Arrays.asList(ipv4, ipv6)) {
+            try {
+                addresses.addAll(DnsCache.await(future));
+            } catch (Exception e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null && addresses.isEmpty()) {
+            throw failure;
+        }
+        return addresses;
+    }
+
+    /**
+     * 并发查询一批域名，同时发送的请求数受maxConcurrentRequests限制
+     * @param domains 要查询的域名
+     * @param recordType DNS记录类型 (如"A", "AAAA")
+     * @return 按输入顺序排列的 域名 -> 记录值列表，查询失败的域名不包含在结果中
+     * @throws InterruptedException 等待时被中断
+     */
+    public Map<String, List<String>> queryAll(Collection<String> domains, String recordType) throws InterruptedException {
+        Map<String, CompletableFuture<List<String>>> futures = new LinkedHashMap<>();
+        for (String domain : domains) {
+            if (!futures.containsKey(domain)) {
+                futures.put(domain, queryAsync(domain, recordType));
+            }
+        }
+        Map<String, List<String>> results = new LinkedHashMap<>();
+        for (Map.Entry<String, CompletableFuture<List<String>>> entry : futures.entrySet()) {
+            try {
+                results.put(entry.getKey(), DnsCache.await(entry.getValue()));
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                log.debug("DoH查询失败: {} {}: {}", entry.getKey(), recordType, e.getMessage());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 进行DNS-over-HTTPS查询（默认使用A记录查询）
+     * @param domain 要查询的域名
+     * @return 查询到的IP地址列表
+     * @throws Exception 当查询过程中发生错误时抛出
+     */
+    public List<String> query(String domain) throws Exception {
+        return query(domain, "A");
+    }
+
+    public String getDohHost() {
+        return dohHost;
+    }
+
+    public boolean isWireFormat() {
+        return wireFormat;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 关闭解析器，释放自己创建的客户端的连接和调度线程；外部传入的客户端不会被关闭
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (ownsClient) {
+            client.dispatcher().executorService().shutdown();
+            client.connectionPool().evictAll();
+        }
+    }
+
+    OkHttpClient getClient() {
+        return client;
+    }
+
+    private DnsCache cache() {
+        if (closed) {
+            throw new IllegalStateException("DoHResolver已关闭");
+        }
+        return cache != null ? cache : DnsCache.getDefault();
+    }
+
+    private DnsCache.Answer doQuery(String domain, String recordType) throws IOException {
+        try (Response response = client.newCall(newRequest(domain, recordType)).execute()) {
+            return parse(response, recordType);
+        }
+    }
+
+    private CompletableFuture<DnsCache.Answer> send(String domain, String recordType) {
+        CompletableFuture<DnsCache.Answer> future = new CompletableFuture<>();
+        client.newCall(newRequest(domain, recordType)).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (Response r = response) {
+                    future.complete(parse(r, recordType));
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    private Request newRequest(String domain, String recordType) {
+        if (wireFormat) {
+            return new Request.Builder()
+                    .url(baseUrl)
+                    .addHeader("Accept", DoHWireFormat.MEDIA_TYPE)
+                    .post(RequestBody.create(DoHWireFormat.encodeQuery(domain, recordType), DNS_MESSAGE))
+                    .build();
+        }
+        // 构建DoH查询URL
+        HttpUrl url = baseUrl.newBuilder()
+                .addQueryParameter("name", domain)
+                .addQueryParameter("type", recordType)
+                .build();
+        return new Request.Builder()
+                .url(url)
+                .addHeader("Accept", "application/dns-json")
+                .build();
+    }
+
+    private DnsCache.Answer parse(Response response, String recordType) throws IOException {
+        ResponseBody body = response.body();
+        if (!response.isSuccessful() || body == null) {
+            throw new IOException("DoH request failed: " + response.code());
+        }
+        if (wireFormat) {
+            return DoHWireFormat.decode(body.bytes(), recordType);
+        }
+        Integer type = TYPE_CODES.get(recordType.toUpperCase(Locale.ROOT));
+        return toAnswer(body.string(), type != null ? type : -1);
+    }
+
+    /**
+     * 将DoH JSON响应转换为缓存结果：TTL取Answer中所有记录（含CNAME）的最小值，
+     * 域名不存在（Status为3）或没有匹配记录时按Authority中的SOA记录计算否定缓存TTL，其他错误不缓存
+     * @param json DoH JSON响应
+     * @param type 记录类型编号，只保留该类型的记录；为-1时保留全部记录
+     * @return 缓存结果
+     */
+    static DnsCache.Answer toAnswer(String json, int type) {
+        JSONObject jsonObject = JSONObject.parseObject(json);
+        int status = jsonObject.getIntValue("Status");
+        // 0为NOERROR，3为NXDOMAIN
+        if (status != 0 && status != 3) {
+            return DnsCache.Answer.uncached(null);
+        }
+        JSONArray answers = jsonObject.getJSONArray("Answer");
+
+        List<String> values = new ArrayList<>();
+        long ttl = Long.MAX_VALUE;
+        if (answers != null) {
+            for (Object answer : answers) {
+                JSONObject answerObj = (JSONObject) answer;
+                ttl = Math.min(ttl, answerObj.getLongValue("TTL"));
+                String data = answerObj.getString("data");
+                if (data != null && !data.isEmpty() && (type < 0 || answerObj.getIntValue("type") == type)) {
+                    values.add(data);
+                }
+            }
+        }
+        if (!values.isEmpty()) {
+            return DnsCache.Answer.of(values, ttl);
+        }
+        JSONArray authorities = jsonObject.getJSONArray("Authority");
+        if (authorities != null) {
+            for (Object authority : authorities) {
+                JSONObject authorityObj = (JSONObject) authority;
+                // 6为SOA记录，data最后一项为最小TTL
+                if (authorityObj.getIntValue("type") == 6) {
+                    long negativeTtl = authorityObj.getLongValue("TTL");
+                    String data = authorityObj.getString("data");
+                    if (data != null) {
+                        try {
+                            negativeTtl = Math.min(negativeTtl, Long.parseLong(data.substring(data.trim().lastIndexOf(' ') + 1).trim()));
+                        } catch (NumberFormatException e) {
+                            // 格式不符时只用SOA记录的TTL
+                        }
+                    }
+                    return DnsCache.Answer.negative(negativeTtl);
+                }
+            }
+        }
+        return DnsCache.Answer.negative(-1);
+    }
+
+    /**
+     * 缓存来源：DoH服务 + 代理，不同代理的结果分开缓存
+     */
+    private static String scope(String dohHost, Proxy proxy) {
+        if (proxy == null || proxy.type() == Proxy.Type.DIRECT || !(proxy.address() instanceof InetSocketAddress)) {
+            return "doh:" + dohHost;
+        }
+        InetSocketAddress address = (InetSocketAddress) proxy.address();
+        return "doh:" + dohHost + "@" + proxy.type() + ":" + address.getHostString() + ":" + address.getPort();
+    }
+
+    private static OkHttpClient newClient(int timeoutMillis, int maxConcurrentRequests) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(Math.max(maxConcurrentRequests, dispatcher.getMaxRequests()));
+        dispatcher.setMaxRequestsPerHost(maxConcurrentRequests);
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(5, 5, TimeUnit.MINUTES))
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .readTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .writeTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.jukejuke.tool.dns;
+
+import org.xbill.DNS.DClass;
+import org.xbill.DNS.Message;
+import org.xbill.DNS.Name;
+import org.xbill.DNS.Record;
+import org.xbill.DNS.TextParseException;
+import org.xbill.DNS.Type;
+
+import java.io.IOException;
+
+/**
+ * RFC 8484 DNS消息编解码（application/dns-message），通过dnsjava实现
+ * 单独成类，只有使用二进制格式时才需要dnsjava
+ */
+final class DoHWireFormat {
+
+    static final String MEDIA_TYPE = "application/dns-message";
+
+    private DoHWireFormat() {
+    }
+
+    /**
+     * 编码查询消息，按RFC 8484的建议使用ID 0，便于HTTP缓存
+     * @param domain 域名
+     * @param recordType 记录类型（如"A", "AAAA"）
+     * @return DNS消息
+     * @throws IllegalArgumentException 域名或记录类型无效时抛出
+     */
+    static byte[] encodeQuery(String domain, String recordType) {
+        int type = Type.value(recordType);
+        if (type < 0) {
+            throw new IllegalArgumentException("不支持的记录类型: " + recordType);
+        }
+        Name name;
+        try {
+            name = Name.fromString(domain.endsWith(".") ? domain : domain + ".");
+        } catch (TextParseException e) {
+            throw new IllegalArgumentException("无效的域名: " + domain, e);
+        }
+        Message query = Message.newQuery(Record.newRecord(name, type, DClass.IN));
+        query.getHeader().setID(0);
+        return query.toWire();
+    }
+
+    /**
+     * 解码响应消息
+     * @param wire DNS消息
+     * @param recordType 查询的记录类型
+     * @return 缓存结果
+     * @throws IOException 消息格式错误时抛出
+     */
+    static DnsCache.Answer decode(byte[] wire, String recordType) throws IOException {
+        return DnsResolver.toAnswer(new Message(wire), Type.value(recordType));
+    }
+}
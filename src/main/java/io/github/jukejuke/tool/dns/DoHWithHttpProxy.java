@@ -1,13 +1,14 @@
 package io.github.jukejuke.tool.dns;
 
-import okhttp3.*;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
-import java.util.ArrayList;
 import java.util.List;
-import com.alibaba.fastjson2.JSONArray;
-import com.alibaba.fastjson2.JSONObject;
 
+/**
+ * 通过HTTP/SOCKS代理进行DNS-over-HTTPS查询
+ * 每个(DoH服务, 代理)使用一个共享的 {@link DoHResolver}，复用连接；
+ * 解析结果按记录TTL缓存在 {@link DnsCache#getDefault()} 中，不同代理分开缓存
+ */
 public class DoHWithHttpProxy {
 
     /**
@@ -23,51 +24,7 @@ public class DoHWithHttpProxy {
     public List<String> queryWithProxy(String proxyHost, int proxyPort, Proxy.Type type,String dohHost, String domain, String recordType) throws Exception {
         // 配置HTTP代理
         Proxy proxy = new Proxy(type, new InetSocketAddress(proxyHost, proxyPort));
-
-        // 构建OkHttpClient实例
-        OkHttpClient client = new OkHttpClient.Builder()
-                .proxy(proxy)
-                .build();
-
-        // 构建DoH查询URL
-        HttpUrl url = new HttpUrl.Builder()
-                .scheme("https")
-                .host(dohHost)
-                .addPathSegment("resolve")
-                .addQueryParameter("name", domain)
-                .addQueryParameter("type", recordType)
-                .build();
-
-        // 创建HTTP请求
-        Request request = new Request.Builder()
-                .url(url)
-                .addHeader("Accept", "application/dns-json")
-                .build();
-
-        // 发送请求并处理响应
-        try (Response response = client.newCall(request).execute()) {
-            if (!response.isSuccessful() || response.body() == null) {
-                throw new Exception("DoH request failed: " + response.code());
-            }
-
-            // 解析JSON响应
-            String json = response.body().string();
-            JSONObject jsonObject = JSONObject.parseObject(json);
-            JSONArray answers = jsonObject.getJSONArray("Answer");
-
-            List<String> ips = new ArrayList<>();
-            if (answers != null) {
-                for (Object answer : answers) {
-                    JSONObject answerObj = (JSONObject) answer;
-                    String data = answerObj.getString("data");
-                    if (isValidIpAddress(data, recordType)) {
-                        ips.add(data);
-                    }
-                }
-            }
-
-            return ips;
-        }
+        return DoHResolver.shared(dohHost, proxy).query(domain, recordType);
     }
 
     /**
@@ -123,29 +80,4 @@ public class DoHWithHttpProxy {
     public List<String> queryWithSocksProxy(String proxyHost, int proxyPort, String dohHost, String domain) throws Exception {
         return queryWithProxy(proxyHost, proxyPort, Proxy.Type.SOCKS, dohHost, domain, "A");
     }
-
-    /**
-     * 验证IP地址格式是否与请求的记录类型匹配
-     * @param ip 待验证的IP地址字符串
-     * @param recordType DNS记录类型 (A/AAAA)
-     * @return 如果格式匹配则返回true
-     */
-    private boolean isValidIpAddress(String ip, String recordType) {
-        if (ip == null || ip.isEmpty()) {
-            return false;
-        }
-        
-        if ("A".equals(recordType)) {
-            // IPv4地址正则表达式
-            String ipv4Regex = "^(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)$";
-            return ip.matches(ipv4Regex);
-        } else if ("AAAA".equals(recordType)) {
-            // IPv6地址简化正则表达式
-            String ipv6Regex = "^([0-9a-fA-F]{1,4}:){7}[0-9a-fA-F]{1,4}$";
-            return ip.matches(ipv6Regex);
-        }
-        
-        // 对于其他记录类型不进行验证
-        return true;
-    }
-}
\ No newline at end of file
+}
@@ -5,18 +5,20 @@ import org.xbill.DNS.utils.base64;
 
 import java.io.*;
 import java.net.*;
-import java.util.ArrayList;
 import java.util.List;
 
 public class ProxyDnsResolver {
 
     /**
      * 使用dnsjava通过代理进行DNS查询 （验证代理，目前未调通），通过dns tcp去解析域名
-     * socks代理
+     * socks代理，解析结果按记录TTL缓存在 {@link DnsCache#getDefault()} 中
      */
     public static List<String> resolveViaDnsJava(String domain, String dnsIp,String proxyHost, int proxyPort) throws Exception {
-        List<String> ipList = new ArrayList<>();
+        return DnsCache.getDefault().get("dns:" + dnsIp + "@socks:" + proxyHost + ":" + proxyPort, domain, "A",
+                () -> queryViaDnsJava(domain, dnsIp, proxyHost, proxyPort));
+    }
 
+    private static DnsCache.Answer queryViaDnsJava(String domain, String dnsIp,String proxyHost, int proxyPort) throws Exception {
         // 创建SOCKS代理
         SocketAddress proxyAddr = new InetSocketAddress(proxyHost, proxyPort);
         Proxy proxy = new Proxy(Proxy.Type.SOCKS, proxyAddr);
@@ -46,18 +48,10 @@ public class ProxyDnsResolver {
             int bytesRead = in.read(responseData);
 
             if (bytesRead > 0) {
-                Message response = new Message(responseData);
-                org.xbill.DNS.Record[] answers = response.getSectionArray(Section.ANSWER);
-
-                for (org.xbill.DNS.Record record : answers) {
-                    if (record instanceof ARecord) {
-                        ARecord aRecord = (ARecord) record;
-                        ipList.add(aRecord.getAddress().getHostAddress());
-                    }
-                }
+                return DnsResolver.toAnswer(new Message(responseData), Type.A);
             }
         }
 
-        return ipList;
+        return DnsCache.Answer.uncached(null);
     }
 }
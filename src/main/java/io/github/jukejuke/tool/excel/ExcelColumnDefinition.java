@@ -0,0 +1,66 @@
+package io.github.jukejuke.tool.excel;
+
+/**
+ * Excel 列定义
+ * 与 {@link ExcelColumn} 注解的属性一一对应，由编译期生成的 {@link ExcelRowMapper} 提供，避免运行时读取注解
+ */
+public final class ExcelColumnDefinition {
+    private final String fieldName;
+    private final Class<?> fieldType;
+    private final String name;
+    private final int order;
+    private final String format;
+    private final int width;
+    private final boolean required;
+    private final String defaultValue;
+    private final ExcelAlignment alignment;
+
+    public ExcelColumnDefinition(String fieldName, Class<?> fieldType, String name, int order, String format,
+                                 int width, boolean required, String defaultValue, ExcelAlignment alignment) {
+        this.fieldName = fieldName;
+        this.fieldType = fieldType;
+        this.name = name;
+        this.order = order;
+        this.format = format;
+        this.width = width;
+        this.required = required;
+        this.defaultValue = defaultValue;
+        this.alignment = alignment;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public Class<?> getFieldType() {
+        return fieldType;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getOrder() {
+        return order;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
+    public ExcelAlignment getAlignment() {
+        return alignment;
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.jukejuke.tool.excel;
+
+import java.util.List;
+
+/**
+ * Excel 行映射器
+ * 由注解处理器（io.github.jukejuke.tool.processor.JkToolProcessor）为带 {@link ExcelColumn} 字段的类在编译期生成，
+ * 并注册到 META-INF/services，ExcelUtils 通过 ServiceLoader 加载；不存在时回退到反射
+ *
+ * @param <T> 数据类型
+ */
+public interface ExcelRowMapper<T> {
+
+    /**
+     * 生成类名的后缀：包名 + 类的二进制名（$替换为_） + 后缀
+     */
+    String CLASS_SUFFIX = "_ExcelRowMapper";
+
+    /**
+     * 映射的数据类型
+     * @return 数据类型
+     */
+    Class<T> getType();
+
+    /**
+     * 列定义，已按 order 排序
+     * @return 不可修改的列定义列表
+     */
+    List<ExcelColumnDefinition> getColumns();
+
+    /**
+     * 创建数据对象，ExcelUtils导入时每行调用一次
+     * @return 数据对象
+     * @throws IllegalStateException 类没有可访问的无参构造方法时抛出
+     */
+    T newInstance();
+
+    /**
+     * 读取列值
+     * @param bean 数据对象
+     * @param column 列下标（对应 getColumns() 的下标）
+     * @return 列值
+     */
+    Object getValue(T bean, int column);
+
+    /**
+     * 写入列值
+     * @param bean 数据对象
+     * @param column 列下标（对应 getColumns() 的下标）
+     * @param value 列值，类型与字段类型一致
+     */
+    void setValue(T bean, int column, Object value);
+}
@@ -0,0 +1,68 @@
+package io.github.jukejuke.tool.excel;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * 编译期生成的 Excel 行映射器注册表
+ * 按类通过 ServiceLoader 查找一次并缓存，只实例化与类名匹配的实现
+ */
+@Slf4j
+final class ExcelRowMappers {
+
+    private static final ClassValue<Optional<ExcelRowMapper<?>>> CACHE = new ClassValue<Optional<ExcelRowMapper<?>>>() {
+        @Override
+        protected Optional<ExcelRowMapper<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(load(type));
+        }
+    };
+
+    private ExcelRowMappers() {
+    }
+
+    /**
+     * 查找类的行映射器
+     * @param type 数据类型
+     * @param <T> 数据类型
+     * @return 行映射器，未生成时返回null
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ExcelRowMapper<T> find(Class<T> type) {
+        return (ExcelRowMapper<T>) CACHE.get(type).orElse(null);
+    }
+
+    /**
+     * 生成的行映射器类名
+     * @param type 数据类型
+     * @return 全限定类名
+     */
+    static String generatedName(Class<?> type) {
+        String packageName = type.getPackage() == null ? "" : type.getPackage().getName();
+        String binaryName = packageName.isEmpty() ? type.getName() : type.getName().substring(packageName.length() + 1);
+        String simpleName = binaryName.replace('$', '_') + ExcelRowMapper.CLASS_SUFFIX;
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static ExcelRowMapper<?> load(Class<?> type) {
+        ClassLoader loader = type.getClassLoader();
+        if (loader == null) {
+            return null;
+        }
+        String expectedName = generatedName(type);
+        try {
+            ExcelRowMapper<?> mapper = ServiceLoader.load(ExcelRowMapper.class, loader).stream()
+                    .filter(provider -> provider.type().getName().equals(expectedName))
+                    .map(ServiceLoader.Provider::get)
+                    .findFirst()
+                    .orElse(null);
+            return mapper != null && mapper.getType() == type ? mapper : null;
+        } catch (ServiceConfigurationError e) {
+            log.warn("Load generated ExcelRowMapper for {} failed, fallback to reflection", type.getName(), e);
+            return null;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.jukejuke.tool.excel;
 
+import io.github.jukejuke.tool.annotation.AnnotationMetadata;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
@@ -147,7 +148,7 @@ public class ExcelUtils {
                 for (int i = 0; i < fieldInfos.size(); i++) {
                     FieldInfo fieldInfo = fieldInfos.get(i);
                     Cell cell = dataRow.createCell(i);
-                    Object value = getFieldValue(data, fieldInfo.getFieldName());
+                    Object value = fieldInfo.getValue(data);
                     // 处理默认值
                     if (value == null) {
                         value = fieldInfo.getDefaultValue();
@@ -232,7 +233,7 @@ public class ExcelUtils {
                 for (int i = 0; i < fieldInfos.size(); i++) {
                     FieldInfo fieldInfo = fieldInfos.get(i);
                     Cell cell = dataRow.createCell(i);
-                    Object value = getFieldValue(data, fieldInfo.getFieldName());
+                    Object value = fieldInfo.getValue(data);
                     // 处理默认值
                     if (value == null) {
                         value = fieldInfo.getDefaultValue();
@@ -296,6 +297,8 @@ public class ExcelUtils {
 
             // 获取并排序字段信息
             List<FieldInfo> fieldInfos = getFieldInfos(clazz);
+            // 有编译期生成的行映射器时直接调用构造方法创建对象，否则反射创建
+            ExcelRowMapper<T> mapper = ExcelRowMappers.find(clazz);
             // 创建字段名到字段信息的映射
             Map<String, FieldInfo> fieldInfoMap = new HashMap<>();
             for (FieldInfo fieldInfo : fieldInfos) {
@@ -326,7 +329,7 @@ public class ExcelUtils {
                 }
 
                 // 创建对象实例
-                T instance = clazz.getDeclaredConstructor().newInstance();
+                T instance = mapper != null ? mapper.newInstance() : clazz.getDeclaredConstructor().newInstance();
 
                 // 填充字段值
                 for (FieldInfo fieldInfo : fieldInfos) {
@@ -335,13 +338,10 @@ public class ExcelUtils {
                     if (columnIndex != null) {
                         Cell cell = row.getCell(columnIndex);
                         if (cell != null) {
-                            Field field = clazz.getDeclaredField(fieldInfo.getFieldName());
-                            field.setAccessible(true);
-                            
                             // 根据字段类型设置值
-                            Object value = getCellValue(cell, field.getType(), fieldInfo.getFormat());
+                            Object value = getCellValue(cell, fieldInfo.getType(), fieldInfo.getFormat());
                             if (value != null) {
-                                field.set(instance, value);
+                                fieldInfo.setValue(instance, value);
                             }
                         }
                     }
@@ -395,6 +395,8 @@ public class ExcelUtils {
 
             // 获取并排序字段信息
             List<FieldInfo> fieldInfos = getFieldInfos(clazz);
+            // 有编译期生成的行映射器时直接调用构造方法创建对象，否则反射创建
+            ExcelRowMapper<T> mapper = ExcelRowMappers.find(clazz);
 
             // 获取表头行
             Row headerRow = sheet.getRow(0);
@@ -420,7 +422,7 @@ public class ExcelUtils {
                 }
 
                 // 创建对象实例
-                T instance = clazz.getDeclaredConstructor().newInstance();
+                T instance = mapper != null ? mapper.newInstance() : clazz.getDeclaredConstructor().newInstance();
 
                 // 填充字段值
                 for (FieldInfo fieldInfo : fieldInfos) {
@@ -429,13 +431,10 @@ public class ExcelUtils {
                     if (columnIndex != null) {
                         Cell cell = row.getCell(columnIndex);
                         if (cell != null) {
-                            Field field = clazz.getDeclaredField(fieldInfo.getFieldName());
-                            field.setAccessible(true);
-                            
                             // 根据字段类型设置值
-                            Object value = getCellValue(cell, field.getType(), fieldInfo.getFormat());
+                            Object value = getCellValue(cell, fieldInfo.getType(), fieldInfo.getFormat());
                             if (value != null) {
-                                field.set(instance, value);
+                                fieldInfo.setValue(instance, value);
                             }
                         }
                     }
@@ -506,18 +505,42 @@ public class ExcelUtils {
     }
 
     /**
-     * 获取字段信息列表
-     * @param clazz 类
-     * @return 字段信息列表
+     * 字段信息缓存，每个类只解析一次@ExcelColumn注解
      */
-    private static List<FieldInfo> getFieldInfos(Class<?> clazz) {
-        List<FieldInfo> fieldInfos = new ArrayList<>();
-        Field[] fields = clazz.getDeclaredFields();
-        
-        for (Field field : fields) {
-            ExcelColumn annotation = field.getAnnotation(ExcelColumn.class);
-            if (annotation != null) {
+    private static final ClassValue<List<FieldInfo>> FIELD_INFO_CACHE = new ClassValue<List<FieldInfo>>() {
+        @Override
+        protected List<FieldInfo> computeValue(Class<?> clazz) {
+            List<FieldInfo> fieldInfos = new ArrayList<>();
+            // 优先使用编译期生成的行映射器
+            ExcelRowMapper<?> mapper = ExcelRowMappers.find(clazz);
+            if (mapper != null) {
+                List<ExcelColumnDefinition> columns = mapper.getColumns();
+                for (int i = 0; i < columns.size(); i++) {
+                    ExcelColumnDefinition column = columns.get(i);
+                    FieldInfo fieldInfo = new FieldInfo();
+                    fieldInfo.setMapper(mapper, i);
+                    fieldInfo.setType(column.getFieldType());
+                    fieldInfo.setFieldName(column.getFieldName());
+                    fieldInfo.setColumnName(column.getName());
+                    fieldInfo.setOrder(column.getOrder());
+                    fieldInfo.setFormat(column.getFormat());
+                    fieldInfo.setWidth(column.getWidth());
+                    fieldInfo.setRequired(column.isRequired());
+                    fieldInfo.setDefaultValue(column.getDefaultValue());
+                    fieldInfo.setAlignment(column.getAlignment());
+                    fieldInfos.add(fieldInfo);
+                }
+                return Collections.unmodifiableList(fieldInfos);
+            }
+            for (AnnotationMetadata.AnnotatedMember<Field, ExcelColumn> member
+                    : AnnotationMetadata.getFields(clazz, ExcelColumn.class, false)) {
+                // getMember返回独立副本，设为可访问不影响缓存
+                Field field = member.getMember();
+                field.setAccessible(true);
+                ExcelColumn annotation = member.getAnnotation();
                 FieldInfo fieldInfo = new FieldInfo();
+                fieldInfo.setField(field);
+                fieldInfo.setType(field.getType());
                 fieldInfo.setFieldName(field.getName());
                 fieldInfo.setColumnName(annotation.name());
                 fieldInfo.setOrder(annotation.order());
@@ -528,11 +551,19 @@ public class ExcelUtils {
                 fieldInfo.setAlignment(annotation.alignment());
                 fieldInfos.add(fieldInfo);
             }
+            // 按顺序排序
+            fieldInfos.sort(Comparator.comparingInt(FieldInfo::getOrder));
+            return Collections.unmodifiableList(fieldInfos);
         }
-        
-        // 按顺序排序
-        fieldInfos.sort(Comparator.comparingInt(FieldInfo::getOrder));
-        return fieldInfos;
+    };
+
+    /**
+     * 获取字段信息列表
+     * @param clazz 类
+     * @return 字段信息列表（不可修改）
+     */
+    private static List<FieldInfo> getFieldInfos(Class<?> clazz) {
+        return FIELD_INFO_CACHE.get(clazz);
     }
 
     /**
@@ -718,7 +749,7 @@ public class ExcelUtils {
                 for (int i = 0; i < fieldInfos.size(); i++) {
                     FieldInfo fieldInfo = fieldInfos.get(i);
                     Cell cell = dataRow.createCell(i);
-                    Object value = getFieldValue(data, fieldInfo.getFieldName());
+                    Object value = fieldInfo.getValue(data);
                     // 处理默认值
                     if (value == null) {
                         value = fieldInfo.getDefaultValue();
@@ -822,7 +853,7 @@ public class ExcelUtils {
                 for (int i = 0; i < fieldInfos.size(); i++) {
                     FieldInfo fieldInfo = fieldInfos.get(i);
                     Cell cell = dataRow.createCell(i);
-                    Object value = getFieldValue(data, fieldInfo.getFieldName());
+                    Object value = fieldInfo.getValue(data);
                     // 处理默认值
                     if (value == null) {
                         value = fieldInfo.getDefaultValue();
@@ -864,6 +895,10 @@ public class ExcelUtils {
      * 字段信息类
      */
     private static class FieldInfo {
+        private Field field;
+        private ExcelRowMapper<Object> mapper;
+        private int column;
+        private Class<?> type;
         private String fieldName;
         private String columnName;
         private int order;
@@ -873,6 +908,46 @@ public class ExcelUtils {
         private String defaultValue;
         private ExcelAlignment alignment;
 
+        public Field getField() {
+            return field;
+        }
+
+        public void setField(Field field) {
+            this.field = field;
+        }
+
+        @SuppressWarnings("unchecked")
+        public void setMapper(ExcelRowMapper<?> mapper, int column) {
+            this.mapper = (ExcelRowMapper<Object>) mapper;
+            this.column = column;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        public void setType(Class<?> type) {
+            this.type = type;
+        }
+
+        /**
+         * 读取字段值，有生成的行映射器时不使用反射
+         */
+        public Object getValue(Object bean) throws IllegalAccessException {
+            return mapper != null ? mapper.getValue(bean, column) : field.get(bean);
+        }
+
+        /**
+         * 写入字段值，有生成的行映射器时不使用反射
+         */
+        public void setValue(Object bean, Object value) throws IllegalAccessException {
+            if (mapper != null) {
+                mapper.setValue(bean, column, value);
+            } else {
+                field.set(bean, value);
+            }
+        }
+
         public String getFieldName() {
             return fieldName;
         }
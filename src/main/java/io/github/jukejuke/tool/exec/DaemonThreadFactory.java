@@ -0,0 +1,39 @@
+package io.github.jukejuke.tool.exec;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 创建守护线程的线程工厂，线程名为 前缀-编号
+ * 同一前缀的编号在所有实例间递增，多个线程池的线程名不会重复
+ */
+public final class DaemonThreadFactory implements ThreadFactory {
+
+    /**
+     * 各前缀的线程编号
+     */
+    private static final Map<String, AtomicInteger> COUNTERS = new ConcurrentHashMap<>();
+
+    private final String prefix;
+    private final AtomicInteger counter;
+
+    /**
+     * @param prefix 线程名前缀，如"jk-tool-dns-refresh"
+     */
+    public DaemonThreadFactory(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            throw new IllegalArgumentException("线程名前缀不能为空");
+        }
+        this.prefix = prefix;
+        this.counter = COUNTERS.computeIfAbsent(prefix, k -> new AtomicInteger());
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, prefix + "-" + counter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.jukejuke.tool.id;
 
+import io.github.jukejuke.tool.date.CachedClock;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDate;
@@ -31,6 +32,11 @@ public class DateIdTool {
      */
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
 
+    /**
+     * 最近一次格式化的日期及其结果，日期不变时不再格式化
+     */
+    private static volatile FormattedDate formattedDate;
+
     /**
      * 获取指定前缀的计数器
      * @param prefix 前缀
@@ -61,7 +67,7 @@ public class DateIdTool {
             prefix = "";
         }
         
-        String currentDate = LocalDate.now().format(DATE_FORMATTER);
+        String currentDate = getCurrentDate();
         
         // 如果日期变化，重置所有前缀的计数器
         if (!currentDate.equals(lastDate)) {
@@ -97,7 +103,13 @@ public class DateIdTool {
      * @return 当前日期字符串
      */
     public static String getCurrentDate() {
-        return LocalDate.now().format(DATE_FORMATTER);
+        LocalDate today = CachedClock.getDefault().today();
+        FormattedDate cached = formattedDate;
+        if (cached == null || !cached.date.equals(today)) {
+            cached = new FormattedDate(today, today.format(DATE_FORMATTER));
+            formattedDate = cached;
+        }
+        return cached.text;
     }
 
     /**
@@ -108,4 +120,14 @@ public class DateIdTool {
         lastDate = "";
         log.info("重置所有ID计数器");
     }
+
+    private static final class FormattedDate {
+        private final LocalDate date;
+        private final String text;
+
+        private FormattedDate(LocalDate date, String text) {
+            this.date = date;
+            this.text = text;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package io.github.jukejuke.tool.id;
 
+import io.github.jukejuke.tool.date.CachedClock;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.UUID;
@@ -89,7 +90,11 @@ public class IdGenerator {
      * @return 雪花算法ID
      */
     public synchronized long generateSnowflakeId() {
-        long timestamp = System.currentTimeMillis();
+        long timestamp = CachedClock.getDefault().millis();
+        if (timestamp < lastTimestamp) {
+            // 等待下一毫秒时读取过系统时间，缓存时钟可能暂时落后，不是回拨
+            timestamp = Math.max(timestamp, System.currentTimeMillis());
+        }
 
         if (timestamp < lastTimestamp) {
             log.error("时钟回拨，当前时间戳: {}, 上次时间戳: {}", timestamp, lastTimestamp);
@@ -114,14 +119,16 @@ public class IdGenerator {
     }
 
     /**
-     * 等待到下一个毫秒
+     * 等待到下一个毫秒，同时读取系统时间，缓存时钟停止刷新（手动时钟、已关闭）时不会一直等待
      * @param lastTimestamp 上次时间戳
      * @return 新的时间戳
      */
     private long tilNextMillis(long lastTimestamp) {
-        long timestamp = System.currentTimeMillis();
+        CachedClock clock = CachedClock.getDefault();
+        long timestamp = Math.max(clock.millis(), System.currentTimeMillis());
         while (timestamp <= lastTimestamp) {
-            timestamp = System.currentTimeMillis();
+            Thread.onSpinWait();
+            timestamp = Math.max(clock.millis(), System.currentTimeMillis());
         }
         return timestamp;
     }
@@ -131,7 +138,7 @@ public class IdGenerator {
      * @return 时间戳ID
      */
     public static long generateTimestampId() {
-        return System.currentTimeMillis();
+        return CachedClock.getDefault().millis();
     }
 
     /**
@@ -139,7 +146,7 @@ public class IdGenerator {
      * @return 时间戳ID
      */
     public static long generateTimestampSecondId() {
-        return System.currentTimeMillis() / 1000;
+        return CachedClock.getDefault().millis() / 1000;
     }
 
     /**
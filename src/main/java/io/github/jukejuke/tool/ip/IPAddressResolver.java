@@ -1,6 +1,7 @@
 package io.github.jukejuke.tool.ip;
 
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
@@ -47,6 +48,24 @@ public class IPAddressResolver {
         return address.getHostAddress();
     }
 
+    /**
+     * 将 主机 或 主机:端口 解析为套接字地址，只有一个冒号时视为 主机:端口，IPv6地址使用默认端口
+     * @param server 服务器地址
+     * @param defaultPort 未指定端口时使用的端口
+     * @return 已解析的套接字地址
+     * @throws IllegalArgumentException 主机无法解析或端口不合法时抛出
+     */
+    public static InetSocketAddress toSocketAddress(String server, int defaultPort) {
+        int colon = server.lastIndexOf(':');
+        InetSocketAddress address = colon > 0 && server.indexOf(':') == colon
+                ? new InetSocketAddress(server.substring(0, colon), Integer.parseInt(server.substring(colon + 1)))
+                : new InetSocketAddress(server, defaultPort);
+        if (address.isUnresolved()) {
+            throw new IllegalArgumentException("无法解析主机 " + server);
+        }
+        return address;
+    }
+
     /**
      * 检查域名是否可以解析
      * @param domain 要检查的域名
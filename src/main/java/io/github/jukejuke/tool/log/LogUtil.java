@@ -1,23 +1,17 @@
 package io.github.jukejuke.tool.log;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import io.github.jukejuke.tool.date.CachedClock;
 
 /**
  * 日志工具类，封装System.out.println功能
  */
 public class LogUtil {
     /**
-     * 时间格式化器
-     */
-    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
-    /**
-     * 获取当前时间字符串
-     * @return 格式化后的时间字符串
+     * 获取当前时间字符串，读取缓存时钟每秒格式化一次的结果
+     * @return 格式化后的时间字符串（yyyy-MM-dd HH:mm:ss）
      */
     private static String getCurrentTime() {
-        return LocalDateTime.now().format(DATE_TIME_FORMATTER);
+        return CachedClock.getDefault().getDateTimeString();
     }
     /**
      * 打印字符串
@@ -0,0 +1,432 @@
+package io.github.jukejuke.tool.mysql;
+
+import io.github.jukejuke.tool.exec.DaemonThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.SQLException;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * 批量插入或更新执行器
+ * 将行流切分为多行 INSERT ... ON DUPLICATE KEY UPDATE 语句，
+ * 每条语句按估算字节数控制在max_allowed_packet以内，并在多个连接上并行执行。
+ * 不在事务中时每个分块单独自动提交，某个分块失败后之前成功的分块不会回滚，
+ * 抛出的异常信息中包含已提交的行数和语句数；需要全部成功或全部不写入时，
+ * 在MysqlUtils.inTransaction中调用（此时使用事务连接串行执行且不重试）
+ */
+@Slf4j
+final class BulkUpserter {
+
+    /**
+     * MySQL预编译语句占位符上限
+     */
+    private static final int MAX_PLACEHOLDERS = 65535;
+
+    /**
+     * 表名、列名校验（防止SQL注入），允许 库名.表名
+     */
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
+    private final String table;
+    private final List<String> keyColumns;
+    private final UpsertOptions options;
+
+    private List<String> columns;
+    private Set<String> columnSet;
+    private String valuesGroup;
+    private String updateClause;
+    private final Map<Integer, String> sqlCache = new HashMap<>();
+
+    BulkUpserter(String table, List<String> keyColumns, UpsertOptions options) {
+        checkIdentifier(table);
+        if (keyColumns == null || keyColumns.isEmpty()) {
+            throw new IllegalArgumentException("键列不能为空");
+        }
+        for (String column : keyColumns) {
+            checkIdentifier(column);
+        }
+        this.table = table;
+        this.keyColumns = keyColumns;
+        this.options = options != null ? options : UpsertOptions.defaults();
+    }
+
+    /**
+     * 执行批量插入或更新
+     * @param rows 行迭代器，列名取自第一行
+     * @return 执行结果
+     * @throws SQLException 执行SQL时发生异常（重试后仍失败）；不在事务中且已有分块提交时，
+     *                      异常信息包含已提交的行数，SQLState和错误码与原异常相同，原异常作为cause
+     */
+    UpsertResult execute(Iterator<Map<String, Object>> rows) throws SQLException {
+        UpsertResult result = new UpsertResult();
+        if (!rows.hasNext()) {
+            return result;
+        }
+        try {
+            executeChunks(rows, result);
+        } catch (SQLException e) {
+            throw partialFailure(e, result);
+        }
+        return result;
+    }
+
+    /**
+     * 分块失败时补充已提交的行数，事务中或没有分块提交时返回原异常
+     */
+    private static SQLException partialFailure(SQLException e, UpsertResult result) {
+        long rows;
+        int statements;
+        synchronized (result) {
+            rows = result.getRows();
+            statements = result.getStatements();
+        }
+        if (statements == 0 || MysqlUtils.isInTransaction()) {
+            return e;
+        }
+        return new SQLException(String.format("批量插入或更新失败，已提交%d行（%d条语句）未回滚: %s",
+                rows, statements, e.getMessage()), e.getSQLState(), e.getErrorCode(), e);
+    }
+
+    private void executeChunks(Iterator<Map<String, Object>> rows, UpsertResult result) throws SQLException {
+        boolean parallel = options.getParallelism() > 1 && !MysqlUtils.isInTransaction();
+        ExecutorService executor = parallel ? Executors.newFixedThreadPool(options.getParallelism(),
+                new DaemonThreadFactory("mysql-bulk-upsert")) : null;
+        // 限制排队中的分块数，避免整个行流被读入内存
+        Semaphore permits = new Semaphore(Math.max(1, options.getParallelism()) * 2);
+        AtomicReference<SQLException> failure = new AtomicReference<>();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            List<Object> params = new ArrayList<>();
+            int rowCount = 0;
+            long bytes = 0;
+            while (rows.hasNext() && failure.get() == null) {
+                Map<String, Object> row = rows.next();
+                if (columns == null) {
+                    init(row);
+                }
+                checkColumns(row);
+                long rowBytes = estimateRowSize(row);
+                if (rowCount > 0 && (rowCount >= options.getMaxRowsPerStatement()
+                        || bytes + rowBytes + estimateSqlSize(rowCount + 1) > options.getMaxPacketSize()
+                        || (long) (rowCount + 1) * columns.size() > MAX_PLACEHOLDERS)) {
+                    submit(executor, permits, futures, failure, result, rowCount, params);
+                    params = new ArrayList<>();
+                    rowCount = 0;
+                    bytes = 0;
+                }
+                addRow(row, params);
+                rowCount++;
+                bytes += rowBytes;
+            }
+            if (rowCount > 0 && failure.get() == null) {
+                submit(executor, permits, futures, failure, result, rowCount, params);
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    // 异常已记录在failure中
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("批量插入或更新被中断", e);
+                }
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    private void submit(ExecutorService executor, Semaphore permits, List<Future<?>> futures,
+                        AtomicReference<SQLException> failure, UpsertResult result,
+                        int rowCount, List<Object> params) throws SQLException {
+        String sql = sqlFor(rowCount);
+        Object[] args = params.toArray();
+        if (executor == null) {
+            runChunk(sql, args, rowCount, result);
+            return;
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("批量插入或更新被中断", e);
+        }
+        futures.add(executor.submit(() -> {
+            try {
+                if (failure.get() == null) {
+                    runChunk(sql, args, rowCount, result);
+                }
+            } catch (SQLException e) {
+                failure.compareAndSet(null, e);
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, new SQLException("批量插入或更新失败", e));
+            } finally {
+                permits.release();
+            }
+            return null;
+        }));
+    }
+
+    /**
+     * 执行一个分块，可重试异常按配置重试
+     */
+    private void runChunk(String sql, Object[] args, int rowCount, UpsertResult result) throws SQLException {
+        int attempt = 0;
+        while (true) {
+            try {
+                int affected = MysqlUtils.update(sql, args);
+                long updated = Math.max(0, Math.min(rowCount, affected - rowCount));
+                synchronized (result) {
+                    result.setRows(result.getRows() + rowCount);
+                    result.setAffectedRows(result.getAffectedRows() + affected);
+                    result.setUpdated(result.getUpdated() + updated);
+                    result.setInserted(result.getInserted() + rowCount - updated);
+                    result.setStatements(result.getStatements() + 1);
+                    result.setRetries(result.getRetries() + attempt);
+                }
+                return;
+            } catch (SQLException e) {
+                if (MysqlUtils.isInTransaction() || attempt >= options.getRetries() || !MysqlUtils.isRetryable(e)) {
+                    throw e;
+                }
+                attempt++;
+                log.warn("批量插入或更新分块失败，第{}次重试: {}", attempt, e.getMessage());
+                try {
+                    Thread.sleep(options.getRetryInterval() * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void init(Map<String, Object> firstRow) {
+        columns = new ArrayList<>(firstRow.keySet());
+        columnSet = new HashSet<>(columns);
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("行数据不能为空");
+        }
+        for (String column : columns) {
+            checkIdentifier(column);
+        }
+        for (String key : keyColumns) {
+            if (!containsIgnoreCase(columns, key)) {
+                throw new IllegalArgumentException("行数据缺少键列：" + key);
+            }
+        }
+        StringBuilder group = new StringBuilder("(");
+        for (int i = 0; i < columns.size(); i++) {
+            group.append(i > 0 ? ", ?" : "?");
+        }
+        valuesGroup = group.append(")").toString();
+
+        List<String> updates = options.getUpdateColumns();
+        if (updates == null) {
+            updates = new ArrayList<>();
+            for (String column : columns) {
+                if (!containsIgnoreCase(keyColumns, column)) {
+                    updates.add(column);
+                }
+            }
+        }
+        StringBuilder clause = new StringBuilder(" ON DUPLICATE KEY UPDATE ");
+        if (updates.isEmpty()) {
+            // 只有键列时保持原值，相当于INSERT IGNORE但不吞掉其他错误
+            String key = keyColumns.get(0);
+            clause.append(key).append(" = ").append(key);
+        } else {
+            for (int i = 0; i < updates.size(); i++) {
+                String column = updates.get(i);
+                checkIdentifier(column);
+                if (i > 0) {
+                    clause.append(", ");
+                }
+                clause.append(column).append(" = VALUES(").append(column).append(")");
+            }
+        }
+        updateClause = clause.toString();
+    }
+
+    /**
+     * 校验行的列与第一行完全一致，避免缺少的列写入NULL、多出的列被忽略
+     */
+    private void checkColumns(Map<String, Object> row) {
+        if (row.size() == columns.size() && columnSet.containsAll(row.keySet())) {
+            return;
+        }
+        for (String column : row.keySet()) {
+            if (!columnSet.contains(column)) {
+                throw new IllegalArgumentException("行数据包含第一行没有的列：" + column);
+            }
+        }
+        for (String column : columns) {
+            if (!row.containsKey(column)) {
+                throw new IllegalArgumentException("行数据缺少第一行中的列：" + column);
+            }
+        }
+    }
+
+    private void addRow(Map<String, Object> row, List<Object> params) {
+        for (String column : columns) {
+            params.add(row.get(column));
+        }
+    }
+
+    private String sqlFor(int rowCount) {
+        return sqlCache.computeIfAbsent(rowCount, n -> {
+            StringBuilder sql = new StringBuilder(estimateSqlSize(n));
+            sql.append("INSERT INTO ").append(table).append(" (").append(String.join(", ", columns)).append(") VALUES ");
+            for (int i = 0; i < n; i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(valuesGroup);
+            }
+            return sql.append(updateClause).toString();
+        });
+    }
+
+    private int estimateSqlSize(int rowCount) {
+        return 64 + table.length() + columns.size() * 24 + rowCount * (valuesGroup.length() + 2);
+    }
+
+    private static long estimateRowSize(Map<String, Object> row) {
+        long size = 0;
+        for (Object value : row.values()) {
+            size += estimateValueSize(value);
+        }
+        return size;
+    }
+
+    /**
+     * 估算参数在数据包中的字节数（字符串按UTF-8最坏情况每字符3字节）
+     */
+    private static long estimateValueSize(Object value) {
+        if (value == null) {
+            return 4;
+        }
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length() * 3L + 9;
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length + 9L;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return 16;
+        }
+        if (value instanceof Date || value instanceof Temporal) {
+            return 20;
+        }
+        return value.toString().length() * 3L + 9;
+    }
+
+    private static boolean containsIgnoreCase(Collection<String> values, String target) {
+        for (String value : values) {
+            if (value.equalsIgnoreCase(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void checkIdentifier(String name) {
+        if (name == null || !IDENTIFIER_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException("非法的表名或列名：" + name);
+        }
+    }
+
+    /**
+     * 将Bean迭代器转换为行迭代器，字段名按驼峰转下划线作为列名（包含父类字段，忽略static和transient字段）
+     * @param beans Bean迭代器
+     * @return 行迭代器
+     */
+    static Iterator<Map<String, Object>> beanRows(Iterator<?> beans) {
+        Map<Class<?>, Map<String, Field>> fieldCache = new HashMap<>();
+        return new Iterator<Map<String, Object>>() {
+            @Override
+            public boolean hasNext() {
+                return beans.hasNext();
+            }
+
+            @Override
+            public Map<String, Object> next() {
+                Object bean = beans.next();
+                if (bean == null) {
+                    throw new IllegalArgumentException("Bean不能为null");
+                }
+                Map<String, Field> fields = fieldCache.computeIfAbsent(bean.getClass(), BulkUpserter::columnFields);
+                Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+                for (Map.Entry<String, Field> entry : fields.entrySet()) {
+                    try {
+                        row.put(entry.getKey(), entry.getValue().get(bean));
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException("读取字段失败：" + entry.getValue().getName(), e);
+                    }
+                }
+                return row;
+            }
+        };
+    }
+
+    private static Map<String, Field> columnFields(Class<?> beanClass) {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        Set<String> seen = new LinkedHashSet<>();
+        for (Class<?> current = beanClass; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()
+                        || !seen.add(field.getName())) {
+                    continue;
+                }
+                field.setAccessible(true);
+                fields.put(toColumnName(field.getName()), field);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * 驼峰转下划线：userName -> user_name
+     */
+    static String toColumnName(String fieldName) {
+        StringBuilder column = new StringBuilder(fieldName.length() + 4);
+        for (int i = 0; i < fieldName.length(); i++) {
+            char c = fieldName.charAt(i);
+            if (Character.isUpperCase(c)) {
+                if (i > 0) {
+                    column.append('_');
+                }
+                column.append(Character.toLowerCase(c));
+            } else {
+                column.append(c);
+            }
+        }
+        return column.toString();
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.jukejuke.tool.mysql;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 数据源路由
+ * 管理主库和命名从库，写操作路由到主库，读操作按负载均衡策略路由到从库
+ */
+final class DataSourceRouter {
+
+    /**
+     * 主库名称
+     */
+    static final String PRIMARY = "primary";
+
+    /**
+     * 全部数据源（名称 -> 数据源），修改时整体替换
+     */
+    private volatile Map<String, HikariDataSource> dataSources = Collections.emptyMap();
+
+    /**
+     * 从库列表，修改时整体替换
+     */
+    private volatile List<HikariDataSource> replicas = Collections.emptyList();
+
+    /**
+     * 负载均衡策略
+     */
+    private volatile LoadBalanceStrategy strategy = LoadBalanceStrategy.ROUND_ROBIN;
+
+    /**
+     * 轮询计数器
+     */
+    private final AtomicInteger counter = new AtomicInteger();
+
+    /**
+     * 当前线程强制读主库的嵌套深度
+     */
+    private final ThreadLocal<int[]> forcePrimary = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * 设置主库，返回被替换的旧主库
+     */
+    synchronized HikariDataSource setPrimary(HikariDataSource dataSource) {
+        return put(PRIMARY, dataSource, false);
+    }
+
+    /**
+     * 添加或替换从库，返回被替换的旧数据源
+     */
+    synchronized HikariDataSource putReplica(String name, HikariDataSource dataSource) {
+        if (PRIMARY.equals(name)) {
+            throw new IllegalArgumentException("从库名称不能为" + PRIMARY);
+        }
+        return put(name, dataSource, true);
+    }
+
+    /**
+     * 移除数据源，返回被移除的数据源
+     */
+    synchronized HikariDataSource remove(String name) {
+        Map<String, HikariDataSource> copy = new LinkedHashMap<>(dataSources);
+        HikariDataSource removed = copy.remove(name);
+        if (removed != null) {
+            dataSources = Collections.unmodifiableMap(copy);
+            if (replicas.contains(removed)) {
+                List<HikariDataSource> replicaCopy = new ArrayList<>(replicas);
+                replicaCopy.remove(removed);
+                replicas = Collections.unmodifiableList(replicaCopy);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 移除全部数据源，返回被移除的数据源
+     */
+    synchronized List<HikariDataSource> clear() {
+        List<HikariDataSource> all = new ArrayList<>(dataSources.values());
+        dataSources = Collections.emptyMap();
+        replicas = Collections.emptyList();
+        return all;
+    }
+
+    private HikariDataSource put(String name, HikariDataSource dataSource, boolean replica) {
+        Map<String, HikariDataSource> copy = new LinkedHashMap<>(dataSources);
+        HikariDataSource old = copy.put(name, dataSource);
+        dataSources = Collections.unmodifiableMap(copy);
+        List<HikariDataSource> replicaCopy = new ArrayList<>(replicas);
+        if (old != null) {
+            replicaCopy.remove(old);
+        }
+        if (replica) {
+            replicaCopy.add(dataSource);
+        }
+        replicas = Collections.unmodifiableList(replicaCopy);
+        return old;
+    }
+
+    HikariDataSource getPrimary() {
+        return dataSources.get(PRIMARY);
+    }
+
+    HikariDataSource get(String name) {
+        return dataSources.get(name);
+    }
+
+    int getReplicaCount() {
+        return replicas.size();
+    }
+
+    void setStrategy(LoadBalanceStrategy strategy) {
+        this.strategy = strategy == null ? LoadBalanceStrategy.ROUND_ROBIN : strategy;
+    }
+
+    LoadBalanceStrategy getStrategy() {
+        return strategy;
+    }
+
+    void enterForcePrimary() {
+        forcePrimary.get()[0]++;
+    }
+
+    void exitForcePrimary() {
+        int[] depth = forcePrimary.get();
+        if (--depth[0] <= 0) {
+            forcePrimary.remove();
+        }
+    }
+
+    boolean isForcePrimary() {
+        return forcePrimary.get()[0] > 0;
+    }
+
+    /**
+     * 选择读数据源：没有可用从库或当前线程强制读主库时返回主库，已关闭的从库被跳过
+     */
+    HikariDataSource selectForRead() {
+        List<HikariDataSource> current = replicas;
+        if (current.isEmpty() || isForcePrimary()) {
+            return getPrimary();
+        }
+        int size = current.size();
+        int start = (counter.getAndIncrement() & Integer.MAX_VALUE) % size;
+        boolean roundRobin = size == 1 || strategy == LoadBalanceStrategy.ROUND_ROBIN;
+        // 最少活跃连接时从轮询位置开始比较以打散并列的情况
+        HikariDataSource best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            HikariDataSource candidate = current.get((start + i) % size);
+            if (candidate.isClosed()) {
+                continue;
+            }
+            if (roundRobin) {
+                return candidate;
+            }
+            HikariPoolMXBean pool = candidate.getHikariPoolMXBean();
+            int active = pool != null ? pool.getActiveConnections() : 0;
+            if (active < bestActive) {
+                best = candidate;
+                bestActive = active;
+            }
+        }
+        return best != null ? best : getPrimary();
+    }
+}
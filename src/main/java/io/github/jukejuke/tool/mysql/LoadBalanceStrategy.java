@@ -0,0 +1,17 @@
+package io.github.jukejuke.tool.mysql;
+
+/**
+ * 读库负载均衡策略枚举
+ * 用于在多个从库之间分配读请求
+ */
+public enum LoadBalanceStrategy {
+    /**
+     * 轮询
+     */
+    ROUND_ROBIN,
+
+    /**
+     * 最少活跃连接（根据HikariPoolMXBean的活跃连接数选择）
+     */
+    LEAST_ACTIVE
+}
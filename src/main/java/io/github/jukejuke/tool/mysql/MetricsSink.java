@@ -0,0 +1,26 @@
+package io.github.jukejuke.tool.mysql;
+
+/**
+ * SQL指标接收器
+ * 通过MysqlUtils.setMetricsSink注册，可对接Micrometer、Prometheus等监控系统；
+ * 实现需要线程安全且足够轻量，回调在执行SQL的线程中同步调用
+ */
+public interface MetricsSink {
+
+    /**
+     * 记录一次SQL执行
+     * @param fingerprint SQL指纹（参数和字面量替换为?）
+     * @param acquireNanos 获取连接耗时（纳秒），事务中复用连接时为0
+     * @param executeNanos 执行耗时（纳秒）
+     * @param fetchNanos 读取结果耗时（纳秒），更新语句为0
+     * @param rows 返回行数或影响行数
+     */
+    void recordStatement(String fingerprint, long acquireNanos, long executeNanos, long fetchNanos, long rows);
+
+    /**
+     * 记录一次从连接池获取连接的等待时间
+     * @param dataSourceName 数据源名称
+     * @param waitNanos 等待耗时（纳秒）
+     */
+    void recordConnectionWait(String dataSourceName, long waitNanos);
+}
@@ -89,6 +89,64 @@ public class MysqlConfig {
      */
     private boolean connectionTestOnBorrow = true;
 
+    /**
+     * 是否启用驱动端PreparedStatement缓存（Connector/J cachePrepStmts），默认true
+     */
+    private boolean cachePrepStmts = true;
+
+    /**
+     * 每个连接缓存的PreparedStatement数量（Connector/J prepStmtCacheSize），默认250
+     */
+    private int prepStmtCacheSize = 250;
+
+    /**
+     * 可缓存的SQL最大长度（Connector/J prepStmtCacheSqlLimit），默认2048
+     */
+    private int prepStmtCacheSqlLimit = 2048;
+
+    /**
+     * 是否使用服务端预编译语句（Connector/J useServerPrepStmts），默认false，与驱动默认行为一致
+     * 设为true时语句在服务端预编译，每条新SQL多一次往返，并占用服务端max_prepared_stmt_count，
+     * 适合SQL种类少、重复执行多的场景，需要时在配置文件中设置 useServerPrepStmts = true 开启
+     */
+    private boolean useServerPrepStmts = false;
+
+    /**
+     * 是否缓存从文件/资源读取的SQL文本，默认true
+     */
+    private boolean sqlTextCache = true;
+
+    /**
+     * SQL文件修改时间检查间隔（毫秒），默认1000
+     * 间隔内重复读取同一文件直接使用缓存，不访问文件系统
+     */
+    private long sqlFileCheckInterval = 1000;
+
+    /**
+     * SQL文本缓存最大条目数，默认1000，超出时淘汰最久未访问的条目
+     */
+    private int sqlTextCacheSize = 1000;
+
+    /**
+     * 查询结果缓存最大条目数（selectListCached/selectOneCached使用），默认1000
+     */
+    private int queryCacheSize = 1000;
+
+    /**
+     * 查询结果缓存过期时间（毫秒），默认60000，小于等于0表示不过期
+     */
+    private long queryCacheTtl = 60000;
+
+    /**
+     * 慢查询阈值（毫秒），总耗时超过该值时以warn等级输出SQL和参数，默认1000，小于等于0表示关闭
+     */
+    private long slowQueryThreshold = 1000;
+
+    /**
+     * 是否启用内置SQL指标收集（按SQL指纹统计耗时和行数），默认false
+     */
+    private boolean sqlMetrics = false;
+
     /**
      * 默认构造函数
      */
@@ -139,6 +197,17 @@ public class MysqlConfig {
         config.setMaxLifetime(PropertiesUtils.getLong(properties, "maxLifetime", 1800000L));
         config.setConnectionTestQuery(PropertiesUtils.getString(properties, "connectionTestQuery", "SELECT 1"));
         config.setConnectionTestOnBorrow(PropertiesUtils.getBoolean(properties, "connectionTestOnBorrow", true));
+        config.setCachePrepStmts(PropertiesUtils.getBoolean(properties, "cachePrepStmts", true));
+        config.setPrepStmtCacheSize(PropertiesUtils.getInteger(properties, "prepStmtCacheSize", 250));
+        config.setPrepStmtCacheSqlLimit(PropertiesUtils.getInteger(properties, "prepStmtCacheSqlLimit", 2048));
+        config.setUseServerPrepStmts(PropertiesUtils.getBoolean(properties, "useServerPrepStmts", false));
+        config.setSqlTextCache(PropertiesUtils.getBoolean(properties, "sqlTextCache", true));
+        config.setSqlFileCheckInterval(PropertiesUtils.getLong(properties, "sqlFileCheckInterval", 1000L));
+        config.setSqlTextCacheSize(PropertiesUtils.getInteger(properties, "sqlTextCacheSize", 1000));
+        config.setQueryCacheSize(PropertiesUtils.getInteger(properties, "queryCacheSize", 1000));
+        config.setQueryCacheTtl(PropertiesUtils.getLong(properties, "queryCacheTtl", 60000L));
+        config.setSlowQueryThreshold(PropertiesUtils.getLong(properties, "slowQueryThreshold", 1000L));
+        config.setSqlMetrics(PropertiesUtils.getBoolean(properties, "sqlMetrics", false));
         return config;
     }
 }
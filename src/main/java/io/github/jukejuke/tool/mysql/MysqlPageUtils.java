@@ -0,0 +1,555 @@
+package io.github.jukejuke.tool.mysql;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import io.github.jukejuke.api.PageRequest;
+import io.github.jukejuke.api.PageResponse;
+import io.github.jukejuke.tool.string.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * MySQL分页工具类
+ * 基于MysqlUtils执行分页查询，接收PageRequest并返回PageResponse，支持：
+ * <ul>
+ *     <li>键集分页（seek）：WHERE (排序列) &gt; 上一页最后一行，通过不透明游标翻页，任意页的开销与第一页相同</li>
+ *     <li>偏移分页：LIMIT offset, size，适合浅分页</li>
+ * </ul>
+ * 总记录数可选择不统计、精确统计或估算，统计结果通过MysqlUtils查询缓存按SQL指纹和参数缓存
+ */
+public class MysqlPageUtils {
+
+    /**
+     * 总记录数统计方式
+     */
+    public enum CountMode {
+        /**
+         * 不统计，total返回-1
+         */
+        NONE,
+
+        /**
+         * 精确统计：SELECT COUNT(*)，结果进入查询缓存
+         */
+        EXACT,
+
+        /**
+         * 估算：使用EXPLAIN的rows估算值，只适用于单表查询；
+         * 执行计划有多行（连接、子查询、派生表）或数据库不支持时退化为精确统计
+         */
+        ESTIMATED
+    }
+
+    /**
+     * 排序列名校验（防止SQL注入），允许带表别名，如 u.id
+     */
+    private static final Pattern COLUMN_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(?:\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
+    /**
+     * 结果需要先物化的查询结构，键集条件只能加在派生表外层
+     */
+    private static final Pattern MATERIALIZED_PATTERN = Pattern.compile(
+            "\\b(?:GROUP\\s+BY|HAVING|UNION|LIMIT|OFFSET|DISTINCT|WINDOW)\\b|;",
+            Pattern.CASE_INSENSITIVE);
+
+    /**
+     * 加锁子句，必须位于查询末尾，不能出现在派生表中
+     */
+    private static final Pattern LOCK_PATTERN = Pattern.compile(
+            "\\b(?:FOR\\s+(?:UPDATE|SHARE)|LOCK\\s+IN\\s+SHARE\\s+MODE)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern SELECT_PATTERN = Pattern.compile("^\\s*SELECT\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WHERE_PATTERN = Pattern.compile("\\bWHERE\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ORDER_BY_PATTERN = Pattern.compile("\\bORDER\\s+BY\\b", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * 键集分页查询
+     * 按request的orderBy（逗号分隔的列名，组合后须唯一，例如 "create_time,id"）和orderDir排序，
+     * request的cursor为空时返回第一页；cursor为空且pageNum大于1时退化为偏移分页。
+     * 键集条件直接加入基础查询最外层的WHERE（原有ORDER BY被替换），因此排序列须为可在WHERE中引用的列（不能是SELECT别名），
+     * 可带表别名如 u.id；基础查询包含GROUP BY、HAVING、DISTINCT、UNION、LIMIT时需要先物化结果，
+     * 此时作为派生表包裹，排序列为结果列名。
+     * 基础查询末尾的加锁子句（FOR UPDATE、FOR SHARE、LOCK IN SHARE MODE）保留在生成SQL的LIMIT之后，
+     * 加锁查询需要包裹为派生表时抛出IllegalArgumentException
+     * @param sql 基础查询SQL（不含LIMIT）
+     * @param request 分页请求
+     * @param countMode 总记录数统计方式
+     * @param params SQL参数
+     * @return 分页结果，nextCursor为下一页游标，没有下一页时为null
+     * @throws SQLException 执行SQL时发生异常
+     */
+    public static PageResponse<Map<String, Object>> selectPageByKeyset(String sql, PageRequest request,
+                                                                      CountMode countMode, Object... params) throws SQLException {
+        if (StringUtils.isEmpty(sql)) {
+            throw new IllegalArgumentException("SQL语句不能为空");
+        }
+        if (request == null) {
+            throw new IllegalArgumentException("分页请求不能为空");
+        }
+        String[] keys = parseKeys(request.getOrderBy());
+        boolean desc = "DESC".equalsIgnoreCase(request.getOrderDir());
+        int pageSize = request.getPageSize();
+        int checksum = checksum(sql, keys, desc);
+
+        List<Object> queryParams = new ArrayList<>();
+        if (params != null) {
+            for (Object param : params) {
+                queryParams.add(param);
+            }
+        }
+        String cursor = request.getCursor();
+        boolean seek = !StringUtils.isEmpty(cursor);
+        List<Object> lastKey = seek ? decodeCursor(cursor, checksum, keys.length) : null;
+        // 多取一行判断是否有下一页
+        String pageSql = buildKeysetPageSql(sql, keys, desc, lastKey, pageSize + 1,
+                !seek && request.getPageNum() > 1 ? request.getOffset() : 0, queryParams);
+
+        List<Map<String, Object>> rows = MysqlUtils.selectList(pageSql, queryParams.toArray());
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = new ArrayList<>(rows.subList(0, pageSize));
+            nextCursor = encodeCursor(rows.get(rows.size() - 1), keys, checksum);
+        }
+        long total = count(sql, countMode, params);
+        PageResponse<Map<String, Object>> response = total >= 0
+                ? PageResponse.of(total, pageSize, request.getPageNum(), rows)
+                : PageResponse.of(total, pageSize, request.getPageNum(), -1, rows);
+        response.setNextCursor(nextCursor);
+        return response;
+    }
+
+    /**
+     * 生成键集分页SQL（含LIMIT），基础查询末尾的加锁子句移到LIMIT之后
+     * @param sql 基础查询SQL
+     * @param keys 排序列
+     * @param desc 是否倒序
+     * @param lastKey 上一页最后一行的排序列值，第一页为null
+     * @param limit 最多返回的行数
+     * @param offset 偏移量，0表示不偏移
+     * @param queryParams 参数列表，键集条件和LIMIT的参数追加在末尾
+     * @return SQL语句
+     * @throws IllegalArgumentException 加锁查询需要包裹为派生表时抛出
+     */
+    static String buildKeysetPageSql(String sql, String[] keys, boolean desc, List<Object> lastKey,
+                                     int limit, int offset, List<Object> queryParams) {
+        int lockStart = lockClauseStart(sql);
+        String base = lockStart >= 0 ? sql.substring(0, lockStart).trim() : sql;
+        if (lockStart >= 0 && !canInline(base, topLevel(base))) {
+            throw new IllegalArgumentException("加锁查询不能包裹为派生表分页，请去掉GROUP BY、DISTINCT、UNION、LIMIT等结构或加锁子句");
+        }
+        StringBuilder result = new StringBuilder(buildKeysetSql(base, keys, desc, lastKey, queryParams));
+        result.append(" LIMIT ?");
+        queryParams.add(limit);
+        if (offset > 0) {
+            result.append(" OFFSET ?");
+            queryParams.add(offset);
+        }
+        if (lockStart >= 0) {
+            result.append(' ').append(sql.substring(lockStart).trim());
+        }
+        return result.toString();
+    }
+
+    /**
+     * 生成键集分页SQL（不含LIMIT）：能直接修改基础查询时把键集条件并入最外层WHERE，否则包裹为派生表
+     * @param sql 基础查询SQL
+     * @param keys 排序列
+     * @param desc 是否倒序
+     * @param lastKey 上一页最后一行的排序列值，第一页为null
+     * @param queryParams 参数列表，键集条件的参数追加在末尾
+     * @return SQL语句
+     */
+    static String buildKeysetSql(String sql, String[] keys, boolean desc, List<Object> lastKey, List<Object> queryParams) {
+        String operator = desc ? " < " : " > ";
+        String direction = desc ? " DESC" : " ASC";
+        String outer = topLevel(sql);
+        String base = sql;
+        boolean inline = canInline(sql, outer);
+        if (inline) {
+            Matcher order = ORDER_BY_PATTERN.matcher(outer);
+            if (order.find()) {
+                base = sql.substring(0, order.start());
+            }
+        }
+        StringBuilder result = new StringBuilder();
+        if (inline) {
+            base = base.trim();
+            if (lastKey == null) {
+                result.append(base);
+            } else {
+                Matcher where = WHERE_PATTERN.matcher(outer);
+                if (where.find() && where.start() < base.length()) {
+                    result.append(base, 0, where.start()).append("WHERE (")
+                            .append(base.substring(where.end()).trim()).append(") AND ");
+                } else {
+                    result.append(base).append(" WHERE ");
+                }
+                appendSeekCondition(result, queryParams, keys, lastKey, operator);
+            }
+        } else {
+            keys = unqualified(keys);
+            result.append("SELECT * FROM (").append(sql).append(") t");
+            if (lastKey != null) {
+                result.append(" WHERE ");
+                appendSeekCondition(result, queryParams, keys, lastKey, operator);
+            }
+        }
+        result.append(" ORDER BY ");
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append(keys[i]).append(direction);
+        }
+        return result.toString();
+    }
+
+    /**
+     * 是否可以把键集条件直接并入基础查询：最外层是SELECT，不需要先物化结果，且原ORDER BY中没有参数
+     */
+    private static boolean canInline(String sql, String outer) {
+        if (!SELECT_PATTERN.matcher(outer).find() || MATERIALIZED_PATTERN.matcher(outer).find()) {
+            return false;
+        }
+        Matcher order = ORDER_BY_PATTERN.matcher(outer);
+        // 原ORDER BY中有参数时无法去掉，改为包裹
+        return !order.find() || sql.indexOf('?', order.start()) < 0;
+    }
+
+    /**
+     * 查找最外层加锁子句的起始位置
+     * @return 起始位置，没有加锁子句时返回-1
+     */
+    private static int lockClauseStart(String sql) {
+        Matcher lock = LOCK_PATTERN.matcher(topLevel(sql));
+        return lock.find() ? lock.start() : -1;
+    }
+
+    /**
+     * 去掉最外层的加锁子句，用于统计
+     */
+    private static String withoutLockClause(String sql) {
+        int lockStart = lockClauseStart(sql);
+        return lockStart >= 0 ? sql.substring(0, lockStart).trim() : sql;
+    }
+
+    /**
+     * 偏移分页查询（LIMIT offset, size）
+     * 页码越大越慢，深分页请使用selectPageByKeyset
+     * @param sql 基础查询SQL（不含LIMIT、加锁子句），作为派生表包裹
+     * @param request 分页请求，orderBy为结果列名（可选）
+     * @param countMode 总记录数统计方式
+     * @param params SQL参数
+     * @return 分页结果
+     * @throws SQLException 执行SQL时发生异常
+     */
+    public static PageResponse<Map<String, Object>> selectPage(String sql, PageRequest request,
+                                                              CountMode countMode, Object... params) throws SQLException {
+        if (StringUtils.isEmpty(sql)) {
+            throw new IllegalArgumentException("SQL语句不能为空");
+        }
+        if (request == null) {
+            throw new IllegalArgumentException("分页请求不能为空");
+        }
+        if (lockClauseStart(sql) >= 0) {
+            throw new IllegalArgumentException("偏移分页会把查询包裹为派生表，不支持加锁子句（FOR UPDATE、LOCK IN SHARE MODE），请使用selectPageByKeyset");
+        }
+        StringBuilder pageSql = new StringBuilder("SELECT * FROM (").append(sql).append(") t");
+        if (!StringUtils.isEmpty(request.getOrderBy())) {
+            String direction = "DESC".equalsIgnoreCase(request.getOrderDir()) ? " DESC" : " ASC";
+            String[] keys = unqualified(parseKeys(request.getOrderBy()));
+            pageSql.append(" ORDER BY ");
+            for (int i = 0; i < keys.length; i++) {
+                if (i > 0) {
+                    pageSql.append(", ");
+                }
+                pageSql.append(keys[i]).append(direction);
+            }
+        }
+        pageSql.append(" LIMIT ? OFFSET ?");
+        List<Object> queryParams = new ArrayList<>();
+        if (params != null) {
+            for (Object param : params) {
+                queryParams.add(param);
+            }
+        }
+        queryParams.add(request.getPageSize());
+        queryParams.add(request.getOffset());
+
+        List<Map<String, Object>> rows = MysqlUtils.selectList(pageSql.toString(), queryParams.toArray());
+        long total = count(sql, countMode, params);
+        return total >= 0
+                ? PageResponse.of(total, request.getPageSize(), request.getPageNum(), rows)
+                : PageResponse.of(total, request.getPageSize(), request.getPageNum(), -1, rows);
+    }
+
+    /**
+     * 统计总记录数
+     * 结果进入MysqlUtils查询缓存，按SQL指纹（见SqlMetrics.fingerprint）、字面量和参数缓存，
+     * 只是空白不同的同一查询共用一条缓存；相关表通过MysqlUtils更新时失效。
+     * 统计时去掉基础查询末尾的加锁子句
+     * @param sql 基础查询SQL
+     * @param countMode 统计方式
+     * @param params SQL参数
+     * @return 总记录数，不统计时返回-1
+     * @throws SQLException 执行SQL时发生异常
+     */
+    public static long count(String sql, CountMode countMode, Object... params) throws SQLException {
+        if (countMode == null || countMode == CountMode.NONE) {
+            return -1;
+        }
+        sql = withoutLockClause(sql);
+        if (countMode == CountMode.ESTIMATED) {
+            long estimated = estimate(sql, params);
+            if (estimated >= 0) {
+                return estimated;
+            }
+        }
+        List<Map<String, Object>> rows = selectCachedByFingerprint("SELECT COUNT(*) AS total FROM (" + sql + ") t",
+                "COUNT " + SqlMetrics.fingerprint(sql), sql, params);
+        return rows.isEmpty() ? 0 : toLong(rows.get(0).values().iterator().next());
+    }
+
+    /**
+     * 通过EXPLAIN估算记录数
+     * 只有执行计划为单行（单表查询）时使用该行的rows，连接或子查询时各行rows的含义不同，返回-1
+     * @return 估算值，不支持或不适用时返回-1
+     */
+    private static long estimate(String sql, Object... params) {
+        try {
+            List<Map<String, Object>> plan = selectCachedByFingerprint("EXPLAIN " + sql,
+                    "EXPLAIN " + SqlMetrics.fingerprint(sql), sql, params);
+            if (plan.size() != 1) {
+                return -1;
+            }
+            for (Map.Entry<String, Object> entry : plan.get(0).entrySet()) {
+                if ("rows".equalsIgnoreCase(entry.getKey()) && entry.getValue() != null) {
+                    return toLong(entry.getValue());
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            // 数据库不支持EXPLAIN或格式不同，退化为精确统计
+        }
+        return -1;
+    }
+
+    /**
+     * 执行查询并按SQL指纹缓存：缓存键为指纹，键参数为字面量加上SQL参数，字面量不同的查询不会共用结果
+     */
+    private static List<Map<String, Object>> selectCachedByFingerprint(String querySql, String fingerprint,
+                                                                       String sql, Object[] params) throws SQLException {
+        List<Object> keyParams = new ArrayList<>(SqlMetrics.literals(sql));
+        if (params != null) {
+            for (Object param : params) {
+                keyParams.add(param);
+            }
+        }
+        return MysqlUtils.selectListCached(querySql, params, fingerprint, keyParams.toArray());
+    }
+
+    /**
+     * 拼接键集条件：(k1 > ?) OR (k1 = ? AND k2 > ?) ...
+     */
+    private static void appendSeekCondition(StringBuilder sql, List<Object> queryParams, String[] keys,
+                                            List<Object> lastKey, String operator) {
+        sql.append("(");
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                sql.append(" OR ");
+            }
+            sql.append("(");
+            for (int j = 0; j < i; j++) {
+                sql.append(keys[j]).append(" = ? AND ");
+                queryParams.add(lastKey.get(j));
+            }
+            sql.append(keys[i]).append(operator).append("?)");
+            queryParams.add(lastKey.get(i));
+        }
+        sql.append(")");
+    }
+
+    /**
+     * 将SQL中括号、引号内的内容替换为空格，只保留最外层结构，长度与原SQL相同
+     */
+    private static String topLevel(String sql) {
+        char[] chars = sql.toCharArray();
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < chars.length; i++) {
+            char c = chars[i];
+            if (quote != 0) {
+                if (c == '\\' && quote != '`' && i + 1 < chars.length) {
+                    chars[i++] = ' ';
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                chars[i] = ' ';
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+                chars[i] = ' ';
+            } else if (c == '(') {
+                depth++;
+                chars[i] = ' ';
+            } else if (c == ')') {
+                depth--;
+                chars[i] = ' ';
+            } else if (depth > 0) {
+                chars[i] = ' ';
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 去掉排序列的表别名，用于派生表外层
+     */
+    private static String[] unqualified(String[] keys) {
+        String[] result = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            result[i] = keys[i].substring(keys[i].lastIndexOf('.') + 1);
+        }
+        return result;
+    }
+
+    private static String[] parseKeys(String orderBy) {
+        if (StringUtils.isEmpty(orderBy)) {
+            throw new IllegalArgumentException("键集分页必须指定orderBy排序列");
+        }
+        String[] keys = orderBy.split(",");
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = keys[i].trim();
+            if (!COLUMN_PATTERN.matcher(keys[i]).matches()) {
+                throw new IllegalArgumentException("非法的排序列：" + keys[i]);
+            }
+        }
+        return keys;
+    }
+
+    private static int checksum(String sql, String[] keys, boolean desc) {
+        return (SqlMetrics.fingerprint(sql) + "|" + String.join(",", keys) + "|" + desc).hashCode();
+    }
+
+    /**
+     * 生成游标：Base64URL编码的 {"h":校验值,"k":[[类型,值],...]}
+     */
+    static String encodeCursor(Map<String, Object> row, String[] keys, int checksum) {
+        JSONArray values = new JSONArray();
+        for (String key : unqualified(keys)) {
+            Object value = getIgnoreCase(row, key);
+            JSONArray typed = new JSONArray();
+            if (value == null) {
+                throw new IllegalStateException("键集分页的排序列不能为null：" + key);
+            } else if (value instanceof Timestamp) {
+                typed.add("ts");
+                typed.add(value.toString());
+            } else if (value instanceof Date) {
+                typed.add("t");
+                typed.add(((Date) value).getTime());
+            } else if (value instanceof LocalDateTime) {
+                typed.add("ldt");
+                typed.add(value.toString());
+            } else if (value instanceof LocalDate) {
+                typed.add("ld");
+                typed.add(value.toString());
+            } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                    || value instanceof Byte || value instanceof BigInteger) {
+                typed.add("l");
+                typed.add(value.toString());
+            } else if (value instanceof Number) {
+                typed.add("n");
+                typed.add(value.toString());
+            } else {
+                typed.add("s");
+                typed.add(value.toString());
+            }
+            values.add(typed);
+        }
+        JSONObject token = new JSONObject();
+        token.put("h", checksum);
+        token.put("k", values);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(token.toJSONString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static List<Object> decodeCursor(String cursor, int checksum, int keyCount) {
+        JSONObject token;
+        try {
+            token = JSON.parseObject(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("无效的分页游标", e);
+        }
+        if (token == null || token.getIntValue("h") != checksum) {
+            throw new IllegalArgumentException("分页游标与当前查询不匹配");
+        }
+        JSONArray values = token.getJSONArray("k");
+        if (values == null || values.size() != keyCount) {
+            throw new IllegalArgumentException("无效的分页游标");
+        }
+        List<Object> result = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            JSONArray typed = values.getJSONArray(i);
+            String type = typed.getString(0);
+            String value = typed.getString(1);
+            switch (type) {
+                case "ts":
+                    result.add(Timestamp.valueOf(value));
+                    break;
+                case "t":
+                    result.add(new Timestamp(Long.parseLong(value)));
+                    break;
+                case "ldt":
+                    result.add(LocalDateTime.parse(value));
+                    break;
+                case "ld":
+                    result.add(LocalDate.parse(value));
+                    break;
+                case "l":
+                    // BIGINT UNSIGNED等超出long范围的值使用BigInteger
+                    BigInteger integer = new BigInteger(value);
+                    result.add(integer.bitLength() < 64 ? (Object) integer.longValue() : integer);
+                    break;
+                case "n":
+                    result.add(new BigDecimal(value));
+                    break;
+                default:
+                    result.add(value);
+            }
+        }
+        return result;
+    }
+
+    private static Object getIgnoreCase(Map<String, Object> row, String key) {
+        Object value = row.get(key);
+        if (value != null) {
+            return value;
+        }
+        for (Map.Entry<String, Object> entry : row.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(key)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static long toLong(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        return value == null ? 0 : Long.parseLong(value.toString());
+    }
+}
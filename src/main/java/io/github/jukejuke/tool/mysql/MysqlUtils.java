@@ -15,27 +15,58 @@ import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * MySQL工具类
  * 封装JDBC数据库操作，提供便捷的SQL执行和查询功能
- * 使用HikariCP连接池管理连接
+ * 使用HikariCP连接池管理连接，支持主库写、从库读的读写分离
  */
 @Slf4j
 public class MysqlUtils {
 
     /**
-     * HikariCP数据源
+     * 数据源路由（主库 + 命名从库）
      */
-    private static HikariDataSource dataSource;
+    private static final DataSourceRouter router = new DataSourceRouter();
+
+    /**
+     * 日志中最多输出的参数个数，批量语句的参数超出部分只输出总数
+     */
+    static final int MAX_LOGGED_PARAMS = 20;
+
+    /**
+     * SQL指标接收器，为null时不收集指标
+     */
+    private static volatile MetricsSink metricsSink;
+
+    /**
+     * 当前线程绑定的事务上下文
+     */
+    private static final ThreadLocal<TxContext> currentTx = new ThreadLocal<>();
 
     /**
      * 配置信息
      */
     private static MysqlConfig config;
 
+    /**
+     * SQL文本缓存（*FromFile、*FromResource方法使用）
+     */
+    private static final SqlTextCache sqlTextCache = new SqlTextCache(1000, 1000);
+
+    /**
+     * 查询结果缓存（selectListCached、selectOneCached使用）
+     */
+    private static volatile QueryCache queryCache = new QueryCache(1000, 60000);
+
     /**
      * 初始化工具类（从默认配置文件加载）
      * @throws Exception 读取配置文件或初始化连接池时发生异常
@@ -62,29 +93,142 @@ public class MysqlUtils {
             throw new IllegalArgumentException("MySQL配置不能为空");
         }
         config = mysqlConfig;
-        
-        // 如果已经初始化，先关闭旧的连接池
-        if (dataSource != null && !dataSource.isClosed()) {
-            dataSource.close();
+
+        sqlTextCache.setCheckInterval(config.getSqlFileCheckInterval());
+        sqlTextCache.setMaxSize(config.getSqlTextCacheSize());
+        sqlTextCache.clear();
+        queryCache = new QueryCache(config.getQueryCacheSize(), config.getQueryCacheTtl());
+        if (config.isSqlMetrics() && metricsSink == null) {
+            metricsSink = new SqlMetrics();
         }
-        
-        // 初始化HikariCP连接池
+
+        // 如果已经初始化，关闭旧的主库连接池
+        HikariDataSource old = router.setPrimary(createDataSource(DataSourceRouter.PRIMARY, config));
+        if (old != null && !old.isClosed()) {
+            old.close();
+        }
+        log.info("MySQL工具类初始化成功，连接池已启动");
+    }
+
+    /**
+     * 添加从库（读库），已存在同名从库时替换并关闭旧连接池
+     * 从库只使用配置中的连接和连接池参数，日志等行为以主库配置为准
+     * @param name 从库名称
+     * @param replicaConfig 从库配置对象
+     */
+    public static void addReplica(String name, MysqlConfig replicaConfig) {
+        if (StringUtils.isEmpty(name)) {
+            throw new IllegalArgumentException("从库名称不能为空");
+        }
+        if (replicaConfig == null) {
+            throw new IllegalArgumentException("MySQL配置不能为空");
+        }
+        HikariDataSource old = router.putReplica(name, createDataSource(name, replicaConfig));
+        if (old != null && !old.isClosed()) {
+            old.close();
+        }
+        log.info("MySQL从库[{}]已添加，当前从库数: {}", name, router.getReplicaCount());
+    }
+
+    /**
+     * 添加从库（从指定配置文件加载）
+     * @param name 从库名称
+     * @param configFilePath 配置文件路径
+     * @throws Exception 读取配置文件或初始化连接池时发生异常
+     */
+    public static void addReplica(String name, String configFilePath) throws Exception {
+        addReplica(name, MysqlConfig.loadFromConfig(configFilePath));
+    }
+
+    /**
+     * 移除并关闭指定名称的从库
+     * @param name 从库名称
+     * @return 是否移除成功
+     * @throws IllegalArgumentException 名称为主库名称primary时抛出
+     */
+    public static boolean removeDataSource(String name) {
+        if (DataSourceRouter.PRIMARY.equals(name)) {
+            throw new IllegalArgumentException("不能移除主库" + DataSourceRouter.PRIMARY);
+        }
+        HikariDataSource removed = router.remove(name);
+        if (removed == null) {
+            return false;
+        }
+        if (!removed.isClosed()) {
+            removed.close();
+        }
+        log.info("MySQL数据源[{}]已移除", name);
+        return true;
+    }
+
+    /**
+     * 设置从库负载均衡策略，默认轮询
+     * @param strategy 负载均衡策略
+     */
+    public static void setLoadBalanceStrategy(LoadBalanceStrategy strategy) {
+        router.setStrategy(strategy);
+    }
+
+    /**
+     * 获取从库负载均衡策略
+     * @return 负载均衡策略
+     */
+    public static LoadBalanceStrategy getLoadBalanceStrategy() {
+        return router.getStrategy();
+    }
+
+    /**
+     * 在当前线程中强制读主库执行操作（读己之写），支持嵌套
+     * 事务中的读操作始终使用事务连接，无需调用本方法
+     * @param action 要执行的操作
+     * @param <T> 返回值类型
+     * @return 操作结果
+     * @throws Exception 操作执行时发生异常
+     */
+    public static <T> T withPrimary(Callable<T> action) throws Exception {
+        router.enterForcePrimary();
+        try {
+            return action.call();
+        } finally {
+            router.exitForcePrimary();
+        }
+    }
+
+    /**
+     * 当前线程是否强制读主库
+     * @return 是否强制读主库
+     */
+    public static boolean isForcePrimary() {
+        return router.isForcePrimary();
+    }
+
+    /**
+     * 根据配置创建HikariCP连接池
+     * @param name 数据源名称，同时作为连接池名称
+     * @param mysqlConfig MySQL配置对象
+     * @return HikariDataSource
+     */
+    private static HikariDataSource createDataSource(String name, MysqlConfig mysqlConfig) {
         HikariConfig hikariConfig = new HikariConfig();
-        hikariConfig.setJdbcUrl(config.getUrl());
-        hikariConfig.setUsername(config.getUser());
-        hikariConfig.setPassword(config.getPass());
-        hikariConfig.setMinimumIdle(config.getMinimumIdle());
-        hikariConfig.setMaximumPoolSize(config.getMaximumPoolSize());
-        hikariConfig.setConnectionTimeout(config.getConnectionTimeout());
-        hikariConfig.setIdleTimeout(config.getIdleTimeout());
-        hikariConfig.setMaxLifetime(config.getMaxLifetime());
-        hikariConfig.setConnectionTestQuery(config.getConnectionTestQuery());
-        if (config.isConnectionTestOnBorrow()) {
+        hikariConfig.setPoolName(name);
+        hikariConfig.setJdbcUrl(mysqlConfig.getUrl());
+        hikariConfig.setUsername(mysqlConfig.getUser());
+        hikariConfig.setPassword(mysqlConfig.getPass());
+        hikariConfig.setMinimumIdle(mysqlConfig.getMinimumIdle());
+        hikariConfig.setMaximumPoolSize(mysqlConfig.getMaximumPoolSize());
+        hikariConfig.setConnectionTimeout(mysqlConfig.getConnectionTimeout());
+        hikariConfig.setIdleTimeout(mysqlConfig.getIdleTimeout());
+        hikariConfig.setMaxLifetime(mysqlConfig.getMaxLifetime());
+        hikariConfig.setConnectionTestQuery(mysqlConfig.getConnectionTestQuery());
+        if (mysqlConfig.isConnectionTestOnBorrow()) {
             hikariConfig.addDataSourceProperty("testOnBorrow", "true");
         }
-        
-        dataSource = new HikariDataSource(hikariConfig);
-        log.info("MySQL工具类初始化成功，连接池已启动");
+        // MySQL Connector/J 预编译语句缓存
+        hikariConfig.addDataSourceProperty("cachePrepStmts", String.valueOf(mysqlConfig.isCachePrepStmts()));
+        hikariConfig.addDataSourceProperty("prepStmtCacheSize", String.valueOf(mysqlConfig.getPrepStmtCacheSize()));
+        hikariConfig.addDataSourceProperty("prepStmtCacheSqlLimit", String.valueOf(mysqlConfig.getPrepStmtCacheSqlLimit()));
+        hikariConfig.addDataSourceProperty("useServerPrepStmts", String.valueOf(mysqlConfig.isUseServerPrepStmts()));
+        return new HikariDataSource(hikariConfig);
     }
 
     /**
@@ -93,10 +237,254 @@ public class MysqlUtils {
      * @throws SQLException 获取连接时发生异常
      */
     public static Connection getConnection() throws SQLException {
+        HikariDataSource dataSource = router.getPrimary();
         if (dataSource == null || dataSource.isClosed()) {
             throw new IllegalStateException("MySQL工具类未初始化或已关闭，请先调用init方法");
         }
-        return dataSource.getConnection();
+        return borrow(dataSource);
+    }
+
+    /**
+     * 获取指定名称数据源的连接
+     * @param name 数据源名称（主库为primary）
+     * @return Connection对象
+     * @throws SQLException 获取连接时发生异常
+     */
+    public static Connection getConnection(String name) throws SQLException {
+        HikariDataSource dataSource = router.get(name);
+        if (dataSource == null || dataSource.isClosed()) {
+            throw new IllegalStateException("MySQL数据源[" + name + "]不存在或已关闭");
+        }
+        return borrow(dataSource);
+    }
+
+    /**
+     * 获取读连接（按负载均衡策略选择从库，没有从库或强制读主库时使用主库）
+     * @return Connection对象
+     * @throws SQLException 获取连接时发生异常
+     */
+    public static Connection getReadConnection() throws SQLException {
+        HikariDataSource dataSource = router.selectForRead();
+        if (dataSource == null || dataSource.isClosed()) {
+            throw new IllegalStateException("MySQL工具类未初始化或已关闭，请先调用init方法");
+        }
+        return borrow(dataSource);
+    }
+
+    /**
+     * 从连接池获取连接，设置了指标接收器时记录等待时间
+     * @param dataSource 数据源
+     * @return Connection对象
+     * @throws SQLException 获取连接时发生异常
+     */
+    private static Connection borrow(HikariDataSource dataSource) throws SQLException {
+        MetricsSink sink = metricsSink;
+        if (sink == null) {
+            return dataSource.getConnection();
+        }
+        long start = System.nanoTime();
+        Connection conn = dataSource.getConnection();
+        sink.recordConnectionWait(dataSource.getPoolName(), System.nanoTime() - start);
+        return conn;
+    }
+
+    /**
+     * 获取执行SQL的连接，当前线程处于事务中时返回事务连接
+     * @param read 是否为读操作
+     * @return Connection对象
+     * @throws SQLException 获取连接时发生异常
+     */
+    private static Connection acquireConnection(boolean read) throws SQLException {
+        TxContext tx = currentTx.get();
+        if (tx != null) {
+            return tx.getConnection();
+        }
+        return read ? getReadConnection() : getConnection();
+    }
+
+    /**
+     * 判断连接是否为当前线程事务绑定的连接
+     * @param conn Connection对象
+     * @return 是否为事务连接
+     */
+    private static boolean isTxConnection(Connection conn) {
+        TxContext tx = currentTx.get();
+        return tx != null && tx.getConnection() == conn;
+    }
+
+    /**
+     * 在事务中执行操作（默认选项）
+     * 作用域内的update、batchUpdate、selectList、selectOne共用同一个连接，
+     * 正常返回时提交，抛出异常或调用setRollbackOnly时回滚，异常原样抛出；已在事务中时加入外层事务
+     * @param action 事务操作
+     * @param <R> 返回值类型
+     * @return 操作结果
+     * @throws SQLException 获取连接、设置事务或提交事务时发生异常
+     */
+    public static <R> R inTransaction(Function<TxContext, R> action) throws SQLException {
+        return inTransaction(TxOptions.defaults(), action);
+    }
+
+    /**
+     * 在事务中执行操作
+     * 操作抛出的异常原样抛出，异常链中包含死锁时按死锁重试次数重新执行整个事务；
+     * 嵌套调用指定与外层不同的隔离级别或只读标记时抛出IllegalStateException，不加入外层事务
+     * @param options 事务选项（隔离级别、只读、死锁重试）
+     * @param action 事务操作
+     * @param <R> 返回值类型
+     * @return 操作结果
+     * @throws SQLException 获取连接、设置事务或提交事务时发生异常
+     */
+    public static <R> R inTransaction(TxOptions options, Function<TxContext, R> action) throws SQLException {
+        if (action == null) {
+            throw new IllegalArgumentException("事务操作不能为空");
+        }
+        TxOptions txOptions = options != null ? options : TxOptions.defaults();
+        TxContext outer = currentTx.get();
+        if (outer != null) {
+            checkNestedOptions(outer.getOptions(), txOptions);
+            return action.apply(outer);
+        }
+        int attempt = 0;
+        while (true) {
+            try {
+                return runTransaction(txOptions, action, attempt);
+            } catch (SQLException | RuntimeException e) {
+                SQLException cause = findSqlException(e);
+                if (attempt >= txOptions.getDeadlockRetries() || cause == null || !isDeadlock(cause)) {
+                    throw e;
+                }
+                attempt++;
+                log.warn("事务发生死锁，第{}次重试: {}", attempt, cause.getMessage());
+                try {
+                    Thread.sleep(txOptions.getRetryInterval() * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * 检查嵌套事务选项是否与外层事务一致
+     * @param outer 外层事务选项
+     * @param inner 嵌套事务选项
+     */
+    private static void checkNestedOptions(TxOptions outer, TxOptions inner) {
+        if (inner.getIsolationLevel() >= 0 && inner.getIsolationLevel() != outer.getIsolationLevel()) {
+            throw new IllegalStateException("嵌套事务的隔离级别(" + inner.getIsolationLevel()
+                    + ")与外层事务(" + outer.getIsolationLevel() + ")不同，无法加入外层事务");
+        }
+        if (inner.isReadOnly() != outer.isReadOnly()) {
+            throw new IllegalStateException("嵌套事务的只读标记(" + inner.isReadOnly()
+                    + ")与外层事务(" + outer.isReadOnly() + ")不同，无法加入外层事务");
+        }
+    }
+
+    /**
+     * 当前线程是否处于事务中
+     * @return 是否处于事务中
+     */
+    public static boolean isInTransaction() {
+        return currentTx.get() != null;
+    }
+
+    /**
+     * 执行一次事务
+     */
+    private static <R> R runTransaction(TxOptions options, Function<TxContext, R> action, int attempt) throws SQLException {
+        Connection conn = options.isReadOnly() ? getReadConnection() : getConnection();
+        TxContext tx = new TxContext(conn, attempt, options);
+        try {
+            // 连接归还时HikariCP会重置autoCommit、隔离级别和只读状态
+            conn.setAutoCommit(false);
+            if (options.getIsolationLevel() >= 0) {
+                conn.setTransactionIsolation(options.getIsolationLevel());
+            }
+            if (options.isReadOnly()) {
+                conn.setReadOnly(true);
+            }
+            currentTx.set(tx);
+            R result = action.apply(tx);
+            if (tx.isRollbackOnly()) {
+                conn.rollback();
+            } else {
+                conn.commit();
+                // 事务期间其他线程可能读到并缓存了未提交前的数据，提交后再失效一次
+                QueryCache cache = queryCache;
+                if (!tx.getUpdatedStatements().isEmpty() && cache.isActive()) {
+                    cache.invalidate(tablesOf(tx.getUpdatedStatements()));
+                }
+            }
+            return result;
+        } catch (SQLException | RuntimeException | Error e) {
+            rollbackQuietly(conn);
+            throw e;
+        } finally {
+            currentTx.remove();
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                log.warn("关闭Connection失败", e);
+            }
+        }
+    }
+
+    /**
+     * 回滚事务，忽略回滚异常
+     * @param conn Connection对象
+     */
+    private static void rollbackQuietly(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            log.warn("回滚事务失败", e);
+        }
+    }
+
+    /**
+     * 在异常链中查找SQLException
+     * @param e 异常
+     * @return SQLException，不存在时返回null
+     */
+    private static SQLException findSqlException(Throwable e) {
+        Throwable cause = e;
+        while (cause != null) {
+            if (cause instanceof SQLException) {
+                return (SQLException) cause;
+            }
+            cause = cause.getCause();
+        }
+        return null;
+    }
+
+    /**
+     * 判断异常是否可重试：死锁、锁等待超时、瞬时异常和可恢复异常
+     * @param e SQLException
+     * @return 是否可重试
+     */
+    static boolean isRetryable(SQLException e) {
+        return e instanceof SQLTransientException || e instanceof SQLRecoverableException || isDeadlock(e);
+    }
+
+    /**
+     * 判断是否为死锁或锁等待超时（SQLState 40001，MySQL错误码1213、1205）
+     * @param e SQLException
+     * @return 是否可重试
+     */
+    private static boolean isDeadlock(SQLException e) {
+        SQLException current = e;
+        while (current != null) {
+            if (current instanceof SQLTransactionRollbackException
+                    || "40001".equals(current.getSQLState())
+                    || current.getErrorCode() == 1213
+                    || current.getErrorCode() == 1205) {
+                return true;
+            }
+            current = current.getNextException();
+        }
+        return false;
     }
 
     /**
@@ -117,7 +505,8 @@ public class MysqlUtils {
             log.warn("关闭Statement失败", e);
         }
         try {
-            if (conn != null) conn.close();
+            // 事务绑定的连接由inTransaction负责关闭
+            if (conn != null && !isTxConnection(conn)) conn.close();
         } catch (SQLException e) {
             log.warn("关闭Connection失败", e);
         }
@@ -127,8 +516,14 @@ public class MysqlUtils {
      * 关闭连接池
      */
     public static void shutdown() {
-        if (dataSource != null && !dataSource.isClosed()) {
-            dataSource.close();
+        boolean closed = false;
+        for (HikariDataSource dataSource : router.clear()) {
+            if (!dataSource.isClosed()) {
+                dataSource.close();
+                closed = true;
+            }
+        }
+        if (closed) {
             log.info("MySQL连接池已关闭");
         }
     }
@@ -142,6 +537,11 @@ public class MysqlUtils {
         if (!config.isShowSql()) {
             return;
         }
+        // 日志等级未开启时不拼接SQL和参数
+        String level = config.getSqlLevel().toLowerCase();
+        if (!isLogEnabled(level)) {
+            return;
+        }
 
         String sqlToLog = sql;
         if (config.isFormatSql()) {
@@ -150,17 +550,9 @@ public class MysqlUtils {
 
         String logMessage = "执行SQL: " + sqlToLog;
         if (config.isShowParams() && params != null && params.length > 0) {
-            StringBuilder paramsStr = new StringBuilder();
-            for (int i = 0; i < params.length; i++) {
-                paramsStr.append("[").append(i).append("] ").append(params[i]);
-                if (i < params.length - 1) {
-                    paramsStr.append(", ");
-                }
-            }
-            logMessage += "\n参数: " + paramsStr;
+            logMessage += "\n参数: " + formatParams(params);
         }
 
-        String level = config.getSqlLevel().toLowerCase();
         switch (level) {
             case "info":
                 log.info(logMessage);
@@ -176,6 +568,102 @@ public class MysqlUtils {
         }
     }
 
+    /**
+     * 判断指定日志等级是否开启
+     * @param level 日志等级
+     * @return 是否开启
+     */
+    private static boolean isLogEnabled(String level) {
+        switch (level) {
+            case "info":
+                return log.isInfoEnabled();
+            case "warn":
+                return log.isWarnEnabled();
+            case "error":
+                return log.isErrorEnabled();
+            default:
+                return log.isDebugEnabled();
+        }
+    }
+
+    /**
+     * 拼接参数字符串，最多输出前MAX_LOGGED_PARAMS个参数
+     * @param params 参数
+     * @return 参数字符串，格式为 [0] a, [1] b；超出时追加 ...（共N个参数）
+     */
+    static String formatParams(Object... params) {
+        int count = Math.min(params.length, MAX_LOGGED_PARAMS);
+        StringBuilder paramsStr = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            paramsStr.append("[").append(i).append("] ").append(params[i]);
+            if (i < count - 1) {
+                paramsStr.append(", ");
+            }
+        }
+        if (params.length > count) {
+            paramsStr.append(" ...（共").append(params.length).append("个参数）");
+        }
+        return paramsStr.toString();
+    }
+
+    /**
+     * 记录SQL执行耗时：超过慢查询阈值时输出SQL和参数，并上报给指标接收器
+     * @param sql SQL语句
+     * @param params 参数
+     * @param start 开始获取连接的时间（System.nanoTime）
+     * @param acquired 获取到连接的时间
+     * @param executed 执行完成的时间
+     * @param fetched 读取结果完成的时间
+     * @param rows 返回行数或影响行数
+     */
+    private static void recordStatement(String sql, Object[] params, long start, long acquired,
+                                        long executed, long fetched, long rows) {
+        long acquireNanos = acquired - start;
+        long executeNanos = executed - acquired;
+        long fetchNanos = fetched - executed;
+        MysqlConfig currentConfig = config;
+        if (currentConfig != null && currentConfig.getSlowQueryThreshold() > 0
+                && fetched - start >= TimeUnit.MILLISECONDS.toNanos(currentConfig.getSlowQueryThreshold())
+                && log.isWarnEnabled()) {
+            String message = String.format("慢SQL: 总耗时%dms（获取连接%dms，执行%dms，读取%dms），行数%d\nSQL: %s",
+                    TimeUnit.NANOSECONDS.toMillis(fetched - start), TimeUnit.NANOSECONDS.toMillis(acquireNanos),
+                    TimeUnit.NANOSECONDS.toMillis(executeNanos), TimeUnit.NANOSECONDS.toMillis(fetchNanos), rows, sql);
+            if (params != null && params.length > 0) {
+                message += "\n参数: " + formatParams(params);
+            }
+            log.warn(message);
+        }
+        MetricsSink sink = metricsSink;
+        if (sink != null) {
+            sink.recordStatement(SqlMetrics.fingerprint(sql), acquireNanos, executeNanos, fetchNanos, rows);
+        }
+    }
+
+    /**
+     * 设置SQL指标接收器，传入null关闭指标收集
+     * @param sink 指标接收器
+     */
+    public static void setMetricsSink(MetricsSink sink) {
+        metricsSink = sink;
+    }
+
+    /**
+     * 获取当前SQL指标接收器
+     * @return 指标接收器，未设置时返回null
+     */
+    public static MetricsSink getMetricsSink() {
+        return metricsSink;
+    }
+
+    /**
+     * 获取内置SQL指标收集器（配置sqlMetrics=true或设置了SqlMetrics时可用）
+     * @return SqlMetrics，当前接收器不是SqlMetrics时返回null
+     */
+    public static SqlMetrics getSqlMetrics() {
+        MetricsSink sink = metricsSink;
+        return sink instanceof SqlMetrics ? (SqlMetrics) sink : null;
+    }
+
     /**
      * 格式化SQL语句（简单格式化）
      * @param sql SQL语句
@@ -214,15 +702,118 @@ public class MysqlUtils {
         Connection conn = null;
         PreparedStatement pstmt = null;
         try {
-            conn = getConnection();
+            long start = System.nanoTime();
+            conn = acquireConnection(false);
+            long acquired = System.nanoTime();
             pstmt = conn.prepareStatement(sql);
             setParams(pstmt, params);
-            return pstmt.executeUpdate();
+            int rows = pstmt.executeUpdate();
+            long executed = System.nanoTime();
+            recordStatement(sql, params, start, acquired, executed, executed, rows);
+            invalidateTables(sql);
+            return rows;
         } finally {
             close(conn, pstmt, null);
         }
     }
 
+    /**
+     * 批量执行更新操作（INSERT、UPDATE、DELETE），在主库上执行
+     * @param sql SQL语句
+     * @param paramsList 每一行的参数
+     * @return 每一行影响的行数
+     * @throws SQLException 执行SQL时发生异常
+     */
+    public static int[] batchUpdate(String sql, List<Object[]> paramsList) throws SQLException {
+        if (paramsList == null || paramsList.isEmpty()) {
+            return new int[0];
+        }
+        logSql(sql);
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        try {
+            long start = System.nanoTime();
+            conn = acquireConnection(false);
+            long acquired = System.nanoTime();
+            pstmt = conn.prepareStatement(sql);
+            for (Object[] params : paramsList) {
+                setParams(pstmt, params);
+                pstmt.addBatch();
+            }
+            int[] rows = pstmt.executeBatch();
+            long executed = System.nanoTime();
+            long total = 0;
+            for (int row : rows) {
+                total += Math.max(row, 0);
+            }
+            recordStatement(sql, null, start, acquired, executed, executed, total);
+            invalidateTables(sql);
+            return rows;
+        } finally {
+            close(conn, pstmt, null);
+        }
+    }
+
+    /**
+     * 批量插入或更新（默认选项）
+     * 生成多行 INSERT ... ON DUPLICATE KEY UPDATE 语句，按估算大小分块后在多个连接上并行执行
+     * @param table 表名
+     * @param keyColumns 唯一键列（冲突时不更新）
+     * @param rows 行数据流，列名取自第一行
+     * @return 执行结果（插入数、更新数）
+     * @throws SQLException 执行SQL时发生异常；不在事务中时之前已提交的分块不回滚，异常信息包含已提交的行数
+     */
+    public static UpsertResult bulkUpsert(String table, List<String> keyColumns, Stream<Map<String, Object>> rows) throws SQLException {
+        return bulkUpsert(table, keyColumns, rows, UpsertOptions.defaults());
+    }
+
+    /**
+     * 批量插入或更新
+     * 不在事务中时按分块分别提交，需要全部成功或全部不写入时在inTransaction中调用
+     * @param table 表名
+     * @param keyColumns 唯一键列（冲突时不更新）
+     * @param rows 行数据流，列名取自第一行
+     * @param options 分块、并行和重试选项
+     * @return 执行结果（插入数、更新数）
+     * @throws SQLException 执行SQL时发生异常；不在事务中时之前已提交的分块不回滚，异常信息包含已提交的行数
+     */
+    public static UpsertResult bulkUpsert(String table, List<String> keyColumns, Stream<Map<String, Object>> rows,
+                                          UpsertOptions options) throws SQLException {
+        if (rows == null) {
+            throw new IllegalArgumentException("行数据不能为空");
+        }
+        return new BulkUpserter(table, keyColumns, options).execute(rows.iterator());
+    }
+
+    /**
+     * 批量插入或更新Bean（默认选项），字段名按驼峰转下划线作为列名
+     * @param table 表名
+     * @param keyColumns 唯一键列（冲突时不更新）
+     * @param beans Bean数据流
+     * @return 执行结果（插入数、更新数）
+     * @throws SQLException 执行SQL时发生异常；不在事务中时之前已提交的分块不回滚，异常信息包含已提交的行数
+     */
+    public static UpsertResult bulkUpsertBeans(String table, List<String> keyColumns, Stream<?> beans) throws SQLException {
+        return bulkUpsertBeans(table, keyColumns, beans, UpsertOptions.defaults());
+    }
+
+    /**
+     * 批量插入或更新Bean，字段名按驼峰转下划线作为列名
+     * @param table 表名
+     * @param keyColumns 唯一键列（冲突时不更新）
+     * @param beans Bean数据流
+     * @param options 分块、并行和重试选项
+     * @return 执行结果（插入数、更新数）
+     * @throws SQLException 执行SQL时发生异常；不在事务中时之前已提交的分块不回滚，异常信息包含已提交的行数
+     */
+    public static UpsertResult bulkUpsertBeans(String table, List<String> keyColumns, Stream<?> beans,
+                                               UpsertOptions options) throws SQLException {
+        if (beans == null) {
+            throw new IllegalArgumentException("Bean数据不能为空");
+        }
+        return new BulkUpserter(table, keyColumns, options).execute(BulkUpserter.beanRows(beans.iterator()));
+    }
+
     /**
      * 执行查询，返回对象列表
      * @param sql SQL语句
@@ -237,10 +828,13 @@ public class MysqlUtils {
         ResultSet rs = null;
         List<Map<String, Object>> resultList = new ArrayList<>();
         try {
-            conn = getConnection();
+            long start = System.nanoTime();
+            conn = acquireConnection(true);
+            long acquired = System.nanoTime();
             pstmt = conn.prepareStatement(sql);
             setParams(pstmt, params);
             rs = pstmt.executeQuery();
+            long executed = System.nanoTime();
             ResultSetMetaData metaData = rs.getMetaData();
             int columnCount = metaData.getColumnCount();
             while (rs.next()) {
@@ -251,6 +845,7 @@ public class MysqlUtils {
                 }
                 resultList.add(row);
             }
+            recordStatement(sql, params, start, acquired, executed, System.nanoTime(), resultList.size());
             return resultList;
         } finally {
             close(conn, pstmt, rs);
@@ -269,11 +864,136 @@ public class MysqlUtils {
         return list.isEmpty() ? null : list.get(0);
     }
 
+    /**
+     * 执行查询并缓存结果，返回对象列表
+     * 适用于字典、行政区划等很少变化的数据；结果按(SQL, 参数)缓存，
+     * 通过update、batchUpdate更新相关表或超过queryCacheTtl后失效。事务中不使用缓存。
+     * 返回的列表和每行Map都是只读的，命中时多个调用方共用同一份结果
+     * @param sql SQL语句
+     * @param params 参数
+     * @return 查询结果列表（只读）
+     * @throws SQLException 执行SQL时发生异常
+     */
+    public static List<Map<String, Object>> selectListCached(String sql, Object... params) throws SQLException {
+        return selectListCached(sql, params, sql, params);
+    }
+
+    /**
+     * 执行查询并以指定的键缓存结果
+     * @param sql SQL语句
+     * @param params 参数
+     * @param cacheSql 缓存键SQL（如SQL指纹），同时用于提取失效时匹配的表名
+     * @param cacheParams 缓存键参数
+     * @return 查询结果列表（只读）
+     * @throws SQLException 执行SQL时发生异常
+     */
+    static List<Map<String, Object>> selectListCached(String sql, Object[] params,
+                                                      String cacheSql, Object[] cacheParams) throws SQLException {
+        if (isInTransaction()) {
+            return selectList(sql, params);
+        }
+        QueryCache cache = queryCache;
+        List<Map<String, Object>> cached = cache.get(cacheSql, cacheParams);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cache.generation();
+        List<Map<String, Object>> resultList = QueryCache.freeze(selectList(sql, params));
+        cache.put(cacheSql, cacheParams, resultList, generation);
+        return resultList;
+    }
+
+    /**
+     * 执行查询并缓存结果，返回单个对象
+     * @param sql SQL语句
+     * @param params 参数
+     * @return 查询结果
+     * @throws SQLException 执行SQL时发生异常
+     */
+    public static Map<String, Object> selectOneCached(String sql, Object... params) throws SQLException {
+        List<Map<String, Object>> list = selectListCached(sql, params);
+        return list.isEmpty() ? null : list.get(0);
+    }
+
+    /**
+     * 使涉及指定表的查询缓存失效（用于绕过MysqlUtils修改数据的场景）
+     * @param tables 表名
+     */
+    public static void invalidateQueryCache(String... tables) {
+        Set<String> names = new HashSet<>();
+        if (tables != null) {
+            for (String table : tables) {
+                if (!StringUtils.isEmpty(table)) {
+                    names.addAll(QueryCache.extractTables("FROM " + table));
+                }
+            }
+        }
+        if (!names.isEmpty()) {
+            queryCache.invalidate(names);
+        }
+    }
+
+    /**
+     * 清空查询缓存
+     */
+    public static void clearQueryCache() {
+        queryCache.clear();
+    }
+
+    /**
+     * 获取查询缓存统计信息
+     * @return 统计信息快照
+     */
+    public static QueryCacheStats getQueryCacheStats() {
+        return queryCache.stats();
+    }
+
+    /**
+     * 更新语句执行后使相关表的查询缓存失效，无法识别表名时清空全部缓存；
+     * 查询缓存从未使用过时不提取表名。事务中记录语句，提交后再失效一次
+     * @param sql 更新SQL
+     */
+    private static void invalidateTables(String sql) {
+        TxContext tx = currentTx.get();
+        if (tx != null) {
+            tx.getUpdatedStatements().add(sql);
+        }
+        QueryCache cache = queryCache;
+        if (cache.isActive()) {
+            cache.invalidate(QueryCache.extractTables(sql));
+        }
+    }
+
+    /**
+     * 提取一组更新语句涉及的表，任一语句无法识别表名时返回空集合（清空全部缓存）
+     */
+    private static Set<String> tablesOf(Set<String> statements) {
+        Set<String> tables = new HashSet<>();
+        for (String statement : statements) {
+            Set<String> extracted = QueryCache.extractTables(statement);
+            if (extracted.isEmpty()) {
+                return extracted;
+            }
+            tables.addAll(extracted);
+        }
+        return tables;
+    }
+
     /**
      * 获取当前连接池活跃连接数
      * @return 活跃连接数
      */
     public static int getActiveConnections() {
+        return getActiveConnections(DataSourceRouter.PRIMARY);
+    }
+
+    /**
+     * 获取指定数据源活跃连接数
+     * @param name 数据源名称
+     * @return 活跃连接数
+     */
+    public static int getActiveConnections(String name) {
+        HikariDataSource dataSource = router.get(name);
         return dataSource != null ? dataSource.getHikariPoolMXBean().getActiveConnections() : 0;
     }
 
@@ -282,9 +1002,39 @@ public class MysqlUtils {
      * @return 空闲连接数
      */
     public static int getIdleConnections() {
+        return getIdleConnections(DataSourceRouter.PRIMARY);
+    }
+
+    /**
+     * 获取指定数据源空闲连接数
+     * @param name 数据源名称
+     * @return 空闲连接数
+     */
+    public static int getIdleConnections(String name) {
+        HikariDataSource dataSource = router.get(name);
         return dataSource != null ? dataSource.getHikariPoolMXBean().getIdleConnections() : 0;
     }
 
+    /**
+     * 获取指定数据源等待获取连接的线程数
+     * @param name 数据源名称
+     * @return 等待线程数
+     */
+    public static int getThreadsAwaitingConnection(String name) {
+        HikariDataSource dataSource = router.get(name);
+        return dataSource != null ? dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection() : 0;
+    }
+
+    /**
+     * 获取指定数据源的连接总数
+     * @param name 数据源名称
+     * @return 连接总数
+     */
+    public static int getTotalConnections(String name) {
+        HikariDataSource dataSource = router.get(name);
+        return dataSource != null ? dataSource.getHikariPoolMXBean().getTotalConnections() : 0;
+    }
+
     /**
      * 从文件读取SQL语句（默认UTF-8编码）
      * @param filePath SQL文件路径
@@ -351,6 +1101,45 @@ public class MysqlUtils {
         return sql.toString().trim();
     }
 
+    /**
+     * 获取文件中的SQL语句（启用sqlTextCache时走缓存，按文件修改时间失效）
+     * @param filePath SQL文件路径
+     * @return SQL语句
+     * @throws IOException 读取文件时发生异常
+     */
+    public static String getSqlFromFile(String filePath) throws IOException {
+        if (config != null && !config.isSqlTextCache()) {
+            return readSqlFromFile(filePath);
+        }
+        if (StringUtils.isEmpty(filePath)) {
+            throw new IllegalArgumentException("SQL文件路径不能为空");
+        }
+        return sqlTextCache.getFromFile(filePath, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 获取classpath资源中的SQL语句（启用sqlTextCache时只加载一次）
+     * @param resourcePath 资源路径
+     * @return SQL语句
+     * @throws IOException 读取资源时发生异常
+     */
+    public static String getSqlFromResource(String resourcePath) throws IOException {
+        if (config != null && !config.isSqlTextCache()) {
+            return readSqlFromResource(resourcePath);
+        }
+        if (StringUtils.isEmpty(resourcePath)) {
+            throw new IllegalArgumentException("SQL资源路径不能为空");
+        }
+        return sqlTextCache.getFromResource(resourcePath, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 清空SQL文本缓存
+     */
+    public static void clearSqlCache() {
+        sqlTextCache.clear();
+    }
+
     /**
      * 将SQL语句写入文件（默认UTF-8编码，覆盖模式）
      * @param sql SQL语句
@@ -388,6 +1177,7 @@ public class MysqlUtils {
             throw new IllegalArgumentException("SQL语句不能为空");
         }
         boolean success = FileUtils.writeFile(filePath, sql, charset, append);
+        sqlTextCache.evictFile(filePath);
         if (!success) {
             throw new IOException("写入SQL文件失败：" + filePath);
         }
@@ -403,7 +1193,7 @@ public class MysqlUtils {
      * @throws SQLException 执行SQL时发生异常
      */
     public static List<Map<String, Object>> selectListFromFile(String sqlFilePath, Object... params) throws IOException, SQLException {
-        String sql = readSqlFromFile(sqlFilePath);
+        String sql = getSqlFromFile(sqlFilePath);
         return selectList(sql, params);
     }
 
@@ -416,7 +1206,7 @@ public class MysqlUtils {
      * @throws SQLException 执行SQL时发生异常
      */
     public static Map<String, Object> selectOneFromFile(String sqlFilePath, Object... params) throws IOException, SQLException {
-        String sql = readSqlFromFile(sqlFilePath);
+        String sql = getSqlFromFile(sqlFilePath);
         return selectOne(sql, params);
     }
 
@@ -429,7 +1219,7 @@ public class MysqlUtils {
      * @throws SQLException 执行SQL时发生异常
      */
     public static int updateFromFile(String sqlFilePath, Object... params) throws IOException, SQLException {
-        String sql = readSqlFromFile(sqlFilePath);
+        String sql = getSqlFromFile(sqlFilePath);
         return update(sql, params);
     }
 
@@ -442,7 +1232,7 @@ public class MysqlUtils {
      * @throws SQLException 执行SQL时发生异常
      */
     public static List<Map<String, Object>> selectListFromResource(String resourcePath, Object... params) throws IOException, SQLException {
-        String sql = readSqlFromResource(resourcePath);
+        String sql = getSqlFromResource(resourcePath);
         return selectList(sql, params);
     }
 
@@ -455,7 +1245,7 @@ public class MysqlUtils {
      * @throws SQLException 执行SQL时发生异常
      */
     public static Map<String, Object> selectOneFromResource(String resourcePath, Object... params) throws IOException, SQLException {
-        String sql = readSqlFromResource(resourcePath);
+        String sql = getSqlFromResource(resourcePath);
         return selectOne(sql, params);
     }
 
@@ -468,7 +1258,7 @@ public class MysqlUtils {
      * @throws SQLException 执行SQL时发生异常
      */
     public static int updateFromResource(String resourcePath, Object... params) throws IOException, SQLException {
-        String sql = readSqlFromResource(resourcePath);
+        String sql = getSqlFromResource(resourcePath);
         return update(sql, params);
     }
 
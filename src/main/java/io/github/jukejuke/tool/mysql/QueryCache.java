@@ -0,0 +1,333 @@
+package io.github.jukejuke.tool.mysql;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 查询结果缓存
+ * 以(SQL, 参数)为键缓存查询结果，按近似LRU淘汰并支持TTL过期；
+ * 每个条目记录SQL涉及的表，更新这些表时失效。
+ * 读取不加锁，超出容量时由一个线程批量淘汰最久未访问的条目。
+ * 缓存的结果在写入时转换为只读列表，命中时直接返回，不再复制
+ */
+final class QueryCache {
+
+    /**
+     * 表名提取：FROM/JOIN/UPDATE/INTO/TABLE 后的标识符
+     */
+    private static final Pattern TABLE_PATTERN = Pattern.compile(
+            "\\b(?:FROM|JOIN|UPDATE|INTO|TABLE)\\s+(?:IF\\s+(?:NOT\\s+)?EXISTS\\s+)?([`\"\\w.]+)",
+            Pattern.CASE_INSENSITIVE);
+
+    /**
+     * FROM子句中逗号分隔的表：FROM a x, b y
+     */
+    private static final Pattern FROM_LIST_PATTERN = Pattern.compile(
+            "\\bFROM\\s+(.+?)(?:\\bWHERE\\b|\\bGROUP\\b|\\bORDER\\b|\\bLIMIT\\b|\\bHAVING\\b|\\bJOIN\\b|\\bUNION\\b|\\)|$)",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlMillis;
+
+    /**
+     * 淘汰锁，同一时间只有一个线程执行淘汰
+     */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+
+    /**
+     * 失效代数，每次失效或清空时递增，用于丢弃失效前开始的查询结果
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 是否使用过（调用过get或put），未使用时更新语句不需要提取表名和失效
+     */
+    private volatile boolean active;
+
+    QueryCache(int maxSize, long ttlMillis) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * 获取缓存的查询结果
+     * @param sql SQL语句
+     * @param params 参数
+     * @return 查询结果（只读），未命中或已过期时返回null
+     */
+    List<Map<String, Object>> get(String sql, Object[] params) {
+        if (!active) {
+            active = true;
+        }
+        Key key = new Key(sql, params);
+        Entry entry = entries.get(key);
+        if (entry != null && ttlMillis > 0 && System.currentTimeMillis() >= entry.expireAt) {
+            entries.remove(key, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        entry.accessedAt = System.nanoTime();
+        hitCount.increment();
+        return entry.rows;
+    }
+
+    /**
+     * 获取当前失效代数，查询数据库前调用并传给put
+     * @return 失效代数
+     */
+    long generation() {
+        return generation.get();
+    }
+
+    /**
+     * 缓存查询结果，查询期间发生过失效时不缓存
+     * @param sql SQL语句
+     * @param params 参数
+     * @param rows 查询结果，应为freeze返回的只读列表
+     * @param startGeneration 查询开始前的失效代数
+     */
+    void put(String sql, Object[] params, List<Map<String, Object>> rows, long startGeneration) {
+        if (!active) {
+            active = true;
+        }
+        if (generation.get() != startGeneration) {
+            return;
+        }
+        Key key = new Key(sql, params);
+        Entry entry = new Entry(rows, extractTables(sql),
+                ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE);
+        entries.put(key, entry);
+        // 写入期间发生失效时，失效扫描可能已经错过该条目，由写入方移除
+        if (generation.get() != startGeneration) {
+            entries.remove(key, entry);
+            return;
+        }
+        if (entries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * 缓存是否使用过，未使用过时不会有需要失效的结果
+     * @return 是否使用过
+     */
+    boolean isActive() {
+        return active;
+    }
+
+    /**
+     * 使涉及指定表的缓存失效
+     * @param tables 表名（小写，不含库名），为空时清空全部缓存
+     */
+    void invalidate(Set<String> tables) {
+        generation.incrementAndGet();
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (tables.isEmpty() || entry.tables.isEmpty() || !Collections.disjoint(entry.tables, tables)) {
+                it.remove();
+                invalidationCount.increment();
+            }
+        }
+    }
+
+    /**
+     * 清空缓存（不影响统计）
+     */
+    void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * 淘汰最久未访问的条目，一次淘汰超出部分加上容量的1/10，分摊排序开销；
+     * 其他线程正在淘汰时直接返回，由持锁线程在释放锁后重新检查容量
+     */
+    private void evict() {
+        do {
+            if (!evictionLock.tryLock()) {
+                return;
+            }
+            try {
+                int excess = entries.size() - maxSize;
+                if (excess > 0) {
+                    int count = Math.min(entries.size(), excess + maxSize / 10);
+                    // 读取时会并发更新访问时间，先取快照再排序，保证比较结果稳定
+                    List<Candidate> candidates = new ArrayList<>(entries.size());
+                    for (Map.Entry<Key, Entry> e : entries.entrySet()) {
+                        candidates.add(new Candidate(e.getKey(), e.getValue()));
+                    }
+                    candidates.sort(Comparator.comparingLong(c -> c.accessedAt));
+                    for (int i = 0; i < count && i < candidates.size(); i++) {
+                        Candidate candidate = candidates.get(i);
+                        if (entries.remove(candidate.key, candidate.entry)) {
+                            evictionCount.increment();
+                        }
+                    }
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        } while (entries.size() > maxSize);
+    }
+
+    /**
+     * 获取统计快照
+     * @return 统计信息
+     */
+    QueryCacheStats stats() {
+        QueryCacheStats stats = new QueryCacheStats();
+        stats.setHitCount(hitCount.sum());
+        stats.setMissCount(missCount.sum());
+        stats.setEvictionCount(evictionCount.sum());
+        stats.setInvalidationCount(invalidationCount.sum());
+        stats.setSize(entries.size());
+        return stats;
+    }
+
+    /**
+     * 提取SQL涉及的表名（简单提取，小写且去掉库名和引号）
+     * @param sql SQL语句
+     * @return 表名集合，无法识别时为空集合
+     */
+    static Set<String> extractTables(String sql) {
+        Set<String> tables = new HashSet<>();
+        if (sql == null) {
+            return tables;
+        }
+        Matcher matcher = TABLE_PATTERN.matcher(sql);
+        while (matcher.find()) {
+            addTable(tables, matcher.group(1));
+        }
+        Matcher fromMatcher = FROM_LIST_PATTERN.matcher(sql);
+        while (fromMatcher.find()) {
+            String clause = fromMatcher.group(1);
+            if (clause.indexOf(',') < 0) {
+                continue;
+            }
+            for (String part : clause.split(",")) {
+                String trimmed = part.trim();
+                if (trimmed.isEmpty() || trimmed.charAt(0) == '(') {
+                    continue;
+                }
+                int space = trimmed.indexOf(' ');
+                addTable(tables, space > 0 ? trimmed.substring(0, space) : trimmed);
+            }
+        }
+        return tables;
+    }
+
+    private static void addTable(Set<String> tables, String name) {
+        String table = name.replace("`", "").replace("\"", "");
+        int dot = table.lastIndexOf('.');
+        if (dot >= 0) {
+            table = table.substring(dot + 1);
+        }
+        if (!table.isEmpty()) {
+            tables.add(table.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * 将查询结果转换为只读列表（每行也只读），用于写入缓存和返回给调用方
+     * @param rows 查询结果
+     * @return 只读的查询结果
+     */
+    static List<Map<String, Object>> freeze(List<Map<String, Object>> rows) {
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            result.add(Collections.unmodifiableMap(row));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * 缓存键
+     */
+    private static final class Key {
+        private final String sql;
+        private final Object[] params;
+        private final int hash;
+
+        private Key(String sql, Object[] params) {
+            this.sql = sql;
+            this.params = params == null ? new Object[0] : params.clone();
+            this.hash = 31 * sql.hashCode() + Arrays.deepHashCode(this.params);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && sql.equals(other.sql) && Arrays.deepEquals(params, other.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * 淘汰候选，记录排序时的访问时间快照
+     */
+    private static final class Candidate {
+        private final Key key;
+        private final Entry entry;
+        private final long accessedAt;
+
+        private Candidate(Key key, Entry entry) {
+            this.key = key;
+            this.entry = entry;
+            this.accessedAt = entry.accessedAt;
+        }
+    }
+
+    /**
+     * 缓存条目
+     */
+    private static final class Entry {
+        private final List<Map<String, Object>> rows;
+        private final Set<String> tables;
+        private final long expireAt;
+
+        /**
+         * 最后访问时间（System.nanoTime），用于近似LRU淘汰
+         */
+        private volatile long accessedAt = System.nanoTime();
+
+        private Entry(List<Map<String, Object>> rows, Set<String> tables, long expireAt) {
+            this.rows = rows;
+            this.tables = tables;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.jukejuke.tool.mysql;
+
+import lombok.Data;
+
+/**
+ * 查询结果缓存统计
+ * MysqlUtils.getQueryCacheStats返回的快照
+ */
+@Data
+public class QueryCacheStats {
+
+    /**
+     * 命中次数
+     */
+    private long hitCount;
+
+    /**
+     * 未命中次数（含过期）
+     */
+    private long missCount;
+
+    /**
+     * 因容量淘汰的条目数
+     */
+    private long evictionCount;
+
+    /**
+     * 因更新表数据失效的条目数
+     */
+    private long invalidationCount;
+
+    /**
+     * 当前缓存条目数
+     */
+    private int size;
+
+    /**
+     * 计算命中率
+     * @return 命中率，没有请求时返回0
+     */
+    public double getHitRate() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.jukejuke.tool.mysql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 内置SQL指标收集器
+ * 按SQL指纹汇总延迟直方图和行数，按数据源汇总获取连接的等待时间
+ */
+public class SqlMetrics implements MetricsSink {
+
+    /**
+     * 指纹缓存上限，超过后清空，避免拼接SQL导致无限增长
+     */
+    private static final int MAX_FINGERPRINT_CACHE = 10000;
+
+    /**
+     * 参与缓存的SQL最大长度，更长的SQL（如多行VALUES的批量语句）每次直接计算，
+     * 避免以完整SQL文本为键占用大量内存
+     */
+    static final int MAX_CACHED_SQL_LENGTH = 2048;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern VALUES_LIST = Pattern.compile("(?i)\\bVALUES\\s*(\\([^()]*\\))(?:\\s*,\\s*\\([^()]*\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    static final Map<String, String> fingerprintCache = new ConcurrentHashMap<>();
+
+    private final Map<String, SqlStats> statements = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> connectionWaits = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordStatement(String fingerprint, long acquireNanos, long executeNanos, long fetchNanos, long rows) {
+        statements.computeIfAbsent(fingerprint, SqlStats::new).record(acquireNanos, executeNanos, fetchNanos, rows);
+    }
+
+    @Override
+    public void recordConnectionWait(String dataSourceName, long waitNanos) {
+        connectionWaits.computeIfAbsent(dataSourceName, k -> new LatencyHistogram()).record(waitNanos);
+    }
+
+    /**
+     * 获取各SQL指纹的统计信息
+     * @return 指纹 -> 统计信息（只读视图）
+     */
+    public Map<String, SqlStats> getStatements() {
+        return Collections.unmodifiableMap(statements);
+    }
+
+    /**
+     * 获取各数据源获取连接的等待时间直方图
+     * @return 数据源名称 -> 延迟直方图（只读视图）
+     */
+    public Map<String, LatencyHistogram> getConnectionWaits() {
+        return Collections.unmodifiableMap(connectionWaits);
+    }
+
+    /**
+     * 清空统计信息
+     */
+    public void reset() {
+        statements.clear();
+        connectionWaits.clear();
+    }
+
+    /**
+     * 计算SQL指纹：字面量替换为?，IN列表和多行VALUES折叠，空白压缩；
+     * 不超过MAX_CACHED_SQL_LENGTH的SQL缓存计算结果
+     * @param sql SQL语句
+     * @return SQL指纹
+     */
+    public static String fingerprint(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        boolean cacheable = sql.length() <= MAX_CACHED_SQL_LENGTH;
+        String cached = cacheable ? fingerprintCache.get(sql) : null;
+        if (cached != null) {
+            return cached;
+        }
+        String result = STRING_LITERAL.matcher(sql).replaceAll("?");
+        result = NUMBER_LITERAL.matcher(result).replaceAll("?");
+        result = WHITESPACE.matcher(result).replaceAll(" ").trim();
+        result = IN_LIST.matcher(result).replaceAll("IN (?)");
+        result = VALUES_LIST.matcher(result).replaceAll("VALUES $1");
+        if (!cacheable) {
+            return result;
+        }
+        if (fingerprintCache.size() >= MAX_FINGERPRINT_CACHE) {
+            fingerprintCache.clear();
+        }
+        fingerprintCache.put(sql, result);
+        return result;
+    }
+
+    /**
+     * 提取指纹中被替换为?的字面量（字符串和数字），顺序与SQL中一致
+     * @param sql SQL语句
+     * @return 字面量列表
+     */
+    static List<String> literals(String sql) {
+        List<String> result = new ArrayList<>();
+        if (sql == null) {
+            return result;
+        }
+        StringBuffer rest = new StringBuffer();
+        Matcher strings = STRING_LITERAL.matcher(sql);
+        while (strings.find()) {
+            result.add(strings.group());
+            strings.appendReplacement(rest, "?");
+        }
+        strings.appendTail(rest);
+        Matcher numbers = NUMBER_LITERAL.matcher(rest);
+        while (numbers.find()) {
+            result.add(numbers.group());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.jukejuke.tool.mysql;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个SQL指纹的统计信息
+ * 包含总耗时直方图，以及获取连接、执行、读取结果三段耗时和行数
+ */
+public final class SqlStats {
+
+    private final String fingerprint;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAdder executeNanos = new LongAdder();
+    private final LongAdder fetchNanos = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+
+    SqlStats(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    void record(long acquire, long execute, long fetch, long rowCount) {
+        latency.record(acquire + execute + fetch);
+        acquireNanos.add(acquire);
+        executeNanos.add(execute);
+        fetchNanos.add(fetch);
+        rows.add(rowCount);
+    }
+
+    /**
+     * 获取SQL指纹
+     * @return SQL指纹
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * 获取总耗时直方图
+     * @return 延迟直方图
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * 获取执行次数
+     * @return 执行次数
+     */
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    /**
+     * 获取获取连接累计耗时（毫秒）
+     * @return 累计耗时
+     */
+    public double getAcquireMillis() {
+        return toMillis(acquireNanos.sum());
+    }
+
+    /**
+     * 获取执行累计耗时（毫秒）
+     * @return 累计耗时
+     */
+    public double getExecuteMillis() {
+        return toMillis(executeNanos.sum());
+    }
+
+    /**
+     * 获取读取结果累计耗时（毫秒）
+     * @return 累计耗时
+     */
+    public double getFetchMillis() {
+        return toMillis(fetchNanos.sum());
+    }
+
+    /**
+     * 获取累计返回行数或影响行数
+     * @return 行数
+     */
+    public long getRows() {
+        return rows.sum();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return "SqlStats{fingerprint='" + fingerprint + "', count=" + getCount()
+                + ", mean=" + String.format("%.3f", latency.getMeanMillis()) + "ms"
+                + ", p99=" + String.format("%.3f", latency.getPercentileMillis(99)) + "ms"
+                + ", max=" + String.format("%.3f", latency.getMaxMillis()) + "ms"
+                + ", rows=" + getRows() + "}";
+    }
+}
@@ -0,0 +1,200 @@
+package io.github.jukejuke.tool.mysql;
+
+import io.github.jukejuke.tool.file.FileUtils;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SQL文本缓存
+ * 按路径缓存从文件或classpath资源读取的SQL语句：
+ * 文件按最后修改时间失效（两次检查之间至少间隔checkInterval毫秒，期间不访问文件系统），
+ * 资源只加载一次；条目数超过maxSize时淘汰最久未访问的条目
+ */
+final class SqlTextCache {
+
+    private static final int DEFAULT_MAX_SIZE = 1000;
+
+    /**
+     * 文件SQL缓存，key为 字符集:路径
+     */
+    private final Map<String, FileEntry> fileCache = new ConcurrentHashMap<>();
+
+    /**
+     * 资源SQL缓存，key为 字符集:路径
+     */
+    private final Map<String, ResourceEntry> resourceCache = new ConcurrentHashMap<>();
+
+    /**
+     * 文件修改时间检查间隔（毫秒）
+     */
+    private volatile long checkInterval;
+
+    /**
+     * 最大缓存条目数（文件和资源合计）
+     */
+    private volatile int maxSize;
+
+    SqlTextCache(long checkInterval) {
+        this(checkInterval, DEFAULT_MAX_SIZE);
+    }
+
+    SqlTextCache(long checkInterval, int maxSize) {
+        this.checkInterval = checkInterval;
+        setMaxSize(maxSize);
+    }
+
+    void setCheckInterval(long checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+
+    void setMaxSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("SQL文本缓存最大条目数必须大于0");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 获取文件中的SQL，未缓存或文件已修改时重新读取
+     * @param filePath SQL文件路径
+     * @param charset 字符集
+     * @return SQL语句
+     * @throws IOException 读取文件时发生异常
+     */
+    String getFromFile(String filePath, Charset charset) throws IOException {
+        String key = key(filePath, charset);
+        long now = System.currentTimeMillis();
+        FileEntry entry = fileCache.get(key);
+        if (entry != null) {
+            entry.accessedAt = now;
+            if (now - entry.checkedAt < checkInterval) {
+                return entry.sql;
+            }
+            long lastModified = FileUtils.getLastModifiedTime(filePath);
+            if (lastModified == entry.lastModified) {
+                entry.checkedAt = now;
+                return entry.sql;
+            }
+        }
+        // 先取修改时间再读内容，读取期间发生的修改会在下次检查时被发现
+        long lastModified = FileUtils.getLastModifiedTime(filePath);
+        String sql = MysqlUtils.readSqlFromFile(filePath, charset);
+        if (entry == null) {
+            ensureCapacity();
+        }
+        fileCache.put(key, new FileEntry(sql, lastModified, now));
+        return sql;
+    }
+
+    /**
+     * 获取classpath资源中的SQL，只在首次访问时读取
+     * @param resourcePath 资源路径
+     * @param charset 字符集
+     * @return SQL语句
+     * @throws IOException 读取资源时发生异常
+     */
+    String getFromResource(String resourcePath, Charset charset) throws IOException {
+        String key = key(resourcePath, charset);
+        long now = System.currentTimeMillis();
+        ResourceEntry entry = resourceCache.get(key);
+        if (entry != null) {
+            entry.accessedAt = now;
+            return entry.sql;
+        }
+        String sql = MysqlUtils.readSqlFromResource(resourcePath, charset);
+        ensureCapacity();
+        resourceCache.put(key, new ResourceEntry(sql, now));
+        return sql;
+    }
+
+    /**
+     * 移除指定文件的缓存（所有字符集）
+     * @param filePath SQL文件路径
+     */
+    void evictFile(String filePath) {
+        fileCache.keySet().removeIf(key -> key.substring(key.indexOf(':') + 1).equals(filePath));
+    }
+
+    /**
+     * 清空全部缓存
+     */
+    void clear() {
+        fileCache.clear();
+        resourceCache.clear();
+    }
+
+    /**
+     * 当前缓存的SQL条数
+     * @return 缓存条数
+     */
+    int size() {
+        return fileCache.size() + resourceCache.size();
+    }
+
+    /**
+     * 条目数达到上限时淘汰最久未访问的条目，SQL文件数量有限，遍历查找即可
+     */
+    private void ensureCapacity() {
+        while (size() >= maxSize) {
+            String oldestFile = null;
+            String oldestResource = null;
+            long oldest = Long.MAX_VALUE;
+            for (Map.Entry<String, FileEntry> e : fileCache.entrySet()) {
+                if (e.getValue().accessedAt < oldest) {
+                    oldest = e.getValue().accessedAt;
+                    oldestFile = e.getKey();
+                }
+            }
+            for (Map.Entry<String, ResourceEntry> e : resourceCache.entrySet()) {
+                if (e.getValue().accessedAt < oldest) {
+                    oldest = e.getValue().accessedAt;
+                    oldestResource = e.getKey();
+                }
+            }
+            if (oldestResource != null) {
+                resourceCache.remove(oldestResource);
+            } else if (oldestFile != null) {
+                fileCache.remove(oldestFile);
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static String key(String path, Charset charset) {
+        return charset.name() + ":" + path;
+    }
+
+    /**
+     * 文件缓存条目
+     */
+    private static final class FileEntry {
+        private final String sql;
+        private final long lastModified;
+        private volatile long checkedAt;
+        private volatile long accessedAt;
+
+        private FileEntry(String sql, long lastModified, long checkedAt) {
+            this.sql = sql;
+            this.lastModified = lastModified;
+            this.checkedAt = checkedAt;
+            this.accessedAt = checkedAt;
+        }
+    }
+
+    /**
+     * 资源缓存条目
+     */
+    private static final class ResourceEntry {
+        private final String sql;
+        private volatile long accessedAt;
+
+        private ResourceEntry(String sql, long accessedAt) {
+            this.sql = sql;
+            this.accessedAt = accessedAt;
+        }
+    }
+}
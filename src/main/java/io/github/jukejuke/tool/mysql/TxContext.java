@@ -0,0 +1,151 @@
+package io.github.jukejuke.tool.mysql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 事务上下文
+ * 由MysqlUtils.inTransaction创建并绑定到当前线程，作用域内的MysqlUtils调用共用同一个连接。
+ * 本类的便捷方法将SQLException包装为RuntimeException（cause为原SQLException）抛出，以便在Function中直接调用，
+ * inTransaction会回滚事务并原样抛出该异常
+ */
+public class TxContext {
+
+    /**
+     * 事务连接
+     */
+    private final Connection connection;
+
+    /**
+     * 当前重试次数（首次执行为0）
+     */
+    private final int attempt;
+
+    /**
+     * 事务选项
+     */
+    private final TxOptions options;
+
+    /**
+     * 是否只回滚
+     */
+    private boolean rollbackOnly;
+
+    /**
+     * 事务中执行过的更新语句，提交后提取表名再次使查询缓存失效
+     */
+    private final Set<String> updatedStatements = new HashSet<>();
+
+    TxContext(Connection connection, int attempt, TxOptions options) {
+        this.connection = connection;
+        this.attempt = attempt;
+        this.options = options;
+    }
+
+    /**
+     * 获取事务连接（不要关闭或提交该连接）
+     * @return Connection对象
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * 获取当前重试次数
+     * @return 重试次数，首次执行为0
+     */
+    public int getAttempt() {
+        return attempt;
+    }
+
+    /**
+     * 获取事务选项
+     * @return 事务选项
+     */
+    TxOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * 标记事务只回滚，作用域结束时回滚而不提交
+     */
+    public void setRollbackOnly() {
+        this.rollbackOnly = true;
+    }
+
+    /**
+     * 事务是否已标记为只回滚
+     * @return 是否只回滚
+     */
+    public boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    /**
+     * 获取事务中执行过的更新语句
+     * @return SQL语句集合
+     */
+    Set<String> getUpdatedStatements() {
+        return updatedStatements;
+    }
+
+    /**
+     * 在事务中执行更新操作
+     * @param sql SQL语句
+     * @param params 参数
+     * @return 影响的行数
+     */
+    public int update(String sql, Object... params) {
+        try {
+            return MysqlUtils.update(sql, params);
+        } catch (SQLException e) {
+            throw new RuntimeException("事务中执行更新失败", e);
+        }
+    }
+
+    /**
+     * 在事务中批量执行更新操作
+     * @param sql SQL语句
+     * @param paramsList 每一行的参数
+     * @return 每一行影响的行数
+     */
+    public int[] batchUpdate(String sql, List<Object[]> paramsList) {
+        try {
+            return MysqlUtils.batchUpdate(sql, paramsList);
+        } catch (SQLException e) {
+            throw new RuntimeException("事务中批量执行更新失败", e);
+        }
+    }
+
+    /**
+     * 在事务中执行查询，返回对象列表
+     * @param sql SQL语句
+     * @param params 参数
+     * @return 查询结果列表
+     */
+    public List<Map<String, Object>> selectList(String sql, Object... params) {
+        try {
+            return MysqlUtils.selectList(sql, params);
+        } catch (SQLException e) {
+            throw new RuntimeException("事务中执行查询失败", e);
+        }
+    }
+
+    /**
+     * 在事务中执行查询，返回单个对象
+     * @param sql SQL语句
+     * @param params 参数
+     * @return 查询结果
+     */
+    public Map<String, Object> selectOne(String sql, Object... params) {
+        try {
+            return MysqlUtils.selectOne(sql, params);
+        } catch (SQLException e) {
+            throw new RuntimeException("事务中执行查询失败", e);
+        }
+    }
+}
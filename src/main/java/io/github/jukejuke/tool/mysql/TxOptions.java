@@ -0,0 +1,61 @@
+package io.github.jukejuke.tool.mysql;
+
+import lombok.Data;
+
+/**
+ * 事务选项
+ * 用于配置MysqlUtils.inTransaction的隔离级别、只读标记和死锁重试
+ */
+@Data
+public class TxOptions {
+
+    /**
+     * 事务隔离级别，取值为java.sql.Connection.TRANSACTION_*，默认-1表示使用连接默认值
+     */
+    private int isolationLevel = -1;
+
+    /**
+     * 是否只读事务，默认false
+     * 只读事务按读写分离规则使用读连接
+     */
+    private boolean readOnly = false;
+
+    /**
+     * 死锁（或锁等待超时）时的最大重试次数，默认0不重试
+     */
+    private int deadlockRetries = 0;
+
+    /**
+     * 重试间隔（毫秒），第n次重试等待 n * retryInterval，默认50
+     */
+    private long retryInterval = 50;
+
+    /**
+     * 创建默认事务选项
+     * @return 事务选项
+     */
+    public static TxOptions defaults() {
+        return new TxOptions();
+    }
+
+    /**
+     * 创建只读事务选项
+     * @return 事务选项
+     */
+    public static TxOptions readOnly() {
+        TxOptions options = new TxOptions();
+        options.setReadOnly(true);
+        return options;
+    }
+
+    /**
+     * 创建带死锁重试的事务选项
+     * @param deadlockRetries 最大重试次数
+     * @return 事务选项
+     */
+    public static TxOptions withRetries(int deadlockRetries) {
+        TxOptions options = new TxOptions();
+        options.setDeadlockRetries(deadlockRetries);
+        return options;
+    }
+}
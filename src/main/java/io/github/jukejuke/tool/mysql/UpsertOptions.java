@@ -0,0 +1,51 @@
+package io.github.jukejuke.tool.mysql;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量插入或更新选项
+ * 用于配置MysqlUtils.bulkUpsert的分块大小、并行度和重试
+ */
+@Data
+public class UpsertOptions {
+
+    /**
+     * 单条语句的最大字节数估算上限，应小于服务器max_allowed_packet，默认4MB
+     */
+    private int maxPacketSize = 4 * 1024 * 1024;
+
+    /**
+     * 单条语句的最大行数，默认1000
+     */
+    private int maxRowsPerStatement = 1000;
+
+    /**
+     * 并行执行的连接数，默认2；在事务中调用时始终使用事务连接串行执行
+     */
+    private int parallelism = 2;
+
+    /**
+     * 每个分块失败后的最大重试次数（仅死锁、超时等可重试异常），默认2
+     */
+    private int retries = 2;
+
+    /**
+     * 重试间隔（毫秒），第n次重试等待 n * retryInterval，默认100
+     */
+    private long retryInterval = 100;
+
+    /**
+     * 冲突时更新的列，默认null表示除键列外的全部列
+     */
+    private List<String> updateColumns;
+
+    /**
+     * 创建默认选项
+     * @return 批量插入或更新选项
+     */
+    public static UpsertOptions defaults() {
+        return new UpsertOptions();
+    }
+}
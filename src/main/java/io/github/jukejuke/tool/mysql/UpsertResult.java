@@ -0,0 +1,42 @@
+package io.github.jukejuke.tool.mysql;
+
+import lombok.Data;
+
+/**
+ * 批量插入或更新结果
+ * 插入数和更新数按MySQL影响行数约定推算（插入计1行、更新计2行）；
+ * 值未变化的行按驱动设置计0或1行，因此存在此类行时两者为估算值
+ */
+@Data
+public class UpsertResult {
+
+    /**
+     * 提交的总行数
+     */
+    private long rows;
+
+    /**
+     * 插入的行数
+     */
+    private long inserted;
+
+    /**
+     * 更新的行数
+     */
+    private long updated;
+
+    /**
+     * 数据库返回的影响行数合计
+     */
+    private long affectedRows;
+
+    /**
+     * 执行的语句（分块）数
+     */
+    private int statements;
+
+    /**
+     * 重试次数合计
+     */
+    private int retries;
+}
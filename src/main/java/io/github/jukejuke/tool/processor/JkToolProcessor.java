@@ -0,0 +1,667 @@
+package io.github.jukejuke.tool.processor;
+
+import io.github.jukejuke.tool.excel.ExcelColumn;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * jk-tool 注解处理器（可选）
+ * 编译期为以下类型生成代码，并注册到 META-INF/services，运行时通过 ServiceLoader 加载，未生成时回退到反射：
+ * 1. 带 {@link ExcelColumn} 字段的类：生成 ExcelRowMapper（行读写器），供 ExcelUtils 使用；
+ * 2. {@link io.github.jukejuke.tool.bean.BeanMapping} 声明的类型对：生成 GeneratedBeanCopier，供 BeanCopier/BeanUtils 使用。
+ *
+ * 处理器不会自动注册，需要在使用方的编译配置中显式启用，例如 maven-compiler-plugin：
+ * annotationProcessors 中加入 io.github.jukejuke.tool.processor.JkToolProcessor（同时保留 lombok 等其他处理器）。
+ *
+ * 只通过生成类所在包可访问的字段、getter、setter 访问属性；存在无法访问的属性时不生成，并输出警告
+ */
+@SupportedAnnotationTypes({
+        JkToolProcessor.EXCEL_COLUMN,
+        JkToolProcessor.BEAN_MAPPING,
+        JkToolProcessor.BEAN_MAPPINGS
+})
+public class JkToolProcessor extends AbstractProcessor {
+
+    static final String EXCEL_COLUMN = "io.github.jukejuke.tool.excel.ExcelColumn";
+    static final String BEAN_MAPPING = "io.github.jukejuke.tool.bean.BeanMapping";
+    static final String BEAN_MAPPINGS = "io.github.jukejuke.tool.bean.BeanMappings";
+
+    static final String EXCEL_ROW_MAPPER = "io.github.jukejuke.tool.excel.ExcelRowMapper";
+    static final String BEAN_COPIER = "io.github.jukejuke.tool.bean.GeneratedBeanCopier";
+
+    private static final List<String> NUMBER_TYPES = Arrays.asList(
+            "java.lang.Integer", "java.lang.Long", "java.lang.Double",
+            "java.lang.Float", "java.lang.Short", "java.lang.Byte");
+
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+
+    /**
+     * 本次编译生成的实现类，编译结束时写入 META-INF/services
+     */
+    private final Set<String> excelMappers = new LinkedHashSet<>();
+    private final Set<String> beanCopiers = new LinkedHashSet<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServices(EXCEL_ROW_MAPPER, excelMappers);
+            writeServices(BEAN_COPIER, beanCopiers);
+            return false;
+        }
+
+        TypeElement excelColumn = elements.getTypeElement(EXCEL_COLUMN);
+        if (excelColumn != null) {
+            Set<TypeElement> excelTypes = new LinkedHashSet<>();
+            for (Element element : roundEnv.getElementsAnnotatedWith(excelColumn)) {
+                if (element.getKind() == ElementKind.FIELD) {
+                    excelTypes.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+            for (TypeElement type : excelTypes) {
+                generateExcelMapper(type);
+            }
+        }
+
+        for (String annotationName : Arrays.asList(BEAN_MAPPING, BEAN_MAPPINGS)) {
+            TypeElement annotation = elements.getTypeElement(annotationName);
+            if (annotation == null) {
+                continue;
+            }
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+                    for (AnnotationMirror mapping : beanMappings(mirror)) {
+                        TypeMirror source = classValue(mapping, "source");
+                        TypeMirror target = classValue(mapping, "target");
+                        if (source != null && target != null) {
+                            generateBeanCopier(element, (TypeElement) types.asElement(source), (TypeElement) types.asElement(target));
+                        }
+                    }
+                }
+            }
+        }
+        // 不独占注解，ExcelColumn 仍供运行时反射使用
+        return false;
+    }
+
+    // ------------------------------------------------------------------ Excel
+
+    private void generateExcelMapper(TypeElement type) {
+        String packageName = packageOf(type);
+        String simpleName = flatName(type) + "_ExcelRowMapper";
+        String typeName = typeName(type.asType());
+        if (!isTypeAccessible(type, packageName)) {
+            warn(type, "type is not accessible from generated code");
+            return;
+        }
+
+        List<VariableElement> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getAnnotation(ExcelColumn.class) != null) {
+                if (field.getModifiers().contains(Modifier.STATIC)) {
+                    warn(field, "static @ExcelColumn field is not supported");
+                    return;
+                }
+                fields.add(field);
+            }
+        }
+        // 与 ExcelUtils 一致：按 order 稳定排序
+        fields.sort(Comparator.comparingInt(field -> field.getAnnotation(ExcelColumn.class).order()));
+
+        List<String> reads = new ArrayList<>();
+        List<String> writes = new ArrayList<>();
+        for (VariableElement field : fields) {
+            String read = readExpression(type, field, "bean", packageName);
+            String write = writeStatement(type, field, "bean", "(" + castName(field.asType()) + ") value", packageName);
+            if (read == null || write == null) {
+                warn(field, "field \"" + field.getSimpleName() + "\" has no accessible field/getter/setter");
+                return;
+            }
+            reads.add(read);
+            writes.add(write);
+        }
+
+        StringBuilder code = new StringBuilder();
+        header(code, packageName);
+        code.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        code.append("public final class ").append(simpleName).append(" implements ")
+                .append(EXCEL_ROW_MAPPER).append('<').append(typeName).append("> {\n\n");
+        code.append("    private static final java.util.List<io.github.jukejuke.tool.excel.ExcelColumnDefinition> COLUMNS =\n");
+        code.append("            java.util.Collections.unmodifiableList(java.util.Arrays.asList(\n");
+        for (int i = 0; i < fields.size(); i++) {
+            VariableElement field = fields.get(i);
+            ExcelColumn column = field.getAnnotation(ExcelColumn.class);
+            code.append("                    new io.github.jukejuke.tool.excel.ExcelColumnDefinition(")
+                    .append(literal(field.getSimpleName().toString())).append(", ")
+                    .append(classLiteral(field.asType())).append(", ")
+                    .append(literal(column.name())).append(", ")
+                    .append(column.order()).append(", ")
+                    .append(literal(column.format())).append(", ")
+                    .append(column.width()).append(", ")
+                    .append(column.required()).append(", ")
+                    .append(literal(column.defaultValue())).append(", ")
+                    .append("io.github.jukejuke.tool.excel.ExcelAlignment.").append(column.alignment().name())
+                    .append(')').append(i < fields.size() - 1 ? ",\n" : "\n");
+        }
+        code.append("            ));\n\n");
+
+        code.append("    @Override\n    public Class<").append(typeName).append("> getType() {\n")
+                .append("        return ").append(typeName).append(".class;\n    }\n\n");
+        code.append("    @Override\n    public java.util.List<io.github.jukejuke.tool.excel.ExcelColumnDefinition> getColumns() {\n")
+                .append("        return COLUMNS;\n    }\n\n");
+        code.append("    @Override\n    public ").append(typeName).append(" newInstance() {\n");
+        if (hasAccessibleDefaultConstructor(type, packageName)) {
+            code.append("        return new ").append(typeName).append("();\n");
+        } else {
+            code.append("        throw new IllegalStateException(\"No default constructor in class ")
+                    .append(typeName).append("\");\n");
+        }
+        code.append("    }\n\n");
+
+        code.append("    @Override\n    public Object getValue(").append(typeName).append(" bean, int column) {\n")
+                .append("        switch (column) {\n");
+        for (int i = 0; i < reads.size(); i++) {
+            code.append("            case ").append(i).append(":\n                return ").append(reads.get(i)).append(";\n");
+        }
+        code.append("            default:\n                throw new IndexOutOfBoundsException(\"column: \" + column);\n")
+                .append("        }\n    }\n\n");
+
+        code.append("    @Override\n    public void setValue(").append(typeName).append(" bean, int column, Object value) {\n")
+                .append("        switch (column) {\n");
+        for (int i = 0; i < writes.size(); i++) {
+            code.append("            case ").append(i).append(":\n                ").append(writes.get(i)).append(";\n")
+                    .append("                return;\n");
+        }
+        code.append("            default:\n                throw new IndexOutOfBoundsException(\"column: \" + column);\n")
+                .append("        }\n    }\n}\n");
+
+        writeSource(type, qualify(packageName, simpleName), code, excelMappers);
+    }
+
+    // ------------------------------------------------------------------ Bean
+
+    private List<AnnotationMirror> beanMappings(AnnotationMirror mirror) {
+        String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+        List<AnnotationMirror> result = new ArrayList<>();
+        if (BEAN_MAPPING.equals(name)) {
+            result.add(mirror);
+        } else if (BEAN_MAPPINGS.equals(name)) {
+            AnnotationValue value = annotationValue(mirror, "value");
+            if (value != null && value.getValue() instanceof List) {
+                for (Object item : (List<?>) value.getValue()) {
+                    result.add((AnnotationMirror) ((AnnotationValue) item).getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    private void generateBeanCopier(Element origin, TypeElement source, TypeElement target) {
+        String packageName = packageOf(source);
+        String simpleName = flatName(source) + "_To_" + qualifiedFlatName(target) + "_BeanCopier";
+        String qualifiedName = qualify(packageName, simpleName);
+        if (beanCopiers.contains(qualifiedName)) {
+            return;
+        }
+        if (!isTypeAccessible(source, packageName) || !isTypeAccessible(target, packageName)) {
+            warn(origin, "bean mapping " + source + " -> " + target + " is not accessible from package " + packageName);
+            return;
+        }
+        String sourceName = typeName(source.asType());
+        String targetName = typeName(target.asType());
+
+        StringBuilder body = new StringBuilder();
+        Set<String> names = new HashSet<>();
+        for (TypeElement c = source; c != null && !isObject(c); c = superclass(c)) {
+            for (VariableElement field : ElementFilter.fieldsIn(c.getEnclosedElements())) {
+                if (field.getModifiers().contains(Modifier.STATIC) || !names.add(field.getSimpleName().toString())) {
+                    continue;
+                }
+                String read = readExpression(source, field, "source", packageName);
+                if (read == null) {
+                    warn(origin, "property \"" + field.getSimpleName() + "\" of " + source + " is not readable from generated code");
+                    return;
+                }
+                TargetProperty property = targetProperty(target, field.getSimpleName().toString(), packageName);
+                if (property == null) {
+                    continue;
+                }
+                if (property.inaccessible) {
+                    warn(origin, "property \"" + field.getSimpleName() + "\" of " + target + " is not writable from generated code");
+                    return;
+                }
+                appendCopy(body, field.asType(), read, property);
+            }
+        }
+
+        StringBuilder code = new StringBuilder();
+        header(code, packageName);
+        code.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        code.append("public final class ").append(simpleName).append(" implements ")
+                .append(BEAN_COPIER).append('<').append(sourceName).append(", ").append(targetName).append("> {\n\n");
+        code.append("    @Override\n    public Class<").append(sourceName).append("> getSourceType() {\n")
+                .append("        return ").append(sourceName).append(".class;\n    }\n\n");
+        code.append("    @Override\n    public Class<").append(targetName).append("> getTargetType() {\n")
+                .append("        return ").append(targetName).append(".class;\n    }\n\n");
+        code.append("    @Override\n    public ").append(targetName).append(" newTarget() {\n");
+        if (hasAccessibleDefaultConstructor(target, packageName)) {
+            code.append("        return new ").append(targetName).append("();\n");
+        } else {
+            code.append("        throw new IllegalStateException(\"No default constructor in class ")
+                    .append(targetName).append("\");\n");
+        }
+        code.append("    }\n\n");
+        code.append("    @Override\n    public void copy(").append(sourceName).append(" source, ")
+                .append(targetName).append(" target) {\n").append(body).append("    }\n}\n");
+
+        writeSource(origin, qualifiedName, code, beanCopiers);
+    }
+
+    /**
+     * 生成单个属性的拷贝代码，转换规则与 BeanCopier.resolveConverter 一致
+     */
+    private void appendCopy(StringBuilder body, TypeMirror sourceType, String read, TargetProperty property) {
+        TypeMirror boxedSource = types.erasure(box(sourceType));
+        TypeMirror boxedTarget = types.erasure(box(property.type));
+        String targetCast = castName(property.type);
+        String valueExpression;
+        String instanceCheck = null;
+        String numberTarget = null;
+        if (types.isAssignable(boxedSource, boxedTarget)) {
+            valueExpression = "(" + targetCast + ") v";
+        } else if (property.type.getKind().isPrimitive() && isWidening(sourceType, property.type)) {
+            // 基本类型拓宽转换：拆箱后拓宽，与Field.set相同
+            valueExpression = "(" + property.type + ") v";
+        } else if (types.isAssignable(boxedSource, elements.getTypeElement("java.lang.Number").asType())
+                && NUMBER_TYPES.contains(boxedTarget.toString())) {
+            // 值超出目标类型范围或丢失精度时不写入
+            numberTarget = boxedTarget.toString();
+            valueExpression = "(" + numberTarget + ") n";
+        } else if ("java.lang.String".equals(boxedSource.toString()) && "java.util.Date".equals(property.type.toString())) {
+            valueExpression = BEAN_COPIER + ".parseDate(v)";
+        } else if (types.isAssignable(boxedTarget, boxedSource)) {
+            // 声明类型较宽，按运行时类型判断
+            instanceCheck = boxedTarget.toString();
+            valueExpression = "(" + targetCast + ") v";
+        } else {
+            return;
+        }
+
+        body.append("        {\n");
+        body.append("            ").append(boxedSource).append(" v = ").append(read).append(";\n");
+        String write = property.write("target", valueExpression);
+        if (numberTarget != null) {
+            body.append("            java.lang.Object n = v != null ? ").append(BEAN_COPIER)
+                    .append(".convertNumber(v, ").append(numberTarget).append(".class) : null;\n");
+            body.append("            if (n != null) {\n");
+        } else if (instanceCheck != null) {
+            body.append("            if (v instanceof ").append(instanceCheck).append(") {\n");
+        } else {
+            body.append("            if (v != null) {\n");
+        }
+        body.append("                ").append(write).append(";\n");
+        body.append("            }");
+        if (!property.type.getKind().isPrimitive()) {
+            body.append(instanceCheck != null || numberTarget != null ? " else if (v == null) {\n" : " else {\n");
+            body.append("                ").append(property.write("target", "(" + targetCast + ") null")).append(";\n");
+            body.append("            }");
+        }
+        body.append("\n        }\n");
+    }
+
+    /**
+     * 源类型（基本类型或包装类型）拆箱后能否拓宽为目标基本类型
+     */
+    private boolean isWidening(TypeMirror sourceType, TypeMirror primitiveTarget) {
+        TypeMirror unboxed = sourceType;
+        if (!sourceType.getKind().isPrimitive()) {
+            try {
+                unboxed = types.unboxedType(sourceType);
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+        return unboxed.getKind() != TypeKind.BOOLEAN && !types.isSameType(unboxed, primitiveTarget)
+                && types.isAssignable(unboxed, primitiveTarget);
+    }
+
+    /**
+     * 目标属性：与 BeanPropertyIndex 相同的查找顺序（字段优先，其次同类型 public setter，最后无字段的 public setter）
+     */
+    private TargetProperty targetProperty(TypeElement target, String name, String packageName) {
+        String setterName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (TypeElement c = target; c != null && !isObject(c); c = superclass(c)) {
+            for (VariableElement field : ElementFilter.fieldsIn(c.getEnclosedElements())) {
+                if (!field.getSimpleName().contentEquals(name) || field.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+                boolean isFinal = field.getModifiers().contains(Modifier.FINAL);
+                if (!isFinal && isMemberAccessible(field, packageName)) {
+                    return new TargetProperty(field.asType(), name, null);
+                }
+                ExecutableElement setter = publicSetter(target, setterName, field.asType());
+                if (setter != null) {
+                    return new TargetProperty(field.asType(), null, setterName);
+                }
+                // 反射可写的私有字段和final字段无法在生成代码中写入，不生成拷贝器，由反射拷贝
+                return TargetProperty.INACCESSIBLE;
+            }
+        }
+        ExecutableElement setter = publicSetter(target, setterName, null);
+        return setter == null ? null : new TargetProperty(setter.getParameters().get(0).asType(), null, setterName);
+    }
+
+    private ExecutableElement publicSetter(TypeElement type, String setterName, TypeMirror parameterType) {
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (method.getSimpleName().contentEquals(setterName) && method.getParameters().size() == 1
+                    && method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC)
+                    && (parameterType == null || types.isSameType(method.getParameters().get(0).asType(), parameterType))) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static final class TargetProperty {
+        static final TargetProperty INACCESSIBLE = new TargetProperty(null, null, null);
+
+        final TypeMirror type;
+        final String field;
+        final String setter;
+        final boolean inaccessible;
+
+        TargetProperty(TypeMirror type, String field, String setter) {
+            this.type = type;
+            this.field = field;
+            this.setter = setter;
+            this.inaccessible = type == null;
+        }
+
+        String write(String target, String value) {
+            return field != null ? target + "." + field + " = " + value : target + "." + setter + "(" + value + ")";
+        }
+    }
+
+    // ------------------------------------------------------------------ 访问表达式
+
+    /**
+     * 读取字段的表达式：可访问时直接读字段，否则使用 getter/is-getter
+     */
+    private String readExpression(TypeElement owner, VariableElement field, String variable, String packageName) {
+        String name = field.getSimpleName().toString();
+        if (isMemberAccessible(field, packageName)) {
+            return variable + "." + name;
+        }
+        String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (String getterName : Arrays.asList("get" + suffix, "is" + suffix)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(owner))) {
+                if (method.getSimpleName().contentEquals(getterName) && method.getParameters().isEmpty()
+                        && !method.getModifiers().contains(Modifier.STATIC) && isMemberAccessible(method, packageName)
+                        && types.isAssignable(method.getReturnType(), field.asType())) {
+                    return variable + "." + getterName + "()";
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 写入字段的语句：可访问且非final时直接写字段，否则使用同类型 setter
+     */
+    private String writeStatement(TypeElement owner, VariableElement field, String variable, String value, String packageName) {
+        String name = field.getSimpleName().toString();
+        if (isMemberAccessible(field, packageName) && !field.getModifiers().contains(Modifier.FINAL)) {
+            return variable + "." + name + " = " + value;
+        }
+        String setterName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(owner))) {
+            if (method.getSimpleName().contentEquals(setterName) && method.getParameters().size() == 1
+                    && !method.getModifiers().contains(Modifier.STATIC) && isMemberAccessible(method, packageName)
+                    && types.isSameType(method.getParameters().get(0).asType(), field.asType())) {
+                return variable + "." + setterName + "(" + value + ")";
+            }
+        }
+        return null;
+    }
+
+    private boolean isMemberAccessible(Element member, String packageName) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        return modifiers.contains(Modifier.PUBLIC) || packageOf(member).equals(packageName);
+    }
+
+    private boolean isTypeAccessible(TypeElement type, String packageName) {
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (!isMemberAccessible(e, packageName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasAccessibleDefaultConstructor(TypeElement type, String packageName) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT) || type.getKind() != ElementKind.CLASS
+                || (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC))) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty()) {
+                return isMemberAccessible(constructor, packageName);
+            }
+        }
+        return false;
+    }
+
+    // ------------------------------------------------------------------ 工具方法
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    private static boolean isObject(TypeElement type) {
+        return type.getQualifiedName().contentEquals("java.lang.Object");
+    }
+
+    private TypeMirror box(TypeMirror type) {
+        return type.getKind().isPrimitive() ? types.boxedClass(types.getPrimitiveType(type.getKind())).asType() : type;
+    }
+
+    private String typeName(TypeMirror type) {
+        return types.erasure(type).toString();
+    }
+
+    /**
+     * 强制转换使用的类型名：基本类型使用包装类，泛型使用擦除后的类型
+     */
+    private String castName(TypeMirror type) {
+        return types.erasure(box(type)).toString();
+    }
+
+    private String classLiteral(TypeMirror type) {
+        return types.erasure(type).toString() + ".class";
+    }
+
+    private String packageOf(Element element) {
+        return elements.getPackageOf(element).getQualifiedName().toString();
+    }
+
+    /**
+     * 去掉包名的二进制名，$替换为_
+     */
+    private String flatName(TypeElement type) {
+        String packageName = packageOf(type);
+        String binaryName = elements.getBinaryName(type).toString();
+        return (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_');
+    }
+
+    private String qualifiedFlatName(TypeElement type) {
+        return elements.getBinaryName(type).toString().replace('.', '_').replace('$', '_');
+    }
+
+    private static String qualify(String packageName, String simpleName) {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    private static TypeMirror classValue(AnnotationMirror mirror, String name) {
+        AnnotationValue value = annotationValue(mirror, name);
+        return value != null && value.getValue() instanceof TypeMirror ? (TypeMirror) value.getValue() : null;
+    }
+
+    private static AnnotationValue annotationValue(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Java字符串字面量，非ASCII字符转义为\\uXXXX，避免依赖源文件编码
+     */
+    static String literal(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static void header(StringBuilder code, String packageName) {
+        if (!packageName.isEmpty()) {
+            code.append("package ").append(packageName).append(";\n\n");
+        }
+        code.append("// Generated by ").append(JkToolProcessor.class.getName()).append(", do not edit\n");
+    }
+
+    private void writeSource(Element origin, String qualifiedName, StringBuilder code, Set<String> registry) {
+        try (Writer writer = filer.createSourceFile(qualifiedName, origin).openWriter()) {
+            writer.write(code.toString());
+            registry.add(qualifiedName);
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Generate " + qualifiedName + " failed: " + e.getMessage(), origin);
+        }
+    }
+
+    /**
+     * 写入 META-INF/services，合并增量编译时已存在的条目，类已不存在的旧条目被丢弃
+     */
+    private void writeServices(String serviceName, Set<String> implementations) {
+        if (implementations.isEmpty()) {
+            return;
+        }
+        String resource = "META-INF/services/" + serviceName;
+        Set<String> all = new LinkedHashSet<>();
+        try {
+            FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", resource);
+            try (BufferedReader reader = new BufferedReader(existing.openReader(true))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String implementation = line.trim();
+                    // 对应的类已删除或改名时丢弃，避免 ServiceLoader 加载失败
+                    if (!implementation.isEmpty() && elements.getTypeElement(implementation) != null) {
+                        all.add(implementation);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // 首次编译时文件不存在
+        }
+        all.addAll(implementations);
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", resource);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String implementation : all) {
+                    writer.write(implementation);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Write " + resource + " failed: " + e.getMessage());
+        }
+    }
+
+    private void warn(Element element, String message) {
+        messager.printMessage(Diagnostic.Kind.WARNING,
+                "jk-tool processor skipped, fallback to reflection: " + message, element);
+    }
+}
@@ -1,16 +1,42 @@
 package io.github.jukejuke.tool.string;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * 字符串工具类，提供常用的字符串操作方法
+ * 正则分隔符编译后缓存，字面量分隔符按字符扫描分割，数字校验按字符扫描，不使用正则
  */
 public class StringUtils {
+
+    /**
+     * 正则表达式编译缓存的容量上限，超出后不再缓存新的表达式
+     */
+    private static final int PATTERN_CACHE_LIMIT = 256;
+
+    private static final Map<String, Pattern> PATTERN_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 正则元字符，分隔符不含这些字符时按字面量分割
+     */
+    private static final String REGEX_META_CHARS = ".$|()[{^?*+\\";
+
+    /**
+     * 可精确表示为double的10的幂
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
     /**
      * 判断字符串是否为null或空字符串
      * @param str 要判断的字符串
@@ -133,7 +159,59 @@ public class StringUtils {
         if (isEmpty(str)) {
             return new String[0];
         }
-        return str.split(delimiter);
+        if (isLiteral(delimiter)) {
+            // String.split对单个非元字符有快速路径
+            return delimiter.length() == 1 ? str.split(delimiter) : removeTrailingEmpty(splitLiteral(str, delimiter));
+        }
+        return getPattern(delimiter).split(str);
+    }
+
+    /**
+     * 按字面量分隔符分割字符串（分隔符不作为正则表达式），保留空元素
+     * @param str 要分割的字符串
+     * @param delimiter 分隔符，为空字符串时按单个字符分割
+     * @return 分割后的字符串列表，如果原字符串为null或空则返回空列表
+     */
+    public static List<String> splitLiteral(String str, String delimiter) {
+        if (isEmpty(str)) {
+            return new ArrayList<>();
+        }
+        List<String> result = new ArrayList<>();
+        splitLiteral(str, delimiter, false, result);
+        return result;
+    }
+
+    /**
+     * 按字面量分隔符分割字符串，结果追加到调用方提供的列表中，便于重复使用同一个列表
+     * @param str 要分割的字符串
+     * @param delimiter 分隔符，为空字符串时按单个字符分割
+     * @param trimTokens 是否去除每个元素两端的空白字符并忽略空元素
+     * @param result 接收结果的列表，调用方负责在复用前清空
+     * @return 追加的元素个数
+     */
+    public static int splitLiteral(CharSequence str, String delimiter, boolean trimTokens, List<String> result) {
+        if (str == null || str.length() == 0) {
+            return 0;
+        }
+        if (delimiter == null) {
+            throw new IllegalArgumentException("delimiter must not be null");
+        }
+        int sizeBefore = result.size();
+        int length = str.length();
+        int delimiterLength = delimiter.length();
+        int start = 0;
+        while (start <= length) {
+            int end = delimiterLength == 0 ? Math.min(start + 1, length) : indexOf(str, delimiter, start);
+            if (end < 0) {
+                end = length;
+            }
+            addToken(str, start, end, trimTokens, result);
+            if (delimiterLength == 0 && end >= length) {
+                break;
+            }
+            start = end + delimiterLength;
+        }
+        return result.size() - sizeBefore;
     }
 
     /**
@@ -146,10 +224,18 @@ public class StringUtils {
         if (isEmpty(str)) {
             return Collections.emptyList();
         }
-        return Arrays.stream(str.split(delimiter))
-                .map(String::trim)
-                .filter(StringUtils::isNotEmpty)
-                .collect(Collectors.toList());
+        List<String> result = new ArrayList<>();
+        if (isLiteral(delimiter)) {
+            splitLiteral(str, delimiter, true, result);
+            return result;
+        }
+        for (String token : getPattern(delimiter).split(str)) {
+            token = token.trim();
+            if (!token.isEmpty()) {
+                result.add(token);
+            }
+        }
+        return result;
     }
 
     /**
@@ -190,6 +276,52 @@ public class StringUtils {
         return joiner.toString();
     }
 
+    /**
+     * 连接long数组，结果写入预先计算好容量的StringBuilder
+     * @param array long数组
+     * @param delimiter 连接符
+     * @return 连接后的字符串，如果数组为null或空则返回空字符串
+     */
+    public static String join(long[] array, String delimiter) {
+        if (array == null || array.length == 0) {
+            return "";
+        }
+        String separator = delimiter == null ? "" : delimiter;
+        int capacity = separator.length() * (array.length - 1);
+        for (long value : array) {
+            capacity += stringSize(value);
+        }
+        StringBuilder sb = new StringBuilder(capacity);
+        sb.append(array[0]);
+        for (int i = 1; i < array.length; i++) {
+            sb.append(separator).append(array[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 连接int数组，结果写入预先计算好容量的StringBuilder
+     * @param array int数组
+     * @param delimiter 连接符
+     * @return 连接后的字符串，如果数组为null或空则返回空字符串
+     */
+    public static String join(int[] array, String delimiter) {
+        if (array == null || array.length == 0) {
+            return "";
+        }
+        String separator = delimiter == null ? "" : delimiter;
+        int capacity = separator.length() * (array.length - 1);
+        for (int value : array) {
+            capacity += stringSize(value);
+        }
+        StringBuilder sb = new StringBuilder(capacity);
+        sb.append(array[0]);
+        for (int i = 1; i < array.length; i++) {
+            sb.append(separator).append(array[i]);
+        }
+        return sb.toString();
+    }
+
     /**
      * 替换字符串中的所有指定字符
      * @param str 原字符串
@@ -221,7 +353,23 @@ public class StringUtils {
         if (str == null) {
             return null;
         }
-        return str.replaceAll("\\s+", "");
+        int length = str.length();
+        int first = 0;
+        while (first < length && !isRegexWhitespace(str.charAt(first))) {
+            first++;
+        }
+        if (first == length) {
+            return str;
+        }
+        StringBuilder sb = new StringBuilder(length - 1);
+        sb.append(str, 0, first);
+        for (int i = first + 1; i < length; i++) {
+            char c = str.charAt(i);
+            if (!isRegexWhitespace(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
     }
 
     /**
@@ -233,7 +381,7 @@ public class StringUtils {
         if (isBlank(str)) {
             return false;
         }
-        return Pattern.matches("\\d+", str);
+        return isDigits(str, 0, str.length());
     }
 
     /**
@@ -245,7 +393,10 @@ public class StringUtils {
         if (isBlank(str)) {
             return false;
         }
-        return Pattern.matches("[+-]?\\d*\\.\\d+", str);
+        // [+-]?\d*\.\d+
+        int start = signEnd(str);
+        int dot = str.indexOf('.', start);
+        return dot >= 0 && (dot == start || isDigits(str, start, dot)) && isDigits(str, dot + 1, str.length());
     }
 
     /**
@@ -257,7 +408,13 @@ public class StringUtils {
         if (isBlank(str)) {
             return false;
         }
-        return Pattern.matches("[+-]?\\d+(\\.\\d+)?", str);
+        // [+-]?\d+(\.\d+)?
+        int start = signEnd(str);
+        int dot = str.indexOf('.', start);
+        if (dot < 0) {
+            return isDigits(str, start, str.length());
+        }
+        return isDigits(str, start, dot) && isDigits(str, dot + 1, str.length());
     }
 
     /**
@@ -422,15 +579,20 @@ public class StringUtils {
      * @param <T> 目标类型
      * @return 转换后的List，如果字符串为null或空则返回空List
      */
-    public static <T> List<T> stringToList(String str, String delimiter, java.util.function.Function<String, T> converter) {
+    public static <T> List<T> stringToList(String str, String delimiter, Function<String, T> converter) {
         if (isEmpty(str)) {
             return Collections.emptyList();
         }
-        return Arrays.stream(str.split(Pattern.quote(delimiter)))
-                .map(String::trim)
-                .filter(StringUtils::isNotEmpty)
-                .map(converter)
-                .collect(Collectors.toList());
+        if (converter == null) {
+            throw new IllegalArgumentException("converter must not be null");
+        }
+        List<String> tokens = new ArrayList<>();
+        splitLiteral(str, delimiter, true, tokens);
+        List<T> result = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            result.add(converter.apply(token));
+        }
+        return result;
     }
 
     /**
@@ -453,6 +615,132 @@ public class StringUtils {
         return stringToList(str, delimiter, Long::valueOf);
     }
 
+    /**
+     * 将字符串按指定分隔符转换为int数组，直接在原字符序列上解析，不创建装箱对象和子串
+     * 元素两端的空白字符被忽略，空元素被跳过
+     * @param str 要转换的字符序列
+     * @param delimiter 分隔符（字面量）
+     * @return 转换后的数组，如果字符串为null或空则返回空数组
+     * @throws NumberFormatException 元素不是合法的int时抛出
+     */
+    public static int[] stringToIntArray(CharSequence str, String delimiter) {
+        if (str == null || str.length() == 0) {
+            return new int[0];
+        }
+        int[] result = new int[estimateTokens(str, delimiter)];
+        int[] count = new int[1];
+        forEachInt(str, delimiter, value -> result[count[0]++] = value);
+        return count[0] == result.length ? result : Arrays.copyOf(result, count[0]);
+    }
+
+    /**
+     * 将字符串按指定分隔符转换为long数组，直接在原字符序列上解析，不创建装箱对象和子串
+     * 元素两端的空白字符被忽略，空元素被跳过
+     * @param str 要转换的字符序列
+     * @param delimiter 分隔符（字面量）
+     * @return 转换后的数组，如果字符串为null或空则返回空数组
+     * @throws NumberFormatException 元素不是合法的long时抛出
+     */
+    public static long[] stringToLongArray(CharSequence str, String delimiter) {
+        if (str == null || str.length() == 0) {
+            return new long[0];
+        }
+        long[] result = new long[estimateTokens(str, delimiter)];
+        int[] count = new int[1];
+        forEachLong(str, delimiter, value -> result[count[0]++] = value);
+        return count[0] == result.length ? result : Arrays.copyOf(result, count[0]);
+    }
+
+    /**
+     * 将字符串按指定分隔符转换为double数组
+     * 不超过15位有效数字的普通小数直接计算（结果与Double.parseDouble一致），其他格式回退到Double.parseDouble
+     * @param str 要转换的字符序列
+     * @param delimiter 分隔符（字面量）
+     * @return 转换后的数组，如果字符串为null或空则返回空数组
+     * @throws NumberFormatException 元素不是合法的double时抛出
+     */
+    public static double[] stringToDoubleArray(CharSequence str, String delimiter) {
+        if (str == null || str.length() == 0) {
+            return new double[0];
+        }
+        double[] result = new double[estimateTokens(str, delimiter)];
+        int count = 0;
+        int length = str.length();
+        int start = 0;
+        while (start <= length) {
+            int end = nextDelimiter(str, delimiter, start);
+            int tokenStart = trimStart(str, start, end);
+            int tokenEnd = trimEnd(str, tokenStart, end);
+            if (tokenStart < tokenEnd) {
+                result[count++] = parseDouble(str, tokenStart, tokenEnd);
+            }
+            start = end + delimiter.length();
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * 按指定分隔符解析int并逐个交给consumer，可直接写入调用方的基本类型集合
+     * 元素两端的空白字符被忽略，空元素被跳过
+     * @param str 要解析的字符序列，为null或空时不回调
+     * @param delimiter 分隔符（字面量）
+     * @param consumer 接收解析结果
+     * @return 解析的元素个数
+     * @throws NumberFormatException 元素不是合法的int时抛出
+     */
+    public static int forEachInt(CharSequence str, String delimiter, IntConsumer consumer) {
+        if (str == null || str.length() == 0) {
+            return 0;
+        }
+        int count = 0;
+        int length = str.length();
+        int start = 0;
+        while (start <= length) {
+            int end = nextDelimiter(str, delimiter, start);
+            int tokenStart = trimStart(str, start, end);
+            int tokenEnd = trimEnd(str, tokenStart, end);
+            if (tokenStart < tokenEnd) {
+                long value = parseLong(str, tokenStart, tokenEnd);
+                if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                    throw numberFormatException(str, tokenStart, tokenEnd);
+                }
+                consumer.accept((int) value);
+                count++;
+            }
+            start = end + delimiter.length();
+        }
+        return count;
+    }
+
+    /**
+     * 按指定分隔符解析long并逐个交给consumer，可直接写入调用方的基本类型集合
+     * 元素两端的空白字符被忽略，空元素被跳过
+     * @param str 要解析的字符序列，为null或空时不回调
+     * @param delimiter 分隔符（字面量）
+     * @param consumer 接收解析结果
+     * @return 解析的元素个数
+     * @throws NumberFormatException 元素不是合法的long时抛出
+     */
+    public static int forEachLong(CharSequence str, String delimiter, LongConsumer consumer) {
+        if (str == null || str.length() == 0) {
+            return 0;
+        }
+        int count = 0;
+        int length = str.length();
+        int start = 0;
+        while (start <= length) {
+            int end = nextDelimiter(str, delimiter, start);
+            int tokenStart = trimStart(str, start, end);
+            int tokenEnd = trimEnd(str, tokenStart, end);
+            if (tokenStart < tokenEnd) {
+                consumer.accept(parseLong(str, tokenStart, tokenEnd));
+                count++;
+            }
+            start = end + delimiter.length();
+        }
+        return count;
+    }
+
     /**
      * 将字符串按指定分隔符转换为List&lt;Double&gt;
      * @param str 要转换的字符串
@@ -472,4 +760,233 @@ public class StringUtils {
     public static List<Boolean> stringToBooleanList(String str, String delimiter) {
         return stringToList(str, delimiter, Boolean::valueOf);
     }
-}
\ No newline at end of file
+
+    /**
+     * 获取编译后的正则表达式，编译结果缓存
+     */
+    private static Pattern getPattern(String regex) {
+        Pattern pattern = PATTERN_CACHE.get(regex);
+        if (pattern == null) {
+            pattern = Pattern.compile(regex);
+            if (PATTERN_CACHE.size() < PATTERN_CACHE_LIMIT) {
+                PATTERN_CACHE.putIfAbsent(regex, pattern);
+            }
+        }
+        return pattern;
+    }
+
+    private static boolean isLiteral(String delimiter) {
+        if (delimiter.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < delimiter.length(); i++) {
+            if (REGEX_META_CHARS.indexOf(delimiter.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 与String.split一致，去除末尾的空元素
+     */
+    private static String[] removeTrailingEmpty(List<String> tokens) {
+        int size = tokens.size();
+        while (size > 0 && tokens.get(size - 1).isEmpty()) {
+            size--;
+        }
+        return tokens.subList(0, size).toArray(new String[0]);
+    }
+
+    private static int indexOf(CharSequence str, String delimiter, int from) {
+        if (str instanceof String) {
+            return ((String) str).indexOf(delimiter, from);
+        }
+        char first = delimiter.charAt(0);
+        int max = str.length() - delimiter.length();
+        for (int i = from; i <= max; i++) {
+            if (str.charAt(i) != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < delimiter.length() && str.charAt(i + j) == delimiter.charAt(j)) {
+                j++;
+            }
+            if (j == delimiter.length()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 下一个分隔符的位置，不存在时返回字符串长度
+     */
+    private static int nextDelimiter(CharSequence str, String delimiter, int from) {
+        if (delimiter == null || delimiter.isEmpty()) {
+            throw new IllegalArgumentException("delimiter must not be empty");
+        }
+        int end = indexOf(str, delimiter, from);
+        return end < 0 ? str.length() : end;
+    }
+
+    private static int estimateTokens(CharSequence str, String delimiter) {
+        if (delimiter == null || delimiter.isEmpty()) {
+            throw new IllegalArgumentException("delimiter must not be empty");
+        }
+        int count = 1;
+        for (int i = indexOf(str, delimiter, 0); i >= 0; i = indexOf(str, delimiter, i + delimiter.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 解析[start, end)范围内的十进制long，规则与Long.parseLong一致（可选正负号，仅ASCII数字）
+     */
+    private static long parseLong(CharSequence str, int start, int end) {
+        int i = start;
+        char first = str.charAt(i);
+        boolean negative = first == '-';
+        if (negative || first == '+') {
+            i++;
+        }
+        if (i == end) {
+            throw numberFormatException(str, start, end);
+        }
+        // 按负数累加，可以表示Long.MIN_VALUE
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyMin = limit / 10;
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = str.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyMin) {
+                throw numberFormatException(str, start, end);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw numberFormatException(str, start, end);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * 解析[start, end)范围内的double
+     * 形如[+-]?d+(.d+)?且有效数字不超过15位时，整数部分和10的幂都可精确表示为double，一次除法即得到正确舍入的结果
+     */
+    private static double parseDouble(CharSequence str, int start, int end) {
+        int i = start;
+        char first = str.charAt(i);
+        boolean negative = first == '-';
+        if (negative || first == '+') {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < end; i++) {
+            char c = str.charAt(i);
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0 && ++digits > 15) {
+                    break;
+                }
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                break;
+            }
+        }
+        boolean simple = i == end && scale != 0 && scale < POWERS_OF_TEN.length && str.charAt(end - 1) != '.'
+                && (str.charAt(i - 1) != '-' && str.charAt(i - 1) != '+');
+        if (!simple) {
+            return Double.parseDouble(str.subSequence(start, end).toString());
+        }
+        double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+        return negative ? -value : value;
+    }
+
+    private static NumberFormatException numberFormatException(CharSequence str, int start, int end) {
+        return new NumberFormatException("For input string: \"" + str.subSequence(start, end) + "\"");
+    }
+
+    /**
+     * long的十进制字符串长度（含负号）
+     */
+    private static int stringSize(long value) {
+        int size = value < 0 ? 2 : 1;
+        long remaining = value < 0 ? value : -value;
+        while (remaining <= -10) {
+            remaining /= 10;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * 按String.trim的规则跳过开头的空白字符
+     */
+    private static int trimStart(CharSequence str, int start, int end) {
+        while (start < end && str.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * 按String.trim的规则跳过结尾的空白字符
+     */
+    private static int trimEnd(CharSequence str, int start, int end) {
+        while (end > start && str.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static void addToken(CharSequence str, int start, int end, boolean trim, List<String> result) {
+        if (trim) {
+            start = trimStart(str, start, end);
+            end = trimEnd(str, start, end);
+            if (start == end) {
+                return;
+            }
+        }
+        result.add(str.subSequence(start, end).toString());
+    }
+
+    /**
+     * 正则\s匹配的空白字符：空格、\t、\n、\x0B、\f、\r
+     */
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    /**
+     * [start, end)是否为非空且全部为0-9
+     */
+    private static boolean isDigits(String str, int start, int end) {
+        if (start >= end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = str.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 跳过可选的正负号
+     */
+    private static int signEnd(String str) {
+        char first = str.charAt(0);
+        return first == '+' || first == '-' ? 1 : 0;
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.jukejuke.tool.annotation;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AnnotationMetadata测试类
+ */
+class AnnotationMetadataTest {
+
+    @Target({ElementType.TYPE, ElementType.FIELD, ElementType.METHOD})
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Marker {
+        String value() default "";
+
+        int order() default 0;
+    }
+
+    @Marker("iface")
+    interface BaseApi {
+    }
+
+    interface ChildApi extends BaseApi {
+    }
+
+    @Marker("base")
+    static class Base {
+        @Marker(value = "id", order = 1)
+        private Long id;
+
+        @Marker("handle")
+        public void handle() {
+        }
+
+        @Marker("audit")
+        public void audit() {
+        }
+    }
+
+    static class Child extends Base implements ChildApi {
+        @Marker(value = "name", order = 2)
+        private String name;
+        private String plain;
+
+        @Override
+        @Marker("child-handle")
+        public void handle() {
+        }
+    }
+
+    @Test
+    void testFields() {
+        List<AnnotationMetadata.AnnotatedMember<Field, Marker>> declared = AnnotationMetadata.getFields(Child.class, Marker.class, false);
+        assertEquals(1, declared.size());
+        assertEquals("name", declared.get(0).getMember().getName());
+        assertSame(declared, AnnotationMetadata.getFields(Child.class, Marker.class, false));
+
+        List<AnnotationMetadata.AnnotatedMember<Field, Marker>> all = AnnotationMetadata.getFields(Child.class, Marker.class, true);
+        assertEquals(2, all.size());
+        assertEquals("id", all.get(1).getMember().getName());
+        assertEquals(1, all.get(1).getProperty("order"));
+        assertThrows(UnsupportedOperationException.class, () -> all.remove(0));
+        assertTrue(AnnotationMetadata.getFields(null, Marker.class, true).isEmpty());
+    }
+
+    @Test
+    void testMethodsWithHierarchy() {
+        List<Method> all = AnnotationUtils.getAllMethodsWithAnnotation(Child.class, Marker.class);
+        assertEquals(2, all.size());
+        assertEquals(Child.class, all.get(0).getDeclaringClass());
+        assertEquals("audit", all.get(1).getName());
+        assertEquals(1, AnnotationUtils.getMethodsWithAnnotation(Child.class, Marker.class).size());
+        assertEquals(2, AnnotationUtils.getAllFieldsWithAnnotation(Child.class, Marker.class).size());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testMembersAreCopies() {
+        // 调用方修改可访问性不影响其他调用方拿到的成员
+        Field field = AnnotationUtils.getFieldsWithAnnotation(Child.class, Marker.class).get(0);
+        field.setAccessible(true);
+        Field again = AnnotationUtils.getFieldsWithAnnotation(Child.class, Marker.class).get(0);
+        assertNotSame(field, again);
+        assertEquals(field, again);
+        // 同一嵌套类中canAccess恒为true，直接检查可访问标记
+        assertFalse(again.isAccessible());
+        assertFalse(AnnotationMetadata.getFields(Child.class, Marker.class, false).get(0).getMember().isAccessible());
+
+        Method method = AnnotationUtils.getAllMethodsWithAnnotation(Child.class, Marker.class).get(1);
+        assertNotSame(method, AnnotationUtils.getAllMethodsWithAnnotation(Child.class, Marker.class).get(1));
+        assertEquals(method, AnnotationUtils.getAllMethodsWithAnnotation(Child.class, Marker.class).get(1));
+    }
+
+    @Test
+    void testClassesAndProperties() {
+        assertEquals(Arrays.asList(Base.class), AnnotationUtils.getSuperClassesWithAnnotation(Child.class, Marker.class));
+        assertEquals(Arrays.asList(BaseApi.class), AnnotationUtils.getInterfacesWithAnnotation(Child.class, Marker.class));
+
+        Marker marker = Base.class.getAnnotation(Marker.class);
+        Map<String, Object> properties = AnnotationMetadata.extractProperties(marker);
+        assertEquals("base", properties.get("value"));
+        assertEquals(0, properties.get("order"));
+        assertEquals("base", AnnotationUtils.getAnnotationProperty(marker, "value"));
+        assertNull(AnnotationUtils.getAnnotationProperty(marker, "missing"));
+        assertTrue(AnnotationMetadata.extractProperties(null).isEmpty());
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.jukejuke.tool.bean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BeanConvertUtils流式与并行转换测试类
+ */
+class BeanConvertUtilsStreamTest {
+
+    static class Entity {
+        private Long id;
+        private String name;
+
+        Entity() {
+        }
+
+        Entity(long id) {
+            this.id = id;
+            this.name = "n" + id;
+        }
+    }
+
+    static class VO {
+        private Long id;
+        private String name;
+    }
+
+    @AfterEach
+    void resetThreshold() {
+        BeanConvertUtils.setParallelThreshold(BeanConvertUtils.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    @Test
+    void testConvertStreamIsLazy() {
+        AtomicInteger pulled = new AtomicInteger();
+        Stream<Entity> source = Stream.iterate(0L, i -> i + 1).map(i -> {
+            pulled.incrementAndGet();
+            return new Entity(i);
+        });
+        List<VO> first = BeanConvertUtils.convertStream(source, VO.class).limit(3).collect(Collectors.toList());
+        assertEquals(3, first.size());
+        assertEquals("n2", first.get(2).name);
+        assertEquals(3, pulled.get());
+    }
+
+    @Test
+    void testConvertIterable() {
+        List<Entity> entities = new LinkedList<>(Arrays.asList(new Entity(1), null, new Entity(3)));
+        List<VO> vos = BeanConvertUtils.convertStream(entities, VO.class).collect(Collectors.toList());
+        assertEquals(3, vos.size());
+        assertNull(vos.get(1));
+        assertEquals(3L, vos.get(2).id);
+        assertEquals(0, BeanConvertUtils.convertStream((Iterable<Entity>) null, VO.class).count());
+    }
+
+    @Test
+    void testConvertListParallel() {
+        BeanConvertUtils.setParallelThreshold(100);
+        List<Entity> entities = new ArrayList<>();
+        for (long i = 0; i < 5000; i++) {
+            entities.add(i == 10 ? null : new Entity(i));
+        }
+        List<VO> vos = BeanConvertUtils.convertListParallel(entities, VO.class);
+        assertEquals(5000, vos.size());
+        assertNull(vos.get(10));
+        for (int i = 0; i < vos.size(); i++) {
+            if (i != 10) {
+                assertEquals(i, vos.get(i).id.intValue());
+            }
+        }
+        // 低于阈值时顺序转换
+        assertEquals(2, BeanConvertUtils.convertListParallel(entities.subList(0, 2), VO.class).size());
+        assertTrue(BeanConvertUtils.convertListParallel(null, VO.class).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> BeanConvertUtils.setParallelThreshold(0));
+    }
+}
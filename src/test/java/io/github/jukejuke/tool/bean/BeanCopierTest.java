@@ -0,0 +1,209 @@
+package io.github.jukejuke.tool.bean;
+
+import io.github.jukejuke.tool.date.DateUtil;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BeanCopier测试类
+ */
+class BeanCopierTest {
+
+    static class BaseEntity {
+        private Long id;
+        private Date createTime;
+    }
+
+    static class UserEntity extends BaseEntity {
+        private static final String TABLE = "user";
+        private String name;
+        private Integer age;
+        private Integer score;
+        private String birthday;
+        private Object remark;
+        private List<String> tags;
+    }
+
+    static class UserDTO {
+        private Long id;
+        private Date createTime;
+        private String name;
+        private int age;
+        private long score;
+        private Date birthday;
+        private String remark;
+        private List<String> tags;
+        private String nickName;
+    }
+
+    /**
+     * 只有链式setter、没有同名字段的目标类
+     */
+    public static class UserView {
+        private String displayName;
+        private String nickName;
+
+        public UserView setName(String name) {
+            this.displayName = name;
+            return this;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    static class NoDefaultConstructor {
+        private String name;
+
+        NoDefaultConstructor(String name) {
+            this.name = name;
+        }
+    }
+
+    private static UserEntity entity() {
+        UserEntity entity = new UserEntity();
+        ((BaseEntity) entity).id = 1L;
+        ((BaseEntity) entity).createTime = new Date(1700000000000L);
+        entity.name = "张三";
+        entity.age = 20;
+        entity.score = 99;
+        entity.birthday = "1990-01-01";
+        entity.remark = "备注";
+        entity.tags = Arrays.asList("a", "b");
+        return entity;
+    }
+
+    @Test
+    void testCopyWithInheritanceAndConversion() {
+        UserDTO dto = BeanCopier.get(UserEntity.class, UserDTO.class).copy(entity());
+        assertEquals(1L, dto.id);
+        assertEquals(new Date(1700000000000L), dto.createTime);
+        assertEquals("张三", dto.name);
+        assertEquals(20, dto.age);
+        assertEquals(99L, dto.score);
+        assertEquals("1990-01-01", DateUtil.format(dto.birthday, DateUtil.FORMAT_DATE));
+        assertEquals("备注", dto.remark);
+        assertEquals(Arrays.asList("a", "b"), dto.tags);
+        assertNull(dto.nickName);
+    }
+
+    @Test
+    void testSkipNullPrimitiveAndIncompatibleValue() {
+        UserEntity entity = entity();
+        entity.age = null;
+        entity.remark = 123;
+        UserDTO dto = new UserDTO();
+        dto.age = 7;
+        dto.remark = "old";
+        BeanCopier.get(UserEntity.class, UserDTO.class).copy(entity, dto);
+        assertEquals(7, dto.age);
+        assertEquals("old", dto.remark);
+    }
+
+    @Test
+    void testSetterOnlyTarget() {
+        UserView view = BeanCopier.get(UserEntity.class, UserView.class).copy(entity());
+        assertEquals("张三", view.getDisplayName());
+    }
+
+    @Test
+    void testCacheAndErrors() {
+        BeanCopier<UserEntity, UserDTO> copier = BeanCopier.get(UserEntity.class, UserDTO.class);
+        assertSame(copier, BeanCopier.get(UserEntity.class, UserDTO.class));
+        // 静态字段不参与拷贝
+        assertEquals(8, copier.getPropertyCount());
+        assertNull(copier.copy(null));
+
+        assertThrows(IllegalStateException.class,
+                () -> BeanCopier.get(UserDTO.class, NoDefaultConstructor.class).copy(new UserDTO()));
+        assertThrows(IllegalArgumentException.class, () -> BeanCopier.get(null, UserDTO.class));
+    }
+
+    @Test
+    void testBeanUtilsAndConvertUtilsRouting() throws Exception {
+        UserDTO dto = BeanUtils.copyBean(entity(), UserDTO.class);
+        assertEquals("张三", dto.name);
+
+        UserDTO target = new UserDTO();
+        BeanUtils.copyBeanProperties(entity(), target);
+        assertEquals(1L, target.id);
+
+        List<UserDTO> list = BeanConvertUtils.entityListToDTOList(Arrays.asList(entity(), null, entity()), UserDTO.class);
+        assertEquals(3, list.size());
+        assertNull(list.get(1));
+        assertEquals(99L, list.get(2).score);
+        assertTrue(BeanConvertUtils.entityListToVOList(null, UserDTO.class).isEmpty());
+    }
+
+    static class WideningSource {
+        private Integer count;
+        private char grade;
+        private long big;
+        private Long boxedBig;
+    }
+
+    static class WideningTarget {
+        private long count;
+        private int grade;
+        private double big;
+        private Double boxedBig;
+    }
+
+    @Test
+    void testPrimitiveWideningLikeFieldSet() {
+        WideningSource source = new WideningSource();
+        source.count = 3;
+        source.grade = 'A';
+        source.big = Long.MAX_VALUE - 1;
+        source.boxedBig = Long.MAX_VALUE - 1;
+        WideningTarget target = BeanCopier.get(WideningSource.class, WideningTarget.class).copy(source);
+        // 目标为基本类型时与Field.set一样拓宽，包括char转int和可能丢失精度的long转double
+        assertEquals(3L, target.count);
+        assertEquals('A', target.grade);
+        assertEquals((double) (Long.MAX_VALUE - 1), target.big);
+        // 目标为包装类型时只在能精确表示时转换
+        assertNull(target.boxedBig);
+
+        assertTrue(BeanCopier.isWidening(Integer.class, long.class));
+        assertTrue(BeanCopier.isWidening(Long.class, float.class));
+        assertFalse(BeanCopier.isWidening(Long.class, int.class));
+        assertFalse(BeanCopier.isWidening(Boolean.class, int.class));
+    }
+
+    @Test
+    void testNumberConversionOnlyWhenExact() {
+        // 能精确表示时转换
+        assertEquals(3, BeanCopier.convertNumber(3L, Integer.class));
+        assertEquals(3L, BeanCopier.convertNumber(3.0, Long.class));
+        assertEquals(3, BeanCopier.convertNumber(new BigDecimal("3.00"), Integer.class));
+        assertEquals(7L, BeanCopier.convertNumber(BigInteger.valueOf(7), Long.class));
+        assertEquals(2.5, BeanCopier.convertNumber(new BigDecimal("2.5"), Double.class));
+        assertEquals(1.5f, BeanCopier.convertNumber(1.5, Float.class));
+        assertEquals((byte) -1, BeanCopier.convertNumber(-1, Byte.class));
+
+        // 超出范围或丢失精度时跳过
+        assertSame(BeanCopier.SKIP, BeanCopier.convertNumber(Long.MAX_VALUE, Integer.class));
+        assertSame(BeanCopier.SKIP, BeanCopier.convertNumber(2.5, Long.class));
+        assertSame(BeanCopier.SKIP, BeanCopier.convertNumber(new BigDecimal("1.5"), Integer.class));
+        assertSame(BeanCopier.SKIP, BeanCopier.convertNumber(new BigInteger("18446744073709551615"), Long.class));
+        assertSame(BeanCopier.SKIP, BeanCopier.convertNumber(0.1, Float.class));
+        assertSame(BeanCopier.SKIP, BeanCopier.convertNumber(Long.MAX_VALUE - 1, Double.class));
+        assertSame(BeanCopier.SKIP, BeanCopier.convertNumber(300, Byte.class));
+        assertSame(BeanCopier.SKIP, BeanCopier.convertNumber(Double.NaN, Long.class));
+
+        UserEntity entity = entity();
+        UserDTO dto = new UserDTO();
+        dto.age = 7;
+        entity.age = 20;
+        BeanCopier.get(UserEntity.class, UserDTO.class).copy(entity, dto);
+        assertEquals(20, dto.age);
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.jukejuke.tool.bean;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import com.alibaba.fastjson2.JSONWriter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BeanProjection测试类
+ */
+class BeanProjectionTest {
+
+    static class Item {
+        private static final String CONSTANT = "c";
+        private Long id;
+        private String name;
+        private String secret;
+        private int count;
+
+        Item(Long id, String name, String secret, int count) {
+            this.id = id;
+            this.name = name;
+            this.secret = secret;
+            this.count = count;
+        }
+    }
+
+    static class Other {
+        private String code = "o";
+    }
+
+    static class Immutable {
+        private final String code;
+        private final String name;
+
+        Immutable(String code, String name) {
+            this.code = code;
+            this.name = name;
+        }
+    }
+
+    @Test
+    void testCachedByTypeAndExcludeSet() {
+        Set<String> exclude = new HashSet<>(Arrays.asList("secret"));
+        BeanProjection projection = BeanProjection.of(Item.class, exclude);
+        assertSame(projection, BeanProjection.of(Item.class, new HashSet<>(Arrays.asList("secret"))));
+        // 修改调用方集合不影响已缓存的投影
+        exclude.add("name");
+        assertEquals(Arrays.asList("id", "name", "count"), projection.getPropertyNames());
+        assertNotSame(projection, BeanProjection.of(Item.class, exclude));
+        assertSame(BeanProjection.of(Item.class, null), BeanProjection.of(Item.class, new HashSet<>()));
+        assertThrows(IllegalArgumentException.class, () -> BeanProjection.of(null, null));
+    }
+
+    @Test
+    void testToMap() {
+        BeanProjection projection = BeanProjection.of(Item.class, new HashSet<>(Arrays.asList("secret", "none")));
+        Map<String, Object> map = projection.toMap(new Item(1L, null, "s", 2));
+        assertEquals(3, map.size());
+        assertEquals(1L, map.get("id"));
+        assertTrue(map.containsKey("name"));
+        assertEquals(2, map.get("count"));
+        assertThrows(IllegalArgumentException.class, () -> projection.toMap(new Other()));
+    }
+
+    @Test
+    void testWriteJson() {
+        Set<String> exclude = new HashSet<>(Arrays.asList("secret"));
+        JSONObject json = JSON.parseObject(BeanProjection.toJSONString(new Item(1L, null, "s", 2), exclude));
+        assertEquals(2, json.size());
+        assertEquals(1L, json.getLongValue("id"));
+        assertEquals(2, json.getIntValue("count"));
+
+        try (JSONWriter writer = JSONWriter.of(JSONWriter.Feature.WriteNulls)) {
+            BeanProjection.of(Item.class, exclude).writeTo(writer, new Item(1L, null, "s", 2));
+            assertTrue(JSON.parseObject(writer.toString()).containsKey("name"));
+        }
+
+        List<Object> beans = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            beans.add(new Item((long) i, "n" + i, "s", i));
+        }
+        beans.add(null);
+        beans.add(new Other());
+        JSONArray array = JSON.parseArray(BeanProjection.toJSONString(beans, exclude));
+        assertEquals(1002, array.size());
+        assertEquals("n999", array.getJSONObject(999).getString("name"));
+        assertFalse(array.getJSONObject(999).containsKey("secret"));
+        assertNull(array.get(1000));
+        assertEquals("o", array.getJSONObject(1001).getString("code"));
+        assertEquals("null", BeanProjection.toJSONString((Object) null, exclude));
+    }
+
+    @Test
+    void testFilterListAndRemoveProperties() throws IllegalAccessException {
+        List<Map<String, Object>> maps = BeanFieldFilter.getFilteredFieldsList(
+                Arrays.asList(new Item(1L, "a", "s", 1), null, new Other()), new HashSet<>(Arrays.asList("secret")));
+        assertEquals(3, maps.size());
+        assertEquals("a", maps.get(0).get("name"));
+        assertNull(maps.get(1));
+        assertEquals("o", maps.get(2).get("code"));
+        assertTrue(BeanFieldFilter.getFilteredFieldsList(null, null).isEmpty());
+
+        Item item = new Item(1L, "a", "s", 1);
+        BeanPropertyUtils.removeProperties(item, "name", "secret");
+        assertNull(item.name);
+        assertNull(item.secret);
+        assertEquals(1L, item.id);
+        assertThrows(IllegalArgumentException.class, () -> BeanPropertyUtils.removeProperties(item, "count"));
+
+        // final字段与原实现一致通过反射置为null，不会被跳过
+        Immutable immutable = new Immutable("c", "n");
+        BeanPropertyUtils.removeProperties(immutable, "code");
+        assertNull(immutable.code);
+        assertEquals("n", immutable.name);
+    }
+}
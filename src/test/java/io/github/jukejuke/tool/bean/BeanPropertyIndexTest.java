@@ -0,0 +1,135 @@
+package io.github.jukejuke.tool.bean;
+
+import io.github.jukejuke.tool.date.DateUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BeanPropertyIndex及基于它的BeanUtils方法测试类
+ */
+class BeanPropertyIndexTest {
+
+    static class BaseBean {
+        private Long id;
+        private Date createTime;
+    }
+
+    static class ChildBean extends BaseBean {
+        private static int counter;
+        private final String code;
+        private String name;
+        private int age;
+        private String alias;
+
+        ChildBean() {
+            this.code = "C";
+        }
+
+        public void setNickName(String nickName) {
+            this.alias = nickName;
+        }
+    }
+
+    @Test
+    void testIndex() {
+        BeanPropertyIndex index = BeanPropertyIndex.of(ChildBean.class);
+        assertSame(index, BeanPropertyIndex.of(ChildBean.class));
+        // 字段属性：code、name、age、alias、id、createTime
+        assertEquals(6, index.fieldProperties().length);
+        assertNull(index.get("counter"));
+        assertNull(index.get("missing"));
+        assertNull(index.get(null));
+        // 与Field.set一致，final字段可写
+        assertTrue(index.get("code").isWritable());
+        assertTrue(index.get("nickName").isWritable());
+        assertFalse(index.get("nickName").isReadable());
+    }
+
+    @Test
+    void testHasProperty() {
+        assertTrue(BeanUtils.hasProperty(ChildBean.class, "id"));
+        assertTrue(BeanUtils.hasProperty(ChildBean.class, "nickName"));
+        assertFalse(BeanUtils.hasProperty(ChildBean.class, "missing"));
+        assertFalse(BeanUtils.hasProperty(null, "id"));
+        assertTrue(BeanUtils.isReadableProperty(ChildBean.class, "code"));
+        assertTrue(BeanUtils.isWritableProperty(ChildBean.class, "code"));
+        assertFalse(BeanUtils.isReadableProperty(ChildBean.class, "nickName"));
+    }
+
+    @Test
+    void testBeanToMapIncludesInheritedFields() throws Exception {
+        ChildBean bean = new ChildBean();
+        ((BaseBean) bean).id = 9L;
+        ((BaseBean) bean).createTime = DateUtil.parse("2024-05-01", DateUtil.FORMAT_DATE);
+        bean.name = "n";
+        Map<String, Object> map = BeanUtils.beanToMap(bean);
+        assertEquals(6, map.size());
+        assertEquals(9L, map.get("id"));
+        assertEquals("2024-05-01", map.get("createTime"));
+        assertEquals("C", map.get("code"));
+        assertFalse(map.containsKey("counter"));
+    }
+
+    @Test
+    void testMapToBean() throws Exception {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", 5);
+        map.put("createTime", "2023-01-01 12:00:00");
+        map.put("name", "n");
+        map.put("age", null);
+        map.put("nickName", "nick");
+        map.put("code", "X");
+        map.put("unknown", "u");
+        map.put("alias", 1);
+        ChildBean bean = BeanUtils.mapToBean(map, ChildBean.class);
+        assertEquals(5L, ((BaseBean) bean).id);
+        assertEquals("2023-01-01 12:00:00", DateUtil.format(((BaseBean) bean).createTime, DateUtil.FORMAT_DATETIME));
+        assertEquals("n", bean.name);
+        assertEquals(0, bean.age);
+        assertEquals("nick", bean.alias);
+        assertEquals("X", bean.code);
+
+        ChildBean copy = new ChildBean();
+        BeanUtils.copyBeanProperties(bean, copy);
+        assertEquals("X", copy.code);
+    }
+
+    @Test
+    void testBeanAsMapReadsLazily() {
+        ChildBean bean = new ChildBean();
+        bean.name = "a";
+        Map<String, Object> view = BeanUtils.beanAsMap(bean);
+        assertEquals(6, view.size());
+        assertEquals("a", view.get("name"));
+        bean.name = "b";
+        assertEquals("b", view.get("name"));
+        assertTrue(view.containsKey("id"));
+        assertFalse(view.containsKey("nickName"));
+        assertNull(view.get("missing"));
+        ((BaseBean) bean).createTime = new java.sql.Timestamp(DateUtil.parse("2024-05-01 08:30:00").getTime());
+        assertEquals("2024-05-01 08:30:00", view.get("createTime"));
+        assertEquals(new HashMap<>(view), assertDoesNotThrow(() -> BeanUtils.beanToMap(bean)));
+        assertThrows(UnsupportedOperationException.class, () -> view.put("name", "c"));
+        assertNull(BeanUtils.beanAsMap(null));
+    }
+
+    @Test
+    void testDateCodec() {
+        Date date = DateUtil.parse("2024-02-29", DateUtil.FORMAT_DATE);
+        assertEquals("2024-02-29", DateCodec.format(date));
+        assertEquals(date, DateCodec.parse("2024-02-29"));
+        Date dateTime = DateUtil.parse("2024-02-29 23:59:58");
+        assertEquals("2024-02-29 23:59:58", DateCodec.format(dateTime));
+        assertEquals(dateTime, DateCodec.parse("2024-02-29 23:59:58"));
+        // 毫秒不为0时不视为纯日期
+        assertEquals("2024-02-29 00:00:00", DateCodec.format(new Date(date.getTime() + 1)));
+        // 非标准格式回退到宽松解析
+        assertEquals(dateTime, DateCodec.parse("2024-02-29 23:59:58.123"));
+        assertNull(DateCodec.parse("not a date"));
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.jukejuke.tool.date;
+
+import io.github.jukejuke.tool.id.DateIdTool;
+import io.github.jukejuke.tool.id.IdGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CachedClock测试类
+ */
+class CachedClockTest {
+
+    private static final ZoneId SHANGHAI = ZoneId.of("Asia/Shanghai");
+
+    @Test
+    void testManualClock() {
+        CachedClock clock = CachedClock.manual(1705278600123L, SHANGHAI);
+        assertFalse(clock.isTicking());
+        assertEquals(1705278600123L, clock.millis());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 8, 30, 0, 123000000), clock.now());
+        assertEquals(LocalDate.of(2024, 1, 15), clock.today());
+        assertEquals("2024-01-15", clock.getDateString());
+        assertEquals("2024-01-15 08:30:00", clock.getDateTimeString());
+
+        // 同一天复用日期对象，跨天后更新
+        LocalDate today = clock.today();
+        clock.advance(1000);
+        assertSame(today, clock.today());
+        assertEquals("2024-01-15 08:30:01", clock.getDateTimeString());
+        clock.advance(16 * 3600000L);
+        assertEquals("2024-01-16", clock.getDateString());
+        assertEquals("2024-01-16 00:30:01", clock.getDateTimeString());
+
+        // 手动时钟允许回拨
+        clock.setMillis(0);
+        assertEquals("1970-01-01 08:00:00", clock.getDateTimeString());
+    }
+
+    @Test
+    void testTickingClock() throws InterruptedException {
+        AtomicLong source = new AtomicLong(1705278600000L);
+        ClockOptions options = ClockOptions.defaults();
+        options.setResolutionMillis(2);
+        options.setTimeSource(source::get);
+        options.setOffsetSource(() -> 500);
+        options.setZone(SHANGHAI);
+        try (CachedClock clock = CachedClock.start(options)) {
+            assertTrue(clock.isTicking());
+            assertEquals(2, clock.getResolutionMillis());
+            assertEquals(1705278600500L, clock.millis());
+
+            source.set(1705278601000L);
+            awaitMillis(clock, 1705278601500L);
+            assertEquals("2024-01-15 08:30:01", clock.getDateTimeString());
+
+            // 时间来源回拨时保持不变
+            source.set(1705278500000L);
+            Thread.sleep(50);
+            assertEquals(1705278601500L, clock.millis());
+
+            assertThrows(IllegalStateException.class, () -> clock.setMillis(0));
+        }
+    }
+
+    @Test
+    void testSystemClock() throws InterruptedException {
+        try (CachedClock clock = CachedClock.start(ClockOptions.defaults())) {
+            long before = clock.millis();
+            Thread.sleep(50);
+            assertTrue(clock.millis() > before);
+            assertTrue(Math.abs(System.currentTimeMillis() - clock.millis()) < 1000);
+            assertEquals(LocalDate.now(), clock.today());
+        }
+    }
+
+    @Test
+    void testInvalidOptions() {
+        ClockOptions options = ClockOptions.defaults();
+        options.setResolutionMillis(0);
+        assertThrows(IllegalArgumentException.class, () -> CachedClock.start(options));
+        ClockOptions noSource = ClockOptions.defaults();
+        noSource.setTimeSource(null);
+        assertThrows(IllegalArgumentException.class, () -> CachedClock.start(noSource));
+    }
+
+    @Test
+    void testDefaultClockInjection() {
+        CachedClock clock = CachedClock.manual(1705278600123L);
+        CachedClock previous = CachedClock.setDefault(clock);
+        try {
+            assertSame(clock, CachedClock.getDefault());
+            assertEquals(1705278600123L, IdGenerator.generateTimestampId());
+            assertEquals(1705278600L, IdGenerator.generateTimestampSecondId());
+            assertEquals(clock.today(), DateUtils.today());
+            assertEquals(clock.now(), DateUtils.now());
+            assertEquals(clock.today().format(DateFormats.formatter("yyyyMMdd")), DateIdTool.getCurrentDate());
+        } finally {
+            CachedClock.setDefault(previous);
+        }
+    }
+
+    private static void awaitMillis(CachedClock clock, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (clock.millis() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, clock.millis());
+    }
+}
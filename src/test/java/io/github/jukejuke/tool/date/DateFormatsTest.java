@@ -0,0 +1,115 @@
+package io.github.jukejuke.tool.date;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DateFormats测试类，结果与SimpleDateFormat逐一比较
+ */
+class DateFormatsTest {
+
+    private static final String[] ZONES = {"Asia/Shanghai", "America/New_York", "Europe/London", "Australia/Lord_Howe", "UTC"};
+
+    private static final String[] PATTERNS = {DateUtil.FORMAT_DATE, DateUtil.FORMAT_DATETIME, DateUtil.FORMAT_DATETIME_MILLI,
+            DateUtil.FORMAT_DATE_CHINESE, DateUtil.FORMAT_DATETIME_CHINESE, DateUtil.FORMAT_TIME_ONLY, DateUtil.FORMAT_MONTH_DAY,
+            DateUtil.FORMAT_YEAR_MONTH, "yyyyMMddHHmmssSSS", "y/M/d H:m:s", "yyyy-MM-dd'T'HH:mm:ss", "yy-MM-dd", "EEE, dd MMM yyyy",
+            "yyyy-MM-dd HH:mm:ss Z", "S", "[yyyy]"};
+
+    private TimeZone defaultZone;
+    private Locale defaultLocale;
+
+    @BeforeEach
+    void saveDefaults() {
+        defaultZone = TimeZone.getDefault();
+        defaultLocale = Locale.getDefault();
+    }
+
+    @AfterEach
+    void restoreDefaults() {
+        TimeZone.setDefault(defaultZone);
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    void testFormatMatchesSimpleDateFormat() {
+        Random random = new Random(7);
+        for (String zone : ZONES) {
+            TimeZone.setDefault(TimeZone.getTimeZone(zone));
+            for (int i = 0; i < 2000; i++) {
+                // 覆盖1500年到2200年，包括格里高利历启用之前的日期
+                Date date = new Date(-14831769600000L + (long) (random.nextDouble() * 22089888000000L));
+                for (String pattern : PATTERNS) {
+                    assertEquals(new SimpleDateFormat(pattern).format(date), DateUtil.format(date, pattern), zone + " " + pattern);
+                }
+            }
+        }
+        assertNull(DateUtil.format(null, DateUtil.FORMAT_DATE));
+    }
+
+    @Test
+    void testParseMatchesSimpleDateFormat() throws ParseException {
+        String[][] cases = {
+                {"2024-01-15 08:30:00", DateUtil.FORMAT_DATETIME},
+                {"2024-02-30 25:61:61", DateUtil.FORMAT_DATETIME},
+                {"2024-13-00", DateUtil.FORMAT_DATE},
+                {"2024-1-5", DateUtil.FORMAT_DATE},
+                {"2024-01-15 trailing", DateUtil.FORMAT_DATE},
+                {"2024-01-15 08:30:00.5", DateUtil.FORMAT_DATETIME_MILLI},
+                {"2024-01-15 08:30:00.050", DateUtil.FORMAT_DATETIME_MILLI},
+                {"20240115083000123", "yyyyMMddHHmmssSSS"},
+                {"08:30", DateUtil.FORMAT_TIME_ONLY},
+                {"2024年01月15日", DateUtil.FORMAT_DATE_CHINESE},
+                {"1500-06-01", DateUtil.FORMAT_DATE},
+                {"24-01-15", "yy-MM-dd"},
+                {"2024-11-03 01:30:00", DateUtil.FORMAT_DATETIME},
+                {"2024-03-10 02:30:00", DateUtil.FORMAT_DATETIME},
+                {"2024-04-07 02:30:00", DateUtil.FORMAT_DATETIME},
+                // 定宽字段后多出的数字由SimpleDateFormat读入该字段
+                {"2024-01-015", DateUtil.FORMAT_DATE},
+                {"2024-01-01 10:00:00.1234", DateUtil.FORMAT_DATETIME_MILLI},
+                {"10:005", DateUtil.FORMAT_TIME_ONLY},
+                {"2024-013", DateUtil.FORMAT_YEAR_MONTH},
+                {"2024-001-15 08:30", "yyyy-MM-dd HH:mm"},
+                {"2024-01-15 08:30:0010", "yyyy-MM-dd HH:mm:ss"},
+        };
+        for (String zone : ZONES) {
+            TimeZone.setDefault(TimeZone.getTimeZone(zone));
+            for (String[] c : cases) {
+                assertEquals(new SimpleDateFormat(c[1]).parse(c[0]), DateUtil.parse(c[0], c[1]), zone + " " + c[0]);
+                assertEquals(new SimpleDateFormat(c[1]).parse(c[0]), LegacyDateUtil.parse(c[0], c[1]), zone + " " + c[0]);
+            }
+        }
+        // 字段后紧跟数字字面量时SimpleDateFormat无法解析，不能由DateTimeFormatter解析成功
+        assertNull(DateUtil.parse("2024-01-1508", "yyyy-MM-dd'08'"));
+        assertNull(LegacyDateUtil.parse("2024-01-1508", "yyyy-MM-dd'08'"));
+        assertNull(DateUtil.parse("2024-01-15 0830", "yyyy-MM-dd HH30"));
+        assertNull(DateUtil.parse("abc", DateUtil.FORMAT_DATE));
+        assertNull(DateUtil.parse("", DateUtil.FORMAT_DATE));
+    }
+
+    @Test
+    void testNonGregorianLocaleFallsBack() {
+        Date date = new Date(1700000000000L);
+        for (Locale locale : new Locale[]{new Locale("th", "TH"), Locale.forLanguageTag("ar-SA-u-nu-arab"), Locale.CHINA}) {
+            Locale.setDefault(locale);
+            assertEquals(new SimpleDateFormat(DateUtil.FORMAT_DATETIME).format(date), DateUtil.format(date));
+        }
+    }
+
+    @Test
+    void testFormatterCache() {
+        assertSame(DateFormats.formatter("yyyy/MM/dd"), DateFormats.formatter("yyyy/MM/dd"));
+        assertThrows(IllegalArgumentException.class, () -> DateFormats.formatter("yyyy-MM-dd{"));
+        assertEquals("2025年12月25日", DateUtils.format(java.time.LocalDate.of(2025, 12, 25), DateUtils.FORMAT_DATE_CHINESE));
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.jukejuke.tool.date;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FixedDateFormats测试类，结果与SimpleDateFormat、DateTimeFormatter逐一比较
+ */
+class FixedDateFormatsTest {
+
+    private static final String[] ZONES = {"Asia/Shanghai", "America/New_York", "Europe/London", "Australia/Lord_Howe", "UTC"};
+
+    private static final String[] PATTERNS = {DateUtils.FORMAT_DATE, DateUtils.FORMAT_DATETIME, DateUtils.FORMAT_DATETIME_MILLI};
+
+    private TimeZone defaultZone;
+
+    @BeforeEach
+    void saveDefaults() {
+        defaultZone = TimeZone.getDefault();
+    }
+
+    @AfterEach
+    void restoreDefaults() {
+        TimeZone.setDefault(defaultZone);
+    }
+
+    @Test
+    void testEpochDaysMatchesLocalDate() {
+        Random random = new Random(1);
+        for (int i = 0; i < 100000; i++) {
+            long epochDay = random.nextInt(2 * 3652425) - 3652425L;
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            long civil = EpochDays.toCivil(epochDay);
+            assertEquals(date.getYear(), EpochDays.year(civil));
+            assertEquals(date.getMonthValue(), EpochDays.month(civil));
+            assertEquals(date.getDayOfMonth(), EpochDays.day(civil));
+            assertEquals(epochDay, EpochDays.fromCivil(date.getYear(), date.getMonthValue(), date.getDayOfMonth()));
+            assertEquals(date.lengthOfMonth(), EpochDays.lengthOfMonth(date.getYear(), date.getMonthValue()));
+        }
+    }
+
+    @Test
+    void testParseMatchesSimpleDateFormat() throws ParseException {
+        Random random = new Random(3);
+        for (String zone : ZONES) {
+            TimeZone.setDefault(TimeZone.getTimeZone(zone));
+            for (int i = 0; i < 3000; i++) {
+                // 随机拼出字段，包括夏令时切换附近、越界和非法字段
+                String text = String.format("%04d-%02d-%02d %02d:%02d:%02d.%03d",
+                        1890 + random.nextInt(150), random.nextInt(14), random.nextInt(33),
+                        random.nextInt(25), random.nextInt(61), random.nextInt(61), random.nextInt(1000));
+                for (String pattern : PATTERNS) {
+                    String input = text.substring(0, pattern.length());
+                    assertEquals(new SimpleDateFormat(pattern).parse(input), DateUtil.parse(input, pattern), zone + " " + input);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testDstTransitions() throws ParseException {
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        String[] texts = {"2024-03-10 01:59:59", "2024-03-10 02:30:00", "2024-03-10 03:00:00",
+                "2024-11-03 00:59:59", "2024-11-03 01:30:00", "2024-11-03 02:00:00", "2024-03-09 02:30:00"};
+        for (String text : texts) {
+            Date expected = new SimpleDateFormat(DateUtils.FORMAT_DATETIME).parse(text);
+            assertEquals(expected, DateUtil.parse(text, DateUtils.FORMAT_DATETIME), text);
+        }
+        long start = new SimpleDateFormat(DateUtils.FORMAT_DATETIME).parse("2024-11-03 00:00:00").getTime();
+        for (long millis = start; millis < start + 4 * 3600000L; millis += 60000) {
+            Date date = new Date(millis);
+            assertEquals(new SimpleDateFormat(DateUtils.FORMAT_DATETIME).format(date), DateUtil.format(date, DateUtils.FORMAT_DATETIME));
+        }
+    }
+
+    @Test
+    void testSecondCache() {
+        ZoneId zone = ZoneId.of("Asia/Shanghai");
+        long millis = 1705278600123L;
+        // 历史时刻不使用缓存
+        String first = FixedDateFormats.format(millis, zone, FixedDateFormats.DATETIME);
+        assertEquals("2024-01-15 08:30:00", first);
+        assertEquals(first, FixedDateFormats.format(millis + 500, zone, FixedDateFormats.DATETIME));
+        assertNotSame(first, FixedDateFormats.format(millis + 500, zone, FixedDateFormats.DATETIME));
+        assertEquals("2024-01-15 08:30:00.623", FixedDateFormats.format(millis + 500, zone, FixedDateFormats.DATETIME_MILLI));
+        assertEquals("2024-01-15 08:30:01", FixedDateFormats.format(millis + 1000, zone, FixedDateFormats.DATETIME));
+        assertEquals("2024-01-15 00:30:01", FixedDateFormats.format(millis + 1000, ZoneId.of("UTC"), FixedDateFormats.DATETIME));
+        assertEquals("2024-01-15", FixedDateFormats.format(millis, zone, FixedDateFormats.DATE));
+        assertNull(FixedDateFormats.format(-2240524800000L, zone, FixedDateFormats.DATE));
+
+        // 当前时间附近同一秒内复用缓存的字符串
+        long now = System.currentTimeMillis() / 1000 * 1000;
+        String cached = FixedDateFormats.format(now, zone, FixedDateFormats.DATETIME);
+        assertSame(cached, FixedDateFormats.format(now + 999, zone, FixedDateFormats.DATETIME));
+        assertEquals(cached.substring(0, 10), FixedDateFormats.format(now + 1, zone, FixedDateFormats.DATE));
+        assertEquals(cached + ".999", FixedDateFormats.format(now + 999, zone, FixedDateFormats.DATETIME_MILLI));
+    }
+
+    @Test
+    void testLocalDateTimeMatchesDateTimeFormatter() {
+        Random random = new Random(5);
+        for (int i = 0; i < 20000; i++) {
+            LocalDateTime dateTime = LocalDateTime.of(1 + random.nextInt(12000), 1 + random.nextInt(12), 1 + random.nextInt(28),
+                    random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextInt(1000000000));
+            for (String pattern : PATTERNS) {
+                DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+                assertEquals(dateTime.format(formatter), DateUtils.format(dateTime, pattern));
+            }
+            assertEquals(dateTime.toLocalDate().format(DateTimeFormatter.ofPattern(DateUtils.FORMAT_DATE)),
+                    DateUtils.format(dateTime.toLocalDate()));
+        }
+        String[] texts = {"2024-01-15", "2024-02-29", "2023-02-29", "2024-02-30", "2024-13-01", "0000-01-01", "0001-01-01",
+                "2024-01-15 08:30:00", "2024-01-15 24:00:00", "2024-01-15 23:59:60", "2024-01-15 08:30:00.050", "2024-1-15",
+                "2024/01/15 08:30:00", "2024-01-15 08:30:00.5"};
+        for (String text : texts) {
+            for (String pattern : PATTERNS) {
+                assertSameResult(() -> LocalDate.parse(text, DateTimeFormatter.ofPattern(pattern)),
+                        () -> DateUtils.parseDate(text, pattern));
+                assertSameResult(() -> LocalDateTime.parse(text, DateTimeFormatter.ofPattern(pattern)),
+                        () -> DateUtils.parseDateTime(text, pattern));
+            }
+        }
+    }
+
+    private static void assertSameResult(Supplier<Object> expected, Supplier<Object> actual) {
+        Object expectedValue;
+        try {
+            expectedValue = expected.get();
+        } catch (DateTimeParseException e) {
+            assertThrows(DateTimeParseException.class, actual::get);
+            return;
+        }
+        assertEquals(expectedValue, actual.get());
+    }
+}
@@ -0,0 +1,176 @@
+package io.github.jukejuke.tool.date;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LocalMillis测试类，DateUtil的字段和加减结果与Calendar逐一比较
+ */
+class LocalMillisTest {
+
+    private static final String[] ZONES = {"Asia/Shanghai", "America/New_York", "Europe/London", "Australia/Lord_Howe",
+            "America/Sao_Paulo", "Asia/Kolkata", "UTC"};
+
+    private static final long HOUR = 3600000L;
+
+    private TimeZone defaultZone;
+    private Locale defaultLocale;
+
+    @BeforeEach
+    void saveDefaults() {
+        defaultZone = TimeZone.getDefault();
+        defaultLocale = Locale.getDefault();
+    }
+
+    @AfterEach
+    void restoreDefaults() {
+        TimeZone.setDefault(defaultZone);
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    void testFieldsAndArithmeticMatchCalendar() {
+        Random random = new Random(11);
+        for (String zone : ZONES) {
+            TimeZone.setDefault(TimeZone.getTimeZone(zone));
+            for (int i = 0; i < 5000; i++) {
+                // 覆盖1850年到2150年，包括不走快速路径的年份
+                Date date = new Date(-3786825600000L + (long) (random.nextDouble() * 9467280000000L));
+                int amount = random.nextInt(801) - 400;
+                assertMatchesCalendar(date, amount, zone);
+            }
+        }
+    }
+
+    @Test
+    void testDstTransitions() {
+        Random random = new Random(13);
+        for (String zone : ZONES) {
+            TimeZone.setDefault(TimeZone.getTimeZone(zone));
+            ZoneRules rules = ZoneId.of(zone).getRules();
+            Instant instant = Instant.parse("2015-01-01T00:00:00Z");
+            for (int t = 0; t < 20; t++) {
+                ZoneOffsetTransition transition = rules.nextTransition(instant);
+                if (transition == null) {
+                    break;
+                }
+                instant = transition.getInstant();
+                long millis = instant.toEpochMilli();
+                // 切换点前后、前后一天、前后一个月的时刻
+                for (long delta = -26 * HOUR; delta <= 26 * HOUR; delta += 15 * 60000L) {
+                    for (long base : new long[]{millis, millis - 86400000L * 30, millis + 86400000L * 31}) {
+                        assertMatchesCalendar(new Date(base + delta), random.nextInt(5) - 2, zone);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testNonGregorianLocale() {
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Bangkok"));
+        Locale.setDefault(new Locale("th", "TH"));
+        Date date = new Date(1700000000000L);
+        assertEquals(calendar(date).get(Calendar.YEAR), DateUtil.getYear(date));
+        assertEquals(2566, DateUtil.getYear(date));
+        Locale.setDefault(Locale.US);
+        assertEquals(2023, DateUtil.getYear(date));
+    }
+
+    @Test
+    void testBulkTruncate() {
+        Random random = new Random(17);
+        for (String zone : ZONES) {
+            TimeZone.setDefault(TimeZone.getTimeZone(zone));
+            long[] millis = new long[5000];
+            long current = 1420070400000L;
+            for (int i = 0; i < millis.length; i++) {
+                // 大部分有序，夹杂乱序和1900年之前的时间戳
+                current += random.nextInt(4 * 3600000);
+                millis[i] = i % 97 == 0 ? -2500000000000L - random.nextInt(1000000000) : (i % 13 == 0 ? current - 86400000L * 40 : current);
+            }
+            long[] days = DateUtil.getStartOfDays(millis);
+            long[] hours = DateUtil.getStartOfHours(millis);
+            for (int i = 0; i < millis.length; i++) {
+                Calendar cal = calendar(new Date(millis[i]));
+                cal.set(Calendar.MINUTE, 0);
+                cal.set(Calendar.SECOND, 0);
+                cal.set(Calendar.MILLISECOND, 0);
+                assertEquals(cal.getTimeInMillis(), hours[i], zone + " " + millis[i]);
+                // 分钟置0后可能落在夏令时间隙中被顺延，按天截断需要重新设置全部字段
+                Calendar day = calendar(new Date(millis[i]));
+                day.set(Calendar.HOUR_OF_DAY, 0);
+                day.set(Calendar.MINUTE, 0);
+                day.set(Calendar.SECOND, 0);
+                day.set(Calendar.MILLISECOND, 0);
+                assertEquals(day.getTimeInMillis(), days[i], zone + " " + millis[i]);
+            }
+        }
+        assertNull(DateUtil.getStartOfDays(null));
+        assertEquals(0, DateUtil.getStartOfHours(new long[0]).length);
+    }
+
+    private static void assertMatchesCalendar(Date date, int amount, String zone) {
+        String message = zone + " " + date.getTime() + " " + amount;
+        Calendar cal = calendar(date);
+        assertEquals(cal.get(Calendar.YEAR), DateUtil.getYear(date), message);
+        assertEquals(cal.get(Calendar.MONTH) + 1, DateUtil.getMonth(date), message);
+        assertEquals(cal.get(Calendar.DAY_OF_MONTH), DateUtil.getDay(date), message);
+        assertEquals(cal.get(Calendar.HOUR_OF_DAY), DateUtil.getHour(date), message);
+        assertEquals(cal.get(Calendar.MINUTE), DateUtil.getMinute(date), message);
+        assertEquals(cal.get(Calendar.SECOND), DateUtil.getSecond(date), message);
+        assertEquals(cal.get(Calendar.DAY_OF_WEEK), DateUtil.getDayOfWeek(date), message);
+        assertEquals(cal.get(Calendar.DAY_OF_YEAR), DateUtil.getDayOfYear(date), message);
+        assertEquals(cal.getActualMaximum(Calendar.DAY_OF_MONTH), DateUtil.getDaysInMonth(date), message);
+
+        assertEquals(add(date, Calendar.YEAR, amount / 10), DateUtil.addYears(date, amount / 10), message);
+        assertEquals(add(date, Calendar.MONTH, amount), DateUtil.addMonths(date, amount), message);
+        assertEquals(add(date, Calendar.DAY_OF_MONTH, amount), DateUtil.addDays(date, amount), message);
+        assertEquals(add(date, Calendar.HOUR_OF_DAY, amount), DateUtil.addHours(date, amount), message);
+        assertEquals(add(date, Calendar.MINUTE, amount), DateUtil.addMinutes(date, amount), message);
+        assertEquals(add(date, Calendar.SECOND, amount), DateUtil.addSeconds(date, amount), message);
+
+        Date other = add(date, Calendar.HOUR_OF_DAY, amount / 20);
+        Calendar otherCal = calendar(other);
+        assertEquals(cal.get(Calendar.YEAR) == otherCal.get(Calendar.YEAR) && cal.get(Calendar.DAY_OF_YEAR) == otherCal.get(Calendar.DAY_OF_YEAR),
+                DateUtil.isSameDay(date, other), message);
+
+        Calendar start = calendar(date);
+        start.set(Calendar.HOUR_OF_DAY, 0);
+        start.set(Calendar.MINUTE, 0);
+        start.set(Calendar.SECOND, 0);
+        start.set(Calendar.MILLISECOND, 0);
+        assertEquals(start.getTime(), DateUtil.truncateTime(date), message);
+        Calendar end = calendar(date);
+        end.set(Calendar.HOUR_OF_DAY, 23);
+        end.set(Calendar.MINUTE, 59);
+        end.set(Calendar.SECOND, 59);
+        end.set(Calendar.MILLISECOND, 999);
+        assertEquals(end.getTime(), DateUtil.getEndOfDay(date), message);
+    }
+
+    private static Date add(Date date, int field, int amount) {
+        Calendar cal = calendar(date);
+        cal.add(field, amount);
+        return cal.getTime();
+    }
+
+    private static Calendar calendar(Date date) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTime(date);
+        return cal;
+    }
+}
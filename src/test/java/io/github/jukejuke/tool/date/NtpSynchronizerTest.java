@@ -0,0 +1,233 @@
+package io.github.jukejuke.tool.date;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.SocketException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NtpSynchronizer测试类，使用本地UDP NTP服务代替真实服务器
+ */
+class NtpSynchronizerTest {
+
+    private static final long NTP_EPOCH_OFFSET_SECONDS = 2208988800L;
+
+    @AfterEach
+    void stopSync() {
+        InternetTimeUtils.stopBackgroundSync();
+    }
+
+    @Test
+    void testSelectsLowestDelayServer() throws Exception {
+        // 延迟大的服务器偏移10秒，延迟小的服务器偏移5秒
+        try (LocalNtpServer slow = new LocalNtpServer(10000, 60); LocalNtpServer fast = new LocalNtpServer(5000, 0)) {
+            TimeSyncOptions options = options(slow.address(), fast.address());
+            NtpSynchronizer synchronizer = new NtpSynchronizer(options);
+            TimeSyncStatus status = synchronizer.sync();
+            assertNotNull(status);
+            assertEquals(fast.address(), status.getServer());
+            assertEquals(2, status.getRespondedServers());
+            assertEquals(5000, status.getOffsetMillis(), 30);
+            assertTrue(status.getRoundTripMillis() < 60, "roundTrip " + status.getRoundTripMillis());
+            assertEquals(1, status.getSyncCount());
+            assertTrue(Double.isNaN(status.getDriftPpm()));
+            assertTrue(synchronizer.isSynced());
+            assertEquals(System.currentTimeMillis() + 5000, synchronizer.currentTimeMillis(), 50);
+        }
+    }
+
+    @Test
+    void testBackgroundSync() throws Exception {
+        try (LocalNtpServer server = new LocalNtpServer(-3000, 0)) {
+            assertFalse(InternetTimeUtils.isBackgroundSyncRunning());
+            assertThrows(IllegalStateException.class, InternetTimeUtils::syncNow);
+
+            InternetTimeUtils.startBackgroundSync(options(server.address()));
+            assertTrue(InternetTimeUtils.isBackgroundSyncRunning());
+            long deadline = System.currentTimeMillis() + 5000;
+            while (InternetTimeUtils.getSyncStatus() == null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            TimeSyncStatus status = InternetTimeUtils.getSyncStatus();
+            assertNotNull(status);
+            assertEquals(server.address(), status.getServer());
+
+            // 读取不阻塞，按锚点计算
+            assertEquals(System.currentTimeMillis() - 3000, InternetTimeUtils.currentTimeMillis(), 50);
+            assertEquals(System.currentTimeMillis() - 3000, InternetTimeUtils.getInternetTime().getTime(), 50);
+            assertEquals(-3000, InternetTimeUtils.getCachedTimeDifference(), 50);
+
+            InternetTimeUtils.stopBackgroundSync();
+            assertFalse(InternetTimeUtils.isBackgroundSyncRunning());
+            assertNull(InternetTimeUtils.getSyncStatus());
+        }
+    }
+
+    @Test
+    void testDriftAndFailures() throws Exception {
+        try (LocalNtpServer server = new LocalNtpServer(1000, 0)) {
+            TimeSyncOptions options = options(server.address());
+            // 只保留最新样本，使每轮的偏移变化都能反映出来
+            options.setFilterSize(1);
+            NtpSynchronizer synchronizer = new NtpSynchronizer(options);
+            assertNotNull(synchronizer.sync());
+            Thread.sleep(200);
+            // 服务器时钟快了20毫秒，相当于本地时钟走慢
+            server.offsetMillis = 1020;
+            TimeSyncStatus status = synchronizer.sync();
+            assertNotNull(status);
+            assertEquals(2, status.getSyncCount());
+            assertTrue(status.getDriftPpm() > 20000, "drift " + status.getDriftPpm());
+            assertTrue(status.getMinRoundTripMillis() <= status.getAverageRoundTripMillis());
+            assertTrue(status.getAverageRoundTripMillis() <= status.getMaxRoundTripMillis());
+
+            // 服务器不响应时保留上一次的结果
+            server.silent = true;
+            assertNull(synchronizer.sync());
+            assertEquals(1, synchronizer.getStatus().getFailureCount());
+            assertEquals(2, synchronizer.getStatus().getSyncCount());
+            assertEquals(System.currentTimeMillis() + 1020, synchronizer.currentTimeMillis(), 50);
+        }
+    }
+
+    @Test
+    void testRejectsInvalidResponses() throws Exception {
+        try (LocalNtpServer server = new LocalNtpServer(0, 0)) {
+            server.stratum = 0;
+            assertTrue(NtpSynchronizer.query(Collections.singletonList(server.address()), 123, 300).isEmpty());
+            server.stratum = 2;
+            server.echoOriginate = false;
+            assertTrue(NtpSynchronizer.query(Collections.singletonList(server.address()), 123, 300).isEmpty());
+            server.echoOriginate = true;
+            assertEquals(1, NtpSynchronizer.query(Arrays.asList(server.address(), "unresolvable.invalid"), 123, 1000).size());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new NtpSynchronizer(options()));
+    }
+
+    @Test
+    void testOneShotQueryDoesNotWaitForDeadServer() throws Exception {
+        try (LocalNtpServer dead = new LocalNtpServer(0, 0); LocalNtpServer fast = new LocalNtpServer(2000, 0)) {
+            dead.silent = true;
+            long start = System.nanoTime();
+            NtpSynchronizer.Sample sample = NtpSynchronizer.queryBest(
+                    Arrays.asList(dead.address(), fast.address()), 123, 3000);
+            long elapsedMillis = (System.nanoTime() - start) / 1000000L;
+            assertNotNull(sample);
+            assertEquals(fast.address(), sample.getServer());
+            // 收到第一个响应后只等待一小段时间，不等到超时
+            assertTrue(elapsedMillis < 1000, "elapsed " + elapsedMillis);
+
+            // 后台同步仍然等待所有服务器
+            start = System.nanoTime();
+            assertEquals(1, NtpSynchronizer.query(Arrays.asList(dead.address(), fast.address()), 123, 300).size());
+            assertTrue((System.nanoTime() - start) / 1000000L >= 250);
+        }
+    }
+
+    @Test
+    void testStopDoesNotWaitForSync() throws Exception {
+        try (LocalNtpServer dead = new LocalNtpServer(0, 0)) {
+            dead.silent = true;
+            TimeSyncOptions options = options(dead.address());
+            options.setTimeoutMillis(3000);
+            NtpSynchronizer synchronizer = new NtpSynchronizer(options);
+            Thread syncing = new Thread(synchronizer::sync);
+            syncing.start();
+            Thread.sleep(100);
+            // 同步查询期间启停和读取状态不阻塞
+            long start = System.nanoTime();
+            synchronizer.start();
+            assertTrue(synchronizer.isRunning());
+            synchronizer.stop();
+            assertFalse(synchronizer.isRunning());
+            assertNull(synchronizer.getStatus());
+            assertTrue((System.nanoTime() - start) / 1000000L < 1000);
+            syncing.join(5000);
+        }
+    }
+
+    private static TimeSyncOptions options(String... servers) {
+        TimeSyncOptions options = TimeSyncOptions.defaults();
+        options.setServers(Arrays.asList(servers));
+        options.setTimeoutMillis(1000);
+        return options;
+    }
+
+    /**
+     * 本地NTP服务：按设定的偏移返回时间，可以模拟网络延迟、不响应和无效响应
+     */
+    private static final class LocalNtpServer implements AutoCloseable {
+        private final DatagramSocket socket;
+        private final Thread thread;
+        private final long delayMillis;
+        private volatile long offsetMillis;
+        private volatile boolean silent;
+        private volatile boolean echoOriginate = true;
+        private volatile int stratum = 2;
+
+        private LocalNtpServer(long offsetMillis, long delayMillis) throws SocketException {
+            this.offsetMillis = offsetMillis;
+            this.delayMillis = delayMillis;
+            this.socket = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+            this.thread = new Thread(this::serve, "local-ntp-server");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private String address() {
+            return socket.getLocalAddress().getHostAddress() + ":" + socket.getLocalPort();
+        }
+
+        private void serve() {
+            byte[] buffer = new byte[48];
+            while (!socket.isClosed()) {
+                try {
+                    DatagramPacket request = new DatagramPacket(buffer, buffer.length);
+                    socket.receive(request);
+                    if (silent) {
+                        continue;
+                    }
+                    // 在记录接收时间之前等待，相当于请求方向的网络延迟
+                    if (delayMillis > 0) {
+                        Thread.sleep(delayMillis);
+                    }
+                    byte[] response = new byte[48];
+                    // LI = 0, VN = 4, Mode = 4（服务器）
+                    response[0] = 0x24;
+                    response[1] = (byte) stratum;
+                    if (echoOriginate) {
+                        System.arraycopy(buffer, 40, response, 24, 8);
+                    }
+                    writeTimestamp(response, 32, System.currentTimeMillis() + offsetMillis);
+                    writeTimestamp(response, 40, System.currentTimeMillis() + offsetMillis);
+                    socket.send(new DatagramPacket(response, response.length, request.getSocketAddress()));
+                } catch (IOException | InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        private static void writeTimestamp(byte[] buffer, int offset, long millis) {
+            long seconds = Math.floorDiv(millis, 1000L) + NTP_EPOCH_OFFSET_SECONDS;
+            long fraction = (Math.floorMod(millis, 1000L) << 32) / 1000L;
+            for (int i = 0; i < 4; i++) {
+                buffer[offset + i] = (byte) (seconds >>> (24 - 8 * i));
+                buffer[offset + 4 + i] = (byte) (fraction >>> (24 - 8 * i));
+            }
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            socket.close();
+            thread.join(1000);
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package io.github.jukejuke.tool.dns;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xbill.DNS.AAAARecord;
+import org.xbill.DNS.ARecord;
+import org.xbill.DNS.DClass;
+import org.xbill.DNS.Flags;
+import org.xbill.DNS.Message;
+import org.xbill.DNS.Name;
+import org.xbill.DNS.Rcode;
+import org.xbill.DNS.Record;
+import org.xbill.DNS.ResolverConfig;
+import org.xbill.DNS.SOARecord;
+import org.xbill.DNS.Section;
+import org.xbill.DNS.Type;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.BindException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AsyncDnsResolver测试类，使用本地的dnsjava DNS服务代替上游服务器
+ */
+class AsyncDnsResolverTest {
+
+    private final List<LocalDnsServer> servers = new ArrayList<>();
+    private DnsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DnsCache(DnsCacheOptions.defaults());
+    }
+
+    @AfterEach
+    void tearDown() {
+        servers.forEach(LocalDnsServer::close);
+    }
+
+    @Test
+    void testResolveAndTcpFallback() throws Exception {
+        LocalDnsServer server = start(1, Mode.NORMAL, 0);
+        try (AsyncDnsResolver resolver = new AsyncDnsResolver.Builder(server.address()).cache(cache).build()) {
+            List<InetAddress> addresses = resolver.resolve("www.example.com").get();
+            assertEquals(1, addresses.size());
+            assertEquals("10.0.0.1", addresses.get(0).getHostAddress());
+            assertEquals("www.example.com", addresses.get(0).getHostName());
+            assertEquals(InetAddress.getByName("2001:db8::1"), resolver.resolve("www.example.com", "AAAA").get().get(0));
+
+            // UDP响应被截断时改用TCP
+            List<InetAddress> big = resolver.resolve("big.example.com").get();
+            assertEquals(3, big.size());
+            assertEquals(1, server.tcpQueries.get());
+
+            // 域名不存在时返回空列表并缓存
+            assertTrue(resolver.resolve("missing.example.com").get().isEmpty());
+            assertTrue(resolver.resolve("missing.example.com").get().isEmpty());
+            assertTrue(resolver.resolve("WWW.example.com.").get().size() == 1);
+            assertEquals(4, server.udpQueries.get());
+
+            assertThrows(IllegalArgumentException.class, () -> resolver.resolve("www.example.com", "MX"));
+        }
+    }
+
+    @Test
+    void testRaceTakesFirstValidAnswer() throws Exception {
+        LocalDnsServer slow = start(1, Mode.NORMAL, 2000);
+        LocalDnsServer silent = start(2, Mode.SILENT, 0);
+        LocalDnsServer fast = start(3, Mode.NORMAL, 0);
+        try (AsyncDnsResolver resolver = new AsyncDnsResolver.Builder(slow.address(), silent.address(), fast.address())
+                .raceDelayMillis(50)
+                .cache(cache)
+                .build()) {
+            long start = System.nanoTime();
+            assertEquals("10.0.0.3", resolver.resolve("www.example.com").get().get(0).getHostAddress());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1500);
+            assertEquals(1, slow.udpQueries.get());
+            assertEquals(1, silent.udpQueries.get());
+        }
+    }
+
+    @Test
+    void testFailoverAndErrors() throws Exception {
+        LocalDnsServer broken = start(1, Mode.SERVFAIL, 0);
+        LocalDnsServer good = start(2, Mode.NORMAL, 0);
+        // 服务器返回SERVFAIL时立即查询下一个，不等待竞速延迟
+        try (AsyncDnsResolver resolver = new AsyncDnsResolver.Builder(broken.address(), good.address())
+                .raceDelayMillis(5000)
+                .cache(cache)
+                .build()) {
+            long start = System.nanoTime();
+            assertEquals("10.0.0.2", resolver.resolve("www.example.com").get().get(0).getHostAddress());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+        }
+
+        // 所有服务器都返回SERVFAIL时为空列表，不缓存
+        LocalDnsServer alsoBroken = start(3, Mode.SERVFAIL, 0);
+        try (AsyncDnsResolver resolver = new AsyncDnsResolver.Builder(broken.address(), alsoBroken.address())
+                .raceDelayMillis(0)
+                .cache(cache)
+                .build()) {
+            assertTrue(resolver.resolve("www.example.com").get().isEmpty());
+            assertTrue(resolver.resolve("www.example.com").get().isEmpty());
+            assertEquals(2, alsoBroken.udpQueries.get());
+        }
+
+        // 所有服务器都没有响应时异常完成
+        LocalDnsServer silent = start(4, Mode.SILENT, 0);
+        AsyncDnsResolver resolver = new AsyncDnsResolver.Builder(silent.address())
+                .timeoutMillis(300)
+                .cache(cache)
+                .build();
+        assertThrows(ExecutionException.class, () -> resolver.resolve("www.example.com").get());
+        resolver.close();
+        assertTrue(resolver.isClosed());
+        assertThrows(IllegalStateException.class, () -> resolver.resolve("www.example.com"));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncDnsResolver.Builder().build());
+    }
+
+    @Test
+    void testResolveAllBoundsInFlightQueries() throws Exception {
+        LocalDnsServer server = start(1, Mode.NORMAL, 2);
+        List<String> hostnames = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            hostnames.add("host" + i + ".example.com");
+        }
+        hostnames.add("missing.example.com");
+        hostnames.add("host0.example.com");
+        try (AsyncDnsResolver resolver = new AsyncDnsResolver.Builder(server.address())
+                .maxInFlight(32)
+                .cache(cache)
+                .build()) {
+            Map<String, List<InetAddress>> results = resolver.resolveAll(hostnames, "A");
+            assertEquals(5001, results.size());
+            assertEquals("10.0.19.135", results.get("host4999.example.com").get(0).getHostAddress());
+            assertTrue(results.get("missing.example.com").isEmpty());
+            assertEquals(5001, server.udpQueries.get());
+            assertTrue(server.peakOutstanding.get() <= 32, "peak " + server.peakOutstanding.get());
+        }
+    }
+
+    @Test
+    void testDnsResolverUsesSharedResolver() throws Exception {
+        LocalDnsServer server = start(7, Mode.NORMAL, 0);
+        assertSame(AsyncDnsResolver.shared(server.address()), AsyncDnsResolver.shared(server.address()));
+        assertEquals(Collections.singletonList("10.0.0.7"), DnsResolver.resolveARecord("shared-test.example.com", server.address()));
+        assertEquals(Arrays.asList("1.2.3.1", "1.2.3.2", "1.2.3.3"),
+                DnsResolver.resolveARecord("big-shared-test.example.com", server.address()));
+        DnsCache.getDefault().invalidate("shared-test.example.com");
+        DnsCache.getDefault().invalidate("big-shared-test.example.com");
+
+        // 未指定服务器时使用系统配置的DNS服务器
+        System.setProperty("dns.server", server.address());
+        ResolverConfig.refresh();
+        try {
+            assertEquals(Collections.singletonList("10.0.0.7"), DnsResolver.resolveARecord("shared-test.example.com", null));
+        } finally {
+            System.clearProperty("dns.server");
+            ResolverConfig.refresh();
+            DnsCache.getDefault().invalidate("shared-test.example.com");
+        }
+    }
+
+    private LocalDnsServer start(int id, Mode mode, long delayMillis) throws IOException {
+        LocalDnsServer server = new LocalDnsServer(id, mode, delayMillis);
+        servers.add(server);
+        return server;
+    }
+
+    private enum Mode {
+        NORMAL, SERVFAIL, SILENT
+    }
+
+    /**
+     * 本地DNS服务，UDP和TCP使用同一端口：
+     * hostN返回10.0.(N/256).(N%256)，big开头的域名通过UDP查询时返回截断响应、通过TCP返回3个地址，
+     * missing开头的域名返回NXDOMAIN，其他域名返回10.0.0.id和2001:db8::id
+     */
+    private static final class LocalDnsServer {
+        private final int id;
+        private final Mode mode;
+        private final long delayMillis;
+        private final DatagramSocket udp;
+        private final ServerSocket tcp;
+        private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        private final AtomicInteger udpQueries = new AtomicInteger();
+        private final AtomicInteger tcpQueries = new AtomicInteger();
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger peakOutstanding = new AtomicInteger();
+
+        LocalDnsServer(int id, Mode mode, long delayMillis) throws IOException {
+            this.id = id;
+            this.mode = mode;
+            this.delayMillis = delayMillis;
+            DatagramSocket datagramSocket = null;
+            ServerSocket serverSocket = null;
+            for (int attempt = 0; serverSocket == null; attempt++) {
+                datagramSocket = new DatagramSocket(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+                try {
+                    serverSocket = new ServerSocket(datagramSocket.getLocalPort(), 50, InetAddress.getLoopbackAddress());
+                } catch (BindException e) {
+                    datagramSocket.close();
+                    if (attempt >= 10) {
+                        throw e;
+                    }
+                }
+            }
+            this.udp = datagramSocket;
+            this.tcp = serverSocket;
+            startThread(this::serveUdp);
+            startThread(this::acceptTcp);
+        }
+
+        String address() {
+            return "127.0.0.1:" + udp.getLocalPort();
+        }
+
+        void close() {
+            scheduler.shutdownNow();
+            udp.close();
+            try {
+                tcp.close();
+            } catch (IOException ignored) {
+            }
+        }
+
+        private void serveUdp() {
+            byte[] buffer = new byte[512];
+            while (!udp.isClosed()) {
+                try {
+                    DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                    udp.receive(packet);
+                    udpQueries.incrementAndGet();
+                    peakOutstanding.accumulateAndGet(outstanding.incrementAndGet(), Math::max);
+                    Message query = new Message(Arrays.copyOf(packet.getData(), packet.getLength()));
+                    SocketAddress client = packet.getSocketAddress();
+                    Runnable reply = () -> {
+                        try {
+                            byte[] wire = answer(query, false).toWire();
+                            outstanding.decrementAndGet();
+                            udp.send(new DatagramPacket(wire, wire.length, client));
+                        } catch (IOException ignored) {
+                        }
+                    };
+                    if (mode == Mode.SILENT) {
+                        continue;
+                    }
+                    if (delayMillis > 0) {
+                        scheduler.schedule(reply, delayMillis, TimeUnit.MILLISECONDS);
+                    } else {
+                        reply.run();
+                    }
+                } catch (IOException e) {
+                    // 关闭时退出
+                }
+            }
+        }
+
+        private void acceptTcp() {
+            while (!tcp.isClosed()) {
+                try {
+                    Socket socket = tcp.accept();
+                    startThread(() -> serveTcp(socket));
+                } catch (IOException e) {
+                    // 关闭时退出
+                }
+            }
+        }
+
+        private void serveTcp(Socket socket) {
+            try (Socket s = socket) {
+                DataInputStream in = new DataInputStream(s.getInputStream());
+                DataOutputStream out = new DataOutputStream(s.getOutputStream());
+                while (true) {
+                    byte[] data = new byte[in.readUnsignedShort()];
+                    in.readFully(data);
+                    tcpQueries.incrementAndGet();
+                    byte[] wire = answer(new Message(data), true).toWire();
+                    out.writeShort(wire.length);
+                    out.write(wire);
+                    out.flush();
+                }
+            } catch (IOException e) {
+                // 连接关闭
+            }
+        }
+
+        private Message answer(Message query, boolean overTcp) throws IOException {
+            Record question = query.getQuestion();
+            Name name = question.getName();
+            String label = name.getLabelString(0);
+            Message response = new Message(query.getHeader().getID());
+            response.getHeader().setFlag(Flags.QR);
+            response.getHeader().setFlag(Flags.RD);
+            response.getHeader().setFlag(Flags.RA);
+            response.addRecord(question, Section.QUESTION);
+            if (mode == Mode.SERVFAIL) {
+                response.getHeader().setRcode(Rcode.SERVFAIL);
+            } else if (label.startsWith("missing")) {
+                response.getHeader().setRcode(Rcode.NXDOMAIN);
+                Name zone = Name.fromString("example.com.");
+                response.addRecord(new SOARecord(zone, DClass.IN, 900, Name.fromString("ns.example.com."),
+                        Name.fromString("admin.example.com."), 1, 7200, 3600, 1209600, 120), Section.AUTHORITY);
+            } else if (label.startsWith("big")) {
+                if (!overTcp) {
+                    response.getHeader().setFlag(Flags.TC);
+                } else {
+                    for (int i = 1; i <= 3; i++) {
+                        response.addRecord(new ARecord(name, DClass.IN, 120,
+                                InetAddress.getByAddress(new byte[]{1, 2, 3, (byte) i})), Section.ANSWER);
+                    }
+                }
+            } else if (question.getType() == Type.AAAA) {
+                response.addRecord(new AAAARecord(name, DClass.IN, 120,
+                        InetAddress.getByName("2001:db8::" + Integer.toHexString(id))), Section.ANSWER);
+            } else {
+                int n = label.startsWith("host") ? Integer.parseInt(label.substring(4)) : id;
+                response.addRecord(new ARecord(name, DClass.IN, 120,
+                        InetAddress.getByAddress(new byte[]{10, 0, (byte) (n >> 8), (byte) n})), Section.ANSWER);
+            }
+            return response;
+        }
+
+        private static void startThread(Runnable task) {
+            Thread thread = new Thread(task, "local-dns-server");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package io.github.jukejuke.tool.dns;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DnsCache测试类
+ */
+class DnsCacheTest {
+
+    private final AtomicLong time = new AtomicLong(1000000L);
+
+    @Test
+    void testTtlAndClamps() throws Exception {
+        DnsCache cache = new DnsCache(options());
+        AtomicInteger loads = new AtomicInteger();
+        DnsCache.Loader loader = () -> {
+            loads.incrementAndGet();
+            return DnsCache.Answer.of(Collections.singletonList("1.1.1.1"), 30);
+        };
+        assertEquals(Collections.singletonList("1.1.1.1"), cache.get("dns:a", "Example.com.", "a", loader));
+        assertEquals(Collections.singletonList("1.1.1.1"), cache.get("dns:a", "example.com", "A", loader));
+        assertEquals(1, loads.get());
+
+        // 不同来源和记录类型分开缓存
+        cache.get("dns:b", "example.com", "A", loader);
+        cache.get("dns:a", "example.com", "AAAA", loader);
+        assertEquals(3, loads.get());
+
+        time.addAndGet(29999);
+        cache.get("dns:a", "example.com", "A", loader);
+        assertEquals(3, loads.get());
+        // 超过TTL和过期后可使用的时间后同步查询
+        time.addAndGet(11000);
+        cache.get("dns:a", "example.com", "A", loader);
+        assertEquals(4, loads.get());
+
+        // TTL限制在[5, 60]秒
+        AtomicLong ttl = new AtomicLong(0);
+        DnsCache.Loader ttlLoader = () -> {
+            loads.incrementAndGet();
+            return DnsCache.Answer.of(Collections.singletonList("2.2.2.2"), ttl.get());
+        };
+        cache.get("dns:a", "short.com", "A", ttlLoader);
+        time.addAndGet(4999);
+        cache.get("dns:a", "short.com", "A", ttlLoader);
+        assertEquals(5, loads.get());
+        ttl.set(86400);
+        cache.get("dns:a", "long.com", "A", ttlLoader);
+        time.addAndGet(59999);
+        cache.get("dns:a", "long.com", "A", ttlLoader);
+        assertEquals(6, loads.get());
+        time.addAndGet(10002);
+        cache.get("dns:a", "long.com", "A", ttlLoader);
+        assertEquals(7, loads.get());
+
+        DnsCacheStats stats = cache.stats();
+        assertEquals(4, stats.getHitCount());
+        assertEquals(7, stats.getMissCount());
+    }
+
+    @Test
+    void testNegativeAndUncached() throws Exception {
+        DnsCache cache = new DnsCache(options());
+        AtomicInteger loads = new AtomicInteger();
+        DnsCache.Loader nxdomain = () -> {
+            loads.incrementAndGet();
+            return DnsCache.Answer.negative(300);
+        };
+        assertTrue(cache.get("dns:a", "missing.com", "A", nxdomain).isEmpty());
+        // 否定缓存TTL不超过30秒
+        time.addAndGet(29000);
+        assertTrue(cache.get("dns:a", "missing.com", "A", nxdomain).isEmpty());
+        assertEquals(1, loads.get());
+        time.addAndGet(1000 + 10000);
+        cache.get("dns:a", "missing.com", "A", nxdomain);
+        assertEquals(2, loads.get());
+
+        // 服务器错误不缓存
+        DnsCache.Loader servfail = () -> {
+            loads.incrementAndGet();
+            return DnsCache.Answer.uncached(null);
+        };
+        cache.get("dns:a", "broken.com", "A", servfail);
+        cache.get("dns:a", "broken.com", "A", servfail);
+        assertEquals(4, loads.get());
+
+        // 查询失败时抛出原异常且不缓存
+        DnsCache.Loader failing = () -> {
+            loads.incrementAndGet();
+            throw new IOException("timeout");
+        };
+        assertThrows(IOException.class, () -> cache.get("dns:a", "down.com", "A", failing));
+        assertThrows(IOException.class, () -> cache.get("dns:a", "down.com", "A", failing));
+        assertEquals(6, loads.get());
+        assertEquals(2, cache.stats().getLoadFailureCount());
+    }
+
+    @Test
+    void testStaleWhileRevalidate() throws Exception {
+        DnsCache cache = new DnsCache(options());
+        AtomicInteger version = new AtomicInteger();
+        CountDownLatch refreshing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        DnsCache.Loader loader = () -> {
+            int v = version.incrementAndGet();
+            if (v == 2) {
+                refreshing.countDown();
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            }
+            return DnsCache.Answer.of(Collections.singletonList("10.0.0." + v), 30);
+        };
+        assertEquals("10.0.0.1", cache.get("dns:a", "hot.com", "A", loader).get(0));
+
+        // 过期后返回旧结果，后台只刷新一次
+        time.addAndGet(31000);
+        assertEquals("10.0.0.1", cache.get("dns:a", "hot.com", "A", loader).get(0));
+        assertTrue(refreshing.await(5, TimeUnit.SECONDS));
+        assertEquals("10.0.0.1", cache.get("dns:a", "hot.com", "A", loader).get(0));
+        release.countDown();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!"10.0.0.2".equals(cache.get("dns:a", "hot.com", "A", loader).get(0))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals("10.0.0.2", cache.get("dns:a", "hot.com", "A", loader).get(0));
+        assertEquals(2, version.get());
+        assertEquals(1, cache.stats().getRefreshCount());
+        assertTrue(cache.stats().getStaleHitCount() >= 2);
+    }
+
+    @Test
+    void testConcurrentLookupsCoalesced() throws Exception {
+        DnsCache cache = new DnsCache(options());
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        DnsCache.Loader loader = () -> {
+            loads.incrementAndGet();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return DnsCache.Answer.of(Arrays.asList("1.2.3.4", "5.6.7.8"), 60);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> cache.get("dns:a", "crawl.com", "A", loader)));
+            }
+            long deadline = System.currentTimeMillis() + 5000;
+            while (cache.stats().getCoalescedCount() < 7 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<List<String>> future : futures) {
+                assertEquals(Arrays.asList("1.2.3.4", "5.6.7.8"), future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(7, cache.stats().getCoalescedCount());
+    }
+
+    @Test
+    void testAsyncLookups() throws Exception {
+        DnsCache cache = new DnsCache(options());
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<DnsCache.Answer> pending = new CompletableFuture<>();
+        DnsCache.AsyncLoader loader = () -> {
+            loads.incrementAndGet();
+            return pending;
+        };
+        CompletableFuture<List<String>> first = cache.getAsync("doh:a", "async.com", "A", loader);
+        CompletableFuture<List<String>> second = cache.getAsync("doh:a", "async.com", "A", loader);
+        assertFalse(first.isDone());
+        pending.complete(DnsCache.Answer.of(Collections.singletonList("3.3.3.3"), 60));
+        assertEquals(Collections.singletonList("3.3.3.3"), first.get());
+        assertEquals(Collections.singletonList("3.3.3.3"), second.get());
+        // 同步查询命中异步查询的结果
+        assertEquals(Collections.singletonList("3.3.3.3"), cache.get("doh:a", "async.com", "A", () -> {
+            throw new IllegalStateException("不应查询");
+        }));
+        assertEquals(1, loads.get());
+
+        CompletableFuture<DnsCache.Answer> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IOException("refused"));
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> cache.getAsync("doh:a", "down.com", "A", () -> failed).get());
+        assertTrue(e.getCause() instanceof IOException);
+        assertEquals(Collections.singletonList("4.4.4.4"), cache.getAsync("doh:a", "down.com", "A",
+                () -> CompletableFuture.completedFuture(DnsCache.Answer.of(Collections.singletonList("4.4.4.4"), 60))).get());
+    }
+
+    @Test
+    void testEvictionAndInvalidate() throws Exception {
+        DnsCacheOptions options = options();
+        options.setMaxSize(3);
+        DnsCache cache = new DnsCache(options);
+        DnsCache.Loader loader = () -> DnsCache.Answer.of(Collections.singletonList("1.1.1.1"), 60);
+        for (int i = 0; i < 5; i++) {
+            cache.get("dns:a", "host" + i + ".com", "A", loader);
+        }
+        assertEquals(3, cache.size());
+        assertEquals(2, cache.stats().getEvictionCount());
+
+        // 淘汰最久未访问的条目
+        AtomicInteger loads = new AtomicInteger();
+        DnsCache.Loader counting = () -> {
+            loads.incrementAndGet();
+            return DnsCache.Answer.of(Collections.singletonList("1.1.1.1"), 60);
+        };
+        cache.get("dns:a", "host2.com", "A", counting);
+        cache.get("dns:a", "host5.com", "A", counting);
+        assertEquals(1, loads.get());
+        cache.get("dns:a", "host2.com", "A", counting);
+        cache.get("dns:a", "host4.com", "A", counting);
+        assertEquals(1, loads.get());
+        cache.get("dns:a", "host3.com", "A", counting);
+        assertEquals(2, loads.get());
+
+        // 返回的是副本；invalidate移除该域名所有来源和记录类型的缓存
+        DnsCache other = new DnsCache(options());
+        other.get("dns:a", "host4.com", "A", loader).clear();
+        other.get("dns:a", "host4.com", "AAAA", loader);
+        other.get("dns:b", "HOST4.com", "A", loader);
+        other.get("dns:a", "host5.com", "A", loader);
+        assertEquals(Collections.singletonList("1.1.1.1"), other.get("dns:a", "host4.com", "A", loader));
+        other.invalidate("host4.com.");
+        assertEquals(1, other.size());
+
+        DnsCacheOptions invalid = options();
+        invalid.setMaxTtlSeconds(1);
+        assertThrows(IllegalArgumentException.class, () -> new DnsCache(invalid));
+        assertThrows(IllegalArgumentException.class, () -> cache.get("dns:a", "", "A", loader));
+    }
+
+    @Test
+    void testReadsWhileEvicting() throws Exception {
+        DnsCacheOptions options = options();
+        options.setMaxSize(1000);
+        DnsCache cache = new DnsCache(options);
+        DnsCache.Loader loader = () -> DnsCache.Answer.of(Collections.singletonList("1.1.1.1"), 60);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    // 读取不断更新访问时间，同时写入新域名触发淘汰
+                    for (int i = 0; i < 20000; i++) {
+                        cache.get("dns:a", "host" + ((i * 8 + offset) % 1500) + ".com", "A", loader);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, cache.stats().getLoadFailureCount());
+        assertTrue(cache.stats().getEvictionCount() > 0);
+    }
+
+    private DnsCacheOptions options() {
+        DnsCacheOptions options = DnsCacheOptions.defaults();
+        options.setMinTtlSeconds(5);
+        options.setMaxTtlSeconds(60);
+        options.setNegativeTtlSeconds(30);
+        options.setStaleWhileRevalidateSeconds(10);
+        options.setTimeSource(time::get);
+        return options;
+    }
+}
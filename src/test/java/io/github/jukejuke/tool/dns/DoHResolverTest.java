@@ -0,0 +1,259 @@
+package io.github.jukejuke.tool.dns;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xbill.DNS.AAAARecord;
+import org.xbill.DNS.ARecord;
+import org.xbill.DNS.DClass;
+import org.xbill.DNS.Flags;
+import org.xbill.DNS.Message;
+import org.xbill.DNS.Name;
+import org.xbill.DNS.Rcode;
+import org.xbill.DNS.Record;
+import org.xbill.DNS.SOARecord;
+import org.xbill.DNS.Section;
+import org.xbill.DNS.Type;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DoHResolver测试类，使用MockWebServer代替DoH服务
+ */
+class DoHResolverTest {
+
+    private MockWebServer server;
+    private DnsCache cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        cache = new DnsCache(DnsCacheOptions.defaults());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void testQueryReusesConnection() throws Exception {
+        server.enqueue(json("{\"Status\":0,\"Answer\":["
+                + "{\"name\":\"www.example.com.\",\"type\":5,\"TTL\":300,\"data\":\"cdn.example.net.\"},"
+                + "{\"name\":\"cdn.example.net.\",\"type\":1,\"TTL\":60,\"data\":\"93.184.216.34\"},"
+                + "{\"name\":\"cdn.example.net.\",\"type\":1,\"TTL\":60,\"data\":\"93.184.216.35\"}]}"));
+        server.enqueue(json("{\"Status\":0,\"Answer\":["
+                + "{\"name\":\"www.example.com.\",\"type\":28,\"TTL\":60,\"data\":\"2606:2800:0220:0001:0248:1893:25c8:1946\"}]}"));
+
+        try (DoHResolver resolver = resolver()) {
+            assertEquals(Arrays.asList("93.184.216.34", "93.184.216.35"), resolver.query("www.example.com"));
+            assertEquals(Collections.singletonList("2606:2800:0220:0001:0248:1893:25c8:1946"),
+                    resolver.query("www.example.com", "AAAA"));
+            // 命中缓存，不再请求
+            assertEquals(Arrays.asList("93.184.216.34", "93.184.216.35"), resolver.query("WWW.example.com."));
+
+            RecordedRequest first = server.takeRequest();
+            assertEquals("/resolve?name=www.example.com&type=A", first.getPath());
+            assertEquals("application/dns-json", first.getHeader("Accept"));
+            // 第二个请求在同一个连接上
+            RecordedRequest second = server.takeRequest();
+            assertEquals("/resolve?name=www.example.com&type=AAAA", second.getPath());
+            assertEquals(1, second.getSequenceNumber());
+            assertEquals(2, server.getRequestCount());
+            assertEquals(1, resolver.getClient().connectionPool().connectionCount());
+        }
+    }
+
+    @Test
+    void testNegativeAndErrors() throws Exception {
+        server.enqueue(json("{\"Status\":3,\"Authority\":["
+                + "{\"name\":\"example.com.\",\"type\":6,\"TTL\":900,\"data\":\"ns.example.com. admin.example.com. 1 7200 3600 1209600 120\"}]}"));
+        server.enqueue(json("{\"Status\":2}"));
+        server.enqueue(json("{\"Status\":2}"));
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        try (DoHResolver resolver = resolver()) {
+            assertTrue(resolver.query("missing.example.com").isEmpty());
+            assertTrue(resolver.query("missing.example.com").isEmpty());
+            // SERVFAIL不缓存
+            assertTrue(resolver.query("broken.example.com").isEmpty());
+            assertTrue(resolver.query("broken.example.com").isEmpty());
+            assertEquals(3, server.getRequestCount());
+            assertThrows(IOException.class, () -> resolver.query("down.example.com"));
+        }
+    }
+
+    @Test
+    void testClose() throws Exception {
+        server.enqueue(json("{\"Status\":0,\"Answer\":[{\"type\":1,\"TTL\":60,\"data\":\"10.0.0.1\"}]}"));
+        DoHResolver resolver = resolver();
+        assertEquals(Collections.singletonList("10.0.0.1"), resolver.query("a.example.com"));
+        resolver.close();
+        assertTrue(resolver.isClosed());
+        assertTrue(resolver.getClient().dispatcher().executorService().isShutdown());
+        assertEquals(0, resolver.getClient().connectionPool().connectionCount());
+        assertThrows(IllegalStateException.class, () -> resolver.query("a.example.com"));
+
+        // 外部传入的客户端不会被关闭
+        OkHttpClient external = new OkHttpClient();
+        DoHResolver borrowed = new DoHResolver.Builder("dns.example").httpClient(external).build();
+        borrowed.close();
+        assertFalse(external.dispatcher().executorService().isShutdown());
+        assertThrows(IllegalArgumentException.class, () -> new DoHResolver.Builder("").build());
+    }
+
+    @Test
+    void testSharedResolvers() {
+        DoHResolver direct = DoHResolver.shared("dns.alidns.com", null);
+        assertSame(direct, DoHResolver.shared("dns.alidns.com", null));
+        DoHResolver proxied = DoHResolver.shared("dns.alidns.com",
+                new Proxy(Proxy.Type.SOCKS, InetSocketAddress.createUnresolved("127.0.0.1", 1080)));
+        assertNotSame(direct, proxied);
+        // 共享解析器共用连接池和调度线程
+        assertSame(direct.getClient().connectionPool(), proxied.getClient().connectionPool());
+        assertSame(direct.getClient().dispatcher(), proxied.getClient().dispatcher());
+    }
+
+    @Test
+    void testJsonFiltersByRecordType() throws Exception {
+        // 压缩写法的IPv6地址也能返回，CNAME按类型编号过滤
+        server.enqueue(json("{\"Status\":0,\"Answer\":["
+                + "{\"name\":\"v6.example.com.\",\"type\":5,\"TTL\":300,\"data\":\"edge.example.net.\"},"
+                + "{\"name\":\"edge.example.net.\",\"type\":28,\"TTL\":60,\"data\":\"2606:4700::6810:84e5\"}]}"));
+        server.enqueue(json("{\"Status\":0,\"Answer\":["
+                + "{\"name\":\"www.example.com.\",\"type\":5,\"TTL\":300,\"data\":\"cdn.example.net.\"}]}"));
+        try (DoHResolver resolver = resolver()) {
+            assertEquals(Collections.singletonList("2606:4700::6810:84e5"), resolver.query("v6.example.com", "AAAA"));
+            assertEquals(Collections.singletonList("cdn.example.net."), resolver.query("www.example.com", "CNAME"));
+        }
+    }
+
+    @Test
+    void testWireFormat() throws Exception {
+        server.setDispatcher(new WireDispatcher());
+        try (DoHResolver resolver = new DoHResolver.Builder("dns.example")
+                .baseUrl(server.url("/dns-query").toString())
+                .wireFormat(true)
+                .cache(cache)
+                .build()) {
+            assertTrue(resolver.isWireFormat());
+            assertEquals(Collections.singletonList("10.0.0.1"), resolver.query("www.example.com"));
+            RecordedRequest request = server.takeRequest();
+            assertEquals("POST", request.getMethod());
+            assertEquals("/dns-query", request.getPath());
+            assertEquals("application/dns-message", request.getHeader("Content-Type"));
+            assertEquals("application/dns-message", request.getHeader("Accept"));
+            assertEquals(0, new Message(request.getBody().readByteArray()).getHeader().getID());
+
+            // A和AAAA并行查询
+            assertEquals(Arrays.asList("10.0.0.2", "2001:db8:0:0:0:0:0:2"), resolver.queryAddresses("dual.example.com"));
+            // 域名不存在时缓存空结果
+            assertTrue(resolver.query("missing.example.com").isEmpty());
+            assertTrue(resolver.queryAsync("missing.example.com", "A").get().isEmpty());
+            assertEquals(4, server.getRequestCount());
+            assertThrows(IllegalArgumentException.class, () -> resolver.query("www.example.com", "NOPE"));
+        }
+    }
+
+    @Test
+    void testBatchOverOneHttp2Connection() throws Exception {
+        server.setProtocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE));
+        server.setDispatcher(new WireDispatcher());
+        OkHttpClient client = new OkHttpClient.Builder()
+                .protocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE))
+                .build();
+        client.dispatcher().setMaxRequestsPerHost(64);
+        List<String> domains = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            domains.add("host" + i + ".example.com");
+        }
+        domains.add("missing.example.com");
+        domains.add("host0.example.com");
+        try (DoHResolver resolver = new DoHResolver.Builder("dns.example")
+                .baseUrl(server.url("/dns-query").toString())
+                .wireFormat(true)
+                .httpClient(client)
+                .cache(cache)
+                .build()) {
+            Map<String, List<String>> results = resolver.queryAll(domains, "A");
+            assertEquals(201, results.size());
+            assertEquals(Collections.singletonList("10.0.0.200"), results.get("host199.example.com"));
+            assertTrue(results.get("missing.example.com").isEmpty());
+            assertEquals(201, server.getRequestCount());
+            // 所有请求在一个HTTP/2连接上多路复用
+            assertEquals(1, client.connectionPool().connectionCount());
+        } finally {
+            client.dispatcher().executorService().shutdown();
+        }
+    }
+
+    private DoHResolver resolver() {
+        return new DoHResolver.Builder("dns.example")
+                .baseUrl(server.url("/resolve").toString())
+                .cache(cache)
+                .build();
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setHeader("Content-Type", "application/dns-json").setBody(body);
+    }
+
+    /**
+     * 二进制格式的DoH服务：hostN返回10.0.0.(N+1)和2001:db8::(N+1)，missing开头的域名返回NXDOMAIN，
+     * dual返回第2个地址，其他域名返回第1个地址
+     */
+    private static final class WireDispatcher extends Dispatcher {
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            try {
+                Message query = new Message(request.getBody().clone().readByteArray());
+                Record question = query.getQuestion();
+                Name name = question.getName();
+                String label = name.getLabelString(0);
+                Message response = new Message(query.getHeader().getID());
+                response.getHeader().setFlag(Flags.QR);
+                response.getHeader().setFlag(Flags.RD);
+                response.getHeader().setFlag(Flags.RA);
+                response.addRecord(question, Section.QUESTION);
+                if (label.startsWith("missing")) {
+                    response.getHeader().setRcode(Rcode.NXDOMAIN);
+                    Name zone = Name.fromString("example.com.");
+                    response.addRecord(new SOARecord(zone, DClass.IN, 900, Name.fromString("ns.example.com."),
+                            Name.fromString("admin.example.com."), 1, 7200, 3600, 1209600, 120), Section.AUTHORITY);
+                } else {
+                    int n = label.startsWith("host") ? Integer.parseInt(label.substring(4)) + 1 : "dual".equals(label) ? 2 : 1;
+                    if (question.getType() == Type.A) {
+                        response.addRecord(new ARecord(name, DClass.IN, 120,
+                                InetAddress.getByAddress(new byte[]{10, 0, 0, (byte) n})), Section.ANSWER);
+                    } else if (question.getType() == Type.AAAA) {
+                        response.addRecord(new AAAARecord(name, DClass.IN, 120,
+                                InetAddress.getByName("2001:db8::" + Integer.toHexString(n))), Section.ANSWER);
+                    }
+                }
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/dns-message")
+                        .setBody(new Buffer().write(response.toWire()));
+            } catch (IOException e) {
+                return new MockResponse().setResponseCode(400);
+            }
+        }
+    }
+}
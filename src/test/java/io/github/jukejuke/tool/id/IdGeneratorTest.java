@@ -1,7 +1,11 @@
 package io.github.jukejuke.tool.id;
 
+import io.github.jukejuke.tool.date.CachedClock;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -140,4 +144,21 @@ class IdGeneratorTest {
         }
         System.out.println("雪花算法ID唯一性测试通过，生成了" + ids.length + "个唯一ID");
     }
+
+    @Test
+    void testSnowflakeIdWithFrozenClock() {
+        // 手动时钟不会前进，序列号用完后按系统时间进入下一毫秒
+        CachedClock previous = CachedClock.setDefault(CachedClock.manual(System.currentTimeMillis()));
+        try {
+            IdGenerator generator = IdGenerator.getInstance();
+            Set<Long> ids = new HashSet<>();
+            for (int i = 0; i < 10000; i++) {
+                assertTrue(ids.add(generator.generateSnowflakeId()));
+            }
+        } finally {
+            CachedClock.setDefault(previous);
+        }
+        // 恢复的缓存时钟可能落后于上次使用的系统时间，不视为回拨
+        assertDoesNotThrow(() -> IdGenerator.getInstance().generateSnowflakeId());
+    }
 }
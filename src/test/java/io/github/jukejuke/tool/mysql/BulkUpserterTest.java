@@ -0,0 +1,198 @@
+package io.github.jukejuke.tool.mysql;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量插入或更新测试类
+ * 使用H2内存数据库（MySQL模式）进行测试
+ */
+class BulkUpserterTest {
+
+    private static final String H2_URL = "jdbc:h2:mem:upsertdb;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final List<String> KEYS = Collections.singletonList("id");
+
+    @BeforeAll
+    static void setUpAll() throws Exception {
+        MysqlConfig config = new MysqlConfig(H2_URL, "sa", "");
+        config.setShowSql(false);
+        MysqlUtils.init(config);
+        try (Connection conn = DriverManager.getConnection(H2_URL, "sa", "");
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS sync_user (id INT PRIMARY KEY, user_name VARCHAR(50), score INT)");
+        }
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        MysqlUtils.shutdown();
+    }
+
+    @BeforeEach
+    void clean() throws SQLException {
+        MysqlUtils.update("DELETE FROM sync_user");
+    }
+
+    private static Stream<Map<String, Object>> rows(int from, int to, String name) {
+        return IntStream.range(from, to).mapToObj(i -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", i);
+            row.put("user_name", name + i);
+            row.put("score", i);
+            return row;
+        });
+    }
+
+    @Test
+    void testInsertThenUpdate() throws SQLException {
+        UpsertOptions options = new UpsertOptions();
+        options.setMaxRowsPerStatement(1000);
+        options.setParallelism(3);
+
+        UpsertResult result = MysqlUtils.bulkUpsert("sync_user", KEYS, rows(0, 2500, "u"), options);
+        assertEquals(2500, result.getRows());
+        assertEquals(2500, result.getInserted());
+        assertEquals(0, result.getUpdated());
+        assertEquals(3, result.getStatements());
+
+        // 一半已存在且值变化，一半为新行
+        result = MysqlUtils.bulkUpsert("sync_user", KEYS, rows(1250, 3750, "v"), options);
+        assertEquals(2500, result.getRows());
+        assertEquals(1250, result.getUpdated());
+        assertEquals(1250, result.getInserted());
+
+        assertEquals(3750L, ((Number) MysqlUtils.selectOne("SELECT COUNT(*) AS c FROM sync_user").get("C")).longValue());
+        assertEquals("v2000", MysqlUtils.selectOne("SELECT user_name FROM sync_user WHERE id = ?", 2000).get("USER_NAME"));
+        assertEquals("u10", MysqlUtils.selectOne("SELECT user_name FROM sync_user WHERE id = ?", 10).get("USER_NAME"));
+    }
+
+    @Test
+    void testChunkedByPacketSize() throws SQLException {
+        UpsertOptions options = new UpsertOptions();
+        // 每行估算约60字节，限制为1KB时每块只能容纳少量行
+        options.setMaxPacketSize(1024);
+        options.setParallelism(1);
+        UpsertResult result = MysqlUtils.bulkUpsert("sync_user", KEYS, rows(0, 200, "p"), options);
+        assertEquals(200, result.getInserted());
+        assertTrue(result.getStatements() > 10, "statements=" + result.getStatements());
+    }
+
+    @Test
+    void testUpdateColumnsAndBeans() throws SQLException {
+        MysqlUtils.bulkUpsert("sync_user", KEYS, rows(0, 10, "a"));
+
+        // 只更新score列
+        UpsertOptions options = new UpsertOptions();
+        options.setUpdateColumns(Collections.singletonList("score"));
+        Stream<SyncUser> beans = IntStream.range(0, 20).mapToObj(i -> new SyncUser(i, "b" + i, i * 10));
+        UpsertResult result = MysqlUtils.bulkUpsertBeans("sync_user", KEYS, beans, options);
+        // 10行新增(1) + 9行更新(2) + id为0的行score未变化(0)
+        assertEquals(28, result.getAffectedRows());
+        assertEquals(20, result.getInserted() + result.getUpdated());
+
+        Map<String, Object> row = MysqlUtils.selectOne("SELECT * FROM sync_user WHERE id = ?", 5);
+        assertEquals("a5", row.get("USER_NAME"));
+        assertEquals(50, row.get("SCORE"));
+        assertEquals("b15", MysqlUtils.selectOne("SELECT * FROM sync_user WHERE id = ?", 15).get("USER_NAME"));
+    }
+
+    @Test
+    void testInTransactionAndEmpty() throws SQLException {
+        UpsertResult empty = MysqlUtils.bulkUpsert("sync_user", KEYS, Stream.empty());
+        assertEquals(0, empty.getRows());
+
+        // 事务中使用事务连接，回滚后不保留
+        MysqlUtils.inTransaction(tx -> {
+            try {
+                MysqlUtils.bulkUpsert("sync_user", KEYS, rows(0, 100, "t"));
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+            tx.setRollbackOnly();
+            return null;
+        });
+        assertEquals(0L, ((Number) MysqlUtils.selectOne("SELECT COUNT(*) AS c FROM sync_user").get("C")).longValue());
+    }
+
+    @Test
+    void testPartialFailureReportsCommittedRows() throws SQLException {
+        UpsertOptions options = new UpsertOptions();
+        options.setMaxRowsPerStatement(50);
+        options.setParallelism(1);
+        options.setRetries(0);
+        // 第三个分块中的行超出列长度
+        Map<String, Object> bad = new LinkedHashMap<>();
+        bad.put("id", 120);
+        bad.put("user_name", String.join("", Collections.nCopies(60, "x")));
+        bad.put("score", 0);
+        SQLException e = assertThrows(SQLException.class, () -> MysqlUtils.bulkUpsert("sync_user", KEYS,
+                Stream.concat(rows(0, 120, "f"), Stream.of(bad)), options));
+        assertTrue(e.getMessage().contains("已提交100行（2条语句）"), e.getMessage());
+        assertNotNull(e.getCause());
+        assertEquals(((SQLException) e.getCause()).getSQLState(), e.getSQLState());
+        // 之前的分块已提交，不回滚
+        assertEquals(100L, ((Number) MysqlUtils.selectOne("SELECT COUNT(*) AS c FROM sync_user").get("C")).longValue());
+
+        // 事务中失败时整体回滚
+        MysqlUtils.update("DELETE FROM sync_user");
+        assertThrows(RuntimeException.class, () -> MysqlUtils.inTransaction(tx -> {
+            try {
+                MysqlUtils.bulkUpsert("sync_user", KEYS, Stream.concat(rows(0, 120, "f"), Stream.of(bad)), options);
+            } catch (SQLException ex) {
+                throw new RuntimeException(ex);
+            }
+            return null;
+        }));
+        assertEquals(0L, ((Number) MysqlUtils.selectOne("SELECT COUNT(*) AS c FROM sync_user").get("C")).longValue());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () ->
+                MysqlUtils.bulkUpsert("sync_user; DROP TABLE x", KEYS, rows(0, 1, "x")));
+        assertThrows(IllegalArgumentException.class, () ->
+                MysqlUtils.bulkUpsert("sync_user", Collections.singletonList("no_such_key"), rows(0, 1, "x")));
+        assertThrows(IllegalArgumentException.class, () ->
+                MysqlUtils.bulkUpsert("sync_user", Collections.emptyList(), rows(0, 1, "x")));
+        assertEquals("user_name", BulkUpserter.toColumnName("userName"));
+
+        // 列数相同但列名不同的行被拒绝
+        Map<String, Object> other = new LinkedHashMap<>();
+        other.put("id", 1);
+        other.put("user_name", "x");
+        other.put("nick_name", "y");
+        assertThrows(IllegalArgumentException.class, () -> MysqlUtils.bulkUpsert("sync_user", KEYS,
+                Stream.concat(rows(0, 1, "x"), Stream.of(other))));
+    }
+
+    /**
+     * 测试用Bean
+     */
+    static class SyncUser {
+        private static final String IGNORED = "ignored";
+        private final int id;
+        private final String userName;
+        private final int score;
+
+        SyncUser(int id, String userName, int score) {
+            this.id = id;
+            this.userName = userName;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.jukejuke.tool.mysql;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DataSourceRouter测试类
+ */
+class DataSourceRouterTest {
+
+    @Test
+    void testClosedReplicaSkipped() {
+        DataSourceRouter router = new DataSourceRouter();
+        HikariDataSource primary = new HikariDataSource();
+        HikariDataSource open = new HikariDataSource();
+        HikariDataSource closed = new HikariDataSource();
+        router.setPrimary(primary);
+        router.putReplica("open", open);
+        router.putReplica("closed", closed);
+        closed.close();
+
+        for (LoadBalanceStrategy strategy : LoadBalanceStrategy.values()) {
+            router.setStrategy(strategy);
+            for (int i = 0; i < 10; i++) {
+                assertSame(open, router.selectForRead());
+            }
+        }
+
+        // 从库全部关闭时读主库
+        open.close();
+        router.setStrategy(LoadBalanceStrategy.ROUND_ROBIN);
+        assertSame(primary, router.selectForRead());
+        assertThrows(IllegalArgumentException.class, () -> router.putReplica(DataSourceRouter.PRIMARY, open));
+    }
+}
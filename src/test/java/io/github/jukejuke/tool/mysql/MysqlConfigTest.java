@@ -30,6 +30,13 @@ class MysqlConfigTest {
         assertEquals(1800000, config.getMaxLifetime());
         assertEquals("SELECT 1", config.getConnectionTestQuery());
         assertTrue(config.isConnectionTestOnBorrow());
+        assertTrue(config.isCachePrepStmts());
+        assertEquals(250, config.getPrepStmtCacheSize());
+        assertEquals(2048, config.getPrepStmtCacheSqlLimit());
+        assertFalse(config.isUseServerPrepStmts());
+        assertTrue(config.isSqlTextCache());
+        assertEquals(1000, config.getSqlFileCheckInterval());
+        assertEquals(1000, config.getSqlTextCacheSize());
     }
 
     @Test
@@ -0,0 +1,224 @@
+package io.github.jukejuke.tool.mysql;
+
+import io.github.jukejuke.api.PageRequest;
+import io.github.jukejuke.api.PageResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MysqlPageUtils测试类
+ * 使用H2内存数据库进行测试
+ */
+class MysqlPageUtilsTest {
+
+    private static final String H2_URL = "jdbc:h2:mem:pagedb;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @BeforeAll
+    static void setUpAll() throws Exception {
+        MysqlConfig config = new MysqlConfig(H2_URL, "sa", "");
+        config.setShowSql(false);
+        MysqlUtils.init(config);
+        try (Connection conn = DriverManager.getConnection(H2_URL, "sa", "");
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS items (id INT PRIMARY KEY, category VARCHAR(20), score INT)");
+            stmt.execute("DELETE FROM items");
+            try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO items VALUES (?, ?, ?)")) {
+                for (int i = 1; i <= 25; i++) {
+                    pstmt.setInt(1, i);
+                    pstmt.setString(2, i % 2 == 0 ? "even" : "odd");
+                    // score有重复值，需要配合id保证排序唯一
+                    pstmt.setInt(3, i % 5);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+        }
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        MysqlUtils.shutdown();
+    }
+
+    @Test
+    void testKeysetPagination() throws Exception {
+        PageRequest request = PageRequest.of(1, 10, "id", "ASC");
+        List<Object> ids = new ArrayList<>();
+        PageResponse<Map<String, Object>> page;
+        int pages = 0;
+        do {
+            page = MysqlPageUtils.selectPageByKeyset("SELECT * FROM items", request, MysqlPageUtils.CountMode.EXACT);
+            assertEquals(25, page.getTotal());
+            for (Map<String, Object> row : page.getList()) {
+                ids.add(row.get("ID"));
+            }
+            request.setCursor(page.getNextCursor());
+            request.setPageNum(request.getPageNum() + 1);
+            pages++;
+        } while (page.getNextCursor() != null);
+
+        assertEquals(3, pages);
+        assertEquals(25, ids.size());
+        assertEquals(1, ids.get(0));
+        assertEquals(25, ids.get(24));
+    }
+
+    @Test
+    void testKeysetCompositeKeyDesc() throws Exception {
+        PageRequest request = PageRequest.of(1, 4, "score,id", "DESC");
+        List<String> seen = new ArrayList<>();
+        PageResponse<Map<String, Object>> page;
+        do {
+            page = MysqlPageUtils.selectPageByKeyset("SELECT * FROM items WHERE category = ?", request,
+                    MysqlPageUtils.CountMode.NONE, "odd");
+            assertEquals(-1, page.getTotal());
+            for (Map<String, Object> row : page.getList()) {
+                seen.add(row.get("SCORE") + "-" + row.get("ID"));
+            }
+            request.setCursor(page.getNextCursor());
+        } while (page.getNextCursor() != null);
+
+        // 13个奇数id，按(score, id)倒序且不重复
+        assertEquals(13, seen.size());
+        assertEquals(13, seen.stream().distinct().count());
+        assertEquals("4-19", seen.get(0));
+        assertEquals("0-5", seen.get(12));
+    }
+
+    @Test
+    void testInvalidCursorAndColumn() {
+        PageRequest request = PageRequest.of(1, 10, "id", "ASC");
+        request.setCursor("not-a-cursor");
+        assertThrows(IllegalArgumentException.class, () ->
+                MysqlPageUtils.selectPageByKeyset("SELECT * FROM items", request, MysqlPageUtils.CountMode.NONE));
+
+        PageRequest injection = PageRequest.of(1, 10, "id; DROP TABLE items", "ASC");
+        assertThrows(IllegalArgumentException.class, () ->
+                MysqlPageUtils.selectPageByKeyset("SELECT * FROM items", injection, MysqlPageUtils.CountMode.NONE));
+    }
+
+    @Test
+    void testCursorFromOtherQueryRejected() throws Exception {
+        PageResponse<Map<String, Object>> page = MysqlPageUtils.selectPageByKeyset("SELECT * FROM items",
+                PageRequest.of(1, 5, "id", "ASC"), MysqlPageUtils.CountMode.NONE);
+        PageRequest other = PageRequest.of(2, 5, "id", "DESC");
+        other.setCursor(page.getNextCursor());
+        assertThrows(IllegalArgumentException.class, () ->
+                MysqlPageUtils.selectPageByKeyset("SELECT * FROM items", other, MysqlPageUtils.CountMode.NONE));
+    }
+
+    @Test
+    void testOffsetPaginationAndEstimatedCount() throws Exception {
+        PageResponse<Map<String, Object>> page = MysqlPageUtils.selectPage("SELECT * FROM items",
+                PageRequest.of(3, 10, "id", "ASC"), MysqlPageUtils.CountMode.ESTIMATED);
+        assertEquals(5, page.getList().size());
+        assertEquals(21, page.getList().get(0).get("ID"));
+        // H2不提供EXPLAIN rows时退化为精确统计
+        assertEquals(25, page.getTotal());
+        assertEquals(3, page.getPages());
+    }
+
+    @Test
+    void testSeekConditionInBaseQuery() {
+        String[] keys = {"i.score", "i.id"};
+        List<Object> params = new ArrayList<>(Collections.singletonList("odd"));
+        // 键集条件并入最外层WHERE，原ORDER BY被替换，子查询中的WHERE不受影响
+        String sql = MysqlPageUtils.buildKeysetSql(
+                "SELECT i.* FROM items i WHERE i.category = ? AND i.id IN (SELECT id FROM items WHERE score > 0) ORDER BY i.id",
+                keys, false, Arrays.asList(3, 7), params);
+        assertEquals("SELECT i.* FROM items i WHERE (i.category = ? AND i.id IN (SELECT id FROM items WHERE score > 0))"
+                + " AND ((i.score > ?) OR (i.score = ? AND i.id > ?)) ORDER BY i.score ASC, i.id ASC", sql);
+        assertEquals(Arrays.asList("odd", 3, 3, 7), params);
+
+        assertEquals("SELECT * FROM items WHERE ((id < ?)) ORDER BY id DESC",
+                MysqlPageUtils.buildKeysetSql("SELECT * FROM items", new String[]{"id"}, true,
+                        Collections.singletonList(5), new ArrayList<>()));
+
+        // 分组查询需要先物化，包裹为派生表并去掉表别名
+        assertEquals("SELECT * FROM (SELECT category, COUNT(*) AS c FROM items GROUP BY category) t"
+                        + " WHERE ((category > ?)) ORDER BY category ASC",
+                MysqlPageUtils.buildKeysetSql("SELECT category, COUNT(*) AS c FROM items GROUP BY category",
+                        new String[]{"i.category"}, false, Collections.singletonList("even"), new ArrayList<>()));
+    }
+
+    @Test
+    void testLockingQueries() throws Exception {
+        // 加锁子句保留在LIMIT之后，统计时去掉
+        String sql = "SELECT * FROM items WHERE category = ? FOR UPDATE";
+        PageResponse<Map<String, Object>> page = MysqlPageUtils.selectPageByKeyset(sql,
+                PageRequest.of(1, 5, "id", "ASC"), MysqlPageUtils.CountMode.EXACT, "odd");
+        assertEquals(Arrays.asList(1, 3, 5, 7, 9), ids(page));
+        assertEquals(13, page.getTotal());
+        PageRequest next = PageRequest.of(2, 5, "id", "ASC");
+        next.setCursor(page.getNextCursor());
+        page = MysqlPageUtils.selectPageByKeyset(sql, next, MysqlPageUtils.CountMode.NONE, "odd");
+        assertEquals(Arrays.asList(11, 13, 15, 17, 19), ids(page));
+
+        // H2不支持LOCK IN SHARE MODE，只校验生成的SQL
+        List<Object> params = new ArrayList<>();
+        assertEquals("SELECT * FROM items WHERE ((id > ?)) ORDER BY id ASC LIMIT ? lock in share mode",
+                MysqlPageUtils.buildKeysetPageSql("SELECT * FROM items ORDER BY id lock in share mode",
+                        new String[]{"id"}, false, Collections.singletonList(5), 11, 0, params));
+        assertEquals(Arrays.asList(5, 11), params);
+        assertEquals("SELECT * FROM items ORDER BY id DESC LIMIT ? OFFSET ? FOR UPDATE SKIP LOCKED",
+                MysqlPageUtils.buildKeysetPageSql("SELECT * FROM items FOR UPDATE SKIP LOCKED",
+                        new String[]{"id"}, true, null, 11, 20, new ArrayList<>()));
+
+        // 需要包裹为派生表的加锁查询直接拒绝
+        assertThrows(IllegalArgumentException.class, () -> MysqlPageUtils.selectPageByKeyset(
+                "SELECT DISTINCT category FROM items FOR UPDATE",
+                PageRequest.of(1, 5, "category", "ASC"), MysqlPageUtils.CountMode.NONE));
+        assertThrows(IllegalArgumentException.class, () -> MysqlPageUtils.selectPageByKeyset(
+                "SELECT category FROM items GROUP BY category LOCK IN SHARE MODE",
+                PageRequest.of(1, 5, "category", "ASC"), MysqlPageUtils.CountMode.NONE));
+        assertThrows(IllegalArgumentException.class, () -> MysqlPageUtils.selectPage(
+                "SELECT * FROM items FOR UPDATE", PageRequest.of(1, 5, "id", "ASC"), MysqlPageUtils.CountMode.NONE));
+    }
+
+    private static List<Object> ids(PageResponse<Map<String, Object>> page) {
+        List<Object> ids = new ArrayList<>();
+        for (Map<String, Object> row : page.getList()) {
+            ids.add(row.get("ID"));
+        }
+        return ids;
+    }
+
+    @Test
+    void testUnsignedBigintCursor() {
+        BigInteger max = new BigInteger("18446744073709551615");
+        Map<String, Object> row = Collections.singletonMap("ID", max);
+        String cursor = MysqlPageUtils.encodeCursor(row, new String[]{"id"}, 1);
+        assertEquals(Collections.singletonList(max), MysqlPageUtils.decodeCursor(cursor, 1, 1));
+        cursor = MysqlPageUtils.encodeCursor(Collections.singletonMap("ID", 42), new String[]{"id"}, 1);
+        assertEquals(Collections.singletonList(42L), MysqlPageUtils.decodeCursor(cursor, 1, 1));
+    }
+
+    @Test
+    void testCountCachedByFingerprint() throws Exception {
+        MysqlUtils.clearQueryCache();
+        assertEquals(13, MysqlPageUtils.count("SELECT * FROM items WHERE category = ?",
+                MysqlPageUtils.CountMode.EXACT, "odd"));
+        long hits = MysqlUtils.getQueryCacheStats().getHitCount();
+        // 只是空白不同，命中同一条缓存
+        assertEquals(13, MysqlPageUtils.count("SELECT *\n  FROM items  WHERE category = ?",
+                MysqlPageUtils.CountMode.EXACT, "odd"));
+        assertEquals(hits + 1, MysqlUtils.getQueryCacheStats().getHitCount());
+        // 字面量不同的查询不共用结果
+        assertEquals(13, MysqlPageUtils.count("SELECT * FROM items WHERE category = 'odd'", MysqlPageUtils.CountMode.EXACT));
+        assertEquals(12, MysqlPageUtils.count("SELECT * FROM items WHERE category = 'even'", MysqlPageUtils.CountMode.EXACT));
+    }
+}
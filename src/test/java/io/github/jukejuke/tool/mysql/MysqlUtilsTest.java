@@ -305,4 +305,258 @@ class MysqlUtilsTest {
         assertTrue(content.contains(sql1));
         assertTrue(content.contains(sql2));
     }
+
+    @Test
+    @Order(20)
+    void testSqlFileCache() throws IOException, SQLException {
+        // 测试SQL文件缓存：检查间隔内不访问文件系统，writeSqlToFile会使缓存失效
+        File tempFile = File.createTempFile("test_cache_", ".sql");
+        tempFile.deleteOnExit();
+        MysqlUtils.writeSqlToFile("SELECT * FROM users ORDER BY id", tempFile.getAbsolutePath());
+
+        assertEquals("SELECT * FROM users ORDER BY id", MysqlUtils.getSqlFromFile(tempFile.getAbsolutePath()));
+        assertNotNull(MysqlUtils.selectListFromFile(tempFile.getAbsolutePath()));
+
+        // 绕过工具类直接修改文件，检查间隔内仍返回缓存内容
+        io.github.jukejuke.tool.file.FileUtils.writeFile(tempFile.getAbsolutePath(), "SELECT 1");
+        assertEquals("SELECT * FROM users ORDER BY id", MysqlUtils.getSqlFromFile(tempFile.getAbsolutePath()));
+
+        // 通过工具类写入会清除该文件的缓存
+        MysqlUtils.writeSqlToFile("SELECT name FROM users", tempFile.getAbsolutePath());
+        assertEquals("SELECT name FROM users", MysqlUtils.getSqlFromFile(tempFile.getAbsolutePath()));
+
+        MysqlUtils.clearSqlCache();
+    }
+
+    @Test
+    @Order(21)
+    void testSqlCacheInvalidFile() {
+        // 测试缓存读取不存在的文件
+        assertThrows(IOException.class, () -> {
+            MysqlUtils.getSqlFromFile("non_existent_file.sql");
+        });
+        assertThrows(IOException.class, () -> {
+            MysqlUtils.getSqlFromResource("non_existent_resource.sql");
+        });
+    }
+
+    @Test
+    @Order(22)
+    void testReadWriteSplitting() throws Exception {
+        // 从库使用另一个H2内存库，通过表中数据区分读的是哪个库
+        String replicaUrl = "jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1";
+        try (Connection conn = DriverManager.getConnection(replicaUrl, H2_USER, H2_PASS);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS users (id INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(100))");
+            stmt.execute("INSERT INTO users (name) VALUES ('replica')");
+        }
+        MysqlUtils.addReplica("replica1", new MysqlConfig(replicaUrl, H2_USER, H2_PASS));
+        try {
+            // 写操作走主库
+            MysqlUtils.update("INSERT INTO users (name, age, email) VALUES (?, ?, ?)", "primary", 1, "p@example.com");
+
+            // 读操作走从库
+            assertNotNull(MysqlUtils.selectOne("SELECT * FROM users WHERE name = ?", "replica"));
+            assertNull(MysqlUtils.selectOne("SELECT * FROM users WHERE name = ?", "primary"));
+
+            // 强制读主库
+            Map<String, Object> user = MysqlUtils.withPrimary(() ->
+                    MysqlUtils.selectOne("SELECT * FROM users WHERE name = ?", "primary"));
+            assertNotNull(user);
+            assertFalse(MysqlUtils.isForcePrimary());
+
+            // 最少活跃连接策略
+            MysqlUtils.setLoadBalanceStrategy(LoadBalanceStrategy.LEAST_ACTIVE);
+            assertNotNull(MysqlUtils.selectOne("SELECT * FROM users WHERE name = ?", "replica"));
+            assertTrue(MysqlUtils.getIdleConnections("replica1") >= 0);
+        } finally {
+            MysqlUtils.setLoadBalanceStrategy(LoadBalanceStrategy.ROUND_ROBIN);
+            assertTrue(MysqlUtils.removeDataSource("replica1"));
+        }
+
+        // 移除从库后读回主库
+        assertNotNull(MysqlUtils.selectOne("SELECT * FROM users WHERE name = ?", "primary"));
+        assertFalse(MysqlUtils.removeDataSource("replica1"));
+        assertThrows(IllegalArgumentException.class, () -> MysqlUtils.removeDataSource("primary"));
+    }
+
+    @Test
+    @Order(23)
+    void testBatchUpdate() throws SQLException {
+        // 测试批量插入
+        List<Object[]> rows = java.util.Arrays.asList(
+                new Object[]{"批量1", 41, "b1@example.com"},
+                new Object[]{"批量2", 42, "b2@example.com"}
+        );
+        int[] results = MysqlUtils.batchUpdate("INSERT INTO users (name, age, email) VALUES (?, ?, ?)", rows);
+        assertEquals(2, results.length);
+        assertEquals(2, MysqlUtils.selectList("SELECT * FROM users WHERE name LIKE ?", "批量%").size());
+        assertEquals(0, MysqlUtils.batchUpdate("DELETE FROM users", java.util.Collections.emptyList()).length);
+    }
+
+    @Test
+    @Order(24)
+    void testInTransactionCommit() throws SQLException {
+        // 事务内的静态调用和上下文调用共用同一个连接
+        int count = MysqlUtils.inTransaction(tx -> {
+            assertTrue(MysqlUtils.isInTransaction());
+            tx.update("INSERT INTO users (name, age, email) VALUES (?, ?, ?)", "事务1", 51, "t1@example.com");
+            tx.batchUpdate("INSERT INTO users (name, age, email) VALUES (?, ?, ?)",
+                    java.util.Collections.singletonList(new Object[]{"事务2", 52, "t2@example.com"}));
+            return tx.selectList("SELECT * FROM users WHERE name LIKE ?", "事务%").size();
+        });
+        assertEquals(2, count);
+        assertFalse(MysqlUtils.isInTransaction());
+        assertEquals(2, MysqlUtils.selectList("SELECT * FROM users WHERE name LIKE ?", "事务%").size());
+    }
+
+    @Test
+    @Order(25)
+    void testInTransactionRollback() throws SQLException {
+        // 抛出异常时回滚，异常原样抛出
+        RuntimeException error = assertThrows(RuntimeException.class, () -> MysqlUtils.inTransaction(tx -> {
+            tx.update("INSERT INTO users (name, age, email) VALUES (?, ?, ?)", "回滚1", 61, "r1@example.com");
+            return tx.update("INSERT INTO no_such_table (name) VALUES (?)", "x");
+        }));
+        assertEquals("事务中执行更新失败", error.getMessage());
+        assertInstanceOf(SQLException.class, error.getCause());
+        assertNull(MysqlUtils.selectOne("SELECT * FROM users WHERE name = ?", "回滚1"));
+
+        // 标记只回滚
+        MysqlUtils.inTransaction(tx -> {
+            tx.update("INSERT INTO users (name, age, email) VALUES (?, ?, ?)", "回滚2", 62, "r2@example.com");
+            tx.setRollbackOnly();
+            return null;
+        });
+        assertNull(MysqlUtils.selectOne("SELECT * FROM users WHERE name = ?", "回滚2"));
+
+        // 非SQL异常原样抛出
+        assertThrows(IllegalStateException.class, () -> MysqlUtils.inTransaction(tx -> {
+            throw new IllegalStateException("业务异常");
+        }));
+    }
+
+    @Test
+    @Order(26)
+    void testInTransactionDeadlockRetry() throws SQLException {
+        // 模拟第一次执行发生死锁，重试后成功
+        TxOptions options = TxOptions.withRetries(2);
+        options.setRetryInterval(1);
+        options.setIsolationLevel(Connection.TRANSACTION_READ_COMMITTED);
+        int attempts = MysqlUtils.inTransaction(options, tx -> {
+            if (tx.getAttempt() == 0) {
+                throw new RuntimeException(new SQLException("Deadlock found", "40001", 1213));
+            }
+            tx.update("INSERT INTO users (name, age, email) VALUES (?, ?, ?)", "重试", 71, "retry@example.com");
+            return tx.getAttempt();
+        });
+        assertEquals(1, attempts);
+        assertNotNull(MysqlUtils.selectOne("SELECT * FROM users WHERE name = ?", "重试"));
+
+        // 未配置重试时原样抛出
+        RuntimeException error = assertThrows(RuntimeException.class, () -> MysqlUtils.inTransaction(tx -> {
+            throw new IllegalStateException("业务死锁", new SQLException("Deadlock found", "40001", 1213));
+        }));
+        assertInstanceOf(IllegalStateException.class, error);
+        assertEquals("业务死锁", error.getMessage());
+    }
+
+    @Test
+    @Order(27)
+    void testNestedTransaction() throws SQLException {
+        // 嵌套调用加入外层事务，外层回滚时内层写入一并回滚
+        MysqlUtils.inTransaction(outer -> {
+            try {
+                MysqlUtils.inTransaction(inner -> {
+                    assertSame(outer.getConnection(), inner.getConnection());
+                    return inner.update("INSERT INTO users (name, age, email) VALUES (?, ?, ?)", "嵌套", 81, "n@example.com");
+                });
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+            outer.setRollbackOnly();
+            return null;
+        });
+        assertNull(MysqlUtils.selectOne("SELECT * FROM users WHERE name = ?", "嵌套"));
+
+        // 嵌套事务的隔离级别与外层不同时拒绝
+        TxOptions serializable = TxOptions.defaults();
+        serializable.setIsolationLevel(Connection.TRANSACTION_SERIALIZABLE);
+        assertThrows(IllegalStateException.class, () -> MysqlUtils.inTransaction(outer -> {
+            try {
+                return MysqlUtils.inTransaction(serializable, inner -> null);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }));
+
+        // 只读标记与外层不同时同样拒绝
+        assertThrows(IllegalStateException.class, () -> MysqlUtils.inTransaction(outer -> {
+            try {
+                return MysqlUtils.inTransaction(TxOptions.readOnly(), inner -> null);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }));
+        assertThrows(IllegalStateException.class, () -> MysqlUtils.inTransaction(TxOptions.readOnly(), outer -> {
+            try {
+                return MysqlUtils.inTransaction(inner -> null);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }));
+    }
+
+    @Test
+    @Order(28)
+    void testSelectCached() throws SQLException {
+        MysqlUtils.update("INSERT INTO users (name, age, email) VALUES (?, ?, ?)", "缓存", 91, "c@example.com");
+        MysqlUtils.clearQueryCache();
+        long hits = MysqlUtils.getQueryCacheStats().getHitCount();
+
+        Map<String, Object> user = MysqlUtils.selectOneCached("SELECT * FROM users WHERE name = ?", "缓存");
+        assertEquals(91, user.get("AGE"));
+        user = MysqlUtils.selectOneCached("SELECT * FROM users WHERE name = ?", "缓存");
+        assertEquals(91, user.get("AGE"));
+        assertEquals(hits + 1, MysqlUtils.getQueryCacheStats().getHitCount());
+
+        // 通过update修改表后缓存失效
+        MysqlUtils.update("UPDATE users SET age = ? WHERE name = ?", 92, "缓存");
+        user = MysqlUtils.selectOneCached("SELECT * FROM users WHERE name = ?", "缓存");
+        assertEquals(92, user.get("AGE"));
+
+        // 事务提交后缓存失效
+        MysqlUtils.inTransaction(tx -> tx.update("UPDATE users SET age = ? WHERE name = ?", 93, "缓存"));
+        user = MysqlUtils.selectOneCached("SELECT * FROM users WHERE name = ?", "缓存");
+        assertEquals(93, user.get("AGE"));
+
+        // 手动失效
+        MysqlUtils.invalidateQueryCache("users");
+        assertEquals(0, MysqlUtils.getQueryCacheStats().getSize());
+    }
+
+    @Test
+    @Order(29)
+    void testSqlMetrics() throws SQLException {
+        SqlMetrics metrics = new SqlMetrics();
+        MysqlUtils.setMetricsSink(metrics);
+        try {
+            MysqlUtils.selectList("SELECT * FROM users WHERE age > ?", 0);
+            MysqlUtils.selectList("SELECT * FROM users WHERE age > ?", 100);
+            MysqlUtils.update("UPDATE users SET age = age WHERE name = 'nobody'");
+
+            assertSame(metrics, MysqlUtils.getSqlMetrics());
+            SqlStats stats = metrics.getStatements().get("SELECT * FROM users WHERE age > ?");
+            assertNotNull(stats);
+            assertEquals(2, stats.getCount());
+            assertTrue(stats.getRows() > 0);
+            assertNotNull(metrics.getStatements().get("UPDATE users SET age = age WHERE name = ?"));
+            assertTrue(metrics.getConnectionWaits().get("primary").getCount() >= 3);
+        } finally {
+            MysqlUtils.setMetricsSink(null);
+        }
+        assertNull(MysqlUtils.getSqlMetrics());
+        assertTrue(MysqlUtils.getThreadsAwaitingConnection("primary") >= 0);
+        assertTrue(MysqlUtils.getTotalConnections("primary") > 0);
+    }
 }
@@ -0,0 +1,132 @@
+package io.github.jukejuke.tool.mysql;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * QueryCache测试类
+ */
+class QueryCacheTest {
+
+    private static List<Map<String, Object>> rows(Object value) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("V", value);
+        return QueryCache.freeze(Collections.singletonList(row));
+    }
+
+    @Test
+    void testExtractTables() {
+        assertEquals(new HashSet<>(Collections.singletonList("users")),
+                QueryCache.extractTables("SELECT * FROM users WHERE id = ?"));
+        assertEquals(new HashSet<>(Arrays.asList("users", "orders")),
+                QueryCache.extractTables("select u.* from `db`.`users` u left join orders o on o.uid = u.id"));
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")),
+                QueryCache.extractTables("SELECT * FROM a x, b y WHERE x.id = y.id"));
+        assertEquals(new HashSet<>(Collections.singletonList("dict")),
+                QueryCache.extractTables("UPDATE dict SET name = ? WHERE id = ?"));
+        assertEquals(new HashSet<>(Collections.singletonList("dict")),
+                QueryCache.extractTables("INSERT INTO dict (id, name) VALUES (?, ?)"));
+        assertEquals(new HashSet<>(Collections.singletonList("dict")),
+                QueryCache.extractTables("DELETE FROM dict WHERE id = ?"));
+        assertTrue(QueryCache.extractTables("SELECT 1").isEmpty());
+    }
+
+    @Test
+    void testHitMissAndReadOnly() {
+        QueryCache cache = new QueryCache(10, 0);
+        assertFalse(cache.isActive());
+        assertNull(cache.get("SELECT * FROM dict WHERE id = ?", new Object[]{1}));
+        assertTrue(cache.isActive());
+        cache.put("SELECT * FROM dict WHERE id = ?", new Object[]{1}, rows("a"), cache.generation());
+
+        List<Map<String, Object>> cached = cache.get("SELECT * FROM dict WHERE id = ?", new Object[]{1});
+        assertEquals("a", cached.get(0).get("V"));
+        // 命中时返回同一份只读结果，不复制
+        assertThrows(UnsupportedOperationException.class, () -> cached.get(0).put("V", "changed"));
+        assertThrows(UnsupportedOperationException.class, cached::clear);
+        assertSame(cached, cache.get("SELECT * FROM dict WHERE id = ?", new Object[]{1}));
+        // 参数不同不命中
+        assertNull(cache.get("SELECT * FROM dict WHERE id = ?", new Object[]{2}));
+
+        QueryCacheStats stats = cache.stats();
+        assertEquals(2, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(1, stats.getSize());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    void testLruEviction() {
+        QueryCache cache = new QueryCache(2, 0);
+        cache.put("SELECT 1 FROM t", null, rows(1), cache.generation());
+        cache.put("SELECT 2 FROM t", null, rows(2), cache.generation());
+        // 访问第一条，使第二条成为最久未使用
+        assertNotNull(cache.get("SELECT 1 FROM t", null));
+        cache.put("SELECT 3 FROM t", null, rows(3), cache.generation());
+
+        assertNotNull(cache.get("SELECT 1 FROM t", null));
+        assertNull(cache.get("SELECT 2 FROM t", null));
+        assertEquals(1, cache.stats().getEvictionCount());
+    }
+
+    @Test
+    void testTtlExpire() throws InterruptedException {
+        QueryCache cache = new QueryCache(10, 20);
+        cache.put("SELECT * FROM t", null, rows(1), cache.generation());
+        assertNotNull(cache.get("SELECT * FROM t", null));
+        Thread.sleep(40);
+        assertNull(cache.get("SELECT * FROM t", null));
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    @Test
+    void testInvalidateByTable() {
+        QueryCache cache = new QueryCache(10, 0);
+        cache.put("SELECT * FROM dict", null, rows(1), cache.generation());
+        cache.put("SELECT * FROM region", null, rows(2), cache.generation());
+
+        cache.invalidate(QueryCache.extractTables("UPDATE dict SET name = ?"));
+        assertNull(cache.get("SELECT * FROM dict", null));
+        assertNotNull(cache.get("SELECT * FROM region", null));
+        assertEquals(1, cache.stats().getInvalidationCount());
+
+        // 查询期间发生失效，结果不缓存
+        long generation = cache.generation();
+        cache.invalidate(QueryCache.extractTables("DELETE FROM dict"));
+        cache.put("SELECT * FROM dict", null, rows(3), generation);
+        assertNull(cache.get("SELECT * FROM dict", null));
+    }
+
+    @Test
+    void testConcurrentAccessStaysBounded() throws InterruptedException {
+        QueryCache cache = new QueryCache(100, 0);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    String sql = "SELECT * FROM t WHERE id = ?";
+                    Object[] params = {(i * 4 + offset) % 500};
+                    if (cache.get(sql, params) == null) {
+                        cache.put(sql, params, rows(i), cache.generation());
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // 淘汰批量进行，条目数不超过容量加上并发写入的余量
+        assertTrue(cache.stats().getSize() <= 100 + threads.length);
+        assertTrue(cache.stats().getEvictionCount() > 0);
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.jukejuke.tool.mysql;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SqlMetrics测试类
+ */
+class SqlMetricsTest {
+
+    @Test
+    void testFingerprint() {
+        assertEquals("SELECT * FROM users WHERE id = ? AND name = ?",
+                SqlMetrics.fingerprint("SELECT *  FROM users\n WHERE id = 42 AND name = 'it''s'"));
+        assertEquals("SELECT * FROM users WHERE id IN (?)",
+                SqlMetrics.fingerprint("SELECT * FROM users WHERE id IN (1, 2, 3)"));
+        assertEquals("INSERT INTO t (a, b) VALUES (?, ?)",
+                SqlMetrics.fingerprint("INSERT INTO t (a, b) VALUES (?, ?), (?, ?), (?, ?)"));
+        // 标识符中的数字不替换
+        assertEquals("SELECT col1 FROM t2 WHERE x = ?", SqlMetrics.fingerprint("SELECT col1 FROM t2 WHERE x = 5"));
+    }
+
+    @Test
+    void testLongSqlNotCached() {
+        StringBuilder sql = new StringBuilder("INSERT INTO t (a, b) VALUES (?, ?)");
+        for (int i = 0; i < 500; i++) {
+            sql.append(", (?, ?)");
+        }
+        assertTrue(sql.length() > SqlMetrics.MAX_CACHED_SQL_LENGTH);
+        assertEquals("INSERT INTO t (a, b) VALUES (?, ?)", SqlMetrics.fingerprint(sql.toString()));
+        // 批量语句的完整文本不作为缓存键
+        assertFalse(SqlMetrics.fingerprintCache.containsKey(sql.toString()));
+        assertEquals("SELECT ?", SqlMetrics.fingerprint("SELECT 1"));
+        assertTrue(SqlMetrics.fingerprintCache.containsKey("SELECT 1"));
+    }
+
+    @Test
+    void testFormatParamsTruncated() {
+        assertEquals("[0] a, [1] 2", MysqlUtils.formatParams("a", 2));
+        Object[] params = new Object[MysqlUtils.MAX_LOGGED_PARAMS + 5];
+        for (int i = 0; i < params.length; i++) {
+            params[i] = i;
+        }
+        String formatted = MysqlUtils.formatParams(params);
+        assertTrue(formatted.startsWith("[0] 0, [1] 1"));
+        assertTrue(formatted.contains("[" + (MysqlUtils.MAX_LOGGED_PARAMS - 1) + "] "));
+        assertFalse(formatted.contains("[" + MysqlUtils.MAX_LOGGED_PARAMS + "] "));
+        assertTrue(formatted.endsWith("...（共" + params.length + "个参数）"));
+    }
+
+    @Test
+    void testRecordStatement() {
+        SqlMetrics metrics = new SqlMetrics();
+        metrics.recordStatement("SELECT ?", TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(2),
+                TimeUnit.MILLISECONDS.toNanos(3), 10);
+        metrics.recordStatement("SELECT ?", 0, TimeUnit.MILLISECONDS.toNanos(4), 0, 5);
+
+        SqlStats stats = metrics.getStatements().get("SELECT ?");
+        assertEquals(2, stats.getCount());
+        assertEquals(15, stats.getRows());
+        assertEquals(1.0, stats.getAcquireMillis(), 0.001);
+        assertEquals(6.0, stats.getExecuteMillis(), 0.001);
+        assertEquals(3.0, stats.getFetchMillis(), 0.001);
+        assertEquals(6.0, stats.getLatency().getMaxMillis(), 0.001);
+        assertEquals(5.0, stats.getLatency().getMeanMillis(), 0.001);
+
+        metrics.recordConnectionWait("primary", 1000);
+        assertEquals(1, metrics.getConnectionWaits().get("primary").getCount());
+
+        metrics.reset();
+        assertTrue(metrics.getStatements().isEmpty());
+    }
+
+    @Test
+    void testHistogramPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileMillis(99));
+        for (int i = 0; i < 99; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(50));
+
+        // 分桶上界误差不超过2倍
+        double p50 = histogram.getPercentileMillis(50);
+        assertTrue(p50 >= 0.1 && p50 <= 0.2, "p50=" + p50);
+        double p100 = histogram.getPercentileMillis(100);
+        assertEquals(50.0, p100, 0.001);
+        assertEquals(100, histogram.getCount());
+    }
+}
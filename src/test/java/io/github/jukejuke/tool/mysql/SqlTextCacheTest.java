@@ -0,0 +1,76 @@
+package io.github.jukejuke.tool.mysql;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SqlTextCache测试类
+ */
+class SqlTextCacheTest {
+
+    @Test
+    void testFileReloadedWhenModified() throws IOException {
+        // 检查间隔为0时每次都比较修改时间
+        SqlTextCache cache = new SqlTextCache(0);
+        File tempFile = File.createTempFile("test_cache_", ".sql");
+        tempFile.deleteOnExit();
+        Files.write(tempFile.toPath(), "SELECT 1".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("SELECT 1", cache.getFromFile(tempFile.getAbsolutePath(), StandardCharsets.UTF_8));
+
+        // 修改内容并推进修改时间
+        Files.write(tempFile.toPath(), "SELECT 2".getBytes(StandardCharsets.UTF_8));
+        assertTrue(tempFile.setLastModified(tempFile.lastModified() + 5000));
+        assertEquals("SELECT 2", cache.getFromFile(tempFile.getAbsolutePath(), StandardCharsets.UTF_8));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testFileNotCheckedWithinInterval() throws IOException {
+        SqlTextCache cache = new SqlTextCache(60000);
+        File tempFile = File.createTempFile("test_cache_", ".sql");
+        tempFile.deleteOnExit();
+        Files.write(tempFile.toPath(), "SELECT 1".getBytes(StandardCharsets.UTF_8));
+        assertEquals("SELECT 1", cache.getFromFile(tempFile.getAbsolutePath(), StandardCharsets.UTF_8));
+
+        // 检查间隔内即使文件被删除也返回缓存
+        assertTrue(tempFile.delete());
+        assertEquals("SELECT 1", cache.getFromFile(tempFile.getAbsolutePath(), StandardCharsets.UTF_8));
+
+        cache.evictFile(tempFile.getAbsolutePath());
+        assertEquals(0, cache.size());
+        assertThrows(IOException.class, () -> cache.getFromFile(tempFile.getAbsolutePath(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testClear() throws IOException {
+        SqlTextCache cache = new SqlTextCache(1000);
+        File tempFile = File.createTempFile("test_cache_", ".sql");
+        tempFile.deleteOnExit();
+        Files.write(tempFile.toPath(), "SELECT 1".getBytes(StandardCharsets.UTF_8));
+        cache.getFromFile(tempFile.getAbsolutePath(), StandardCharsets.UTF_8);
+        assertEquals(1, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testMaxSize() throws IOException {
+        SqlTextCache cache = new SqlTextCache(60000, 2);
+        for (int i = 0; i < 5; i++) {
+            File tempFile = File.createTempFile("test_cache_", ".sql");
+            tempFile.deleteOnExit();
+            Files.write(tempFile.toPath(), ("SELECT " + i).getBytes(StandardCharsets.UTF_8));
+            assertEquals("SELECT " + i, cache.getFromFile(tempFile.getAbsolutePath(), StandardCharsets.UTF_8));
+            assertTrue(cache.size() <= 2);
+        }
+        assertEquals(2, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new SqlTextCache(1000, 0));
+    }
+}
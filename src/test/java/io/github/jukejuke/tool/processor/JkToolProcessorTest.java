@@ -0,0 +1,268 @@
+package io.github.jukejuke.tool.processor;
+
+import io.github.jukejuke.tool.bean.BeanCopier;
+import io.github.jukejuke.tool.excel.ExcelColumn;
+import io.github.jukejuke.tool.excel.ExcelColumnDefinition;
+import io.github.jukejuke.tool.excel.ExcelRowMapper;
+import io.github.jukejuke.tool.excel.ExcelUtils;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JkToolProcessor测试类
+ * 使用javax.tools在测试中编译示例源码，验证生成代码及运行时通过ServiceLoader加载
+ */
+class JkToolProcessorTest {
+
+    @TempDir
+    static Path tempDir;
+
+    private static Path classesDir;
+    private static List<Diagnostic<? extends JavaFileObject>> diagnostics;
+    private static URLClassLoader loader;
+
+    private static final String ORDER = "package demo;\n"
+            + "import io.github.jukejuke.tool.excel.ExcelColumn;\n"
+            + "import io.github.jukejuke.tool.excel.ExcelAlignment;\n"
+            + "public class Order {\n"
+            + "    @ExcelColumn(name = \"编号\", order = 1) private Long id;\n"
+            + "    @ExcelColumn(name = \"名称\", order = 0, alignment = ExcelAlignment.CENTER) String name;\n"
+            + "    @ExcelColumn(name = \"数量\", order = 2) private int count;\n"
+            + "    private String remark;\n"
+            + "    public Long getId() { return id; }\n"
+            + "    public void setId(Long id) { this.id = id; }\n"
+            + "    public int getCount() { return count; }\n"
+            + "    public void setCount(int count) { this.count = count; }\n"
+            + "    public String getRemark() { return remark; }\n"
+            + "    public void setRemark(String remark) { this.remark = remark; }\n"
+            + "    private long total;\n"
+            + "    public long getTotal() { return total; }\n"
+            + "    public void setTotal(long total) { this.total = total; }\n"
+            + "    private char grade;\n"
+            + "    public char getGrade() { return grade; }\n"
+            + "    public void setGrade(char grade) { this.grade = grade; }\n"
+            + "    private Long amount;\n"
+            + "    public Long getAmount() { return amount; }\n"
+            + "    public void setAmount(Long amount) { this.amount = amount; }\n"
+            + "}\n";
+
+    private static final String ORDER_DTO = "package demo;\n"
+            + "public class OrderDTO {\n"
+            + "    private long id;\n"
+            + "    public String name;\n"
+            + "    private Long count;\n"
+            + "    private String remark;\n"
+            + "    public long getId() { return id; }\n"
+            + "    public void setId(long id) { this.id = id; }\n"
+            + "    public Long getCount() { return count; }\n"
+            + "    public void setCount(Long count) { this.count = count; }\n"
+            + "    public String getRemark() { return remark; }\n"
+            + "    public void setRemark(String remark) { this.remark = remark; }\n"
+            + "    private Integer total;\n"
+            + "    public Integer getTotal() { return total; }\n"
+            + "    public void setTotal(Integer total) { this.total = total; }\n"
+            + "    private int grade;\n"
+            + "    public int getGrade() { return grade; }\n"
+            + "    public void setGrade(int grade) { this.grade = grade; }\n"
+            + "    private double amount;\n"
+            + "    public double getAmount() { return amount; }\n"
+            + "    public void setAmount(double amount) { this.amount = amount; }\n"
+            + "}\n";
+
+    /**
+     * 无参构造方法仅包内可见，反射无法调用，只能通过生成的映射器创建
+     */
+    private static final String TICKET = "package demo;\n"
+            + "import io.github.jukejuke.tool.excel.ExcelColumn;\n"
+            + "public class Ticket {\n"
+            + "    @ExcelColumn(name = \"座位\") String seat;\n"
+            + "    Ticket() { }\n"
+            + "}\n";
+
+    private static final String RECEIPT = "package demo;\n"
+            + "import io.github.jukejuke.tool.excel.ExcelColumn;\n"
+            + "public class Receipt {\n"
+            + "    @ExcelColumn(name = \"编号\") String code;\n"
+            + "    public Receipt(String code) { this.code = code; }\n"
+            + "}\n";
+
+    private static final String HIDDEN = "package demo;\n"
+            + "public class Hidden {\n"
+            + "    private String remark;\n"
+            + "}\n";
+
+    private static final String MAPPINGS = "package demo;\n"
+            + "import io.github.jukejuke.tool.bean.BeanMapping;\n"
+            + "@BeanMapping(source = Order.class, target = OrderDTO.class)\n"
+            + "@BeanMapping(source = Hidden.class, target = OrderDTO.class)\n"
+            + "public class Mappings {\n"
+            + "}\n";
+
+    @BeforeAll
+    static void compile() throws Exception {
+        Path sourceDir = Files.createDirectories(tempDir.resolve("src/demo"));
+        classesDir = Files.createDirectories(tempDir.resolve("classes"));
+        // 上次编译留下的条目，对应的类已删除
+        Path services = Files.createDirectories(classesDir.resolve("META-INF/services"));
+        Files.write(services.resolve(ExcelRowMapper.class.getName()),
+                "demo.Removed_ExcelRowMapper\n".getBytes(StandardCharsets.UTF_8));
+        List<File> sources = new ArrayList<>();
+        String[][] files = {{"Order", ORDER}, {"OrderDTO", ORDER_DTO}, {"Hidden", HIDDEN}, {"Mappings", MAPPINGS},
+                {"Ticket", TICKET}, {"Receipt", RECEIPT}};
+        for (String[] file : files) {
+            Path path = sourceDir.resolve(file[0] + ".java");
+            Files.write(path, file[1].getBytes(StandardCharsets.UTF_8));
+            sources.add(path.toFile());
+        }
+
+        String classpath = Arrays.asList(ExcelColumn.class, HorizontalAlignment.class).stream()
+                .map(c -> c.getProtectionDomain().getCodeSource().getLocation().getPath())
+                .collect(Collectors.joining(File.pathSeparator));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(collector, null, StandardCharsets.UTF_8)) {
+            List<String> options = Arrays.asList("-classpath", classpath, "-d", classesDir.toString(),
+                    "-s", Files.createDirectories(tempDir.resolve("generated")).toString(),
+                    "-encoding", "UTF-8", "-processor", JkToolProcessor.class.getName());
+            Boolean success = compiler.getTask(null, fileManager, collector, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(sources)).call();
+            diagnostics = collector.getDiagnostics();
+            assertTrue(success, diagnostics.toString());
+        }
+        loader = new URLClassLoader(new URL[]{classesDir.toUri().toURL()}, JkToolProcessorTest.class.getClassLoader());
+    }
+
+    @Test
+    void testServicesRegistered() throws Exception {
+        List<String> mappers = Files.readAllLines(classesDir.resolve("META-INF/services/" + ExcelRowMapper.class.getName()));
+        assertEquals(Arrays.asList("demo.Order_ExcelRowMapper", "demo.Receipt_ExcelRowMapper", "demo.Ticket_ExcelRowMapper"),
+                mappers.stream().sorted().collect(Collectors.toList()));
+        List<String> copiers = Files.readAllLines(classesDir.resolve("META-INF/services/io.github.jukejuke.tool.bean.GeneratedBeanCopier"));
+        assertEquals(Arrays.asList("demo.Order_To_demo_OrderDTO_BeanCopier"), copiers);
+        // 无法访问私有字段的类型对不生成，并给出警告
+        assertTrue(diagnostics.stream().anyMatch(d -> d.getKind() == Diagnostic.Kind.WARNING
+                && d.getMessage(null).contains("remark")), diagnostics.toString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGeneratedBeanCopier() throws Exception {
+        Class<Object> orderClass = (Class<Object>) loader.loadClass("demo.Order");
+        Class<Object> dtoClass = (Class<Object>) loader.loadClass("demo.OrderDTO");
+        Object order = orderClass.getConstructor().newInstance();
+        orderClass.getMethod("setId", Long.class).invoke(order, 7L);
+        java.lang.reflect.Field name = orderClass.getDeclaredField("name");
+        name.setAccessible(true);
+        name.set(order, "n");
+        orderClass.getMethod("setCount", int.class).invoke(order, 3);
+        orderClass.getMethod("setRemark", String.class).invoke(order, "r");
+
+        BeanCopier<Object, Object> copier = BeanCopier.get(orderClass, dtoClass);
+        assertTrue(copier.isGenerated());
+        Object dto = copier.copy(order);
+        assertEquals(7L, dtoClass.getMethod("getId").invoke(dto));
+        assertEquals("n", dtoClass.getField("name").get(dto));
+        assertEquals(3L, dtoClass.getMethod("getCount").invoke(dto));
+        assertEquals("r", dtoClass.getMethod("getRemark").invoke(dto));
+        assertEquals(0, dtoClass.getMethod("getTotal").invoke(dto));
+
+        // long超出int范围时不写入
+        orderClass.getMethod("setTotal", long.class).invoke(order, 5L);
+        copier.copy(order, dto);
+        assertEquals(5, dtoClass.getMethod("getTotal").invoke(dto));
+        orderClass.getMethod("setTotal", long.class).invoke(order, Long.MAX_VALUE);
+        copier.copy(order, dto);
+        assertEquals(5, dtoClass.getMethod("getTotal").invoke(dto));
+
+        // 目标为基本类型时按Field.set的规则拓宽（char转int、可能丢失精度的long转double）
+        orderClass.getMethod("setGrade", char.class).invoke(order, 'B');
+        orderClass.getMethod("setAmount", Long.class).invoke(order, Long.MAX_VALUE - 1);
+        copier.copy(order, dto);
+        assertEquals((int) 'B', dtoClass.getMethod("getGrade").invoke(dto));
+        assertEquals((double) (Long.MAX_VALUE - 1), dtoClass.getMethod("getAmount").invoke(dto));
+
+        // 源值为null时不写入基本类型属性
+        orderClass.getMethod("setId", Long.class).invoke(order, (Object) null);
+        copier.copy(order, dto);
+        assertEquals(7L, dtoClass.getMethod("getId").invoke(dto));
+
+        Class<Object> hiddenClass = (Class<Object>) loader.loadClass("demo.Hidden");
+        assertFalse(BeanCopier.get(hiddenClass, dtoClass).isGenerated());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGeneratedExcelRowMapper() throws Exception {
+        ExcelRowMapper<Object> mapper = (ExcelRowMapper<Object>) loader.loadClass("demo.Order_ExcelRowMapper")
+                .getConstructor().newInstance();
+        Class<Object> orderClass = (Class<Object>) loader.loadClass("demo.Order");
+        assertEquals(orderClass, mapper.getType());
+        List<String> names = mapper.getColumns().stream().map(ExcelColumnDefinition::getName).collect(Collectors.toList());
+        assertEquals(Arrays.asList("名称", "编号", "数量"), names);
+        assertEquals(int.class, mapper.getColumns().get(2).getFieldType());
+
+        Object order = mapper.newInstance();
+        mapper.setValue(order, 0, "a");
+        mapper.setValue(order, 1, 9L);
+        mapper.setValue(order, 2, 4);
+        assertEquals("a", mapper.getValue(order, 0));
+        assertEquals(9L, mapper.getValue(order, 1));
+        assertEquals(4, mapper.getValue(order, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> mapper.getValue(order, 3));
+
+        // ExcelUtils通过ServiceLoader使用生成的映射器完成导出和导入
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelUtils.exportWithAnnotation(Arrays.asList(order), "sheet", out);
+        List<Object> imported = ExcelUtils.importFromExcel(new ByteArrayInputStream(out.toByteArray()), orderClass);
+        assertEquals(1, imported.size());
+        assertEquals(9L, orderClass.getMethod("getId").invoke(imported.get(0)));
+        assertEquals(4, orderClass.getMethod("getCount").invoke(imported.get(0)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportCreatesRowsWithGeneratedMapper() throws Exception {
+        ExcelRowMapper<Object> mapper = (ExcelRowMapper<Object>) loader.loadClass("demo.Ticket_ExcelRowMapper")
+                .getConstructor().newInstance();
+        Object ticket = mapper.newInstance();
+        mapper.setValue(ticket, 0, "A1");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelUtils.exportWithAnnotation(Arrays.asList(ticket), "sheet", out);
+        // 构造方法对ExcelUtils不可见，导入成功说明行对象由映射器创建
+        Class<Object> ticketClass = mapper.getType();
+        List<Object> imported = ExcelUtils.importFromExcel(new ByteArrayInputStream(out.toByteArray()), ticketClass);
+        assertEquals(1, imported.size());
+        assertEquals("A1", mapper.getValue(imported.get(0), 0));
+        List<Object> streamed = new ArrayList<>();
+        ExcelUtils.importWithStream(new ByteArrayInputStream(out.toByteArray()), ticketClass, streamed::add);
+        assertEquals("A1", mapper.getValue(streamed.get(0), 0));
+
+        // 没有无参构造方法时与生成的BeanCopier一致抛出IllegalStateException
+        ExcelRowMapper<Object> receipts = (ExcelRowMapper<Object>) loader.loadClass("demo.Receipt_ExcelRowMapper")
+                .getConstructor().newInstance();
+        assertThrows(IllegalStateException.class, receipts::newInstance);
+    }
+}
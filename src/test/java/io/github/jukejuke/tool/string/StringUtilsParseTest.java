@@ -0,0 +1,137 @@
+package io.github.jukejuke.tool.string;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * StringUtils分割、数字校验与数组解析测试类
+ */
+class StringUtilsParseTest {
+
+    private static final String[] SAMPLES = {"123", "0", "-1", "+12", "1.5", "-.5", ".5", "5.", "1.2.3", "+", "-",
+            "12a", "a12", " 12", "12 ", "١٢", "1e5", "", " ", "+.5", "--1", "0.0"};
+
+    @Test
+    void testNumericValidatorsMatchRegex() {
+        for (String sample : SAMPLES) {
+            boolean blank = sample.trim().isEmpty();
+            assertEquals(!blank && Pattern.matches("\\d+", sample), StringUtils.isNumeric(sample), sample);
+            assertEquals(!blank && Pattern.matches("[+-]?\\d*\\.\\d+", sample), StringUtils.isFloat(sample), sample);
+            assertEquals(!blank && Pattern.matches("[+-]?\\d+(\\.\\d+)?", sample), StringUtils.isNumber(sample), sample);
+        }
+        assertFalse(StringUtils.isNumeric(null));
+        assertFalse(StringUtils.isFloat(null));
+        assertFalse(StringUtils.isNumber(null));
+    }
+
+    @Test
+    void testSplitMatchesStringSplit() {
+        String[][] cases = {{"a,b,,c,,", ","}, {"a::b::::c::", "::"}, {"::a::b", "::"}, {"a.b.c", "."},
+                {"a1b22c", "\\d+"}, {"a b\tc", "\\s"}, {"abc", "--"}, {"a|b", "|"}};
+        for (String[] c : cases) {
+            assertArrayEquals(c[0].split(c[1]), StringUtils.split(c[0], c[1]), Arrays.toString(c));
+        }
+        assertEquals(0, StringUtils.split(null, ",").length);
+        assertEquals(Arrays.asList("a", "b", "c"), StringUtils.splitToList(" a ,, b ,c , ", ","));
+        assertEquals(Arrays.asList("a", "b"), StringUtils.splitToList("a1b22", "\\d+"));
+        assertEquals(Arrays.asList("a", "b", "c"), StringUtils.stringToList("a|b|c", "|"));
+    }
+
+    @Test
+    void testSplitLiteral() {
+        assertEquals(Arrays.asList("a", "", "b", ""), StringUtils.splitLiteral("a..b.", "."));
+        assertEquals(Arrays.asList("a", "b", "c"), StringUtils.splitLiteral("abc", ""));
+        assertTrue(StringUtils.splitLiteral(null, ",").isEmpty());
+
+        List<String> buffer = new ArrayList<>();
+        assertEquals(2, StringUtils.splitLiteral(new StringBuilder(" x |  | y "), "|", true, buffer));
+        assertEquals(Arrays.asList("x", "y"), buffer);
+        buffer.clear();
+        assertEquals(1, StringUtils.splitLiteral("z", "|", true, buffer));
+        assertEquals(Arrays.asList("z"), buffer);
+        assertThrows(IllegalArgumentException.class, () -> StringUtils.splitLiteral("a", null, false, new ArrayList<>()));
+    }
+
+    @Test
+    void testRemoveWhitespace() {
+        assertEquals("hello", StringUtils.removeWhitespace(" h e\tl\nl\r\u000Bo\f"));
+        String noWhitespace = "abc";
+        assertSame(noWhitespace, StringUtils.removeWhitespace(noWhitespace));
+        // 与\\s一致，不移除全角空格
+        assertEquals("a　b", StringUtils.removeWhitespace("a 　b"));
+        assertNull(StringUtils.removeWhitespace(null));
+    }
+
+    @Test
+    void testPrimitiveArrays() {
+        assertArrayEquals(new int[]{1, -2, 3}, StringUtils.stringToIntArray(" 1, -2,,+3 ,", ","));
+        assertArrayEquals(new long[]{10000000000L, 2}, StringUtils.stringToLongArray("10000000000::2", "::"));
+        assertEquals(0, StringUtils.stringToIntArray("", ",").length);
+        assertEquals(0, StringUtils.stringToLongArray(" , ", ",").length);
+        assertThrows(NumberFormatException.class, () -> StringUtils.stringToIntArray("1,x", ","));
+        assertThrows(NumberFormatException.class, () -> StringUtils.stringToIntArray("3000000000", ","));
+        assertThrows(IllegalArgumentException.class, () -> StringUtils.stringToLongArray("1", ""));
+    }
+
+    @Test
+    void testParseFromCharSequence() {
+        StringBuilder ids = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            ids.append(i * 1000003L).append(',');
+        }
+        long[] longs = StringUtils.stringToLongArray(ids, ",");
+        assertEquals(1000, longs.length);
+        assertEquals(999 * 1000003L, longs[999]);
+        assertArrayEquals(new long[]{Long.MAX_VALUE, Long.MIN_VALUE, 0},
+                StringUtils.stringToLongArray(Long.MAX_VALUE + "," + Long.MIN_VALUE + ",-0", ","));
+        assertArrayEquals(new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE},
+                StringUtils.stringToIntArray(Integer.MAX_VALUE + ";" + Integer.MIN_VALUE, ";"));
+        for (String bad : new String[]{"9223372036854775808", "-9223372036854775809", "-", "+", "1-2", "١"}) {
+            assertThrows(NumberFormatException.class, () -> StringUtils.stringToLongArray(bad, ","), bad);
+        }
+        assertThrows(NumberFormatException.class, () -> StringUtils.stringToIntArray("2147483648", ","));
+    }
+
+    @Test
+    void testDoubleArrayMatchesParseDouble() {
+        String[] samples = {"1.5", "-0", "0.1", ".5", "5.", "-2.25", "3", "123456789012345", "1234567890123456789",
+                "0.30000000000000004", "1e-7", "1E10", "NaN", "-Infinity", "0.000000000000000000000001", "+7.125"};
+        double[] parsed = StringUtils.stringToDoubleArray(String.join(" , ", samples), ",");
+        assertEquals(samples.length, parsed.length);
+        for (int i = 0; i < samples.length; i++) {
+            assertEquals(Double.doubleToLongBits(Double.parseDouble(samples[i])), Double.doubleToLongBits(parsed[i]), samples[i]);
+        }
+        java.util.Random random = new java.util.Random(42);
+        for (int i = 0; i < 10000; i++) {
+            String sample = String.valueOf(random.nextInt(1000000)) + "." + String.valueOf(random.nextInt(100000000));
+            assertEquals(Double.parseDouble(sample), StringUtils.stringToDoubleArray(sample, ",")[0], sample);
+        }
+        assertThrows(NumberFormatException.class, () -> StringUtils.stringToDoubleArray("1.2.3", ","));
+        assertThrows(NumberFormatException.class, () -> StringUtils.stringToDoubleArray("-", ","));
+    }
+
+    @Test
+    void testConsumersAndJoin() {
+        List<Long> sink = new ArrayList<>();
+        assertEquals(3, StringUtils.forEachLong("1|2||3", "|", sink::add));
+        assertEquals(Arrays.asList(1L, 2L, 3L), sink);
+        int[] sum = new int[1];
+        assertEquals(2, StringUtils.forEachInt(" 4 :: 5 ", "::", value -> sum[0] += value));
+        assertEquals(9, sum[0]);
+        assertEquals(0, StringUtils.forEachInt(null, ",", value -> fail()));
+
+        assertEquals("1,-20,300", StringUtils.join(new long[]{1, -20, 300}, ","));
+        assertEquals(Long.MIN_VALUE + "; 0", StringUtils.join(new long[]{Long.MIN_VALUE, 0}, "; "));
+        assertEquals("7", StringUtils.join(new int[]{7}, ","));
+        assertEquals("12", StringUtils.join(new int[]{1, 2}, null));
+        assertEquals("", StringUtils.join((int[]) null, ","));
+        long[] ids = {5, 10000000000L, -3};
+        assertArrayEquals(ids, StringUtils.stringToLongArray(StringUtils.join(ids, ","), ","));
+    }
+}